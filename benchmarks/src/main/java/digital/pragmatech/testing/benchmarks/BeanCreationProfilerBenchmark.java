@@ -0,0 +1,56 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import digital.pragmatech.testing.BeanCreationProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link BeanCreationProfiler} callbacks for the creation of all singletons of one
+ * context, followed by the metrics snapshot taken once the context is refreshed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanCreationProfilerBenchmark {
+
+  @Param({"100", "1000"})
+  int beans;
+
+  private String[] beanNames;
+  private Object[] beanInstances;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    beanNames = new String[beans];
+    beanInstances = new Object[beans];
+    for (int i = 0; i < beans; i++) {
+      beanNames[i] = "syntheticBean" + i;
+      beanInstances[i] = new Object();
+    }
+  }
+
+  @Benchmark
+  public BeanCreationProfiler.BeanCreationMetrics createContextBeans() {
+    BeanCreationProfiler profiler = new BeanCreationProfiler("benchmark-context");
+    for (int i = 0; i < beans; i++) {
+      profiler.postProcessBeforeInitialization(beanInstances[i], beanNames[i]);
+      profiler.postProcessAfterInitialization(beanInstances[i], beanNames[i]);
+    }
+    return profiler.getMetrics();
+  }
+}
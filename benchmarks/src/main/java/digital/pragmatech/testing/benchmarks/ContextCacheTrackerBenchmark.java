@@ -0,0 +1,59 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.benchmarks.generator.GeneratedSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ContextCacheTracker} for whole synthetic suites. {@code recordSuite} replays
+ * every tracker call the listener makes during a complete run, including the nearest-context
+ * similarity scoring for each newly created context; {@code analyzeSuite} covers the read side used
+ * by the report.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ContextCacheTrackerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int contexts;
+
+  @Param({"1000", "100000"})
+  int testMethods;
+
+  private GeneratedSuite generatedSuite;
+  private SyntheticSuite suite;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    generatedSuite = SyntheticSuite.generate(contexts, testMethods);
+    suite = SyntheticSuite.record(generatedSuite);
+  }
+
+  @Benchmark
+  public ContextCacheTracker recordSuite() {
+    return SyntheticSuite.record(generatedSuite).contextCacheTracker();
+  }
+
+  @Benchmark
+  public Object analyzeSuite() {
+    ContextCacheTracker tracker = suite.contextCacheTracker();
+    return new Object[] {tracker.calculateOptimizationStatistics(), tracker.getTimelineData()};
+  }
+}
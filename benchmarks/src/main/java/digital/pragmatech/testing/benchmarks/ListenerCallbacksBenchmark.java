@@ -0,0 +1,124 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import digital.pragmatech.testing.SpringTestProfilerListener;
+import digital.pragmatech.testing.phase.ListenerChainEndListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.BootstrapUtils;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate;
+import org.springframework.test.context.support.DefaultTestContext;
+
+/**
+ * Measures the callbacks of {@link SpringTestProfilerListener} against a real (cached) test
+ * context.
+ *
+ * <ul>
+ *   <li>{@code perTestMethod}: what the profiler adds to every single test method, all method
+ *       callbacks of the profiler listener and the {@link ListenerChainEndListener} in Spring's
+ *       order, including timing the listener chain. This path must not allocate after warm-up; run
+ *       it with {@code -prof gc} and check that {@code gc.alloc.rate.norm} is ~0 B/op.
+ *   <li>{@code perTestClass}: {@code beforeTestClass}, {@code prepareTestInstance} and {@code
+ *       afterTestClass} for a test class whose context is already cached, measured for a batch of
+ *       {@value #CLASS_BATCH_SIZE} classes. The listener's trackers are static, so this batch also
+ *       shows whether the per-class cost grows with the number of classes seen so far.
+ * </ul>
+ */
+@Fork(1)
+@State(Scope.Thread)
+public class ListenerCallbacksBenchmark {
+
+  static final int CLASS_BATCH_SIZE = 1000;
+
+  private SpringTestProfilerListener listener;
+  private ListenerChainEndListener chainEndListener;
+  private DefaultTestContext methodTestContext;
+  private DefaultTestContext classTestContext;
+  private Method[] testMethods;
+  private SampleTest testInstance;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    MergedContextConfiguration mergedConfig =
+        BootstrapUtils.resolveTestContextBootstrapper(SampleTest.class)
+            .buildMergedContextConfiguration();
+    DefaultCacheAwareContextLoaderDelegate loaderDelegate =
+        new DefaultCacheAwareContextLoaderDelegate();
+    methodTestContext = new DefaultTestContext(SampleTest.class, mergedConfig, loaderDelegate);
+    classTestContext = new DefaultTestContext(SampleTest.class, mergedConfig, loaderDelegate);
+    testInstance = new SampleTest();
+    testMethods = SampleTest.class.getDeclaredMethods();
+
+    listener = new SpringTestProfilerListener();
+    chainEndListener = new ListenerChainEndListener();
+    listener.beforeTestClass(methodTestContext);
+    listener.prepareTestInstance(methodTestContext);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    listener.afterTestClass(methodTestContext);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public void perTestMethod() throws Exception {
+    Method testMethod = testMethods[next];
+    next = (next + 1) % testMethods.length;
+
+    methodTestContext.updateState(testInstance, testMethod, null);
+    listener.beforeTestMethod(methodTestContext);
+    chainEndListener.beforeTestMethod(methodTestContext);
+    listener.beforeTestExecution(methodTestContext);
+    chainEndListener.beforeTestExecution(methodTestContext);
+    chainEndListener.afterTestExecution(methodTestContext);
+    listener.afterTestExecution(methodTestContext);
+    chainEndListener.afterTestMethod(methodTestContext);
+    listener.afterTestMethod(methodTestContext);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2, batchSize = CLASS_BATCH_SIZE)
+  @Measurement(iterations = 5, batchSize = CLASS_BATCH_SIZE)
+  public void perTestClass() throws Exception {
+    listener.beforeTestClass(classTestContext);
+    listener.prepareTestInstance(classTestContext);
+    listener.afterTestClass(classTestContext);
+  }
+
+  /** Stand-in test class; its methods are used as the current test method. */
+  @ContextConfiguration(classes = SampleTest.SampleConfig.class)
+  static class SampleTest {
+    void shouldCreateOrder() {}
+
+    void shouldRejectInvalidOrder() {}
+
+    void shouldCancelOrder() {}
+
+    void shouldListOrders() {}
+
+    @Configuration
+    static class SampleConfig {}
+  }
+}
@@ -0,0 +1,107 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import digital.pragmatech.testing.reporting.html.TestExecutionReporter;
+import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-of-run report generation (HTML via {@link TestExecutionReporter} and JSON via
+ * {@link JsonReportGenerator}) for synthetic suites, including writing the files to disk. The JSON
+ * report is measured uncompressed and gzip-compressed ({@code spring.test.profiler.json.gzip}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReportGenerationBenchmark {
+
+  private static final String REPORT_DIR_PROPERTY = "pragmatech.spring.test.insight.report.dir";
+  private static final String JSON_GZIP_PROPERTY = "spring.test.profiler.json.gzip";
+
+  @Param({"10", "100", "1000"})
+  int contexts;
+
+  @Param({"1000", "100000"})
+  int testMethods;
+
+  private SyntheticSuite suite;
+  private Path reportDir;
+  private TestExecutionReporter htmlReporter;
+  private JsonReportGenerator jsonReportGenerator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    suite = SyntheticSuite.record(SyntheticSuite.generate(contexts, testMethods));
+    reportDir = Files.createTempDirectory("spring-test-profiler-benchmark");
+    System.setProperty(REPORT_DIR_PROPERTY, reportDir.toString());
+    htmlReporter = new TestExecutionReporter();
+    jsonReportGenerator = new JsonReportGenerator();
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteReports() throws IOException {
+    try (Stream<Path> files = Files.walk(reportDir)) {
+      files
+          .sorted(Comparator.reverseOrder())
+          .filter(path -> !path.equals(reportDir))
+          .forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System.clearProperty(REPORT_DIR_PROPERTY);
+    Files.deleteIfExists(reportDir);
+  }
+
+  @Benchmark
+  public void htmlReport() {
+    htmlReporter.generateReport(
+        suite.executionTracker(), suite.cacheStatistics(), suite.contextCacheTracker());
+  }
+
+  /** Whether the JSON report is gzip-compressed, a parameter of {@code jsonReport} only. */
+  @State(Scope.Benchmark)
+  public static class JsonOptions {
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      System.setProperty(JSON_GZIP_PROPERTY, Boolean.toString(gzip));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      System.clearProperty(JSON_GZIP_PROPERTY);
+    }
+  }
+
+  @Benchmark
+  public void jsonReport(JsonOptions options) {
+    jsonReportGenerator.generateJsonReport(
+        reportDir, suite.executionTracker(), suite.cacheStatistics(), suite.contextCacheTracker());
+  }
+}
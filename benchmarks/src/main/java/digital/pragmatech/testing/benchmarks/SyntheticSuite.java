@@ -0,0 +1,105 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.benchmarks.generator.GeneratedContext;
+import digital.pragmatech.testing.benchmarks.generator.GeneratedSuite;
+import digital.pragmatech.testing.benchmarks.generator.GeneratedTestClass;
+import digital.pragmatech.testing.benchmarks.generator.SuiteShape;
+import digital.pragmatech.testing.benchmarks.generator.SuiteSpec;
+import digital.pragmatech.testing.benchmarks.generator.SyntheticSuiteGenerator;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * The tracked state of a generated suite, recorded into fresh (non-static) trackers by making the
+ * same tracker calls the listener makes during a real run. The first class of every context creates
+ * it, all others are cache hits.
+ */
+public record SyntheticSuite(
+    ContextCacheTracker contextCacheTracker,
+    TestExecutionTracker executionTracker,
+    SpringContextCacheAccessor.CacheStatistics cacheStatistics) {
+
+  static final int METHODS_PER_CLASS = 10;
+
+  /**
+   * Generates a suite with the given number of contexts and (approximately) test methods, shaped
+   * like a modular monolith without parameterized tests.
+   */
+  public static GeneratedSuite generate(int contexts, int testMethods) {
+    SuiteSpec modularMonolith = SuiteShape.MODULAR_MONOLITH.spec(42);
+    SuiteSpec spec =
+        new SuiteSpec(
+            modularMonolith.seed(),
+            contexts,
+            Math.max(contexts, testMethods / METHODS_PER_CLASS),
+            METHODS_PER_CLASS,
+            0.0,
+            modularMonolith.similarity(),
+            modularMonolith.locality(),
+            modularMonolith.failureRate(),
+            modularMonolith.kindWeights());
+    return new SyntheticSuiteGenerator().generate(spec);
+  }
+
+  public static SyntheticSuite record(GeneratedSuite suite) {
+    ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
+    TestExecutionTracker executionTracker = new TestExecutionTracker();
+    executionTracker.startTracking();
+
+    Map<GeneratedContext, MergedContextConfiguration> configurations = new HashMap<>();
+    int hits = 0;
+    int testClassIndex = 0;
+    for (GeneratedTestClass testClass : suite.testClasses()) {
+      GeneratedContext context = testClass.context();
+      MergedContextConfiguration config =
+          configurations.computeIfAbsent(
+              context, c -> c.toMergedContextConfiguration(SyntheticSuite.class, 0));
+      String className = testClass.className();
+
+      executionTracker.recordTestClassStart(className);
+      ContextCacheEntry entry = contextCacheTracker.recordTestClassForContext(config, className);
+      if (entry.isCreated()) {
+        contextCacheTracker.recordContextCacheHit(config);
+        hits++;
+      } else {
+        contextCacheTracker.recordContextCreation(config, context.loadTimeMs());
+        contextCacheTracker.recordBeanDefinitions(config, context.beanNames());
+      }
+
+      String[] methodNames = testClass.methodNames();
+      for (int m = 0; m < methodNames.length; m++) {
+        for (int i = 0; i < testClass.invocations()[m]; i++) {
+          executionTracker.recordTestMethodStart(className, methodNames[m]);
+          entry.addTestMethod(className, methodNames[m]);
+          executionTracker.recordTestMethodEnd(
+              className,
+              methodNames[m],
+              m == 0 && testClassIndex % 50 == 0 ? TestStatus.FAILED : TestStatus.PASSED);
+        }
+      }
+      executionTracker.recordTestClassEnd(className);
+      testClassIndex++;
+    }
+    executionTracker.stopTracking();
+
+    List<String> contextKeys = new ArrayList<>();
+    for (MergedContextConfiguration config : configurations.values()) {
+      contextKeys.add(String.valueOf(config.hashCode()));
+    }
+    int contexts = suite.contexts().size();
+    SpringContextCacheAccessor.CacheStatistics cacheStatistics =
+        new SpringContextCacheAccessor.CacheStatistics(
+            Math.min(contexts, 32), hits, contexts, 32, contextKeys);
+
+    return new SyntheticSuite(contextCacheTracker, executionTracker, cacheStatistics);
+  }
+}
@@ -0,0 +1,133 @@
+package digital.pragmatech.testing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.benchmarks.legacy.LegacyTestExecutionTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the recording throughput of {@link TestExecutionTracker} (thread-local append buffers)
+ * with the previous shared-map implementation at 1, 8 and 32 concurrent recording threads. One
+ * operation records the start and end of a single test method, which is what every test method
+ * costs the profiled JVM.
+ *
+ * <p>The event log is append-only, so the benchmark records a fixed batch of {@value #BATCH_SIZE}
+ * test methods per thread and iteration instead of running for a fixed time. The reported score is
+ * the time each thread needs for one batch; lower is better.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = TestExecutionTrackerBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = TestExecutionTrackerBenchmark.BATCH_SIZE)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TestExecutionTrackerBenchmark {
+
+  static final int BATCH_SIZE = 100_000;
+
+  private static final int METHODS_PER_CLASS = 64;
+
+  @State(Scope.Benchmark)
+  public static class Trackers {
+    final AtomicInteger threadCounter = new AtomicInteger();
+    TestExecutionTracker current;
+    LegacyTestExecutionTracker legacy;
+
+    // Fresh trackers per iteration keep the append-only buffers from growing across iterations
+    @Setup(Level.Iteration)
+    public void setUp() {
+      current = new TestExecutionTracker();
+      legacy = new LegacyTestExecutionTracker();
+      current.startTracking();
+      legacy.startTracking();
+    }
+  }
+
+  /** Each benchmark thread plays the role of a test worker executing its own test class. */
+  @State(Scope.Thread)
+  public static class Worker {
+    String className;
+    String[] methodNames;
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setUp(Trackers trackers) {
+      if (className == null) {
+        className = "com.example.GeneratedTest" + trackers.threadCounter.getAndIncrement();
+        methodNames = new String[METHODS_PER_CLASS];
+        for (int i = 0; i < METHODS_PER_CLASS; i++) {
+          methodNames[i] = "testMethod" + i;
+        }
+      }
+      trackers.current.recordTestClassStart(className);
+      trackers.legacy.recordTestClassStart(className);
+    }
+
+    String nextMethod() {
+      String methodName = methodNames[next];
+      next = (next + 1) & (METHODS_PER_CLASS - 1);
+      return methodName;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void current_1_thread(Trackers trackers, Worker worker) {
+    recordCurrent(trackers.current, worker);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void current_8_threads(Trackers trackers, Worker worker) {
+    recordCurrent(trackers.current, worker);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void current_32_threads(Trackers trackers, Worker worker) {
+    recordCurrent(trackers.current, worker);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void legacy_1_thread(Trackers trackers, Worker worker) {
+    recordLegacy(trackers.legacy, worker);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void legacy_8_threads(Trackers trackers, Worker worker) {
+    recordLegacy(trackers.legacy, worker);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void legacy_32_threads(Trackers trackers, Worker worker) {
+    recordLegacy(trackers.legacy, worker);
+  }
+
+  private static void recordCurrent(TestExecutionTracker tracker, Worker worker) {
+    String methodName = worker.nextMethod();
+    tracker.recordTestMethodStart(worker.className, methodName);
+    tracker.recordTestMethodEnd(worker.className, methodName, TestStatus.PASSED);
+  }
+
+  private static void recordLegacy(LegacyTestExecutionTracker tracker, Worker worker) {
+    String methodName = worker.nextMethod();
+    tracker.recordTestMethodStart(worker.className, methodName);
+    tracker.recordTestMethodEnd(worker.className, methodName, TestStatus.PASSED);
+  }
+}
@@ -0,0 +1,28 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+/**
+ * The kinds of test contexts typical Spring Boot suites consist of, with the bean count and load
+ * time ranges the generator draws from.
+ */
+public enum ContextKind {
+  /** {@code @SpringBootTest} with the full application, often with mocked beans. */
+  FULL_APPLICATION(300, 700, 2_000, 8_000),
+  /** {@code @WebMvcTest} style web slice. */
+  WEB_SLICE(60, 160, 300, 1_200),
+  /** {@code @DataJpaTest} style persistence slice. */
+  DATA_SLICE(80, 220, 800, 3_000),
+  /** Plain {@code @ContextConfiguration} with a handful of beans. */
+  PLAIN(5, 40, 20, 200);
+
+  final int minBeans;
+  final int maxBeans;
+  final long minLoadTimeMs;
+  final long maxLoadTimeMs;
+
+  ContextKind(int minBeans, int maxBeans, long minLoadTimeMs, long maxLoadTimeMs) {
+    this.minBeans = minBeans;
+    this.maxBeans = maxBeans;
+    this.minLoadTimeMs = minLoadTimeMs;
+    this.maxLoadTimeMs = maxLoadTimeMs;
+  }
+}
@@ -0,0 +1,48 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * A generated context configuration.
+ *
+ * @param index position of the context in the suite
+ * @param kind the kind of context this models
+ * @param configurationClasses generated configuration classes, shared between similar contexts
+ * @param activeProfiles active profiles
+ * @param properties inlined properties; the last one is unique to this context
+ * @param beanNames the bean definitions the context will contain
+ * @param loadTimeMs the load time a real context of this kind would take
+ */
+public record GeneratedContext(
+    int index,
+    ContextKind kind,
+    Class<?>[] configurationClasses,
+    String[] activeProfiles,
+    String[] properties,
+    String[] beanNames,
+    long loadTimeMs) {
+
+  /**
+   * Builds the merged configuration a test class using this context resolves to. Configurations
+   * built for different test classes are equal, just as they are in a real suite. Loading it
+   * creates the context through a {@link SyntheticContextLoader} with the given time scale.
+   */
+  public MergedContextConfiguration toMergedContextConfiguration(
+      Class<?> testClass, double timeScale) {
+    return new MergedContextConfiguration(
+        testClass,
+        new String[0],
+        configurationClasses,
+        Set.of(),
+        activeProfiles,
+        List.of(),
+        properties,
+        Set.of(),
+        new SyntheticContextLoader(this, timeScale),
+        null,
+        null);
+  }
+}
@@ -0,0 +1,30 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.util.List;
+
+/**
+ * A generated suite: its contexts and its test classes in execution order.
+ *
+ * @param spec the spec the suite was generated from
+ * @param contexts the distinct contexts
+ * @param testClasses the test classes, in the order they run
+ */
+public record GeneratedSuite(
+    SuiteSpec spec, List<GeneratedContext> contexts, List<GeneratedTestClass> testClasses) {
+
+  public int totalInvocations() {
+    int total = 0;
+    for (GeneratedTestClass testClass : testClasses) {
+      total += testClass.totalInvocations();
+    }
+    return total;
+  }
+
+  public long totalBeanDefinitions() {
+    long total = 0;
+    for (GeneratedContext context : contexts) {
+      total += context.beanNames().length;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,21 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+/**
+ * A generated test class.
+ *
+ * @param className fully qualified class name
+ * @param context the context the class uses
+ * @param methodNames names of its test methods
+ * @param invocations how often each method runs (more than once for parameterized tests)
+ */
+public record GeneratedTestClass(
+    String className, GeneratedContext context, String[] methodNames, int[] invocations) {
+
+  public int totalInvocations() {
+    int total = 0;
+    for (int count : invocations) {
+      total += count;
+    }
+    return total;
+  }
+}
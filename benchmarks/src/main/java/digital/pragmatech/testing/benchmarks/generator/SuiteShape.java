@@ -0,0 +1,55 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+/** Suite shapes modelled on typical Spring Boot code bases. */
+public enum SuiteShape {
+
+  /** A single service: few contexts, mostly slices, well aligned configurations. */
+  MICROSERVICE(12, 150, 8, 0.05, 0.75, 0.8, new double[] {0.25, 0.35, 0.20, 0.20}),
+
+  /** A modular monolith: one context family per module, moderate drift between them. */
+  MODULAR_MONOLITH(120, 2_000, 10, 0.05, 0.50, 0.6, new double[] {0.30, 0.30, 0.25, 0.15}),
+
+  /**
+   * A grown monolith with 50k test methods and 800 contexts, mostly full application contexts that
+   * only differ in mocked beans and properties.
+   */
+  LEGACY_MONOLITH(800, 5_000, 10, 0.05, 0.30, 0.3, new double[] {0.60, 0.15, 0.15, 0.10});
+
+  private final int contexts;
+  private final int testClasses;
+  private final int meanMethodsPerClass;
+  private final double parameterizedShare;
+  private final double similarity;
+  private final double locality;
+  private final double[] kindWeights;
+
+  SuiteShape(
+      int contexts,
+      int testClasses,
+      int meanMethodsPerClass,
+      double parameterizedShare,
+      double similarity,
+      double locality,
+      double[] kindWeights) {
+    this.contexts = contexts;
+    this.testClasses = testClasses;
+    this.meanMethodsPerClass = meanMethodsPerClass;
+    this.parameterizedShare = parameterizedShare;
+    this.similarity = similarity;
+    this.locality = locality;
+    this.kindWeights = kindWeights;
+  }
+
+  public SuiteSpec spec(long seed) {
+    return new SuiteSpec(
+        seed,
+        contexts,
+        testClasses,
+        meanMethodsPerClass,
+        parameterizedShare,
+        similarity,
+        locality,
+        0.005,
+        kindWeights);
+  }
+}
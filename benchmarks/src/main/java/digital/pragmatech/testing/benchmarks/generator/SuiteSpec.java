@@ -0,0 +1,89 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+/**
+ * Parameters of a synthetic suite. Two suites generated from equal specs are identical.
+ *
+ * @param seed seed for all random choices
+ * @param contexts number of distinct context configurations
+ * @param testClasses number of test classes, spread across the contexts
+ * @param meanMethodsPerClass average number of test methods per class
+ * @param parameterizedShare share of test methods that are parameterized and run 5 to 25 times
+ * @param similarity 0..1, how much configuration classes, profiles and properties the contexts
+ *     share; higher values make contexts more similar to each other
+ * @param locality 0..1, how strongly test classes using the same context run next to each other
+ * @param failureRate share of test method invocations that fail
+ * @param kindWeights relative weights of the {@link ContextKind}s, in declaration order
+ */
+public record SuiteSpec(
+    long seed,
+    int contexts,
+    int testClasses,
+    int meanMethodsPerClass,
+    double parameterizedShare,
+    double similarity,
+    double locality,
+    double failureRate,
+    double[] kindWeights) {
+
+  public SuiteSpec {
+    if (contexts < 1 || testClasses < contexts) {
+      throw new IllegalArgumentException(
+          "Need at least one context and one test class per context, got "
+              + contexts
+              + " contexts and "
+              + testClasses
+              + " test classes");
+    }
+    if (kindWeights.length != ContextKind.values().length) {
+      throw new IllegalArgumentException("Expected one weight per context kind");
+    }
+    kindWeights = kindWeights.clone();
+  }
+
+  public SuiteSpec withSeed(long seed) {
+    return new SuiteSpec(
+        seed,
+        contexts,
+        testClasses,
+        meanMethodsPerClass,
+        parameterizedShare,
+        similarity,
+        locality,
+        failureRate,
+        kindWeights);
+  }
+
+  public SuiteSpec withSimilarity(double similarity) {
+    return new SuiteSpec(
+        seed,
+        contexts,
+        testClasses,
+        meanMethodsPerClass,
+        parameterizedShare,
+        similarity,
+        locality,
+        failureRate,
+        kindWeights);
+  }
+
+  /** Scales the number of contexts and test classes, keeping everything else. */
+  public SuiteSpec scaled(double factor) {
+    int scaledContexts = Math.max(1, (int) Math.round(contexts * factor));
+    int scaledClasses = Math.max(scaledContexts, (int) Math.round(testClasses * factor));
+    return new SuiteSpec(
+        seed,
+        scaledContexts,
+        scaledClasses,
+        meanMethodsPerClass,
+        parameterizedShare,
+        similarity,
+        locality,
+        failureRate,
+        kindWeights);
+  }
+
+  /** Approximate number of test method invocations, ignoring parameterized repetitions. */
+  public int approximateTestMethods() {
+    return testClasses * meanMethodsPerClass;
+  }
+}
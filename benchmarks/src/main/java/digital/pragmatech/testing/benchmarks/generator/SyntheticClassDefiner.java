@@ -0,0 +1,135 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Defines the generated configuration and test classes at runtime, so the profiler sees real {@link
+ * Class} and {@link java.lang.reflect.Method} objects with realistic names. The classes are
+ * abstract and consist of abstract {@code void} methods only, which keeps the class files trivial:
+ * no constructors, no code attributes. Test classes can carry a class-level {@code @BootstrapWith}
+ * annotation.
+ */
+public final class SyntheticClassDefiner extends ClassLoader {
+
+  private static final int JAVA_17 = 61;
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_SUPER = 0x0020;
+  private static final int ACC_ABSTRACT = 0x0400;
+
+  private final Map<String, Class<?>> definedClasses = new ConcurrentHashMap<>();
+
+  public SyntheticClassDefiner() {
+    super(SyntheticClassDefiner.class.getClassLoader());
+  }
+
+  /** Defines (once) an empty class with the given name. */
+  public Class<?> defineClass(String className) {
+    return defineClass(className, new String[0], null);
+  }
+
+  /**
+   * Defines (once) a class with the given abstract {@code void} methods, optionally annotated with
+   * {@code @BootstrapWith(bootstrapper)}.
+   */
+  public Class<?> defineClass(String className, String[] methodNames, Class<?> bootstrapper) {
+    return definedClasses.computeIfAbsent(
+        className,
+        name -> {
+          byte[] bytes = classFile(name, methodNames, bootstrapper);
+          return defineClass(name, bytes, 0, bytes.length);
+        });
+  }
+
+  private static byte[] classFile(String className, String[] methodNames, Class<?> bootstrapper) {
+    List<Constant> constants = new ArrayList<>();
+    int thisClass = addClass(constants, className.replace('.', '/'));
+    int superClass = addClass(constants, "java/lang/Object");
+    int voidDescriptor = addUtf8(constants, "()V");
+    int[] methodNameIndexes = new int[methodNames.length];
+    for (int i = 0; i < methodNames.length; i++) {
+      methodNameIndexes[i] = addUtf8(constants, methodNames[i]);
+    }
+    int annotationsAttribute = 0;
+    int annotationType = 0;
+    int valueName = 0;
+    int bootstrapperDescriptor = 0;
+    if (bootstrapper != null) {
+      annotationsAttribute = addUtf8(constants, "RuntimeVisibleAnnotations");
+      annotationType = addUtf8(constants, "Lorg/springframework/test/context/BootstrapWith;");
+      valueName = addUtf8(constants, "value");
+      bootstrapperDescriptor =
+          addUtf8(constants, "L" + bootstrapper.getName().replace('.', '/') + ";");
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(JAVA_17);
+
+      out.writeShort(constants.size() + 1);
+      for (Constant constant : constants) {
+        if (constant.utf8() == null) {
+          out.writeByte(7); // CONSTANT_Class
+          out.writeShort(constant.nameIndex());
+        } else {
+          out.writeByte(1); // CONSTANT_Utf8
+          out.writeUTF(constant.utf8());
+        }
+      }
+
+      out.writeShort(ACC_PUBLIC | ACC_SUPER | ACC_ABSTRACT);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(0); // interfaces
+      out.writeShort(0); // fields
+
+      out.writeShort(methodNames.length);
+      for (int methodNameIndex : methodNameIndexes) {
+        out.writeShort(ACC_PUBLIC | ACC_ABSTRACT);
+        out.writeShort(methodNameIndex);
+        out.writeShort(voidDescriptor);
+        out.writeShort(0); // attributes
+      }
+
+      if (bootstrapper == null) {
+        out.writeShort(0);
+      } else {
+        out.writeShort(1);
+        out.writeShort(annotationsAttribute);
+        out.writeInt(11);
+        out.writeShort(1); // one annotation
+        out.writeShort(annotationType);
+        out.writeShort(1); // one element-value pair
+        out.writeShort(valueName);
+        out.writeByte('c');
+        out.writeShort(bootstrapperDescriptor);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  // Constant pool indexes are 1-based
+  private static int addUtf8(List<Constant> constants, String value) {
+    constants.add(new Constant(value, 0));
+    return constants.size();
+  }
+
+  private static int addClass(List<Constant> constants, String internalName) {
+    int nameIndex = addUtf8(constants, internalName);
+    constants.add(new Constant(null, nameIndex));
+    return constants.size();
+  }
+
+  /** A {@code CONSTANT_Utf8} entry, or a {@code CONSTANT_Class} entry if {@code utf8} is null. */
+  private record Constant(String utf8, int nameIndex) {}
+}
@@ -0,0 +1,66 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.SmartContextLoader;
+
+/**
+ * Creates the application context of a {@link GeneratedContext}: a {@link
+ * GenericApplicationContext} with the generated bean definitions. With a time scale above zero,
+ * loading additionally takes {@code loadTimeMs * timeScale} milliseconds, to model slow contexts.
+ *
+ * <p>Spring compares context loaders by class only, so every generated context can carry its own
+ * loader instance without affecting cache keys.
+ */
+public class SyntheticContextLoader implements SmartContextLoader {
+
+  private final GeneratedContext context;
+  private final double timeScale;
+
+  public SyntheticContextLoader(GeneratedContext context, double timeScale) {
+    this.context = context;
+    this.timeScale = timeScale;
+  }
+
+  @Override
+  public ApplicationContext loadContext(MergedContextConfiguration mergedConfig) {
+    long start = System.nanoTime();
+
+    GenericApplicationContext applicationContext = new GenericApplicationContext();
+    applicationContext.getEnvironment().setActiveProfiles(mergedConfig.getActiveProfiles());
+    for (String beanName : context.beanNames()) {
+      applicationContext.registerBeanDefinition(beanName, new RootBeanDefinition(Object.class));
+    }
+    applicationContext.refresh();
+
+    long remainingNanos =
+        TimeUnit.MILLISECONDS.toNanos((long) (context.loadTimeMs() * timeScale))
+            - (System.nanoTime() - start);
+    if (remainingNanos > 0) {
+      LockSupport.parkNanos(remainingNanos);
+    }
+    return applicationContext;
+  }
+
+  @Override
+  public void processContextConfiguration(ContextConfigurationAttributes configAttributes) {
+    // Configurations are generated, there is nothing to detect
+  }
+
+  @Override
+  public String[] processLocations(Class<?> clazz, String... locations) {
+    return locations;
+  }
+
+  @Override
+  public ApplicationContext loadContext(String... locations) {
+    throw new UnsupportedOperationException(
+        "Synthetic contexts are loaded from a MergedContextConfiguration");
+  }
+}
@@ -0,0 +1,257 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic suites from a {@link SuiteSpec}. Generation is deterministic: equal specs
+ * (including the seed) always produce the same contexts, classes, methods and execution order.
+ *
+ * <p>Contexts are assembled from a pool of generated configuration classes (one per domain and
+ * role, plus shared application-wide ones). Contexts that share configuration classes also share
+ * the bean definitions those classes contribute, so similarity shows up in bean overlap as well.
+ * Test classes are spread skewed across the contexts: a few contexts are used by many classes, most
+ * by a few.
+ */
+public final class SyntheticSuiteGenerator {
+
+  private static final String[] DOMAINS = {
+    "Order",
+    "Customer",
+    "Invoice",
+    "Payment",
+    "Shipment",
+    "Product",
+    "Inventory",
+    "Account",
+    "Notification",
+    "Pricing",
+    "Catalog",
+    "Review"
+  };
+  private static final String[] CONFIG_ROLES = {"Web", "Persistence", "Messaging", "Security"};
+  private static final String[] BEAN_ROLES = {
+    "Controller", "Service", "Repository", "Mapper", "Client", "Listener", "Properties", "Validator"
+  };
+  private static final String[] TOPICS = {
+    "Checkout", "Search", "Import", "Export", "Sync", "Audit", "Lifecycle", "Api", "Scheduling"
+  };
+  private static final String[] VERBS = {
+    "Create", "Update", "Delete", "Find", "List", "Reject", "Validate", "Publish", "Cancel", "Map"
+  };
+  private static final String[][] ALTERNATIVE_PROFILES = {
+    {"test", "it"}, {"it"}, {"test", "local"}
+  };
+
+  private final SyntheticClassDefiner classDefiner;
+
+  public SyntheticSuiteGenerator() {
+    this(new SyntheticClassDefiner());
+  }
+
+  public SyntheticSuiteGenerator(SyntheticClassDefiner classDefiner) {
+    this.classDefiner = classDefiner;
+  }
+
+  public GeneratedSuite generate(SuiteSpec spec) {
+    SplittableRandom random = new SplittableRandom(spec.seed());
+
+    List<GeneratedContext> contexts = new ArrayList<>(spec.contexts());
+    for (int i = 0; i < spec.contexts(); i++) {
+      contexts.add(generateContext(i, spec, random));
+    }
+
+    Set<String> classNames = new HashSet<>();
+    List<GeneratedTestClass> testClasses = new ArrayList<>(spec.testClasses());
+    double[] sortKeys = new double[spec.testClasses()];
+    for (int c = 0; c < spec.testClasses(); c++) {
+      // Every context is used at least once, the rest are skewed towards the first contexts
+      int contextIndex =
+          c < spec.contexts() ? c : (int) (spec.contexts() * Math.pow(random.nextDouble(), 2.5));
+      GeneratedContext context = contexts.get(contextIndex);
+      testClasses.add(generateTestClass(context, spec, random, classNames));
+
+      // Classes using the same context are grouped by package, i.e. they run next to each other
+      sortKeys[c] =
+          random.nextDouble() < spec.locality()
+              ? contextIndex + random.nextDouble() * 0.5
+              : random.nextDouble() * spec.contexts();
+    }
+
+    Integer[] order = new Integer[testClasses.size()];
+    Arrays.setAll(order, i -> i);
+    Arrays.sort(order, Comparator.comparingDouble(i -> sortKeys[i]));
+    List<GeneratedTestClass> executionOrder = new ArrayList<>(testClasses.size());
+    for (int index : order) {
+      executionOrder.add(testClasses.get(index));
+    }
+
+    return new GeneratedSuite(spec, List.copyOf(contexts), List.copyOf(executionOrder));
+  }
+
+  private GeneratedContext generateContext(int index, SuiteSpec spec, SplittableRandom random) {
+    ContextKind kind = pickKind(spec.kindWeights(), random);
+    String domain = DOMAINS[random.nextInt(DOMAINS.length)];
+    double similarity = spec.similarity();
+
+    Set<Class<?>> classes = new LinkedHashSet<>();
+    if (kind == ContextKind.FULL_APPLICATION || random.nextDouble() < similarity) {
+      classes.add(configurationClass("com.example.config.ApplicationConfig"));
+    }
+    switch (kind) {
+      case FULL_APPLICATION -> {
+        for (String role : CONFIG_ROLES) {
+          classes.add(domainConfigurationClass(domain, role));
+        }
+        classes.add(configurationClass("com.example.config.TestcontainersConfig"));
+      }
+      case WEB_SLICE -> classes.add(domainConfigurationClass(domain, "Web"));
+      case DATA_SLICE -> {
+        classes.add(domainConfigurationClass(domain, "Persistence"));
+        classes.add(configurationClass("com.example.config.TestcontainersConfig"));
+      }
+      case PLAIN ->
+          classes.add(
+              domainConfigurationClass(domain, CONFIG_ROLES[random.nextInt(CONFIG_ROLES.length)]));
+    }
+    if (random.nextDouble() >= similarity) {
+      String otherDomain = DOMAINS[random.nextInt(DOMAINS.length)];
+      classes.add(
+          domainConfigurationClass(otherDomain, CONFIG_ROLES[random.nextInt(CONFIG_ROLES.length)]));
+    }
+
+    String[] activeProfiles =
+        random.nextDouble() < similarity
+            ? new String[] {"test"}
+            : ALTERNATIVE_PROFILES[random.nextInt(ALTERNATIVE_PROFILES.length)].clone();
+
+    List<String> properties = new ArrayList<>();
+    properties.add("spring.main.banner-mode=off");
+    if (random.nextDouble() >= similarity) {
+      properties.add(
+          "feature." + domain.toLowerCase(Locale.ROOT) + ".enabled=" + random.nextBoolean());
+    }
+    // Distinct configurations in real suites differ in something; here it is a marker property
+    properties.add("synthetic.context.id=" + index);
+
+    int beanCount = kind.minBeans + random.nextInt(kind.maxBeans - kind.minBeans + 1);
+    String[] beanNames = beanNames(kind, classes, beanCount);
+
+    // Load time grows with the bean count, with some noise
+    double beanShare = (double) (beanCount - kind.minBeans) / (kind.maxBeans - kind.minBeans);
+    double loadShare = Math.min(1.0, Math.max(0.0, beanShare + (random.nextDouble() - 0.5) * 0.4));
+    long loadTimeMs =
+        kind.minLoadTimeMs + (long) ((kind.maxLoadTimeMs - kind.minLoadTimeMs) * loadShare);
+
+    return new GeneratedContext(
+        index,
+        kind,
+        classes.toArray(new Class<?>[0]),
+        activeProfiles,
+        properties.toArray(new String[0]),
+        beanNames,
+        loadTimeMs);
+  }
+
+  private String[] beanNames(ContextKind kind, Set<Class<?>> classes, int beanCount) {
+    Set<String> beanNames = new LinkedHashSet<>();
+    beanNames.add("environmentProperties");
+    if (kind != ContextKind.PLAIN) {
+      beanNames.add("objectMapper");
+    }
+    if (kind == ContextKind.FULL_APPLICATION || kind == ContextKind.DATA_SLICE) {
+      beanNames.addAll(List.of("dataSource", "entityManagerFactory", "transactionManager"));
+    }
+    if (kind == ContextKind.FULL_APPLICATION || kind == ContextKind.WEB_SLICE) {
+      beanNames.addAll(List.of("mockMvc", "requestMappingHandlerMapping", "securityFilterChain"));
+    }
+
+    // Each configuration class contributes a deterministic sequence of beans
+    int perClass = Math.max(1, (beanCount - beanNames.size()) / classes.size());
+    for (Class<?> configurationClass : classes) {
+      String prefix = lowerFirst(configurationClass.getSimpleName().replace("Config", ""));
+      for (int k = 0; k < perClass && beanNames.size() < beanCount; k++) {
+        String role = BEAN_ROLES[k % BEAN_ROLES.length];
+        int round = k / BEAN_ROLES.length;
+        beanNames.add(prefix + role + (round == 0 ? "" : String.valueOf(round)));
+      }
+    }
+    return beanNames.toArray(new String[0]);
+  }
+
+  private GeneratedTestClass generateTestClass(
+      GeneratedContext context, SuiteSpec spec, SplittableRandom random, Set<String> classNames) {
+    String domain = DOMAINS[random.nextInt(DOMAINS.length)];
+    String suffix =
+        switch (context.kind()) {
+          case FULL_APPLICATION -> "ApplicationIT";
+          case WEB_SLICE -> "ControllerTest";
+          case DATA_SLICE -> "RepositoryTest";
+          case PLAIN -> "ServiceTest";
+        };
+    String baseName =
+        "com.example."
+            + domain.toLowerCase(Locale.ROOT)
+            + "."
+            + domain
+            + TOPICS[random.nextInt(TOPICS.length)]
+            + suffix;
+    String className = baseName;
+    for (int n = 2; !classNames.add(className); n++) {
+      className = baseName.replace(suffix, n + suffix);
+    }
+
+    int methodCount = 1 + random.nextInt(Math.max(1, 2 * spec.meanMethodsPerClass() - 1));
+    String[] methodNames = new String[methodCount];
+    int[] invocations = new int[methodCount];
+    Set<String> usedMethodNames = new HashSet<>();
+    for (int m = 0; m < methodCount; m++) {
+      String baseMethodName =
+          "should" + VERBS[random.nextInt(VERBS.length)] + domain + BEAN_ROLES[m % 3];
+      String methodName = baseMethodName;
+      for (int n = 2; !usedMethodNames.add(methodName); n++) {
+        methodName = baseMethodName + n;
+      }
+      methodNames[m] = methodName;
+      invocations[m] = random.nextDouble() < spec.parameterizedShare() ? 5 + random.nextInt(21) : 1;
+    }
+
+    return new GeneratedTestClass(className, context, methodNames, invocations);
+  }
+
+  private Class<?> domainConfigurationClass(String domain, String role) {
+    return configurationClass(
+        "com.example." + domain.toLowerCase(Locale.ROOT) + ".config." + domain + role + "Config");
+  }
+
+  private Class<?> configurationClass(String className) {
+    return classDefiner.defineClass(className);
+  }
+
+  private static ContextKind pickKind(double[] weights, SplittableRandom random) {
+    double total = 0;
+    for (double weight : weights) {
+      total += weight;
+    }
+    double pick = random.nextDouble() * total;
+    ContextKind[] kinds = ContextKind.values();
+    for (int i = 0; i < kinds.length; i++) {
+      pick -= weights[i];
+      if (pick < 0) {
+        return kinds[i];
+      }
+    }
+    return kinds[kinds.length - 1];
+  }
+
+  private static String lowerFirst(String value) {
+    return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+  }
+}
@@ -0,0 +1,85 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import digital.pragmatech.testing.SpringTestProfilerListener;
+
+/**
+ * Generates a synthetic suite, runs it through the profiler and renders the report.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar digital.pragmatech.testing.benchmarks.generator.SyntheticSuiteMain \
+ *     --shape=LEGACY_MONOLITH --seed=42 --scale=1.0 --similarity=0.3 --time-scale=0 \
+ *     --report-dir=target/synthetic-report
+ * </pre>
+ *
+ * <p>All options are optional; {@code --similarity} overrides the shape's default.
+ */
+public final class SyntheticSuiteMain {
+
+  private static final String REPORT_DIR_PROPERTY = "pragmatech.spring.test.insight.report.dir";
+
+  private SyntheticSuiteMain() {}
+
+  public static void main(String[] args) throws Exception {
+    SuiteShape shape = SuiteShape.MICROSERVICE;
+    long seed = 42;
+    double scale = 1.0;
+    double timeScale = 0.0;
+    Double similarity = null;
+    Path reportDir = Path.of("target", "synthetic-report");
+
+    for (String arg : args) {
+      String[] option = arg.split("=", 2);
+      if (option.length != 2) {
+        throw new IllegalArgumentException("Expected --option=value, got " + arg);
+      }
+      switch (option[0]) {
+        case "--shape" -> shape = SuiteShape.valueOf(option[1].toUpperCase(Locale.ROOT));
+        case "--seed" -> seed = Long.parseLong(option[1]);
+        case "--scale" -> scale = Double.parseDouble(option[1]);
+        case "--similarity" -> similarity = Double.parseDouble(option[1]);
+        case "--time-scale" -> timeScale = Double.parseDouble(option[1]);
+        case "--report-dir" -> reportDir = Path.of(option[1]);
+        default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+      }
+    }
+
+    SuiteSpec spec = shape.spec(seed).scaled(scale);
+    if (similarity != null) {
+      spec = spec.withSimilarity(similarity);
+    }
+
+    SyntheticClassDefiner classDefiner = new SyntheticClassDefiner();
+    long generationStart = System.nanoTime();
+    GeneratedSuite suite = new SyntheticSuiteGenerator(classDefiner).generate(spec);
+    System.out.printf(
+        "Generated %s suite (seed %d): %d contexts, %d test classes, %d invocations, %d bean"
+            + " definitions in %d ms%n",
+        shape,
+        seed,
+        suite.contexts().size(),
+        suite.testClasses().size(),
+        suite.totalInvocations(),
+        suite.totalBeanDefinitions(),
+        (System.nanoTime() - generationStart) / 1_000_000);
+
+    SyntheticSuiteRunner.RunResult result =
+        new SyntheticSuiteRunner(classDefiner, timeScale).run(suite);
+    System.out.printf(
+        "Ran %d test classes, %d invocations: %d context loads, %d cache hits in %d ms%n",
+        result.testClasses(),
+        result.invocations(),
+        result.contextLoads(),
+        result.contextCacheHits(),
+        result.duration().toMillis());
+
+    System.setProperty(REPORT_DIR_PROPERTY, reportDir.toString());
+    long reportStart = System.nanoTime();
+    SpringTestProfilerListener.generateReport();
+    System.out.printf(
+        "Rendered report into %s in %d ms%n",
+        reportDir.toAbsolutePath(), (System.nanoTime() - reportStart) / 1_000_000);
+  }
+}
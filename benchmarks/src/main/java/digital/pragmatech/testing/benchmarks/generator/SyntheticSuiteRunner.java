@@ -0,0 +1,126 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import digital.pragmatech.testing.SpringTestProfilerListener;
+import org.springframework.test.context.BootstrapUtils;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.cache.ContextCacheUtils;
+import org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate;
+import org.springframework.test.context.cache.DefaultContextCache;
+import org.springframework.test.context.support.DefaultTestContext;
+
+/**
+ * Drives the real {@link SpringTestProfilerListener} through a {@link GeneratedSuite}, calling its
+ * callbacks in the order the {@code SpringExtension} does for JUnit Jupiter's default per-method
+ * test instance lifecycle. Contexts are loaded and cached by Spring's own {@link
+ * DefaultCacheAwareContextLoaderDelegate} and {@link DefaultContextCache} (with the configured
+ * maximum size, so large suites see evictions like real ones).
+ *
+ * <p>The listener's trackers are static, so run one suite per JVM and render the report with {@link
+ * SpringTestProfilerListener#generateReport()} afterwards.
+ */
+public final class SyntheticSuiteRunner {
+
+  private final SyntheticClassDefiner classDefiner;
+  private final double timeScale;
+
+  /**
+   * @param timeScale factor applied to the generated context load times; 0 loads contexts as fast
+   *     as possible, 1 takes as long as the modelled suite would
+   */
+  public SyntheticSuiteRunner(SyntheticClassDefiner classDefiner, double timeScale) {
+    this.classDefiner = classDefiner;
+    this.timeScale = timeScale;
+  }
+
+  public RunResult run(GeneratedSuite suite) throws Exception {
+    DefaultContextCache contextCache =
+        new DefaultContextCache(ContextCacheUtils.retrieveMaxCacheSize());
+    DefaultCacheAwareContextLoaderDelegate loaderDelegate =
+        new DefaultCacheAwareContextLoaderDelegate(contextCache);
+    SpringTestProfilerListener listener = new SpringTestProfilerListener();
+
+    SplittableRandom random = new SplittableRandom(suite.spec().seed());
+    Throwable failure = new AssertionError("Synthetic test failure");
+    Object testInstance = new Object();
+
+    // All test classes of a context share one configuration, as the merged configurations of a
+    // real suite do; only the first class's configuration refers to its own test class
+    Map<GeneratedContext, MergedContextConfiguration> configurations = new HashMap<>();
+
+    long start = System.nanoTime();
+    int invocations = 0;
+    try {
+      for (GeneratedTestClass generated : suite.testClasses()) {
+        Class<?> testClass =
+            classDefiner.defineClass(
+                generated.className(),
+                generated.methodNames(),
+                SyntheticTestContextBootstrapper.class);
+        SyntheticTestContextBootstrapper.register(
+            testClass,
+            configurations.computeIfAbsent(
+                generated.context(),
+                context -> context.toMergedContextConfiguration(testClass, timeScale)));
+
+        MergedContextConfiguration mergedConfig =
+            BootstrapUtils.resolveTestContextBootstrapper(testClass)
+                .buildMergedContextConfiguration();
+        TestContext testContext = new DefaultTestContext(testClass, mergedConfig, loaderDelegate);
+
+        listener.beforeTestClass(testContext);
+        for (int m = 0; m < generated.methodNames().length; m++) {
+          Method testMethod = testClass.getMethod(generated.methodNames()[m]);
+          for (int i = 0; i < generated.invocations()[m]; i++) {
+            testContext.updateState(testInstance, null, null);
+            listener.prepareTestInstance(testContext);
+
+            testContext.updateState(testInstance, testMethod, null);
+            listener.beforeTestMethod(testContext);
+            listener.beforeTestExecution(testContext);
+
+            boolean failed = random.nextDouble() < suite.spec().failureRate();
+            testContext.updateState(testInstance, testMethod, failed ? failure : null);
+            listener.afterTestExecution(testContext);
+            listener.afterTestMethod(testContext);
+            invocations++;
+          }
+        }
+        testContext.updateState(null, null, null);
+        listener.afterTestClass(testContext);
+      }
+    } finally {
+      SyntheticTestContextBootstrapper.clear();
+    }
+
+    return new RunResult(
+        suite.testClasses().size(),
+        invocations,
+        contextCache.getMissCount(),
+        contextCache.getHitCount(),
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Outcome of a run, as seen by Spring's context cache.
+   *
+   * @param testClasses number of executed test classes
+   * @param invocations number of executed test method invocations
+   * @param contextLoads context cache misses, i.e. contexts loaded (including reloads after
+   *     eviction)
+   * @param contextCacheHits context cache hits
+   * @param duration wall-clock time of the run
+   */
+  public record RunResult(
+      int testClasses,
+      int invocations,
+      int contextLoads,
+      int contextCacheHits,
+      Duration duration) {}
+}
@@ -0,0 +1,67 @@
+package digital.pragmatech.testing.benchmarks.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.test.context.BootstrapContext;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestContextBootstrapper;
+import org.springframework.test.context.TestExecutionListener;
+import org.springframework.test.context.support.DefaultTestContext;
+
+/**
+ * Bootstrapper the generated test classes declare via {@code @BootstrapWith}. It resolves their
+ * merged configuration from the registered {@link GeneratedContext}, so the profiler listener
+ * bootstraps generated classes exactly like real ones.
+ */
+public class SyntheticTestContextBootstrapper implements TestContextBootstrapper {
+
+  private static final Map<Class<?>, MergedContextConfiguration> configurations =
+      new ConcurrentHashMap<>();
+
+  private BootstrapContext bootstrapContext;
+
+  static void register(Class<?> testClass, MergedContextConfiguration mergedConfig) {
+    configurations.put(testClass, mergedConfig);
+  }
+
+  static void clear() {
+    configurations.clear();
+  }
+
+  @Override
+  public void setBootstrapContext(BootstrapContext bootstrapContext) {
+    this.bootstrapContext = bootstrapContext;
+  }
+
+  @Override
+  public BootstrapContext getBootstrapContext() {
+    return bootstrapContext;
+  }
+
+  @Override
+  public TestContext buildTestContext() {
+    return new DefaultTestContext(
+        bootstrapContext.getTestClass(),
+        buildMergedContextConfiguration(),
+        bootstrapContext.getCacheAwareContextLoaderDelegate());
+  }
+
+  @Override
+  public MergedContextConfiguration buildMergedContextConfiguration() {
+    Class<?> testClass = bootstrapContext.getTestClass();
+    MergedContextConfiguration mergedConfig = configurations.get(testClass);
+    if (mergedConfig == null) {
+      throw new IllegalStateException("No generated context registered for " + testClass);
+    }
+    return mergedConfig;
+  }
+
+  @Override
+  public List<TestExecutionListener> getTestExecutionListeners() {
+    // The runner drives the profiler listener itself
+    return List.of();
+  }
+}
@@ -39,9 +39,9 @@ echo "📝 Updating main pom.xml to next development version..."
 ./mvnw --batch-mode versions:set -DnewVersion="$NEXT_DEV_VERSION"
 echo "✅ Updated main pom.xml to $NEXT_DEV_VERSION"
 
-# Update demo Maven projects (only spring-test-profiler dependency)
+# Update demo and benchmark Maven projects (only spring-test-profiler dependency)
 echo "📝 Updating demo Maven projects..."
-for pom in $(find demo -name "pom.xml"); do
+for pom in $(find demo benchmarks -name "pom.xml"); do
   # Use perl for multiline matching to target only spring-test-profiler dependency
   perl -i -pe 'BEGIN{undef $/;} s|(<groupId>digital\.pragmatech\.testing</groupId>\s*<artifactId>spring-test-profiler</artifactId>\s*)<version>[0-9]*\.[0-9]*\.[0-9]*(-SNAPSHOT)?</version>|${1}<version>'"$NEXT_DEV_VERSION"'</version>|smg' "$pom"
 done
@@ -0,0 +1,14 @@
+package digital.pragmatech.testing;
+
+/**
+ * Contexts loaded in the background for one reason, e.g. by the pre-warmer: how many loads started,
+ * how many of them a test used and the load time the tests saved.
+ *
+ * @param origin display name of the reason, e.g. {@code Pre-warmed}
+ */
+public record BackgroundLoadStatistics(String origin, int started, int used, long timeSavedMs) {
+
+  public double hitRatio() {
+    return started > 0 ? (double) used / started : 0.0;
+  }
+}
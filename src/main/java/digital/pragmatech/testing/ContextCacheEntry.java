@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,23 +12,62 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCost;
+import digital.pragmatech.testing.customizer.ContextCustomizerTiming;
+import digital.pragmatech.testing.diagnostic.LifecycleTimings;
 import org.springframework.test.context.MergedContextConfiguration;
 
 /** Entry representing a cached context configuration. */
 public class ContextCacheEntry {
+
+  private static final int TEST_METHOD_STRIPES = 16;
+
   private final MergedContextConfiguration configuration;
+  // Computed once for the configuration of this entry, see ContextFingerprint
+  private volatile String fingerprint;
+  private volatile String contextKey;
   private final Set<String> testClasses = ConcurrentHashMap.newKeySet();
-  private final Set<String> testMethods = ConcurrentHashMap.newKeySet();
+  // Interned (class id, method id) pairs, see NameDictionary, to keep per-method recording
+  // allocation-free. Threads add to the set of their thread id's stripe, so the lock taken per test
+  // method is rarely contended and no thread is referenced after it ended; the sets are only folded
+  // together when read
+  private final AtomicReferenceArray<LongHashSet> testMethodStripes =
+      new AtomicReferenceArray<>(TEST_METHOD_STRIPES);
   private volatile boolean created = false;
   private volatile Instant creationTime;
   private volatile Instant lastUsedTime;
   private volatile Instant firstUsedTime;
   private final AtomicInteger hitCount = new AtomicInteger(0);
+  // Hits right after a test class that used another context, each one a pause and resume of this
+  // context once contexts are paused on a switch
+  private final AtomicInteger contextSwitchHitCount = new AtomicInteger(0);
+  // Loads after @DirtiesContext closed the context
+  private final AtomicInteger reloadCount = new AtomicInteger(0);
+  private final AtomicLong reloadTimeMs = new AtomicLong(0);
+  // Load time that ended up in the duration of a test class, by the class that waited for the load
+  private final Map<String, Long> chargedLoadTimes = new ConcurrentHashMap<>();
   private volatile MergedContextConfiguration nearestContext;
   private volatile int beanDefinitionCount = 0;
-  private volatile Set<String> beanDefinitionNames = ConcurrentHashMap.newKeySet();
+  // Bean definition names as a bitset over their NameDictionary.BEAN_NAMES ids. Contexts share most
+  // bean names, so each context only needs a bit per name instead of a set of strings
+  private volatile long[] beanDefinitionIds = new long[0];
   private volatile long contextLoadTimeMs = 0;
+  // Bean name -> creation time of the slowest beans, slowest first (only available when the
+  // TimingTrackingApplicationContextInitializer is registered)
+  private volatile Map<String, Long> beanCreationTimes = Collections.emptyMap();
+
+  // Only available when the ContextDiagnosticApplicationInitializer is registered
+  private volatile LifecycleTimings lifecycleTimings;
+
+  // Time of each context customizer, in invocation order (only when the profiler loaded the
+  // context)
+  private volatile List<ContextCustomizerTiming> contextCustomizerTimings = List.of();
+
+  // Spring Boot auto-configurations that matched in this context, most expensive first
+  private volatile List<AutoConfigurationCost> autoConfigurationCosts = List.of();
 
   // ContextDiagnostic fields
   private volatile long heapMemoryUsedBytes = 0;
@@ -40,13 +80,56 @@ public class ContextCacheEntry {
     this.configuration = configuration;
   }
 
+  /** The fingerprint of the configuration, stable across forks and runs. */
+  public String getFingerprint() {
+    String current = fingerprint;
+    if (current == null) {
+      current = ContextFingerprint.of(configuration);
+      fingerprint = current;
+    }
+    return current;
+  }
+
+  /**
+   * The fingerprint, followed by a counter if a context created earlier has the same fingerprint,
+   * see {@link ContextFingerprint#key(String, int)}. Just the fingerprint until the context is
+   * created.
+   */
+  public String getContextKey() {
+    String current = contextKey;
+    return current != null ? current : getFingerprint();
+  }
+
+  boolean hasContextKey() {
+    return contextKey != null;
+  }
+
+  void setContextKey(String contextKey) {
+    this.contextKey = contextKey;
+  }
+
+  /** Short id of the context in the report, derived from its fingerprint. */
+  public String getContextId() {
+    return ContextFingerprint.contextId(getFingerprint());
+  }
+
   public void addTestClass(String testClassName) {
     testClasses.add(testClassName);
   }
 
   public void addTestMethod(String testClassName, String methodName) {
-    String testMethodIdentifier = testClassName + "#" + methodName;
-    testMethods.add(testMethodIdentifier);
+    NameDictionary names = NameDictionary.TEST_NAMES;
+    long testMethodKey =
+        ((long) names.idOf(testClassName) << 32) | (names.idOf(methodName) & 0xFFFFFFFFL);
+    int stripe = (int) (Thread.currentThread().getId() & (TEST_METHOD_STRIPES - 1));
+    LongHashSet testMethods = testMethodStripes.get(stripe);
+    if (testMethods == null) {
+      testMethodStripes.compareAndSet(stripe, null, new LongHashSet(64));
+      testMethods = testMethodStripes.get(stripe);
+    }
+    synchronized (testMethods) {
+      testMethods.add(testMethodKey);
+    }
   }
 
   public void recordCreation() {
@@ -64,7 +147,22 @@ public class ContextCacheEntry {
   }
 
   public void recordCacheHit() {
+    recordCacheHit(false);
+  }
+
+  public void recordReload(long loadTimeMs) {
+    reloadCount.incrementAndGet();
+    reloadTimeMs.addAndGet(loadTimeMs);
+    Instant now = Instant.now();
+    this.lastUsedTime = now;
+    this.accessTimes.add(now);
+  }
+
+  public void recordCacheHit(boolean afterContextSwitch) {
     hitCount.incrementAndGet();
+    if (afterContextSwitch) {
+      contextSwitchHitCount.incrementAndGet();
+    }
     Instant now = Instant.now();
     this.lastUsedTime = now;
     this.accessTimes.add(now);
@@ -75,14 +173,45 @@ public class ContextCacheEntry {
     }
   }
 
+  /** Records that the test class spent the given time waiting for this context to load. */
+  public void chargeLoadTime(String testClassName, long loadTimeMs) {
+    chargedLoadTimes.merge(testClassName, loadTimeMs, Long::sum);
+  }
+
   public void setNearestContext(MergedContextConfiguration nearestContext) {
     this.nearestContext = nearestContext;
   }
 
   public void setBeanDefinitions(String[] beanNames) {
+    NameDictionary names = NameDictionary.BEAN_NAMES;
+    int[] ids = new int[beanNames.length];
+    int maxId = -1;
+    for (int i = 0; i < beanNames.length; i++) {
+      ids[i] = names.idOf(beanNames[i]);
+      maxId = Math.max(maxId, ids[i]);
+    }
+    long[] words = new long[(maxId >>> 6) + 1];
+    for (int id : ids) {
+      words[id >>> 6] |= 1L << id;
+    }
     this.beanDefinitionCount = beanNames.length;
-    this.beanDefinitionNames.clear();
-    this.beanDefinitionNames.addAll(Arrays.asList(beanNames));
+    this.beanDefinitionIds = words;
+  }
+
+  public void setBeanCreationTimes(Map<String, Long> beanCreationTimes) {
+    this.beanCreationTimes = Collections.unmodifiableMap(new LinkedHashMap<>(beanCreationTimes));
+  }
+
+  public void setContextCustomizerTimings(List<ContextCustomizerTiming> contextCustomizerTimings) {
+    this.contextCustomizerTimings = List.copyOf(contextCustomizerTimings);
+  }
+
+  public void setAutoConfigurationCosts(List<AutoConfigurationCost> autoConfigurationCosts) {
+    this.autoConfigurationCosts = List.copyOf(autoConfigurationCosts);
+  }
+
+  public void setLifecycleTimings(LifecycleTimings lifecycleTimings) {
+    this.lifecycleTimings = lifecycleTimings;
   }
 
   public void setContextDiagnostic(long heapMemoryUsedBytes, int availableProcessors) {
@@ -98,8 +227,22 @@ public class ContextCacheEntry {
     return Collections.unmodifiableSet(testClasses);
   }
 
+  /** Returns the test methods using this context, formatted as {@code ClassName#methodName}. */
   public Set<String> getTestMethods() {
-    return Collections.unmodifiableSet(testMethods);
+    NameDictionary names = NameDictionary.TEST_NAMES;
+    Set<String> identifiers = new LinkedHashSet<>();
+    for (int stripe = 0; stripe < TEST_METHOD_STRIPES; stripe++) {
+      LongHashSet testMethods = testMethodStripes.get(stripe);
+      if (testMethods == null) {
+        continue;
+      }
+      synchronized (testMethods) {
+        testMethods.forEach(
+            key ->
+                identifiers.add(names.nameOf((int) (key >>> 32)) + "#" + names.nameOf((int) key)));
+      }
+    }
+    return Collections.unmodifiableSet(identifiers);
   }
 
   public boolean isCreated() {
@@ -166,6 +309,51 @@ public class ContextCacheEntry {
     return java.time.Duration.between(lastUsedTime, Instant.now()).toMillis();
   }
 
+  public List<ContextCustomizerTiming> getContextCustomizerTimings() {
+    return contextCustomizerTimings;
+  }
+
+  public List<AutoConfigurationCost> getAutoConfigurationCosts() {
+    return autoConfigurationCosts;
+  }
+
+  public int getReloadCount() {
+    return reloadCount.get();
+  }
+
+  /** Time spent loading this context again after it left the cache. */
+  public long getReloadTimeMs() {
+    return reloadTimeMs.get();
+  }
+
+  /** Time spent loading this context, the first load and all reloads. */
+  public long getTotalLoadTimeMs() {
+    return contextLoadTimeMs + reloadTimeMs.get();
+  }
+
+  /** The load time of this context by the test class whose duration includes it. */
+  public Map<String, Long> getChargedLoadTimes() {
+    return Collections.unmodifiableMap(chargedLoadTimes);
+  }
+
+  public int getContextSwitchHitCount() {
+    return contextSwitchHitCount.get();
+  }
+
+  public Optional<LifecycleTimings> getLifecycleTimings() {
+    return Optional.ofNullable(lifecycleTimings);
+  }
+
+  /**
+   * Time the hits after a context switch would spend stopping and restarting the lifecycle beans if
+   * the context was paused whenever the tests switch to another context.
+   */
+  public long getEstimatedPauseCostMs() {
+    return lifecycleTimings != null
+        ? contextSwitchHitCount.get() * lifecycleTimings.getPauseCostMs()
+        : 0;
+  }
+
   public Optional<MergedContextConfiguration> getNearestContext() {
     return Optional.ofNullable(nearestContext);
   }
@@ -175,7 +363,42 @@ public class ContextCacheEntry {
   }
 
   public Set<String> getBeanDefinitionNames() {
-    return Collections.unmodifiableSet(beanDefinitionNames);
+    long[] words = beanDefinitionIds;
+    Set<String> beanNames = new LinkedHashSet<>();
+    for (int w = 0; w < words.length; w++) {
+      long word = words[w];
+      while (word != 0) {
+        beanNames.add(
+            NameDictionary.BEAN_NAMES.nameOf((w << 6) + Long.numberOfTrailingZeros(word)));
+        word &= word - 1;
+      }
+    }
+    return Collections.unmodifiableSet(beanNames);
+  }
+
+  /** Number of bean definition names this context shares with the other context. */
+  public int getSharedBeanCount(ContextCacheEntry other) {
+    long[] words = beanDefinitionIds;
+    long[] otherWords = other.beanDefinitionIds;
+    int shared = 0;
+    for (int w = 0, n = Math.min(words.length, otherWords.length); w < n; w++) {
+      shared += Long.bitCount(words[w] & otherWords[w]);
+    }
+    return shared;
+  }
+
+  /**
+   * Share of the bean definition names of both contexts that both of them define (Jaccard index),
+   * from 0 (no common bean) to 1 (same beans).
+   */
+  public double getBeanOverlap(ContextCacheEntry other) {
+    int shared = getSharedBeanCount(other);
+    int union = beanDefinitionCount + other.beanDefinitionCount - shared;
+    return union > 0 ? (double) shared / union : 0.0;
+  }
+
+  public Map<String, Long> getBeanCreationTimes() {
+    return beanCreationTimes;
   }
 
   public long getContextLoadTimeMs() {
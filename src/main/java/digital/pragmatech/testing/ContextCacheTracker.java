@@ -5,7 +5,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -15,6 +18,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCost;
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCostAnalyzer;
+import digital.pragmatech.testing.cache.ContextCacheEvents;
+import digital.pragmatech.testing.customizer.ContextCustomizerTiming;
+import digital.pragmatech.testing.customizer.ContextCustomizerTimings;
+import digital.pragmatech.testing.diagnostic.LifecycleTimings;
 import digital.pragmatech.testing.optimization.ContextOptimizationOpportunity;
 import digital.pragmatech.testing.reporting.ContextTimelineEvent;
 import org.slf4j.Logger;
@@ -30,10 +39,6 @@ public class ContextCacheTracker {
 
   private static final Logger logger = LoggerFactory.getLogger(ContextCacheTracker.class);
 
-  // Map from context configuration to list of test methods (format: "ClassName.methodName")
-  private final Map<MergedContextConfiguration, List<String>> contextToTestMethods =
-      new ConcurrentHashMap<>();
-
   // Map from context configuration to context information
   private final Map<MergedContextConfiguration, ContextCacheEntry> cacheEntries =
       new ConcurrentHashMap<>();
@@ -46,40 +51,58 @@ public class ContextCacheTracker {
   private final List<MergedContextConfiguration> contextCreationOrder =
       new CopyOnWriteArrayList<>();
 
+  // Contexts created per fingerprint, to tell apart contexts with the same fingerprint
+  private final Map<String, Integer> contextsByFingerprint = new HashMap<>();
+
   private final AtomicInteger totalContextsCreated = new AtomicInteger(0);
   private final AtomicInteger cacheHits = new AtomicInteger(0);
   private final AtomicInteger cacheMisses = new AtomicInteger(0);
 
-  /** Records that a test class uses a specific context configuration. */
-  public void recordTestClassForContext(MergedContextConfiguration config, String testClassName) {
+  // Where and how often @DirtiesContext closed cached contexts, keyed by class, method and mode
+  private final Map<String, ContextDirtyingCost> dirtyingCosts = new ConcurrentHashMap<>();
+
+  // Dirtied contexts that were not loaded again yet
+  private final Map<MergedContextConfiguration, ContextDirtyingCost> pendingReloads =
+      new ConcurrentHashMap<>();
+
+  // Context each thread used last, to detect switches between contexts. Per thread, as test classes
+  // running in parallel on other threads do not make a thread switch its context. Keyed by thread
+  // id, so ended threads are not kept alive.
+  private final Map<Long, MergedContextConfiguration> lastUsedContexts = new ConcurrentHashMap<>();
+
+  // Exact operations on Spring's context cache, see ContextCacheRecorder
+  private volatile ContextCacheEvents cacheEvents = new ContextCacheEvents();
+
+  // Contexts the pre-warmer and the prefetcher loaded in the background
+  private volatile List<BackgroundLoadStatistics> backgroundLoadStatistics = List.of();
+
+  /**
+   * Records that a test class uses a specific context configuration and returns the cache entry, so
+   * callers can record per-method usage without another lookup.
+   */
+  public ContextCacheEntry recordTestClassForContext(
+      MergedContextConfiguration config, String testClassName) {
     testClassToContext.put(testClassName, config);
 
-    cacheEntries
-        .computeIfAbsent(
+    ContextCacheEntry cacheEntry =
+        cacheEntries.computeIfAbsent(
             config,
             k -> {
               ContextCacheEntry entry = new ContextCacheEntry(config);
               logger.debug("Created new context cache entry for config: {}", config);
               return entry;
-            })
-        .addTestClass(testClassName);
+            });
+    cacheEntry.addTestClass(testClassName);
+    return cacheEntry;
   }
 
   /** Records that a test method uses a specific context. */
   public void recordTestMethodForContext(
       MergedContextConfiguration config, String testClassName, String methodName) {
-    String testMethodIdentifier = testClassName + "." + methodName;
-    contextToTestMethods
-        .computeIfAbsent(config, k -> new CopyOnWriteArrayList<>())
-        .add(testMethodIdentifier);
-
-    // Also add to the ContextCacheEntry
     ContextCacheEntry entry = cacheEntries.get(config);
     if (entry != null) {
       entry.addTestMethod(testClassName, methodName);
     }
-
-    logger.debug("Recorded test method {} for context config: {}", testMethodIdentifier, config);
   }
 
   /** Records that a new context was created (cache miss) with timing information. */
@@ -87,6 +110,8 @@ public class ContextCacheTracker {
     ContextCacheEntry entry = cacheEntries.get(config);
     if (entry != null) {
       entry.recordCreation(loadTimeMs);
+      assignContextKey(entry);
+      lastUsedContexts.put(Thread.currentThread().getId(), config);
       contextCreationOrder.add(config);
       totalContextsCreated.incrementAndGet();
       cacheMisses.incrementAndGet();
@@ -115,6 +140,8 @@ public class ContextCacheTracker {
     ContextCacheEntry entry = cacheEntries.get(config);
     if (entry != null) {
       entry.recordCreation(loadTimeMs);
+      assignContextKey(entry);
+      lastUsedContexts.put(Thread.currentThread().getId(), config);
       entry.setContextDiagnostic(heapMemoryUsedBytes, availableProcessors);
       contextCreationOrder.add(config);
       totalContextsCreated.incrementAndGet();
@@ -137,6 +164,18 @@ public class ContextCacheTracker {
     }
   }
 
+  /** Numbers the contexts with the same fingerprint in the order they were created. */
+  private void assignContextKey(ContextCacheEntry entry) {
+    synchronized (contextsByFingerprint) {
+      if (!entry.hasContextKey()) {
+        String fingerprint = entry.getFingerprint();
+        entry.setContextKey(
+            ContextFingerprint.key(
+                fingerprint, contextsByFingerprint.merge(fingerprint, 1, Integer::sum)));
+      }
+    }
+  }
+
   /** Records bean definitions for a context configuration. */
   public void recordBeanDefinitions(MergedContextConfiguration config, String[] beanNames) {
     ContextCacheEntry entry = cacheEntries.get(config);
@@ -146,13 +185,186 @@ public class ContextCacheTracker {
     }
   }
 
+  /** Records the creation times of the slowest beans of a context, slowest first. */
+  public void recordBeanCreationTimes(
+      MergedContextConfiguration config, List<BeanCreationProfiler.BeanCreationMetric> beans) {
+    ContextCacheEntry entry = cacheEntries.get(config);
+    if (entry != null) {
+      Map<String, Long> beanCreationTimes = new LinkedHashMap<>();
+      for (BeanCreationProfiler.BeanCreationMetric bean : beans) {
+        beanCreationTimes.put(bean.getBeanName(), bean.getCreationTimeMs());
+      }
+      entry.setBeanCreationTimes(beanCreationTimes);
+    }
+  }
+
   /** Records that a context was retrieved from cache (cache hit). */
   public void recordContextCacheHit(MergedContextConfiguration config) {
     ContextCacheEntry entry = cacheEntries.get(config);
     if (entry != null) {
-      entry.recordCacheHit();
+      MergedContextConfiguration previousContext =
+          lastUsedContexts.get(Thread.currentThread().getId());
+      entry.recordCacheHit(previousContext != null && !previousContext.equals(config));
       cacheHits.incrementAndGet();
     }
+    lastUsedContexts.put(Thread.currentThread().getId(), config);
+  }
+
+  /**
+   * Records that a test class or method closed its cached context, so the next test needing it has
+   * to load it again.
+   *
+   * @param testMethodName null if the context is dirtied once for the whole class
+   * @param mode the {@code @DirtiesContext} mode that closed the context
+   */
+  public void recordContextDirtied(
+      MergedContextConfiguration config, String testClassName, String testMethodName, String mode) {
+    ContextDirtyingCost cost =
+        dirtyingCosts.computeIfAbsent(
+            testClassName + "#" + testMethodName + "#" + mode,
+            key -> new ContextDirtyingCost(testClassName, testMethodName, mode));
+    cost.recordOccurrence();
+    pendingReloads.put(config, cost);
+  }
+
+  /** Whether the context was dirtied and not loaded again yet. */
+  public boolean isReloadPending(MergedContextConfiguration config) {
+    return !pendingReloads.isEmpty() && pendingReloads.containsKey(config);
+  }
+
+  /**
+   * Records that a context was loaded again after it left the cache. The reload counts as a cache
+   * miss. If a {@code @DirtiesContext} declaration closed the context, the load time is attributed
+   * to it, otherwise the cache evicted the context.
+   */
+  public void recordContextReload(MergedContextConfiguration config, long loadTimeMs) {
+    ContextDirtyingCost cost = pendingReloads.remove(config);
+    ContextCacheEntry entry = cacheEntries.get(config);
+    if (entry == null) {
+      return;
+    }
+    entry.recordReload(loadTimeMs);
+    totalContextsCreated.incrementAndGet();
+    cacheMisses.incrementAndGet();
+    lastUsedContexts.put(Thread.currentThread().getId(), config);
+    if (cost == null) {
+      logger.info("Context {} reloaded in {}ms after it was evicted", config, loadTimeMs);
+      return;
+    }
+    cost.recordReload(loadTimeMs);
+    logger.info(
+        "Context {} reloaded in {}ms after {} dirtied it ({})",
+        config,
+        loadTimeMs,
+        cost.getSource(),
+        cost.getMode());
+  }
+
+  /** The {@code @DirtiesContext} declarations that caused the most reload time first. */
+  public List<ContextDirtyingCost> getDirtyingCosts() {
+    return dirtyingCosts.values().stream()
+        .sorted(
+            Comparator.comparingLong(ContextDirtyingCost::getReloadTimeMs)
+                .thenComparingInt(ContextDirtyingCost::getOccurrences)
+                .reversed())
+        .toList();
+  }
+
+  public long getTotalDirtyingReloadTimeMs() {
+    return dirtyingCosts.values().stream().mapToLong(ContextDirtyingCost::getReloadTimeMs).sum();
+  }
+
+  public void recordContextCustomizerTimings(
+      MergedContextConfiguration config, List<ContextCustomizerTiming> timings) {
+    ContextCacheEntry entry = cacheEntries.get(config);
+    if (entry != null && !timings.isEmpty()) {
+      entry.setContextCustomizerTimings(timings);
+    }
+  }
+
+  /** Time spent in each context customizer summed across all contexts, slowest first. */
+  public List<ContextCustomizerTiming> getContextCustomizerTimings() {
+    return ContextCustomizerTimings.aggregate(
+        cacheEntries.values().stream()
+            .map(ContextCacheEntry::getContextCustomizerTimings)
+            .toList());
+  }
+
+  public void recordAutoConfigurationCosts(
+      MergedContextConfiguration config, List<AutoConfigurationCost> autoConfigurationCosts) {
+    ContextCacheEntry entry = cacheEntries.get(config);
+    if (entry != null) {
+      entry.setAutoConfigurationCosts(autoConfigurationCosts);
+    }
+  }
+
+  /**
+   * Spring Boot auto-configurations across all contexts, most expensive first: candidates to
+   * exclude for the whole test suite.
+   */
+  public List<AutoConfigurationCost> getAutoConfigurationCosts() {
+    return AutoConfigurationCostAnalyzer.aggregate(
+        cacheEntries.values().stream().map(ContextCacheEntry::getAutoConfigurationCosts).toList());
+  }
+
+  public void recordLifecycleTimings(
+      MergedContextConfiguration config, LifecycleTimings lifecycleTimings) {
+    ContextCacheEntry entry = cacheEntries.get(config);
+    if (entry != null) {
+      entry.setLifecycleTimings(lifecycleTimings);
+    }
+  }
+
+  /**
+   * Contexts with lifecycle beans, most expensive to pause first: the ones whose hits after a
+   * context switch would spend the most time restarting these beans.
+   */
+  public List<ContextCacheEntry> getContextsByLifecycleCost() {
+    return cacheEntries.values().stream()
+        .filter(entry -> entry.getLifecycleTimings().isPresent())
+        .filter(entry -> !entry.getLifecycleTimings().get().getLifecycleBeanNames().isEmpty())
+        .sorted(
+            Comparator.comparingLong(ContextCacheEntry::getEstimatedPauseCostMs)
+                .thenComparingLong(entry -> entry.getLifecycleTimings().get().getPauseCostMs())
+                .reversed())
+        .toList();
+  }
+
+  public long getEstimatedPauseCostMs() {
+    return cacheEntries.values().stream()
+        .mapToLong(ContextCacheEntry::getEstimatedPauseCostMs)
+        .sum();
+  }
+
+  /** Created contexts with bean definitions, in creation order. */
+  public List<ContextCacheEntry> getContextsWithBeans() {
+    return contextCreationOrder.stream()
+        .distinct()
+        .map(cacheEntries::get)
+        .filter(entry -> entry != null && entry.getBeanDefinitionCount() > 0)
+        .toList();
+  }
+
+  /** The pairs of contexts with the highest bean overlap first. */
+  public List<ContextOverlap> getMostSimilarContexts(int limit) {
+    List<ContextCacheEntry> contexts = getContextsWithBeans();
+    List<ContextOverlap> overlaps = new ArrayList<>();
+    for (int i = 0; i < contexts.size(); i++) {
+      for (int j = i + 1; j < contexts.size(); j++) {
+        ContextCacheEntry first = contexts.get(i);
+        ContextCacheEntry second = contexts.get(j);
+        int sharedBeans = first.getSharedBeanCount(second);
+        if (sharedBeans > 0) {
+          overlaps.add(
+              new ContextOverlap(first, second, sharedBeans, first.getBeanOverlap(second)));
+        }
+      }
+    }
+    overlaps.sort(
+        Comparator.comparingDouble(ContextOverlap::overlap)
+            .thenComparingInt(ContextOverlap::sharedBeans)
+            .reversed());
+    return overlaps.size() > limit ? List.copyOf(overlaps.subList(0, limit)) : overlaps;
   }
 
   /**
@@ -231,6 +443,39 @@ public class ContextCacheTracker {
     return score;
   }
 
+  /** Gets the lookups and loads recorded from Spring's context cache. */
+  public ContextCacheEvents getCacheEvents() {
+    return cacheEvents;
+  }
+
+  /**
+   * Lookups of cached contexts in this run. These are the recorded lookups of Spring's context
+   * cache if it is recorded, otherwise one per test class that used a context created before.
+   */
+  public long getCacheHits() {
+    return cacheEvents.hasEvents() ? cacheEvents.getHits() : cacheHits.get();
+  }
+
+  /**
+   * Lookups that had to load a context in this run. These are the recorded lookups of Spring's
+   * context cache if it is recorded, otherwise every context created or loaded again.
+   */
+  public long getCacheMisses() {
+    return cacheEvents.hasEvents() ? cacheEvents.getMisses() : cacheMisses.get();
+  }
+
+  /**
+   * Gets the statistics of the contexts loaded in the background, by pre-warming or prefetching.
+   */
+  public List<BackgroundLoadStatistics> getBackgroundLoadStatistics() {
+    return backgroundLoadStatistics;
+  }
+
+  public void setBackgroundLoadStatistics(
+      Collection<BackgroundLoadStatistics> backgroundLoadStatistics) {
+    this.backgroundLoadStatistics = List.copyOf(backgroundLoadStatistics);
+  }
+
   /** Gets all context cache entries. */
   public Collection<ContextCacheEntry> getAllEntries() {
     return Collections.unmodifiableCollection(cacheEntries.values());
@@ -457,7 +702,7 @@ public class ContextCacheTracker {
               creationStartMs + entry.getContextLoadTimeMs(),
               events.get(i).color(),
               entry.getContextLoadTimeMs() + "ms load time",
-              entry.getConfiguration().hashCode()));
+              entry.getContextId()));
     }
 
     return new TimelineData(timelineEntries, earliestCreation, latestAccess, events);
@@ -465,12 +710,18 @@ public class ContextCacheTracker {
 
   /** Clears all tracking data. */
   public void clear() {
-    contextToTestMethods.clear();
     cacheEntries.clear();
     testClassToContext.clear();
     contextCreationOrder.clear();
+    dirtyingCosts.clear();
+    pendingReloads.clear();
+    lastUsedContexts.clear();
+    synchronized (contextsByFingerprint) {
+      contextsByFingerprint.clear();
+    }
     totalContextsCreated.set(0);
     cacheHits.set(0);
     cacheMisses.set(0);
+    cacheEvents = new ContextCacheEvents();
   }
 }
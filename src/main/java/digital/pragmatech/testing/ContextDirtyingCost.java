@@ -0,0 +1,65 @@
+package digital.pragmatech.testing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Context reloads forced by one {@code @DirtiesContext} declaration: how often it closed a cached
+ * context and how long the following test classes or methods spent loading it again.
+ */
+public class ContextDirtyingCost {
+
+  private final String testClassName;
+  // Null for class-level modes that dirty the context once per class
+  private final String testMethodName;
+  private final String mode;
+  private final AtomicInteger occurrences = new AtomicInteger(0);
+  private final AtomicInteger reloads = new AtomicInteger(0);
+  private final AtomicLong reloadTimeMs = new AtomicLong(0);
+
+  public ContextDirtyingCost(String testClassName, String testMethodName, String mode) {
+    this.testClassName = testClassName;
+    this.testMethodName = testMethodName;
+    this.mode = mode;
+  }
+
+  void recordOccurrence() {
+    occurrences.incrementAndGet();
+  }
+
+  void recordReload(long loadTimeMs) {
+    reloads.incrementAndGet();
+    reloadTimeMs.addAndGet(loadTimeMs);
+  }
+
+  public String getTestClassName() {
+    return testClassName;
+  }
+
+  public String getTestMethodName() {
+    return testMethodName;
+  }
+
+  /** Where the context was dirtied, e.g. {@code OrderIT#placesOrder}. */
+  public String getSource() {
+    String simpleName = testClassName.substring(testClassName.lastIndexOf('.') + 1);
+    return testMethodName != null ? simpleName + "#" + testMethodName : simpleName;
+  }
+
+  public String getMode() {
+    return mode;
+  }
+
+  public int getOccurrences() {
+    return occurrences.get();
+  }
+
+  public int getReloads() {
+    return reloads.get();
+  }
+
+  /** Total time spent reloading the contexts closed by this declaration. */
+  public long getReloadTimeMs() {
+    return reloadTimeMs.get();
+  }
+}
@@ -0,0 +1,143 @@
+package digital.pragmatech.testing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.core.io.support.PropertySourceDescriptor;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.web.WebMergedContextConfiguration;
+
+/**
+ * Deterministic fingerprint of a context configuration: the SHA-256 of a canonical serialization of
+ * everything that makes up its cache key (configuration type, classes, locations, profiles,
+ * property sources, initializers, customizers, loader and the resource base path of web
+ * configurations), followed by the same for each parent. Unlike {@link
+ * MergedContextConfiguration#hashCode()}, it only depends on names, so the same configuration has
+ * the same fingerprint in every fork and every run.
+ *
+ * <p>Context customizers contribute their class name only, as their state has no stable
+ * representation. Two configurations that differ only in the state of a customizer, such as
+ * different {@code @MockitoBean} fields, have the same fingerprint. Wherever contexts are looked up
+ * by fingerprint, they are told apart by a counter, see {@link #key(String, int)}.
+ */
+public final class ContextFingerprint {
+
+  /** Hex digits of the fingerprint in a context id, like git's short commit ids. */
+  private static final int SHORT_LENGTH = 8;
+
+  private ContextFingerprint() {}
+
+  /** The fingerprint as 64 hex digits. */
+  public static String of(MergedContextConfiguration config) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform implements SHA-256
+      throw new IllegalStateException(e);
+    }
+    return HexFormat.of().formatHex(digest.digest(canonicalForm(config)));
+  }
+
+  /**
+   * Key of the nth configuration with the same fingerprint, counted in the order the contexts were
+   * created: the fingerprint itself for the first one, and the fingerprint followed by the counter
+   * for every further one, like {@code <fingerprint>-2}.
+   */
+  public static String key(String fingerprint, int occurrence) {
+    return occurrence > 1 ? fingerprint + "-" + occurrence : fingerprint;
+  }
+
+  /** Short, human-readable id of a fingerprint, like {@code context-3f9a2c1b}. */
+  public static String contextId(String fingerprint) {
+    return "context-" + fingerprint.substring(0, SHORT_LENGTH);
+  }
+
+  /** The id of a configuration, or {@code context-unknown} for null. */
+  public static String contextId(MergedContextConfiguration config) {
+    return config != null ? contextId(of(config)) : "context-unknown";
+  }
+
+  /**
+   * Each value is written with its length first, so values containing separators cannot make two
+   * configurations serialize the same.
+   */
+  static byte[] canonicalForm(MergedContextConfiguration config) {
+    StringBuilder form = new StringBuilder(256);
+    for (MergedContextConfiguration current = config;
+        current != null;
+        current = current.getParent()) {
+      field(form, "type", List.of(current.getClass().getName()));
+      field(form, "classes", Arrays.stream(current.getClasses()).map(Class::getName).toList());
+      field(form, "locations", Arrays.asList(current.getLocations()));
+      field(form, "profiles", Arrays.asList(current.getActiveProfiles()));
+      field(
+          form,
+          "propertySources",
+          current.getPropertySourceDescriptors().stream()
+              .map(ContextFingerprint::propertySource)
+              .toList());
+      field(form, "properties", Arrays.asList(current.getPropertySourceProperties()));
+      field(
+          form,
+          "initializers",
+          current.getContextInitializerClasses().stream().map(Class::getName).sorted().toList());
+      field(
+          form,
+          "customizers",
+          current.getContextCustomizers().stream()
+              .map(customizer -> customizer.getClass().getName())
+              .sorted()
+              .toList());
+      field(
+          form,
+          "loader",
+          current.getContextLoader() != null
+              ? List.of(current.getContextLoader().getClass().getName())
+              : List.of());
+      field(
+          form,
+          "resourceBasePath",
+          current instanceof WebMergedContextConfiguration web
+              ? List.of(web.getResourceBasePath())
+              : List.of());
+    }
+    return form.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String propertySource(PropertySourceDescriptor descriptor) {
+    StringBuilder form = new StringBuilder();
+    field(form, "locations", descriptor.locations());
+    field(
+        form,
+        "ignoreResourceNotFound",
+        List.of(String.valueOf(descriptor.ignoreResourceNotFound())));
+    field(form, "name", optional(descriptor.name()));
+    field(
+        form,
+        "factory",
+        optional(
+            descriptor.propertySourceFactory() != null
+                ? descriptor.propertySourceFactory().getName()
+                : null));
+    field(form, "encoding", optional(descriptor.encoding()));
+    return form.toString();
+  }
+
+  private static List<String> optional(String value) {
+    return value != null ? List.of(value) : List.of();
+  }
+
+  private static void field(StringBuilder form, String name, Collection<String> values) {
+    form.append(name).append('[').append(values.size()).append(']');
+    for (String value : values) {
+      form.append(value.length()).append(':').append(value);
+    }
+    form.append(';');
+  }
+}
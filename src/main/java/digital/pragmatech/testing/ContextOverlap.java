@@ -0,0 +1,10 @@
+package digital.pragmatech.testing;
+
+/**
+ * Bean definitions two contexts have in common, e.g. context-17 shares 96% of its beans with
+ * context-3.
+ *
+ * @param overlap Jaccard index of the bean definition names of both contexts
+ */
+public record ContextOverlap(
+    ContextCacheEntry first, ContextCacheEntry second, int sharedBeans, double overlap) {}
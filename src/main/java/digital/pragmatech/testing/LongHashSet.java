@@ -0,0 +1,85 @@
+package digital.pragmatech.testing;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Minimal open-addressing set of primitive longs. Adding a value that is already present never
+ * allocates; the table only grows (doubling) when new values push it past half capacity. Not
+ * thread-safe, callers synchronize.
+ */
+final class LongHashSet {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] table;
+  private int size;
+
+  LongHashSet(int expectedSize) {
+    table = new long[tableSizeFor(expectedSize)];
+    Arrays.fill(table, EMPTY);
+  }
+
+  /** Adds the value (which must not be {@link Long#MIN_VALUE}) and returns true if it was new. */
+  boolean add(long value) {
+    int mask = table.length - 1;
+    int index = mix(value) & mask;
+    while (table[index] != EMPTY) {
+      if (table[index] == value) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    table[index] = value;
+    if (++size * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+    return true;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void forEach(LongConsumer consumer) {
+    for (long value : table) {
+      if (value != EMPTY) {
+        consumer.accept(value);
+      }
+    }
+  }
+
+  void clear() {
+    Arrays.fill(table, EMPTY);
+    size = 0;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] old = table;
+    table = new long[newCapacity];
+    Arrays.fill(table, EMPTY);
+    int mask = newCapacity - 1;
+    for (long value : old) {
+      if (value != EMPTY) {
+        int index = mix(value) & mask;
+        while (table[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        table[index] = value;
+      }
+    }
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int capacity = 16;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  static int mix(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
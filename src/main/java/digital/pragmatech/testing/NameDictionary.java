@@ -0,0 +1,53 @@
+package digital.pragmatech.testing;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns names (test classes, test methods, bean names) into dense int ids. Looking up a known
+ * name is a single allocation-free map read, which lets the per-test-method recording path work on
+ * primitive ids instead of concatenated identifier strings, and lets contexts store their bean
+ * names as a bitset over the ids.
+ */
+final class NameDictionary {
+
+  /** Shared dictionary for test class and test method names. */
+  static final NameDictionary TEST_NAMES = new NameDictionary();
+
+  /** Shared dictionary for the bean definition names of all contexts. */
+  static final NameDictionary BEAN_NAMES = new NameDictionary();
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private volatile String[] names = new String[256];
+  private int size;
+
+  int idOf(String name) {
+    Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+    return register(name);
+  }
+
+  String nameOf(int id) {
+    return names[id];
+  }
+
+  private synchronized int register(String name) {
+    Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+
+    String[] current = names;
+    if (size == current.length) {
+      current = Arrays.copyOf(current, size * 2);
+    }
+    current[size] = name;
+    // Publish the array before the id so readers resolving the id always find the name
+    names = current;
+    ids.put(name, size);
+    return size++;
+  }
+}
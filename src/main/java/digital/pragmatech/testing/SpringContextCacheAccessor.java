@@ -1,44 +1,116 @@
 package digital.pragmatech.testing;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.*;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.MergedContextConfiguration;
 import org.springframework.test.context.TestContext;
 import org.springframework.test.context.cache.ContextCache;
 import org.springframework.test.context.cache.ContextCacheUtils;
+import org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate;
+import org.springframework.test.context.cache.DefaultContextCache;
+import org.springframework.test.context.support.DefaultTestContext;
 
 /**
  * Utility class to access Spring's DefaultContextCache via reflection. This allows us to get
- * accurate cache statistics directly from Spring's internal cache.
+ * accurate cache statistics directly from Spring's internal cache. The private fields are resolved
+ * once into {@link MethodHandle}s, so repeated access does not go through reflection again.
  */
 public class SpringContextCacheAccessor {
 
   private static final Logger logger = LoggerFactory.getLogger(SpringContextCacheAccessor.class);
 
+  // Null if the field does not exist in this Spring version
+  private static final MethodHandle DELEGATE_GETTER =
+      getter(DefaultTestContext.class, "cacheAwareContextLoaderDelegate");
+  private static final MethodHandle CONTEXT_CACHE_GETTER =
+      getter(DefaultCacheAwareContextLoaderDelegate.class, "contextCache");
+  private static final MethodHandle DEFAULT_CONTEXT_CACHE_GETTER =
+      getter(DefaultCacheAwareContextLoaderDelegate.class, "defaultContextCache");
+  private static final MethodHandle CONTEXT_MAP_GETTER =
+      getter(DefaultContextCache.class, "contextMap");
+  private static final MethodHandle CONTEXT_MAP_SETTER =
+      setter(DefaultContextCache.class, "contextMap");
+
   /** Gets the Spring ContextCache instance from a TestContext. */
   public static ContextCache getContextCache(TestContext testContext) {
+    if (DELEGATE_GETTER == null
+        || CONTEXT_CACHE_GETTER == null
+        || !(testContext instanceof DefaultTestContext)) {
+      return null;
+    }
     try {
-      // TestContext has a CacheAwareContextLoaderDelegate
-      Field cacheAwareContextLoaderDelegateField =
-          testContext.getClass().getDeclaredField("cacheAwareContextLoaderDelegate");
-      cacheAwareContextLoaderDelegateField.setAccessible(true);
-      Object cacheAwareContextLoaderDelegate =
-          cacheAwareContextLoaderDelegateField.get(testContext);
-
-      // CacheAwareContextLoaderDelegate has a ContextCache
-      Field contextCacheField =
-          cacheAwareContextLoaderDelegate.getClass().getDeclaredField("contextCache");
-      contextCacheField.setAccessible(true);
-      return (ContextCache) contextCacheField.get(cacheAwareContextLoaderDelegate);
-    } catch (Exception e) {
+      // TestContext has a CacheAwareContextLoaderDelegate, which has a ContextCache
+      Object cacheAwareContextLoaderDelegate = DELEGATE_GETTER.invoke(testContext);
+      if (!(cacheAwareContextLoaderDelegate instanceof DefaultCacheAwareContextLoaderDelegate)) {
+        return null;
+      }
+      return (ContextCache) CONTEXT_CACHE_GETTER.invoke(cacheAwareContextLoaderDelegate);
+    } catch (Throwable e) {
       logger.warn("Failed to access ContextCache via reflection", e);
       return null;
     }
   }
 
+  /**
+   * Gets the ContextCache shared by all tests that use the default {@code
+   * CacheAwareContextLoaderDelegate}, also before the first test runs.
+   */
+  public static ContextCache getDefaultContextCache() {
+    if (DEFAULT_CONTEXT_CACHE_GETTER == null) {
+      return null;
+    }
+    try {
+      return (ContextCache) DEFAULT_CONTEXT_CACHE_GETTER.invoke();
+    } catch (Throwable e) {
+      logger.warn("Failed to access the default ContextCache via reflection", e);
+      return null;
+    }
+  }
+
+  /**
+   * Gets the map that holds the contexts of a {@link DefaultContextCache}, or null for other cache
+   * implementations.
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<MergedContextConfiguration, ApplicationContext> getContextMap(
+      ContextCache contextCache) {
+    if (CONTEXT_MAP_GETTER == null || !(contextCache instanceof DefaultContextCache)) {
+      return null;
+    }
+    try {
+      return (Map<MergedContextConfiguration, ApplicationContext>)
+          CONTEXT_MAP_GETTER.invoke(contextCache);
+    } catch (Throwable e) {
+      logger.debug("Could not access the context map of the cache", e);
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the map that holds the contexts of a {@link DefaultContextCache}.
+   *
+   * @return whether the map was replaced
+   */
+  public static boolean setContextMap(
+      ContextCache contextCache, Map<MergedContextConfiguration, ApplicationContext> contextMap) {
+    if (CONTEXT_MAP_SETTER == null || !(contextCache instanceof DefaultContextCache)) {
+      return false;
+    }
+    try {
+      CONTEXT_MAP_SETTER.invoke(contextCache, contextMap);
+      return true;
+    } catch (Throwable e) {
+      logger.debug("Could not replace the context map of the cache", e);
+      return false;
+    }
+  }
+
   /** Gets the maximum cache size configured for Spring's context cache. */
   public static int getMaxCacheSize() {
     try {
@@ -56,55 +128,49 @@ public class SpringContextCacheAccessor {
     }
 
     try {
-      int size = 0;
-      int hitCount = 0;
-      int missCount = 0;
       List<String> contextKeys = new ArrayList<>();
-
-      // Get size - this method should exist
-      try {
-        Method sizeMethod = contextCache.getClass().getMethod("size");
-        size = (int) sizeMethod.invoke(contextCache);
-      } catch (Exception e) {
-        logger.debug("Could not get cache size", e);
-      }
-
-      // Try to get hit/miss counts - these may not exist in all versions
-      try {
-        Method getHitCountMethod = contextCache.getClass().getMethod("getHitCount");
-        hitCount = (int) getHitCountMethod.invoke(contextCache);
-      } catch (Exception e) {
-        logger.debug("Could not get hit count (method may not exist)", e);
-      }
-
-      try {
-        Method getMissCountMethod = contextCache.getClass().getMethod("getMissCount");
-        missCount = (int) getMissCountMethod.invoke(contextCache);
-      } catch (Exception e) {
-        logger.debug("Could not get miss count (method may not exist)", e);
-      }
-
-      // Try to get context keys if available
-      try {
-        // DefaultContextCache has a private contextMap field
-        Field contextMapField = contextCache.getClass().getDeclaredField("contextMap");
-        contextMapField.setAccessible(true);
-        Map<?, ?> contextMap = (Map<?, ?>) contextMapField.get(contextCache);
-
-        for (Object key : contextMap.keySet()) {
+      Map<MergedContextConfiguration, ApplicationContext> contextMap = getContextMap(contextCache);
+      if (contextMap != null) {
+        // Copying the keys via toArray() holds the lock of Spring's synchronized map
+        for (Object key : new ArrayList<>(contextMap.keySet())) {
           contextKeys.add(key.toString());
         }
-      } catch (Exception e) {
-        logger.debug("Could not access context keys from cache", e);
       }
 
-      return new CacheStatistics(size, hitCount, missCount, getMaxCacheSize(), contextKeys);
+      return new CacheStatistics(
+          contextCache.size(),
+          contextCache.getHitCount(),
+          contextCache.getMissCount(),
+          getMaxCacheSize(),
+          contextKeys);
     } catch (Exception e) {
-      logger.warn("Failed to get cache statistics via reflection", e);
+      logger.warn("Failed to get cache statistics", e);
       return new CacheStatistics(0, 0, 0, getMaxCacheSize(), Collections.emptyList());
     }
   }
 
+  private static MethodHandle getter(Class<?> type, String fieldName) {
+    try {
+      Field field = type.getDeclaredField(fieldName);
+      field.setAccessible(true);
+      return MethodHandles.lookup().unreflectGetter(field);
+    } catch (Exception | LinkageError e) {
+      logger.debug("Cannot access field {} of {}", fieldName, type.getName(), e);
+      return null;
+    }
+  }
+
+  private static MethodHandle setter(Class<?> type, String fieldName) {
+    try {
+      Field field = type.getDeclaredField(fieldName);
+      field.setAccessible(true);
+      return MethodHandles.lookup().unreflectSetter(field);
+    } catch (Exception | LinkageError e) {
+      logger.debug("Cannot access field {} of {}", fieldName, type.getName(), e);
+      return null;
+    }
+  }
+
   /** Container for cache statistics. */
   public record CacheStatistics(
       int size, int hitCount, int missCount, int maxSize, List<String> contextKeys) {
@@ -1,20 +1,50 @@
 package digital.pragmatech.testing;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCostAnalyzer;
+import digital.pragmatech.testing.cache.ContextCacheRecorder;
+import digital.pragmatech.testing.customizer.ContextCustomizerTimings;
 import digital.pragmatech.testing.diagnostic.ContextDiagnostic;
+import digital.pragmatech.testing.diagnostic.LifecycleTimings;
+import digital.pragmatech.testing.history.RunSummary;
+import digital.pragmatech.testing.live.LiveDashboard;
+import digital.pragmatech.testing.live.LiveDashboardServer;
+import digital.pragmatech.testing.phase.ListenerChainTimer;
+import digital.pragmatech.testing.phase.MethodPhases;
+import digital.pragmatech.testing.prewarm.BackgroundContextLoader;
+import digital.pragmatech.testing.reporting.html.IncrementalReportAssembler;
 import digital.pragmatech.testing.reporting.html.TestExecutionReporter;
+import digital.pragmatech.testing.trace.TraceRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.lang.NonNull;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.annotation.DirtiesContext.MethodMode;
 import org.springframework.test.context.BootstrapUtils;
 import org.springframework.test.context.MergedContextConfiguration;
 import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestContextAnnotationUtils;
 import org.springframework.test.context.TestContextBootstrapper;
 import org.springframework.test.context.cache.ContextCache;
 import org.springframework.test.context.support.AbstractTestExecutionListener;
@@ -27,18 +57,50 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
 
   private static final Logger logger = LoggerFactory.getLogger(SpringTestProfilerListener.class);
 
-  // Shared instances for tracking across all tests
-  private static final TestExecutionTracker executionTracker = new TestExecutionTracker();
-  private static final ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
+  // Shared instances for tracking across all tests of a launcher session, replaced when the
+  // session is finished so the next session in the same JVM starts from scratch
+  private static volatile TestExecutionTracker executionTracker = new TestExecutionTracker();
+  private static volatile ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
   private static final TestExecutionReporter reporter = new TestExecutionReporter();
 
-  // Track current test class and method
-  private final Map<TestContext, String> testClassNames = new ConcurrentHashMap<>();
-  private final Map<TestContext, Instant> methodStartTimes = new ConcurrentHashMap<>();
-  private final Map<TestContext, Instant> contextLoadStartTimes = new ConcurrentHashMap<>();
+  // Renders finished test classes of the current session while the tests are still running
+  private static volatile IncrementalReportAssembler reportAssembler = reporter.createAssembler();
 
-  // Static flag to ensure report is generated only once
-  private static volatile boolean reportGenerated = false;
+  // Opt-in live dashboard, null unless enabled via spring.test.profiler.live.enabled
+  private static final LiveDashboard liveDashboard = startLiveDashboard();
+
+  // Opt-in trace of the current session, null unless enabled via spring.test.profiler.trace.enabled
+  private static volatile TraceRecorder traceRecorder = TraceRecorder.createIfEnabled();
+
+  // Renders the reports of finished sessions one after another, off the test threads
+  private static final ExecutorService reportRenderer =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "SpringTestProfilerReportRenderer");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private static final long PENDING_REPORT_TIMEOUT_SECONDS = 60;
+
+  // Opt-in timing of context customizers, see ContextCustomizerTimings
+  private static final boolean CUSTOMIZER_TIMING_ENABLED =
+      Boolean.parseBoolean(System.getProperty("spring.test.profiler.customizer-timing.enabled"));
+
+  // Number of slowest beans per context kept for the report and the run history
+  private static final int SLOWEST_BEANS_PER_CONTEXT = 10;
+
+  // Per test class state, resolved once in beforeTestClass so the per-method callbacks only need a
+  // single identity lookup and do not allocate
+  private final Map<TestContext, TestClassState> testClassStates = new ConcurrentHashMap<>();
+
+  // Method level @DirtiesContext, resolved once per test method for the before and after callbacks
+  // of all its invocations
+  private static final Map<Method, Optional<DirtiesContext>> methodDirtiesContexts =
+      new ConcurrentHashMap<>();
+
+  // Whether test classes ran since the last session was finished
+  private static volatile boolean sessionActive = false;
+  private static volatile Future<?> lastReport = CompletableFuture.completedFuture(null);
   private static volatile boolean shutdownHookRegistered = false;
 
   // Hold a reference to a TestContext so we can access the cache later
@@ -56,24 +118,30 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     String className = testClass.getName();
 
     logger.debug("Starting Spring Test Profiler for test class: {}", className);
+    ListenerChainTimer.reset();
 
     // Register shutdown hook once to generate report when JVM exits
     registerShutdownHook();
 
-    // Start tracking if this is the first test class
-    if (executionTracker.getTotalTestClasses() == 0) {
-      executionTracker.startTracking();
-    }
+    // Start tracking with the first test class (idempotent and safe under parallel execution)
+    executionTracker.startTracking();
+    sessionActive = true;
+
+    // Record the exact lookups and loads of Spring's context cache into the current session
+    ContextCacheRecorder.install(SpringContextCacheAccessor.getDefaultContextCache());
+    ContextCacheRecorder.recordInto(contextCacheTracker.getCacheEvents());
 
     // Record test class start
-    testClassNames.put(testContext, className);
     executionTracker.recordTestClassStart(className);
+    if (traceRecorder != null) {
+      traceRecorder.testClassStarted(className);
+    }
 
     // Capture the TestContext reference for cache access
     lastTestContext.set(testContext);
 
     // Start timing context loading for this test class
-    contextLoadStartTimes.put(testContext, Instant.now());
+    Instant contextLoadStartTime = Instant.now();
 
     // Extract and track context configuration
     TestContextBootstrapper bootstrapper = BootstrapUtils.resolveTestContextBootstrapper(testClass);
@@ -83,41 +151,99 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     int cacheKey = mergedConfig.hashCode();
 
     // Track the association between context configuration and test class
-    contextCacheTracker.recordTestClassForContext(mergedConfig, className);
+    ContextCacheEntry contextCacheEntry =
+        contextCacheTracker.recordTestClassForContext(mergedConfig, className);
+    // Wait for the context if it is being pre-warmed or prefetched instead of loading it twice
+    BackgroundContextLoader.UsedLoad backgroundLoad =
+        BackgroundContextLoader.awaitBackgroundLoad(mergedConfig);
+    DirtiesContext classDirtiesContext =
+        TestContextAnnotationUtils.findMergedAnnotation(testClass, DirtiesContext.class);
+    boolean loadedNow = false;
+    // A context dirtied before the class is closed right after this listener and loaded again
+    if (CUSTOMIZER_TIMING_ENABLED
+        && backgroundLoad == null
+        && (classDirtiesContext == null
+            || classDirtiesContext.classMode() != ClassMode.BEFORE_CLASS)) {
+      // Load a new context here instead of via the delegate, which times its customizers
+      ContextCache contextCache = SpringContextCacheAccessor.getDefaultContextCache();
+      if (contextCache != null) {
+        loadedNow = BackgroundContextLoader.loadNow(contextCache, mergedConfig) >= 0;
+      }
+    }
+    testClassStates.put(
+        testContext,
+        new TestClassState(
+            className,
+            mergedConfig,
+            contextCacheEntry,
+            contextLoadStartTime,
+            backgroundLoad,
+            loadedNow,
+            classDirtiesContext));
+
+    // This listener runs first, DirtiesContextBeforeModesTestExecutionListener closes the context
+    // right after it
+    if (classDirtiesContext != null
+        && classDirtiesContext.classMode() == ClassMode.BEFORE_CLASS
+        && testContext.hasApplicationContext()) {
+      contextCacheTracker.recordContextDirtied(
+          mergedConfig, className, null, ClassMode.BEFORE_CLASS.name());
+    }
 
     logger.info("Test class {} uses context cache key {}", className, cacheKey);
   }
 
   @Override
   public void prepareTestInstance(@NonNull TestContext testContext) throws Exception {
-    // After test instance is prepared, the context should be loaded
-    String className = testClassNames.get(testContext);
-    Instant contextLoadEndTime = Instant.now();
+    TestClassState state = testClassStates.get(testContext);
 
-    if (className != null) {
+    if (state != null) {
+      String className = state.className();
       try {
-        Class<?> testClass = testContext.getTestClass();
-        TestContextBootstrapper bootstrapper =
-            BootstrapUtils.resolveTestContextBootstrapper(testClass);
-        MergedContextConfiguration mergedConfig = bootstrapper.buildMergedContextConfiguration();
-        int cacheKey = mergedConfig.hashCode();
-
-        // Calculate context loading time
-        Instant contextLoadStartTime = contextLoadStartTimes.get(testContext);
+        MergedContextConfiguration mergedConfig = state.mergedConfig();
+
+        // This listener runs first, so this lookup loads the context if it is not cached
+        long lookupStart = System.nanoTime();
+        ApplicationContext applicationContext = testContext.getApplicationContext();
+        long lookupNanos = System.nanoTime() - lookupStart;
+        Instant contextLoadEndTime = Instant.now();
+        // The exact cache lookup, null if the cache of this test is not recorded
+        ContextCacheRecorder.Access access = ContextCacheRecorder.takeLastAccess(mergedConfig);
+        boolean loaded = access != null && access.loaded();
+
+        // Load a context dirtied before this class or method again, and attribute the load time to
+        // the @DirtiesContext that closed it
+        if (contextCacheTracker.isReloadPending(mergedConfig)) {
+          if (access == null || loaded) {
+            long reloadTimeMs =
+                loaded ? access.loadTimeMs() : TimeUnit.NANOSECONDS.toMillis(lookupNanos);
+            contextCacheTracker.recordContextReload(mergedConfig, reloadTimeMs);
+            chargeContextLoad(state, reloadTimeMs);
+            traceContextLoad(mergedConfig, contextLoadEndTime, reloadTimeMs, null, true);
+          } else {
+            // Another test thread loaded it again already
+            contextCacheTracker.recordContextCacheHit(mergedConfig);
+          }
+          return;
+        }
+
+        // Calculate context loading time, the context may have been loaded since the class started
+        Instant contextLoadStartTime = state.contextLoadStartTime();
         long contextLoadDurationMs = 0;
-        if (contextLoadStartTime != null) {
+        if (loaded) {
+          contextLoadDurationMs = access.loadTimeMs();
+        } else if (contextLoadStartTime != null) {
           contextLoadDurationMs =
               java.time.Duration.between(contextLoadStartTime, contextLoadEndTime).toMillis();
         }
 
         // Try to get enhanced profile data from ApplicationContextInitializer
         ContextProfileData profileData = null;
-        if (testContext.getApplicationContext()
+        if (applicationContext
             instanceof org.springframework.context.ConfigurableApplicationContext) {
           profileData =
               TimingTrackingApplicationContextInitializer.getContextProfileData(
-                  (org.springframework.context.ConfigurableApplicationContext)
-                      testContext.getApplicationContext());
+                  (org.springframework.context.ConfigurableApplicationContext) applicationContext);
         }
 
         if (profileData != null) {
@@ -131,21 +257,62 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
                   : "unknown");
         }
 
-        // Now check if this was a cache hit or miss
-        // If the context was already tracked as created for another test, it's a hit
+        // The recorded lookup tells whether the cache had the context, e.g. one another test thread
+        // just loaded and did not record yet. Without it, a context is a hit once a test recorded
+        // it
         Optional<ContextCacheEntry> entry = contextCacheTracker.getCacheEntry(mergedConfig);
-        if (entry.isPresent() && entry.get().isCreated()) {
+        boolean created = entry.isPresent() && entry.get().isCreated();
+        boolean hit =
+            created
+                ? !loaded
+                : access != null && !loaded && state.backgroundLoad() == null && !state.loadedNow();
+        if (created && loaded) {
+          // The cache evicted the context since it was created
+          contextCacheTracker.recordContextReload(mergedConfig, contextLoadDurationMs);
+          chargeContextLoad(state, contextLoadDurationMs);
+          traceContextLoad(mergedConfig, contextLoadEndTime, contextLoadDurationMs, null, true);
+        } else if (hit) {
           contextCacheTracker.recordContextCacheHit(mergedConfig);
+          if (liveDashboard != null) {
+            liveDashboard.contextReused();
+          }
           logger.debug(
               "Context cache hit for test class {} ({}ms)", className, contextLoadDurationMs);
         } else {
+          // A pre-warmed or prefetched context was loaded in the background
+          if (state.backgroundLoad() != null) {
+            contextLoadDurationMs = state.backgroundLoad().loadTimeMs();
+          }
+
           // Try to get ContextDiagnostic information using getBeanProvider
           org.springframework.context.ConfigurableApplicationContext configurableContext =
-              (org.springframework.context.ConfigurableApplicationContext)
-                  testContext.getApplicationContext();
+              (org.springframework.context.ConfigurableApplicationContext) applicationContext;
           ContextDiagnostic contextDiagnostic =
               configurableContext.getBeanProvider(ContextDiagnostic.class).getIfAvailable();
 
+          LifecycleTimings lifecycleTimings =
+              configurableContext.getBeanProvider(LifecycleTimings.class).getIfAvailable();
+          if (lifecycleTimings != null) {
+            contextCacheTracker.recordLifecycleTimings(mergedConfig, lifecycleTimings);
+          }
+
+          contextCacheTracker.recordContextCustomizerTimings(
+              mergedConfig, ContextCustomizerTimings.take(mergedConfig));
+
+          // Beans and creation time per Spring Boot auto-configuration, if Boot is present
+          Map<String, Long> beanCreationTimes = new HashMap<>();
+          if (profileData != null && profileData.getBeanCreationMetrics() != null) {
+            profileData
+                .getBeanCreationMetrics()
+                .getAllBeans()
+                .forEach(
+                    bean -> beanCreationTimes.put(bean.getBeanName(), bean.getCreationTimeMs()));
+          }
+          contextCacheTracker.recordAutoConfigurationCosts(
+              mergedConfig,
+              AutoConfigurationCostAnalyzer.analyze(
+                  configurableContext.getBeanFactory(), beanCreationTimes));
+
           if (contextDiagnostic != null) {
             contextCacheTracker.recordContextCreation(
                 mergedConfig,
@@ -155,10 +322,34 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
           } else {
             contextCacheTracker.recordContextCreation(mergedConfig, contextLoadDurationMs);
           }
+          traceContextLoad(
+              mergedConfig,
+              contextLoadEndTime,
+              contextLoadDurationMs,
+              profileData,
+              state.backgroundLoad() == null);
+          // Of a background load, the test class only waited for the rest of it
+          chargeContextLoad(
+              state,
+              state.backgroundLoad() != null
+                  ? state.backgroundLoad().waitedMs()
+                  : contextLoadDurationMs);
 
           // Capture bean definitions for context complexity analysis
-          String[] beanNames = testContext.getApplicationContext().getBeanDefinitionNames();
+          String[] beanNames = applicationContext.getBeanDefinitionNames();
           contextCacheTracker.recordBeanDefinitions(mergedConfig, beanNames);
+          if (liveDashboard != null) {
+            liveDashboard.contextLoaded(
+                state.contextCacheEntry().getContextKey(),
+                RunSummary.contextLabel(mergedConfig),
+                contextLoadDurationMs,
+                beanNames.length,
+                className);
+          }
+          if (profileData != null) {
+            contextCacheTracker.recordBeanCreationTimes(
+                mergedConfig, profileData.getSlowestBeans(SLOWEST_BEANS_PER_CONTEXT));
+          }
           logger.debug(
               "New context created for test class {} with {} bean definitions ({}ms)",
               className,
@@ -170,54 +361,156 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
             "Failed to track context loading for test class {}: {}", className, e.getMessage());
       } finally {
         // Clean up context load timing
-        contextLoadStartTimes.remove(testContext);
+        if (state.contextLoadStartTime() != null) {
+          testClassStates.put(testContext, state.withoutContextLoadStartTime());
+        }
+        // The rest of the chain injects dependencies, which counts as listener setup of the method
+        ListenerChainTimer.open();
       }
     }
   }
 
   @Override
   public void afterTestClass(@NonNull TestContext testContext) throws Exception {
-    String className = testClassNames.get(testContext);
-    if (className != null) {
-      executionTracker.recordTestClassEnd(className);
-      logger.debug("Completed Spring Test Profiler for test class: {}", className);
+    TestClassState state = testClassStates.remove(testContext);
+    if (state != null) {
+      // This listener runs last, after DirtiesContextTestExecutionListener closed the context
+      DirtiesContext classDirtiesContext = state.classDirtiesContext();
+      if (classDirtiesContext != null
+          && classDirtiesContext.classMode() == ClassMode.AFTER_CLASS
+          && state.contextCacheEntry().isCreated()
+          && !contextCacheTracker.isReloadPending(state.mergedConfig())
+          && !testContext.hasApplicationContext()) {
+        contextCacheTracker.recordContextDirtied(
+            state.mergedConfig(), state.className(), null, ClassMode.AFTER_CLASS.name());
+      }
+      executionTracker.recordTestClassEnd(state.className());
+      if (traceRecorder != null) {
+        traceRecorder.testClassFinished();
+        traceCounters();
+      }
+      reportAssembler.testClassFinished(
+          executionTracker.getFinishedClassMetrics(state.className()));
+      BackgroundContextLoader.releaseContext(state.mergedConfig());
+      logger.debug("Completed Spring Test Profiler for test class: {}", state.className());
     }
-
-    // Clean up
-    testClassNames.remove(testContext);
   }
 
   @Override
   public void beforeTestMethod(@NonNull TestContext testContext) throws Exception {
-    String className = testClassNames.get(testContext);
-    String methodName = testContext.getTestMethod().getName();
-
-    if (className != null) {
-      executionTracker.recordTestMethodStart(className, methodName);
-      methodStartTimes.put(testContext, Instant.now());
+    ListenerChainTimer.open();
+    TestClassState state = testClassStates.get(testContext);
+
+    if (state != null) {
+      String methodName = testContext.getTestMethod().getName();
+      executionTracker.recordTestMethodStart(state.className(), methodName);
+      if (traceRecorder != null) {
+        traceRecorder.testMethodStarted(methodName);
+      }
+      if (liveDashboard != null) {
+        liveDashboard.testStarted(state.className(), methodName);
+      }
 
       // Record which test method uses this context
-      Optional<MergedContextConfiguration> config =
-          contextCacheTracker.getContextForTestClass(className);
-      if (config.isPresent()) {
-        contextCacheTracker.recordTestMethodForContext(config.get(), className, methodName);
+      state.contextCacheEntry().addTestMethod(state.className(), methodName);
+
+      // DirtiesContextBeforeModesTestExecutionListener closes the context right after this listener
+      String beforeMode = dirtiesContextMode(testContext, state, true);
+      if (beforeMode != null && testContext.hasApplicationContext()) {
+        contextCacheTracker.recordContextDirtied(
+            state.mergedConfig(), state.className(), methodName, beforeMode);
       }
     }
   }
 
+  @Override
+  public void beforeTestExecution(@NonNull TestContext testContext) throws Exception {
+    ListenerChainTimer.open();
+  }
+
+  @Override
+  public void afterTestMethod(@NonNull TestContext testContext) throws Exception {
+    TestClassState state = testClassStates.get(testContext);
+
+    if (state != null && state.contextCacheEntry().isCreated()) {
+      MergedContextConfiguration mergedConfig = state.mergedConfig();
+      // Dependency injection loaded a context dirtied before this method again. Unless the cache is
+      // recorded, assume it took as long as loading it the first time
+      if (contextCacheTracker.isReloadPending(mergedConfig)
+          && testContext.hasApplicationContext()) {
+        ContextCacheRecorder.Access access = ContextCacheRecorder.takeLastAccess(mergedConfig);
+        long reloadTimeMs =
+            access != null && access.loaded()
+                ? access.loadTimeMs()
+                : state.contextCacheEntry().getContextLoadTimeMs();
+        contextCacheTracker.recordContextReload(mergedConfig, reloadTimeMs);
+        chargeContextLoad(state, reloadTimeMs);
+      }
+
+      // This listener runs last, after DirtiesContextTestExecutionListener closed the context
+      String afterMode = dirtiesContextMode(testContext, state, false);
+      if (afterMode != null
+          && !contextCacheTracker.isReloadPending(mergedConfig)
+          && !testContext.hasApplicationContext()) {
+        contextCacheTracker.recordContextDirtied(
+            mergedConfig, state.className(), testContext.getTestMethod().getName(), afterMode);
+      }
+    }
+
+    // This listener runs last, which completes the listener teardown of the method
+    MethodPhases phases = ListenerChainTimer.finishMethod();
+    if (state != null && phases != null) {
+      executionTracker.recordTestMethodPhases(
+          state.className(), testContext.getTestMethod().getName(), phases);
+    }
+    if (state != null && traceRecorder != null) {
+      traceRecorder.testMethodFinished(determineTestStatus(testContext), phases);
+    }
+  }
+
   @Override
   public void afterTestExecution(@NonNull TestContext testContext) throws Exception {
-    String className = testClassNames.get(testContext);
-    String methodName = testContext.getTestMethod().getName();
+    TestClassState state = testClassStates.get(testContext);
 
-    if (className != null) {
+    if (state != null) {
       // Determine test status based on test exception
       TestStatus status = determineTestStatus(testContext);
-      executionTracker.recordTestMethodEnd(className, methodName, status);
+      executionTracker.recordTestMethodEnd(
+          state.className(), testContext.getTestMethod().getName(), status);
+      if (liveDashboard != null) {
+        liveDashboard.testFinished(status);
+      }
+    }
+    ListenerChainTimer.close();
+  }
 
-      // Clean up
-      methodStartTimes.remove(testContext);
+  /**
+   * The {@code @DirtiesContext} mode that closes the context before or after the current test
+   * method, or null if there is none.
+   */
+  private static String dirtiesContextMode(
+      TestContext testContext, TestClassState state, boolean before) {
+    DirtiesContext methodDirtiesContext =
+        methodDirtiesContexts
+            .computeIfAbsent(
+                testContext.getTestMethod(), SpringTestProfilerListener::findDirtiesContext)
+            .orElse(null);
+    MethodMode methodMode = before ? MethodMode.BEFORE_METHOD : MethodMode.AFTER_METHOD;
+    if (methodDirtiesContext != null && methodDirtiesContext.methodMode() == methodMode) {
+      return methodMode.name();
+    }
+    DirtiesContext classDirtiesContext = state.classDirtiesContext();
+    ClassMode classMode =
+        before ? ClassMode.BEFORE_EACH_TEST_METHOD : ClassMode.AFTER_EACH_TEST_METHOD;
+    if (classDirtiesContext != null && classDirtiesContext.classMode() == classMode) {
+      return classMode.name();
     }
+    return null;
+  }
+
+  private static Optional<DirtiesContext> findDirtiesContext(Method testMethod) {
+    return Optional.ofNullable(
+        AnnotatedElementUtils.findMergedAnnotation(testMethod, DirtiesContext.class));
   }
 
   private TestStatus determineTestStatus(TestContext testContext) {
@@ -236,8 +529,9 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
   }
 
   /**
-   * Registers a shutdown hook to ensure report generation when JVM exits. This is called once when
-   * the first test class is processed.
+   * Registers a shutdown hook as a fallback for report generation when JVM exits. This is called
+   * once when the first test class is processed. Usually, {@link SpringTestProfilerSessionListener}
+   * has already handed the report to the background renderer when the launcher session closed.
    */
   private static void registerShutdownHook() {
     if (!shutdownHookRegistered) {
@@ -253,24 +547,180 @@ public class SpringTestProfilerListener extends AbstractTestExecutionListener {
     }
   }
 
-  /** Called by the shutdown hook or manually to generate the final report. */
-  public static void generateReport() {
+  private static LiveDashboard startLiveDashboard() {
+    LiveDashboard dashboard = new LiveDashboard();
+    return LiveDashboardServer.startIfEnabled(dashboard) != null ? dashboard : null;
+  }
+
+  /** Tracked data of a finished session. */
+  public record SessionData(
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker,
+      SpringContextCacheAccessor.CacheStatistics cacheStatistics,
+      IncrementalReportAssembler reportAssembler,
+      TraceRecorder traceRecorder) {}
+
+  /**
+   * Finishes the current session: stops tracking and replaces the trackers with fresh ones, so a
+   * following launcher session in the same JVM (e.g. a reused Gradle worker or an IDE) gets its own
+   * report.
+   *
+   * @return the data of the session, or null if no test class ran since the last session
+   */
+  public static SessionData finishSession() {
     synchronized (SpringTestProfilerListener.class) {
-      if (!reportGenerated) {
-        logger.info("Generating Spring Test Profiler");
-        executionTracker.stopTracking();
+      if (!sessionActive) {
+        return null;
+      }
+      TestExecutionTracker finishedExecutionTracker = executionTracker;
+      finishedExecutionTracker.stopTracking();
+      contextCacheTracker.setBackgroundLoadStatistics(
+          BackgroundContextLoader.resetStatistics().values());
+      SessionData session =
+          new SessionData(
+              finishedExecutionTracker,
+              contextCacheTracker,
+              getCacheStatistics(),
+              reportAssembler,
+              traceRecorder);
+
+      executionTracker = new TestExecutionTracker();
+      contextCacheTracker = new ContextCacheTracker();
+      reportAssembler = reporter.createAssembler();
+      traceRecorder = TraceRecorder.createIfEnabled();
+      sessionActive = false;
+      if (liveDashboard != null) {
+        liveDashboard.sessionFinished();
+      }
+      return session;
+    }
+  }
 
-        // Get context cache statistics including our custom tracking
-        SpringContextCacheAccessor.CacheStatistics springStats = getCacheStatistics();
+  /** Renders the report of a finished session on the background renderer thread. */
+  public static Future<?> renderReportInBackground(SessionData session) {
+    synchronized (SpringTestProfilerListener.class) {
+      Future<?> report = reportRenderer.submit(() -> renderReport(session));
+      lastReport = report;
+      return report;
+    }
+  }
 
-        // Generate report with both execution and context cache data
-        reporter.generateReport(executionTracker, springStats, contextCacheTracker);
+  /**
+   * Called by the shutdown hook or manually to generate the final report. Waits for reports still
+   * rendering in the background, then renders the current session, if it was not finished by the
+   * launcher session listener (e.g. when tests do not run on the JUnit Platform launcher).
+   */
+  public static void generateReport() {
+    awaitPendingReports();
+    SessionData session = finishSession();
+    if (session != null) {
+      renderReport(session);
+    }
+  }
 
-        // Clear data
-        contextCacheTracker.clear();
-        reportGenerated = true;
+  private static void renderReport(SessionData session) {
+    logger.info("Generating Spring Test Profiler");
+
+    // Generate report with both execution and context cache data
+    reporter.generateReport(
+        session.executionTracker(),
+        session.cacheStatistics(),
+        session.contextCacheTracker(),
+        session.reportAssembler());
+
+    if (session.traceRecorder() != null) {
+      Path traceFile =
+          TestExecutionReporter.reportDirectory()
+              .resolve("trace-" + ProcessHandle.current().pid() + ".json");
+      try {
+        session.traceRecorder().write(traceFile);
+        logger.info("Spring Test Profiler trace written to {}", traceFile.toAbsolutePath());
+      } catch (IOException e) {
+        logger.warn("Failed to write the Spring Test Profiler trace to {}", traceFile, e);
+      }
+    }
+  }
+
+  /** Charges a context load to the test class that waited for it. */
+  private static void chargeContextLoad(TestClassState state, long loadTimeMs) {
+    state.contextCacheEntry().chargeLoadTime(state.className(), loadTimeMs);
+    executionTracker.recordContextLoad(
+        state.className(), RunSummary.contextLabel(state.mergedConfig()), loadTimeMs);
+  }
+
+  /** Adds the span of a context load to the trace, with its beans if they were profiled. */
+  private static void traceContextLoad(
+      MergedContextConfiguration mergedConfig,
+      Instant loadEndTime,
+      long loadTimeMs,
+      ContextProfileData profileData,
+      boolean onCurrentThread) {
+    TraceRecorder recorder = traceRecorder;
+    if (recorder == null) {
+      return;
+    }
+    Instant start = loadEndTime.minusMillis(loadTimeMs);
+    long durationNanos = TimeUnit.MILLISECONDS.toNanos(loadTimeMs);
+    List<BeanCreationProfiler.BeanCreationMetric> beans = List.of();
+    if (profileData != null && profileData.getStartTime() != null) {
+      start = profileData.getStartTime();
+      if (profileData.getEndTime() != null) {
+        durationNanos = java.time.Duration.between(start, profileData.getEndTime()).toNanos();
+      }
+      if (profileData.getBeanCreationMetrics() != null) {
+        beans = profileData.getBeanCreationMetrics().getAllBeans();
       }
     }
+    recorder.contextLoaded(
+        RunSummary.contextLabel(mergedConfig), start, durationNanos, onCurrentThread, beans);
+    traceCounters();
+  }
+
+  private static void traceCounters() {
+    TraceRecorder recorder = traceRecorder;
+    if (recorder != null) {
+      ContextCache contextCache = SpringContextCacheAccessor.getDefaultContextCache();
+      recorder.recordCounters(contextCache != null ? contextCache.size() : -1);
+    }
+  }
+
+  private static void awaitPendingReports() {
+    try {
+      lastReport.get(PENDING_REPORT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      logger.warn(
+          "Spring Test Profiler report still rendering after {}s, not waiting any longer",
+          PENDING_REPORT_TIMEOUT_SECONDS);
+    } catch (ExecutionException e) {
+      logger.error("Failed to generate Spring Test Profiler report", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private record TestClassState(
+      String className,
+      MergedContextConfiguration mergedConfig,
+      ContextCacheEntry contextCacheEntry,
+      Instant contextLoadStartTime,
+      BackgroundContextLoader.UsedLoad backgroundLoad,
+      boolean loadedNow,
+      DirtiesContext classDirtiesContext) {
+
+    TestClassState withoutContextLoadStartTime() {
+      return new TestClassState(
+          className, mergedConfig, contextCacheEntry, null, null, loadedNow, classDirtiesContext);
+    }
+  }
+
+  /** Gets the tracker of the current session, shared by all listener instances. */
+  public static TestExecutionTracker getExecutionTracker() {
+    return executionTracker;
+  }
+
+  /** Gets the tracker of the current session, shared by all listener instances. */
+  public static ContextCacheTracker getContextCacheTracker() {
+    return contextCacheTracker;
   }
 
   /** Gets the Spring ContextCache if available. */
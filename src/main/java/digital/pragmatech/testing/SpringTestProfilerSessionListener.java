@@ -0,0 +1,30 @@
+package digital.pragmatech.testing;
+
+import digital.pragmatech.testing.gate.ContextBudgetVerifier;
+import digital.pragmatech.testing.gate.GateConfiguration;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * Finishes the profiling session when the JUnit Platform launcher session closes, i.e. once all
+ * tests of the session have run. The report is rendered on a background thread, so it neither
+ * delays the end of the test run nor depends on a JVM shutdown hook. The context budget gate is
+ * checked right away, so a breach still fails the test run.
+ *
+ * <p>Registered via {@code META-INF/services}. Every launcher session gets its own report, also
+ * when a JVM runs several sessions (e.g. a reused Gradle worker or an IDE).
+ */
+public class SpringTestProfilerSessionListener implements LauncherSessionListener {
+
+  @Override
+  public void launcherSessionClosed(LauncherSession session) {
+    SpringTestProfilerListener.SessionData sessionData = SpringTestProfilerListener.finishSession();
+    if (sessionData == null) {
+      return;
+    }
+
+    SpringTestProfilerListener.renderReportInBackground(sessionData);
+    new ContextBudgetVerifier(GateConfiguration.load())
+        .verify(sessionData.executionTracker(), sessionData.contextCacheTracker());
+  }
+}
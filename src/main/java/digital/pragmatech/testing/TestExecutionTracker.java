@@ -1,22 +1,55 @@
 package digital.pragmatech.testing;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
-/** Tracks test execution metrics across all test classes and methods. */
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import digital.pragmatech.testing.criticalpath.ExecutionLaneRecorder;
+import digital.pragmatech.testing.phase.ListenerCostTracker;
+import digital.pragmatech.testing.phase.MethodPhases;
+
+/**
+ * Tracks test execution metrics across all test classes and methods.
+ *
+ * <p>Recording is optimized for heavily parallel test runs with many (parameterized) test methods:
+ * every thread folds its events into its own {@link RecordingTable}, a primitive open-addressing
+ * table keyed by interned class and method ids. After warm-up, recording neither takes a lock nor
+ * allocates. The per-class and per-method metrics are only assembled when they are read (usually
+ * once, at report time) by merging all tables.
+ */
 public class TestExecutionTracker {
 
-  private final Map<String, TestClassMetrics> classMetrics = new ConcurrentHashMap<>();
-  private final AtomicInteger totalTestClasses = new AtomicInteger(0);
-  private final AtomicInteger totalTestMethods = new AtomicInteger(0);
-  private Instant overallStartTime;
-  private Instant overallEndTime;
+  private static final TestStatus[] STATUSES = TestStatus.values();
+
+  private final NameDictionary names = NameDictionary.TEST_NAMES;
+  private final Queue<RecordingTable> tables = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<RecordingTable> threadTable =
+      ThreadLocal.withInitial(this::registerTable);
+
+  // Monotonic clock anchor, so timestamps taken on different threads are comparable
+  private final Instant baseInstant = Instant.now();
+  private final long baseNanos = System.nanoTime();
+
+  private final AtomicReference<Instant> overallStartTime = new AtomicReference<>();
+  private volatile Instant overallEndTime;
+
+  private final ListenerCostTracker listenerCosts = new ListenerCostTracker();
+  private final ExecutionLaneRecorder executionLanes = new ExecutionLaneRecorder();
 
+  private final Object mergeLock = new Object();
+  private volatile MergedMetrics mergedMetrics = MergedMetrics.EMPTY;
+
+  /**
+   * Marks the start of the tracked test run. Only the first invocation has an effect, so it is safe
+   * to call this from every test class, even concurrently.
+   */
   public void startTracking() {
-    overallStartTime = Instant.now();
+    overallStartTime.compareAndSet(null, Instant.now());
   }
 
   public void stopTracking() {
@@ -24,84 +57,541 @@ public class TestExecutionTracker {
   }
 
   public void recordTestClassStart(String className) {
-    classMetrics
-        .computeIfAbsent(
-            className,
-            k -> {
-              totalTestClasses.incrementAndGet();
-              return new TestClassMetrics(className);
-            })
-        .recordStart();
+    threadTable.get().recordStart(classKey(className), System.nanoTime());
+    executionLanes.classStarted(className);
   }
 
   public void recordTestClassEnd(String className) {
-    TestClassMetrics metrics = classMetrics.get(className);
-    if (metrics != null) {
-      metrics.recordEnd();
-    }
+    threadTable.get().recordEnd(classKey(className), System.nanoTime(), RecordingTable.ENDED);
+    executionLanes.classFinished(className);
+  }
+
+  /** Records that the test class waited for a context to load. */
+  public void recordContextLoad(String className, String context, long loadTimeMs) {
+    executionLanes.contextLoaded(className, context, loadTimeMs);
   }
 
   public void recordTestMethodStart(String className, String methodName) {
-    TestClassMetrics metrics = classMetrics.get(className);
-    if (metrics != null) {
-      metrics.recordMethodStart(methodName);
-      totalTestMethods.incrementAndGet();
-    }
+    threadTable.get().recordStart(methodKey(className, methodName), System.nanoTime());
   }
 
   public void recordTestMethodEnd(String className, String methodName, TestStatus status) {
-    TestClassMetrics metrics = classMetrics.get(className);
-    if (metrics != null) {
-      metrics.recordMethodEnd(methodName, status);
-    }
+    threadTable
+        .get()
+        .recordEnd(
+            methodKey(className, methodName),
+            System.nanoTime(),
+            (byte) (RecordingTable.ENDED + status.ordinal()));
+  }
+
+  /**
+   * Records how the last invocation of a test method split into listener setup, test body and
+   * listener teardown. Must be called on the thread that recorded the start of the method. Only the
+   * nanos are kept, so the phases can be reused afterwards.
+   */
+  public void recordTestMethodPhases(String className, String methodName, MethodPhases phases) {
+    threadTable
+        .get()
+        .recordPhases(
+            methodKey(className, methodName),
+            phases.setupNanos(),
+            phases.bodyNanos(),
+            phases.teardownNanos());
+    listenerCosts.record(phases);
+  }
+
+  /** Listener setup and teardown time of all test methods. */
+  public ListenerCostTracker getListenerCosts() {
+    return listenerCosts;
+  }
+
+  /** The test classes every thread ran, for the critical path of the run. */
+  public ExecutionLaneRecorder getExecutionLanes() {
+    return executionLanes;
   }
 
   public Map<String, TestClassMetrics> getClassMetrics() {
-    return Collections.unmodifiableMap(classMetrics);
+    return Collections.unmodifiableMap(merge().classMetrics());
+  }
+
+  /**
+   * Metrics of a test class that just finished on the calling thread. Unlike {@link
+   * #getClassMetrics()}, which merges the tables of all threads, this only reads the rows the
+   * calling thread recorded for the class, so it is cheap enough to call for every finished test
+   * class. Test methods that ran on other threads are missing.
+   */
+  public TestClassMetrics getFinishedClassMetrics(String className) {
+    TestClassMetrics metrics = new TestClassMetrics(className);
+    threadTable
+        .get()
+        .forEachRowOfClass(
+            classKey(className),
+            (key, startNanos, endNanos, state, starts, phases) ->
+                recordRow(metrics, key, startNanos, endNanos, state, phases));
+    return metrics;
   }
 
   public int getTotalTestClasses() {
-    return totalTestClasses.get();
+    return merge().classMetrics().size();
   }
 
   public int getTotalTestMethods() {
-    return totalTestMethods.get();
+    return merge().totalTestMethods();
   }
 
   public Duration getOverallDuration() {
-    if (overallStartTime != null && overallEndTime != null) {
-      return Duration.between(overallStartTime, overallEndTime);
+    Instant startTime = overallStartTime.get();
+    Instant endTime = overallEndTime;
+    if (startTime != null && endTime != null) {
+      return Duration.between(startTime, endTime);
     }
     return Duration.ZERO;
   }
 
+  // Class rows use the reserved method id -1
+  private long classKey(String className) {
+    return ((long) names.idOf(className) << 32) | 0xFFFFFFFFL;
+  }
+
+  private long methodKey(String className, String methodName) {
+    return ((long) names.idOf(className) << 32) | names.idOf(methodName);
+  }
+
+  private static int classIdOf(long key) {
+    return (int) (key >>> 32);
+  }
+
+  private static boolean isClassKey(long key) {
+    return (int) key == -1;
+  }
+
+  private Instant toInstant(long nanoTime) {
+    return baseInstant.plusNanos(nanoTime - baseNanos);
+  }
+
+  private RecordingTable registerTable() {
+    RecordingTable table = new RecordingTable();
+    tables.add(table);
+    return table;
+  }
+
+  /**
+   * Folds the rows of all thread tables into class and method metrics. If the same row was recorded
+   * on several threads, the most recent start wins. The result is cached until new events are
+   * recorded, so repeated reads during report rendering are cheap.
+   */
+  private MergedMetrics merge() {
+    MergedMetrics current = mergedMetrics;
+    if (current.version() == currentVersion()) {
+      return current;
+    }
+
+    synchronized (mergeLock) {
+      long version = currentVersion();
+      if (version == mergedMetrics.version()) {
+        return mergedMetrics;
+      }
+
+      Map<Long, MergedRow> rows = new HashMap<>();
+      for (RecordingTable table : tables) {
+        table.forEachRow(
+            (key, startNanos, endNanos, state, starts, phases) -> {
+              MergedRow row = rows.get(key);
+              if (row == null) {
+                rows.put(key, new MergedRow(startNanos, endNanos, state, starts, phases));
+              } else {
+                row.merge(startNanos, endNanos, state, starts, phases);
+              }
+            });
+      }
+
+      Map<Integer, TestClassMetrics> classesById = new HashMap<>();
+      Map<String, TestClassMetrics> classMetrics = new ConcurrentHashMap<>();
+      rows.forEach(
+          (key, row) -> {
+            if (isClassKey(key)) {
+              String className = names.nameOf(classIdOf(key));
+              TestClassMetrics metrics = new TestClassMetrics(className);
+              recordRow(metrics, key, row.startNanos, row.endNanos, row.state, row.phases);
+              classesById.put(classIdOf(key), metrics);
+              classMetrics.put(className, metrics);
+            }
+          });
+
+      int totalTestMethods = 0;
+      for (Map.Entry<Long, MergedRow> entry : rows.entrySet()) {
+        long key = entry.getKey();
+        TestClassMetrics metrics = classesById.get(classIdOf(key));
+        if (isClassKey(key) || metrics == null) {
+          continue;
+        }
+        MergedRow row = entry.getValue();
+        recordRow(metrics, key, row.startNanos, row.endNanos, row.state, row.phases);
+        totalTestMethods += row.starts;
+      }
+
+      MergedMetrics merged = new MergedMetrics(version, classMetrics, totalTestMethods);
+      mergedMetrics = merged;
+      return merged;
+    }
+  }
+
+  private void recordRow(
+      TestClassMetrics metrics,
+      long key,
+      long startNanos,
+      long endNanos,
+      byte state,
+      long[] phases) {
+    if (isClassKey(key)) {
+      metrics.recordStart(toInstant(startNanos));
+      if (state != RecordingTable.STARTED) {
+        metrics.recordEnd(toInstant(endNanos));
+      }
+      return;
+    }
+    String methodName = names.nameOf((int) key);
+    metrics.recordMethodStart(methodName, toInstant(startNanos));
+    if (state != RecordingTable.STARTED) {
+      metrics.recordMethodEnd(
+          methodName, STATUSES[state - RecordingTable.ENDED], toInstant(endNanos));
+    }
+    if (phases != null) {
+      metrics.recordMethodPhases(methodName, phases);
+    }
+  }
+
+  private long currentVersion() {
+    long version = 0;
+    for (RecordingTable table : tables) {
+      version += table.version();
+    }
+    return version;
+  }
+
+  private record MergedMetrics(
+      long version, Map<String, TestClassMetrics> classMetrics, int totalTestMethods) {
+
+    static final MergedMetrics EMPTY = new MergedMetrics(0, Map.of(), 0);
+  }
+
+  private static final class MergedRow {
+    long startNanos;
+    long endNanos;
+    byte state;
+    int starts;
+    long[] phases;
+
+    MergedRow(long startNanos, long endNanos, byte state, int starts, long[] phases) {
+      this.startNanos = startNanos;
+      this.endNanos = endNanos;
+      this.state = state;
+      this.starts = starts;
+      this.phases = phases;
+    }
+
+    void merge(
+        long otherStartNanos, long otherEndNanos, byte otherState, int otherStarts, long[] other) {
+      starts += otherStarts;
+      if (otherStartNanos - startNanos > 0) {
+        startNanos = otherStartNanos;
+        endNanos = otherEndNanos;
+        state = otherState;
+        phases = other;
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowConsumer {
+    // phases holds setup, body and teardown nanos, or is null if they were not recorded
+    void accept(long key, long startNanos, long endNanos, byte state, int starts, long[] phases);
+  }
+
+  /**
+   * Open-addressing table of start/end timestamps owned by a single recording thread. Columns are
+   * primitive arrays held in one {@link Columns} instance, which is only replaced (and republished
+   * through a volatile field) when the table grows.
+   *
+   * <p>{@code version} is a sequence lock: it is odd while the owner updates a row and even
+   * otherwise. Readers on other threads, such as the report assembler or the live dashboard while
+   * the tests are still running, copy the columns and retry if the version changed in the meantime,
+   * so they never see half of an update. The recording path takes no lock.
+   *
+   * <p>The keys are also kept in insertion order, and the row of a class remembers the position at
+   * which it was inserted, so the rows of a class that just finished are found without a full scan.
+   */
+  private static final class RecordingTable {
+
+    private static final VarHandle VERSION;
+
+    static {
+      try {
+        VERSION = MethodHandles.lookup().findVarHandle(RecordingTable.class, "version", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    static final byte STARTED = 0;
+    static final byte ENDED = 1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long NO_PHASES = -1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+    // Only written by the owning thread, see beginUpdate and endUpdate
+    private long version;
+    private int size;
+
+    /** Must only be called by the owning thread. */
+    void recordStart(long key, long nanoTime) {
+      Columns current = columns;
+      int index = current.indexOf(key);
+      beginUpdate();
+      if (current.keys[index] == EMPTY) {
+        if ((size + 1) * 2 > current.keys.length) {
+          current = grow(current);
+          index = current.indexOf(key);
+        }
+        current.keys[index] = key;
+        current.firstInsertion[index] = size;
+        current.insertionOrder[size] = key;
+        size++;
+      }
+      current.startNanos[index] = nanoTime;
+      current.bodyNanos[index] = NO_PHASES;
+      current.states[index] = STARTED;
+      current.starts[index]++;
+      endUpdate();
+    }
+
+    /** Must only be called by the owning thread. Ends of rows that never started are ignored. */
+    void recordEnd(long key, long nanoTime, byte state) {
+      Columns current = columns;
+      int index = current.indexOf(key);
+      if (current.keys[index] == EMPTY) {
+        return;
+      }
+      beginUpdate();
+      current.endNanos[index] = nanoTime;
+      current.states[index] = state;
+      endUpdate();
+    }
+
+    /** Must only be called by the owning thread. Phases of rows that never started are ignored. */
+    void recordPhases(long key, long setupNanos, long bodyNanos, long teardownNanos) {
+      Columns current = columns;
+      int index = current.indexOf(key);
+      if (current.keys[index] == EMPTY) {
+        return;
+      }
+      beginUpdate();
+      current.setupNanos[index] = setupNanos;
+      current.bodyNanos[index] = bodyNanos;
+      current.teardownNanos[index] = teardownNanos;
+      endUpdate();
+    }
+
+    private void beginUpdate() {
+      VERSION.setOpaque(this, version + 1);
+      // The odd version must be visible before any of the column writes
+      VarHandle.storeStoreFence();
+    }
+
+    private void endUpdate() {
+      VERSION.setRelease(this, version + 1);
+    }
+
+    long version() {
+      return (long) VERSION.getAcquire(this);
+    }
+
+    void forEachRow(RowConsumer consumer) {
+      Columns current;
+      while (true) {
+        long before = version();
+        if (before == 0) {
+          return;
+        }
+        if ((before & 1) == 0) {
+          current = columns.copy();
+          VarHandle.loadLoadFence();
+          if ((long) VERSION.getOpaque(this) == before) {
+            break;
+          }
+        }
+        Thread.onSpinWait();
+      }
+      for (int i = 0; i < current.keys.length; i++) {
+        if (current.keys[i] != EMPTY) {
+          visit(current, i, consumer);
+        }
+      }
+    }
+
+    /**
+     * Must only be called by the owning thread. Visits the row of a class and the rows of its
+     * methods inserted after it, which are all rows of the class if it ran on this thread only.
+     */
+    void forEachRowOfClass(long classKey, RowConsumer consumer) {
+      Columns current = columns;
+      int classIndex = current.indexOf(classKey);
+      if (current.keys[classIndex] == EMPTY) {
+        return;
+      }
+      int classId = classIdOf(classKey);
+      for (int i = current.firstInsertion[classIndex]; i < size; i++) {
+        long key = current.insertionOrder[i];
+        if (classIdOf(key) == classId) {
+          visit(current, current.indexOf(key), consumer);
+        }
+      }
+    }
+
+    private static void visit(Columns columns, int index, RowConsumer consumer) {
+      consumer.accept(
+          columns.keys[index],
+          columns.startNanos[index],
+          columns.endNanos[index],
+          columns.states[index],
+          columns.starts[index],
+          columns.bodyNanos[index] == NO_PHASES
+              ? null
+              : new long[] {
+                columns.setupNanos[index], columns.bodyNanos[index], columns.teardownNanos[index]
+              });
+    }
+
+    private Columns grow(Columns current) {
+      Columns grown = new Columns(current.keys.length * 2);
+      for (int i = 0; i < current.keys.length; i++) {
+        long key = current.keys[i];
+        if (key != EMPTY) {
+          int index = grown.indexOf(key);
+          grown.keys[index] = key;
+          grown.startNanos[index] = current.startNanos[i];
+          grown.endNanos[index] = current.endNanos[i];
+          grown.states[index] = current.states[i];
+          grown.starts[index] = current.starts[i];
+          grown.setupNanos[index] = current.setupNanos[i];
+          grown.bodyNanos[index] = current.bodyNanos[i];
+          grown.teardownNanos[index] = current.teardownNanos[i];
+          grown.firstInsertion[index] = current.firstInsertion[i];
+        }
+      }
+      System.arraycopy(current.insertionOrder, 0, grown.insertionOrder, 0, size);
+      columns = grown;
+      return grown;
+    }
+
+    private static final class Columns {
+      final long[] keys;
+      final long[] startNanos;
+      final long[] endNanos;
+      final byte[] states;
+      final int[] starts;
+      final long[] setupNanos;
+      final long[] bodyNanos;
+      final long[] teardownNanos;
+      final int[] firstInsertion;
+      final long[] insertionOrder;
+
+      Columns(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        startNanos = new long[capacity];
+        endNanos = new long[capacity];
+        states = new byte[capacity];
+        starts = new int[capacity];
+        setupNanos = new long[capacity];
+        bodyNanos = new long[capacity];
+        Arrays.fill(bodyNanos, NO_PHASES);
+        teardownNanos = new long[capacity];
+        firstInsertion = new int[capacity];
+        insertionOrder = new long[capacity];
+      }
+
+      private Columns(Columns other) {
+        keys = other.keys.clone();
+        startNanos = other.startNanos.clone();
+        endNanos = other.endNanos.clone();
+        states = other.states.clone();
+        starts = other.starts.clone();
+        setupNanos = other.setupNanos.clone();
+        bodyNanos = other.bodyNanos.clone();
+        teardownNanos = other.teardownNanos.clone();
+        firstInsertion = other.firstInsertion.clone();
+        insertionOrder = other.insertionOrder.clone();
+      }
+
+      Columns copy() {
+        return new Columns(this);
+      }
+
+      /** Returns the slot holding the key, or the empty slot where it would be inserted. */
+      int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = LongHashSet.mix(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+          index = (index + 1) & mask;
+        }
+        return index;
+      }
+    }
+  }
+
   /** Metrics for a single test class. */
   public static class TestClassMetrics {
     private final String className;
     private final Map<String, TestMethodMetrics> methodMetrics = new ConcurrentHashMap<>();
-    private Instant startTime;
-    private Instant endTime;
+    private volatile Instant startTime;
+    private volatile Instant endTime;
 
     public TestClassMetrics(String className) {
       this.className = className;
     }
 
     public void recordStart() {
-      this.startTime = Instant.now();
+      recordStart(Instant.now());
+    }
+
+    void recordStart(Instant timestamp) {
+      this.startTime = timestamp;
     }
 
     public void recordEnd() {
-      this.endTime = Instant.now();
+      recordEnd(Instant.now());
+    }
+
+    void recordEnd(Instant timestamp) {
+      this.endTime = timestamp;
     }
 
     public void recordMethodStart(String methodName) {
-      methodMetrics.computeIfAbsent(methodName, TestMethodMetrics::new).recordStart();
+      recordMethodStart(methodName, Instant.now());
+    }
+
+    void recordMethodStart(String methodName, Instant timestamp) {
+      methodMetrics.computeIfAbsent(methodName, TestMethodMetrics::new).recordStart(timestamp);
     }
 
     public void recordMethodEnd(String methodName, TestStatus status) {
+      recordMethodEnd(methodName, status, Instant.now());
+    }
+
+    void recordMethodEnd(String methodName, TestStatus status, Instant timestamp) {
+      TestMethodMetrics metrics = methodMetrics.get(methodName);
+      if (metrics != null) {
+        metrics.recordEnd(status, timestamp);
+      }
+    }
+
+    void recordMethodPhases(String methodName, long[] phases) {
       TestMethodMetrics metrics = methodMetrics.get(methodName);
       if (metrics != null) {
-        metrics.recordEnd(status);
+        metrics.recordPhases(phases[0], phases[1], phases[2]);
       }
     }
 
@@ -140,27 +630,61 @@ public class TestExecutionTracker {
   /** Metrics for a single test method. */
   public static class TestMethodMetrics {
     private final String methodName;
-    private Instant startTime;
-    private Instant endTime;
-    private TestStatus status;
+    private volatile Instant startTime;
+    private volatile Instant endTime;
+    private volatile TestStatus status;
+    private volatile long setupNanos;
+    private volatile long bodyNanos = -1;
+    private volatile long teardownNanos;
 
     public TestMethodMetrics(String methodName) {
       this.methodName = methodName;
     }
 
     public void recordStart() {
-      this.startTime = Instant.now();
+      recordStart(Instant.now());
+    }
+
+    void recordStart(Instant timestamp) {
+      this.startTime = timestamp;
     }
 
     public void recordEnd(TestStatus status) {
-      this.endTime = Instant.now();
+      recordEnd(status, Instant.now());
+    }
+
+    void recordEnd(TestStatus status, Instant timestamp) {
+      this.endTime = timestamp;
       this.status = status;
     }
 
+    void recordPhases(long setupNanos, long bodyNanos, long teardownNanos) {
+      this.setupNanos = setupNanos;
+      this.bodyNanos = bodyNanos;
+      this.teardownNanos = teardownNanos;
+    }
+
     public String getMethodName() {
       return methodName;
     }
 
+    /** Whether the method was split into listener setup, test body and listener teardown. */
+    public boolean hasPhases() {
+      return bodyNanos >= 0;
+    }
+
+    public Duration getListenerSetupDuration() {
+      return Duration.ofNanos(setupNanos);
+    }
+
+    public Duration getBodyDuration() {
+      return Duration.ofNanos(Math.max(0, bodyNanos));
+    }
+
+    public Duration getListenerTeardownDuration() {
+      return Duration.ofNanos(teardownNanos);
+    }
+
     public Duration getDuration() {
       if (startTime != null && endTime != null) {
         return Duration.between(startTime, endTime);
@@ -8,7 +8,7 @@ public record TimelineEntry(
     long endMs,
     String color,
     String tooltip,
-    int contextId) {
+    String contextId) {
 
   public long getDurationMs() {
     return endMs - startMs;
@@ -0,0 +1,98 @@
+package digital.pragmatech.testing.aggregate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import digital.pragmatech.testing.history.RunSummary;
+import digital.pragmatech.testing.history.RunSummary.ContextSummary;
+
+/**
+ * Profiler results of all modules of a multi-module build: the modules ranked by their context
+ * setup cost and the context configurations repeated across modules.
+ */
+public record PortfolioReport(List<ModuleReport> modules, List<SharedContext> sharedContexts) {
+
+  /** The run summary of one module. */
+  public record ModuleReport(String module, RunSummary summary) {}
+
+  /**
+   * A context configuration (same configuration classes, properties, profiles, customizers, ...)
+   * that several modules load on their own. It could move to a shared test-support module.
+   */
+  public record SharedContext(
+      String key,
+      String label,
+      int beanDefinitionCount,
+      List<String> modules,
+      long totalLoadTimeMs) {}
+
+  public static PortfolioReport of(List<ModuleReport> modules) {
+    Map<String, List<ModuleReport>> modulesByContext = new LinkedHashMap<>();
+    Map<String, ContextSummary> contextsByKey = new LinkedHashMap<>();
+    Map<String, Long> loadTimesByKey = new LinkedHashMap<>();
+    for (ModuleReport module : modules) {
+      for (ContextSummary context : module.summary().contextSummaries()) {
+        modulesByContext.computeIfAbsent(context.key(), k -> new ArrayList<>()).add(module);
+        contextsByKey.putIfAbsent(context.key(), context);
+        loadTimesByKey.merge(context.key(), context.loadTimeMs(), Long::sum);
+      }
+    }
+
+    List<SharedContext> sharedContexts = new ArrayList<>();
+    modulesByContext.forEach(
+        (key, contextModules) -> {
+          List<String> moduleNames =
+              contextModules.stream().map(ModuleReport::module).distinct().sorted().toList();
+          if (moduleNames.size() > 1) {
+            ContextSummary context = contextsByKey.get(key);
+            sharedContexts.add(
+                new SharedContext(
+                    key,
+                    context.label(),
+                    context.beanDefinitionCount(),
+                    moduleNames,
+                    loadTimesByKey.get(key)));
+          }
+        });
+    sharedContexts.sort(Comparator.comparingLong(SharedContext::totalLoadTimeMs).reversed());
+
+    return new PortfolioReport(List.copyOf(modules), sharedContexts);
+  }
+
+  /** Modules with the highest total context load time first. */
+  public List<ModuleReport> byTotalContextLoadTime() {
+    return modules.stream()
+        .sorted(
+            Comparator.comparingLong(
+                    (ModuleReport module) -> module.summary().totalContextLoadTimeMs())
+                .reversed())
+        .toList();
+  }
+
+  /** Modules with the most contexts first. */
+  public List<ModuleReport> byContexts() {
+    return modules.stream()
+        .sorted(
+            Comparator.comparingInt((ModuleReport module) -> module.summary().contexts())
+                .reversed())
+        .toList();
+  }
+
+  /** Modules with the lowest context cache hit ratio first. */
+  public List<ModuleReport> byCacheHitRatio() {
+    return modules.stream()
+        .sorted(Comparator.comparingDouble(module -> module.summary().cacheHitRatio()))
+        .toList();
+  }
+
+  public long getTotalContextLoadTimeMs() {
+    return modules.stream().mapToLong(module -> module.summary().totalContextLoadTimeMs()).sum();
+  }
+
+  public int getTotalContexts() {
+    return modules.stream().mapToInt(module -> module.summary().contexts()).sum();
+  }
+}
@@ -0,0 +1,183 @@
+package digital.pragmatech.testing.aggregate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+import digital.pragmatech.testing.reporting.html.TestExecutionReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Combines the reports of all modules of a multi-module build into one portfolio report. Scans a
+ * directory tree for the run summaries every module writes next to its report ({@code
+ * spring-test-profiler/summary-<pid>.json}, one per test JVM) and renders {@code aggregate.html}.
+ * The summaries of all forks of a module are merged.
+ *
+ * <p>Run it after the build, e.g. from the root of a Maven reactor build:
+ *
+ * <pre>
+ * java -cp ... digital.pragmatech.testing.aggregate.ReportAggregator [root directory] [--output dir]
+ * </pre>
+ */
+public class ReportAggregator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReportAggregator.class);
+
+  private static final String REPORT_DIR_NAME = "spring-test-profiler";
+  private static final String AGGREGATE_REPORT_FILE = "aggregate.html";
+  private static final Path DEFAULT_OUTPUT_DIRECTORY =
+      Paths.get("target", "spring-test-profiler-aggregate");
+
+  // Directories that never contain module reports, skipped to keep the scan of large trees fast
+  private static final Set<String> SKIPPED_DIRECTORIES = Set.of("src", "node_modules");
+
+  private final TemplateEngine templateEngine = createTemplateEngine();
+
+  public static void main(String[] args) throws IOException {
+    Path root = Paths.get(".");
+    Path output = null;
+    for (int i = 0; i < args.length; i++) {
+      if ("--output".equals(args[i]) && i + 1 < args.length) {
+        output = Paths.get(args[++i]);
+      } else {
+        root = Paths.get(args[i]);
+      }
+    }
+    if (output == null) {
+      output = root.resolve(DEFAULT_OUTPUT_DIRECTORY);
+    }
+
+    ReportAggregator aggregator = new ReportAggregator();
+    PortfolioReport report = PortfolioReport.of(aggregator.scan(root));
+    if (report.modules().isEmpty()) {
+      logger.warn("No Spring Test Profiler run summaries found below {}", root.toAbsolutePath());
+      return;
+    }
+    Path reportFile = aggregator.render(report, output);
+    logger.info(
+        "Spring Test Profiler aggregate report for {} modules generated: {}",
+        report.modules().size(),
+        reportFile.toAbsolutePath());
+  }
+
+  /**
+   * Finds the run summaries of all modules below the root directory. The module name is the path of
+   * the module directory relative to the root, e.g. {@code services/orders} for {@code
+   * services/orders/target/spring-test-profiler/summary-4711.json}.
+   */
+  public List<PortfolioReport.ModuleReport> scan(Path root) throws IOException {
+    Path normalizedRoot = root.toAbsolutePath().normalize();
+    Set<Path> reportDirs = new LinkedHashSet<>();
+    Files.walkFileTree(
+        normalizedRoot,
+        new SimpleFileVisitor<>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+            if (!dir.equals(normalizedRoot)
+                && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+              return FileVisitResult.SKIP_SUBTREE;
+            }
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (isRunSummary(file)) {
+              reportDirs.add(file.getParent());
+            }
+            return FileVisitResult.CONTINUE;
+          }
+        });
+
+    List<PortfolioReport.ModuleReport> modules = new ArrayList<>();
+    for (Path reportDir : reportDirs) {
+      readModule(normalizedRoot, reportDir).ifPresent(modules::add);
+    }
+    modules.sort(Comparator.comparing(PortfolioReport.ModuleReport::module));
+    return modules;
+  }
+
+  /** Renders the portfolio report into the output directory and returns the report file. */
+  public Path render(PortfolioReport report, Path outputDirectory) throws IOException {
+    Context context = new Context();
+    context.setVariable("report", report);
+    context.setVariable(
+        "generatedAt",
+        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+    context.setVariable("durationFormatter", new TemplateHelpers.DurationFormatter());
+
+    Path cssDir = outputDirectory.resolve("static").resolve("css");
+    Files.createDirectories(cssDir);
+    try (InputStream css =
+        getClass().getClassLoader().getResourceAsStream("static/css/spring-test-profiler.css")) {
+      if (css != null) {
+        Files.copy(
+            css, cssDir.resolve("spring-test-profiler.css"), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    Path reportFile = outputDirectory.resolve(AGGREGATE_REPORT_FILE);
+    Files.writeString(
+        reportFile, templateEngine.process("aggregate-report", context), StandardCharsets.UTF_8);
+    return reportFile;
+  }
+
+  private static boolean isRunSummary(Path file) {
+    Path reportDir = file.getParent();
+    return TestExecutionReporter.isRunSummaryFile(file)
+        && reportDir != null
+        && reportDir.getFileName().toString().equals(REPORT_DIR_NAME)
+        && reportDir.getParent() != null
+        && reportDir.getParent().getParent() != null;
+  }
+
+  private Optional<PortfolioReport.ModuleReport> readModule(Path root, Path reportDir) {
+    // <module>/<build directory>/spring-test-profiler/summary-<pid>.json
+    Path moduleDir = reportDir.getParent().getParent();
+    String module =
+        moduleDir.equals(root) || !moduleDir.startsWith(root)
+            ? String.valueOf(moduleDir.getFileName())
+            : root.relativize(moduleDir).toString().replace('\\', '/');
+    try {
+      return TestExecutionReporter.readRunSummary(reportDir)
+          .map(summary -> new PortfolioReport.ModuleReport(module, summary));
+    } catch (IOException e) {
+      logger.warn("Skipping unreadable run summaries in {}", reportDir, e);
+      return Optional.empty();
+    }
+  }
+
+  private static TemplateEngine createTemplateEngine() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setTemplateMode(TemplateMode.HTML);
+    resolver.setPrefix("/templates/");
+    resolver.setSuffix(".html");
+    resolver.setCharacterEncoding("UTF-8");
+
+    TemplateEngine engine = new TemplateEngine();
+    engine.setTemplateResolver(resolver);
+    return engine;
+  }
+}
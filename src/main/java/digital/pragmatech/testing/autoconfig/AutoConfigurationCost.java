@@ -0,0 +1,19 @@
+package digital.pragmatech.testing.autoconfig;
+
+/**
+ * Beans an auto-configuration contributed to one or more contexts and the time creating them took.
+ *
+ * @param contexts number of contexts the auto-configuration matched in
+ * @param creationTimeMs -1 if bean creation times were not recorded
+ */
+public record AutoConfigurationCost(
+    String autoConfiguration, int contexts, int beans, long creationTimeMs) {
+
+  public String getSimpleName() {
+    return autoConfiguration.substring(autoConfiguration.lastIndexOf('.') + 1);
+  }
+
+  public boolean isCreationTimeKnown() {
+    return creationTimeMs >= 0;
+  }
+}
@@ -0,0 +1,190 @@
+package digital.pragmatech.testing.autoconfig;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Attributes the beans of a Spring Boot context to the auto-configurations that contributed them,
+ * based on Boot's {@code ConditionEvaluationReport}. Spring Boot is accessed via reflection, so the
+ * profiler does not depend on it; without Boot there is nothing to report.
+ */
+public final class AutoConfigurationCostAnalyzer {
+
+  private static final Logger logger = LoggerFactory.getLogger(AutoConfigurationCostAnalyzer.class);
+
+  private static final String CONDITION_EVALUATION_REPORT =
+      "org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport";
+
+  private AutoConfigurationCostAnalyzer() {}
+
+  /**
+   * The auto-configurations that matched in the context, with the beans they contributed, most
+   * expensive first.
+   *
+   * @param beanCreationTimes creation time by bean name, empty if not recorded
+   */
+  public static List<AutoConfigurationCost> analyze(
+      ConfigurableListableBeanFactory beanFactory, Map<String, Long> beanCreationTimes) {
+    Set<String> autoConfigurations = findMatchedAutoConfigurations(beanFactory);
+    if (autoConfigurations.isEmpty()) {
+      return List.of();
+    }
+    return attribute(beanFactory, autoConfigurations, beanCreationTimes);
+  }
+
+  /** The most expensive auto-configurations across all contexts first. */
+  public static List<AutoConfigurationCost> aggregate(
+      Collection<List<AutoConfigurationCost>> costsPerContext) {
+    Map<String, AutoConfigurationCost> aggregated = new LinkedHashMap<>();
+    for (List<AutoConfigurationCost> contextCosts : costsPerContext) {
+      for (AutoConfigurationCost cost : contextCosts) {
+        aggregated.merge(
+            cost.autoConfiguration(),
+            cost,
+            (a, b) ->
+                new AutoConfigurationCost(
+                    a.autoConfiguration(),
+                    a.contexts() + b.contexts(),
+                    a.beans() + b.beans(),
+                    a.isCreationTimeKnown() || b.isCreationTimeKnown()
+                        ? Math.max(0, a.creationTimeMs()) + Math.max(0, b.creationTimeMs())
+                        : -1));
+      }
+    }
+    List<AutoConfigurationCost> costs = new ArrayList<>(aggregated.values());
+    costs.sort(byCost());
+    return costs;
+  }
+
+  /**
+   * Attributes every bean to the auto-configuration that declares it, either as the configuration
+   * class itself or through one of its {@code @Bean} methods. Beans of nested configuration classes
+   * count for the enclosing auto-configuration.
+   */
+  static List<AutoConfigurationCost> attribute(
+      ConfigurableListableBeanFactory beanFactory,
+      Set<String> autoConfigurations,
+      Map<String, Long> beanCreationTimes) {
+    Map<String, String> declaringClasses = new LinkedHashMap<>();
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+      String declaringClass = definition.getBeanClassName();
+      if (definition.getFactoryBeanName() != null
+          && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+        declaringClass =
+            beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+      }
+      if (declaringClass != null) {
+        declaringClasses.put(beanName, declaringClass);
+      }
+    }
+
+    Map<String, int[]> beans = new LinkedHashMap<>();
+    Map<String, Long> creationTimes = new LinkedHashMap<>();
+    declaringClasses.forEach(
+        (beanName, declaringClass) -> {
+          String autoConfiguration = enclosingAutoConfiguration(declaringClass, autoConfigurations);
+          if (autoConfiguration != null) {
+            beans.computeIfAbsent(autoConfiguration, key -> new int[1])[0]++;
+            Long creationTime = beanCreationTimes.get(beanName);
+            if (creationTime != null) {
+              creationTimes.merge(autoConfiguration, creationTime, Long::sum);
+            }
+          }
+        });
+
+    boolean timed = !beanCreationTimes.isEmpty();
+    List<AutoConfigurationCost> costs = new ArrayList<>();
+    beans.forEach(
+        (autoConfiguration, count) ->
+            costs.add(
+                new AutoConfigurationCost(
+                    autoConfiguration,
+                    1,
+                    count[0],
+                    timed ? creationTimes.getOrDefault(autoConfiguration, 0L) : -1)));
+    costs.sort(byCost());
+    return costs;
+  }
+
+  private static String enclosingAutoConfiguration(
+      String className, Set<String> autoConfigurations) {
+    // Prefer the outermost auto-configuration, nested configurations are imported by it
+    int end = className.indexOf('$');
+    while (true) {
+      String candidate = end < 0 ? className : className.substring(0, end);
+      if (autoConfigurations.contains(candidate)) {
+        return candidate;
+      }
+      if (end < 0) {
+        return null;
+      }
+      end = className.indexOf('$', end + 1);
+    }
+  }
+
+  /**
+   * Classes whose conditions fully matched in the context, according to the Boot {@code
+   * ConditionEvaluationReport} of the bean factory, plus the auto-configurations without
+   * conditions. Empty without Spring Boot.
+   */
+  @SuppressWarnings("unchecked")
+  static Set<String> findMatchedAutoConfigurations(BeanFactory beanFactory) {
+    try {
+      ClassLoader classLoader =
+          beanFactory instanceof ConfigurableListableBeanFactory configurable
+                  && configurable.getBeanClassLoader() != null
+              ? configurable.getBeanClassLoader()
+              : AutoConfigurationCostAnalyzer.class.getClassLoader();
+      if (!ClassUtils.isPresent(CONDITION_EVALUATION_REPORT, classLoader)) {
+        return Set.of();
+      }
+      Class<?> reportClass = ClassUtils.forName(CONDITION_EVALUATION_REPORT, classLoader);
+      // find() only returns an existing report, get() would register a new one
+      Object report = reportClass.getMethod("find", BeanFactory.class).invoke(null, beanFactory);
+      if (report == null) {
+        return Set.of();
+      }
+
+      Set<String> matched = new HashSet<>();
+      Map<String, Object> outcomesBySource =
+          (Map<String, Object>)
+              reportClass.getMethod("getConditionAndOutcomesBySource").invoke(report);
+      for (Map.Entry<String, Object> outcomes : outcomesBySource.entrySet()) {
+        Method isFullMatch = outcomes.getValue().getClass().getMethod("isFullMatch");
+        isFullMatch.setAccessible(true);
+        // Sources of @Bean methods are "Class#method", only configuration classes count
+        if (!outcomes.getKey().contains("#")
+            && Boolean.TRUE.equals(isFullMatch.invoke(outcomes.getValue()))) {
+          matched.add(outcomes.getKey());
+        }
+      }
+      matched.addAll((Set<String>) reportClass.getMethod("getUnconditionalClasses").invoke(report));
+      return matched;
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      logger.debug("Failed to read the Spring Boot condition evaluation report", e);
+      return Set.of();
+    }
+  }
+
+  private static Comparator<AutoConfigurationCost> byCost() {
+    return Comparator.comparingLong(AutoConfigurationCost::creationTimeMs)
+        .thenComparingInt(AutoConfigurationCost::beans)
+        .reversed()
+        .thenComparing(AutoConfigurationCost::autoConfiguration);
+  }
+}
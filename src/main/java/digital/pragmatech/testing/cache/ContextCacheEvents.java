@@ -0,0 +1,87 @@
+package digital.pragmatech.testing.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * The operations on Spring's context cache during a test run, as recorded by the {@link
+ * ContextCacheRecorder}. Unlike the counters of the cache itself, these are reset with every test
+ * run and include how long the loads took and why contexts left the cache.
+ */
+public class ContextCacheEvents {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadNanos = new LongAdder();
+  private final LongAdder removals = new LongAdder();
+  private final Map<MergedContextConfiguration, AtomicInteger> evictions =
+      new ConcurrentHashMap<>();
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordLoad(long nanos) {
+    loads.increment();
+    loadNanos.add(nanos);
+  }
+
+  void recordEviction(MergedContextConfiguration config) {
+    evictions.computeIfAbsent(config, key -> new AtomicInteger()).incrementAndGet();
+  }
+
+  void recordRemoval() {
+    removals.increment();
+  }
+
+  /** Whether any cache operation was recorded. */
+  public boolean hasEvents() {
+    return hits.sum() + misses.sum() > 0;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public double getHitRatio() {
+    long total = getHits() + getMisses();
+    return total > 0 ? (double) getHits() / total : 0.0;
+  }
+
+  /** Contexts the delegate loaded and put into the cache after a miss. */
+  public long getLoads() {
+    return loads.sum();
+  }
+
+  public long getTotalLoadTimeMs() {
+    return loadNanos.sum() / 1_000_000;
+  }
+
+  /** Contexts the cache dropped because it was full. */
+  public int getEvictions() {
+    return evictions.values().stream().mapToInt(AtomicInteger::get).sum();
+  }
+
+  public int getEvictions(MergedContextConfiguration config) {
+    AtomicInteger count = evictions.get(config);
+    return count != null ? count.get() : 0;
+  }
+
+  /** Contexts removed from the cache for other reasons, usually {@code @DirtiesContext}. */
+  public long getRemovals() {
+    return removals.sum();
+  }
+}
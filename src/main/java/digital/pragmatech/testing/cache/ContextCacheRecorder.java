@@ -0,0 +1,148 @@
+package digital.pragmatech.testing.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.ContextCache;
+
+/**
+ * Records the exact operations on Spring's default context cache: every lookup as a hit or miss,
+ * the time from a miss until the loaded context is put into the cache, and contexts leaving the
+ * cache by eviction or removal.
+ *
+ * <p>Spring 6.2 has no hook to decorate the {@code CacheAwareContextLoaderDelegate} of all tests,
+ * and wrapping the {@link ContextCache} would change the monitor the delegate synchronizes on.
+ * Instead, the map of the {@code DefaultContextCache} that holds the contexts is replaced once by a
+ * {@link RecordingContextMap} that delegates to the original map, so the cache keeps its locking,
+ * LRU order and statistics.
+ */
+public final class ContextCacheRecorder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextCacheRecorder.class);
+
+  private static volatile ContextCache installedOn;
+  private static volatile ContextCacheEvents events = new ContextCacheEvents();
+
+  private static final ThreadLocal<ThreadAccesses> threadAccesses =
+      ThreadLocal.withInitial(ThreadAccesses::new);
+
+  /**
+   * The last lookup of a context on the current thread.
+   *
+   * @param loaded whether the lookup missed and the context was loaded into the cache
+   * @param loadNanos the time from the miss until the context was in the cache, 0 for a hit
+   */
+  public record Access(boolean loaded, long loadNanos) {
+
+    public long loadTimeMs() {
+      return loadNanos / 1_000_000;
+    }
+  }
+
+  private static final Access HIT = new Access(false, 0);
+
+  // Lookups of the current thread, a thread loads at most a context and its parents at a time
+  private static final class ThreadAccesses {
+    final Map<MergedContextConfiguration, Long> pendingMisses = new HashMap<>();
+    final Map<MergedContextConfiguration, Access> lastAccesses = new HashMap<>();
+    int putDepth;
+  }
+
+  private ContextCacheRecorder() {}
+
+  /**
+   * Starts recording the operations on the given cache, unless it is recorded already. Caches stay
+   * recorded once they are, all into the same events.
+   *
+   * @return whether the operations on the cache are recorded
+   */
+  public static boolean install(ContextCache contextCache) {
+    if (contextCache == null) {
+      return false;
+    }
+    if (installedOn == contextCache) {
+      return true;
+    }
+    synchronized (ContextCacheRecorder.class) {
+      if (installedOn == contextCache) {
+        return true;
+      }
+      Map<MergedContextConfiguration, ApplicationContext> contextMap =
+          SpringContextCacheAccessor.getContextMap(contextCache);
+      if (contextMap == null) {
+        return false;
+      }
+      if (!(contextMap instanceof RecordingContextMap)
+          && !SpringContextCacheAccessor.setContextMap(
+              contextCache, new RecordingContextMap(contextMap))) {
+        return false;
+      }
+      installedOn = contextCache;
+      logger.debug("Recording the operations on the context cache");
+      return true;
+    }
+  }
+
+  /** Records the operations from now on into the given events, e.g. of a new test run. */
+  public static void recordInto(ContextCacheEvents newEvents) {
+    events = newEvents;
+  }
+
+  /**
+   * Returns and forgets the last lookup of the context on the current thread, or null if there was
+   * none since the last call, e.g. because the cache is not recorded.
+   */
+  public static Access takeLastAccess(MergedContextConfiguration config) {
+    if (installedOn == null) {
+      return null;
+    }
+    return threadAccesses.get().lastAccesses.remove(config);
+  }
+
+  static void lookedUp(Object key, ApplicationContext context, long startNanos) {
+    if (!(key instanceof MergedContextConfiguration config)) {
+      return;
+    }
+    ThreadAccesses accesses = threadAccesses.get();
+    if (context != null) {
+      events.recordHit();
+      accesses.lastAccesses.put(config, HIT);
+    } else {
+      events.recordMiss();
+      accesses.pendingMisses.put(config, startNanos);
+    }
+  }
+
+  static void putStarted() {
+    threadAccesses.get().putDepth++;
+  }
+
+  static void putFinished(MergedContextConfiguration config) {
+    ThreadAccesses accesses = threadAccesses.get();
+    accesses.putDepth--;
+    // Contexts put by other code, e.g. pre-warmed contexts, have no miss on this thread
+    Long missNanos = accesses.pendingMisses.remove(config);
+    if (missNanos != null) {
+      long loadNanos = System.nanoTime() - missNanos;
+      events.recordLoad(loadNanos);
+      accesses.lastAccesses.put(config, new Access(true, loadNanos));
+    }
+  }
+
+  static void removed(Object key) {
+    if (!(key instanceof MergedContextConfiguration config)) {
+      return;
+    }
+    // The cache evicts its eldest context from within put() once it is full
+    if (threadAccesses.get().putDepth > 0) {
+      events.recordEviction(config);
+    } else {
+      events.recordRemoval();
+    }
+  }
+}
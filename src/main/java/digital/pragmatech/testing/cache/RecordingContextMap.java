@@ -0,0 +1,108 @@
+package digital.pragmatech.testing.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Reports lookups, puts and removals of contexts to the {@link ContextCacheRecorder} and delegates
+ * everything to the original context map of the cache, which does its own locking.
+ */
+final class RecordingContextMap implements Map<MergedContextConfiguration, ApplicationContext> {
+
+  private final Map<MergedContextConfiguration, ApplicationContext> delegate;
+
+  RecordingContextMap(Map<MergedContextConfiguration, ApplicationContext> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ApplicationContext get(Object key) {
+    long start = System.nanoTime();
+    ApplicationContext context = delegate.get(key);
+    ContextCacheRecorder.lookedUp(key, context, start);
+    return context;
+  }
+
+  @Override
+  public ApplicationContext put(MergedContextConfiguration key, ApplicationContext value) {
+    ContextCacheRecorder.putStarted();
+    try {
+      return delegate.put(key, value);
+    } finally {
+      ContextCacheRecorder.putFinished(key);
+    }
+  }
+
+  @Override
+  public ApplicationContext remove(Object key) {
+    ApplicationContext context = delegate.remove(key);
+    if (context != null) {
+      ContextCacheRecorder.removed(key);
+    }
+    return context;
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return delegate.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return delegate.containsValue(value);
+  }
+
+  @Override
+  public void putAll(Map<? extends MergedContextConfiguration, ? extends ApplicationContext> map) {
+    delegate.putAll(map);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public Set<MergedContextConfiguration> keySet() {
+    return delegate.keySet();
+  }
+
+  @Override
+  public Collection<ApplicationContext> values() {
+    return delegate.values();
+  }
+
+  @Override
+  public Set<Entry<MergedContextConfiguration, ApplicationContext>> entrySet() {
+    return delegate.entrySet();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return delegate.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
@@ -0,0 +1,105 @@
+package digital.pragmatech.testing.cost;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.history.RunSummary;
+
+/**
+ * Charges context loads fairly. The first test class that needs a context waits for it to load, so
+ * its measured duration includes the whole load time, while all later classes get the context for
+ * free. This takes the load time out of the classes that waited for it and distributes it over all
+ * classes using the context, by the number of tests they run.
+ *
+ * <p>Only the load time test classes waited for is distributed. A context that was pre-warmed or
+ * prefetched loaded in the background, so its classes were charged only for the rest of the load
+ * they waited for; the time it loaded in the background is reported separately.
+ */
+public final class AmortizedCostAnalyzer {
+
+  private AmortizedCostAnalyzer() {}
+
+  public static AmortizedCosts analyze(
+      Map<String, TestExecutionTracker.TestClassMetrics> classMetrics,
+      Collection<ContextCacheEntry> entries) {
+    Map<String, Long> classDurations = new LinkedHashMap<>();
+    classMetrics.forEach(
+        (className, metrics) -> classDurations.put(className, metrics.getDuration().toMillis()));
+    return analyzeDurations(classDurations, entries);
+  }
+
+  /**
+   * @param classDurations the measured duration of every test class in ms
+   */
+  static AmortizedCosts analyzeDurations(
+      Map<String, Long> classDurations, Collection<ContextCacheEntry> entries) {
+    Map<String, Long> chargedLoadTimes = new HashMap<>();
+    Map<String, Long> contextShares = new HashMap<>();
+    List<ContextEfficiency> contexts = new ArrayList<>();
+
+    for (ContextCacheEntry entry : entries) {
+      if (!entry.isCreated()) {
+        continue;
+      }
+      entry
+          .getChargedLoadTimes()
+          .forEach((testClass, ms) -> chargedLoadTimes.merge(testClass, ms, Long::sum));
+
+      long loadTimeMs =
+          entry.getChargedLoadTimes().values().stream().mapToLong(Long::longValue).sum();
+      Map<String, Integer> testsPerClass =
+          testsPerClass(entry.getTestMethods(), entry.getTestClasses());
+      int tests = testsPerClass.values().stream().mapToInt(Integer::intValue).sum();
+      testsPerClass.forEach(
+          (testClass, classTests) ->
+              contextShares.merge(testClass, share(loadTimeMs, classTests, tests), Long::sum));
+      contexts.add(
+          new ContextEfficiency(
+              RunSummary.contextLabel(entry.getConfiguration()),
+              loadTimeMs,
+              Math.max(0, entry.getTotalLoadTimeMs() - loadTimeMs),
+              1 + entry.getReloadCount(),
+              entry.getTestClasses().size(),
+              tests));
+    }
+
+    List<TestClassCost> testClasses = new ArrayList<>();
+    classDurations.forEach(
+        (className, durationMs) ->
+            testClasses.add(
+                new TestClassCost(
+                    className,
+                    durationMs,
+                    chargedLoadTimes.getOrDefault(className, 0L),
+                    contextShares.getOrDefault(className, 0L))));
+    return new AmortizedCosts(List.copyOf(testClasses), List.copyOf(contexts));
+  }
+
+  /**
+   * The number of tests every class runs with the context. If the context served no test method,
+   * e.g. because all of them were disabled, every class counts as one test.
+   *
+   * @param testMethods the test methods, formatted as {@code ClassName#methodName}
+   */
+  static Map<String, Integer> testsPerClass(Set<String> testMethods, Set<String> testClasses) {
+    Map<String, Integer> testsPerClass = new HashMap<>();
+    for (String testMethod : testMethods) {
+      testsPerClass.merge(testMethod.substring(0, testMethod.lastIndexOf('#')), 1, Integer::sum);
+    }
+    if (testsPerClass.isEmpty()) {
+      testClasses.forEach(testClass -> testsPerClass.put(testClass, 1));
+    }
+    return testsPerClass;
+  }
+
+  private static long share(long loadTimeMs, int classTests, int tests) {
+    return Math.round((double) loadTimeMs * classTests / tests);
+  }
+}
@@ -0,0 +1,39 @@
+package digital.pragmatech.testing.cost;
+
+import java.util.Comparator;
+import java.util.List;
+
+/** The test classes by measured and amortized cost, and the cost per test of every context. */
+public record AmortizedCosts(List<TestClassCost> testClasses, List<ContextEfficiency> contexts) {
+
+  public static final AmortizedCosts EMPTY = new AmortizedCosts(List.of(), List.of());
+
+  /** Whether any context load was charged to a test class, otherwise both rankings are equal. */
+  public boolean hasContextLoads() {
+    return testClasses.stream().anyMatch(cost -> cost.chargedLoadMs() > 0);
+  }
+
+  /** The test classes with the longest measured duration first. */
+  public List<TestClassCost> getByRawCost(int limit) {
+    return testClasses.stream()
+        .sorted(Comparator.comparingLong(TestClassCost::rawMs).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /** The test classes with the highest amortized cost first. */
+  public List<TestClassCost> getByAmortizedCost(int limit) {
+    return testClasses.stream()
+        .sorted(Comparator.comparingLong(TestClassCost::amortizedMs).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /** The contexts with the highest load time per test first. */
+  public List<ContextEfficiency> getByCostPerTest(int limit) {
+    return contexts.stream()
+        .sorted(Comparator.comparingDouble(ContextEfficiency::costPerTestMs).reversed())
+        .limit(limit)
+        .toList();
+  }
+}
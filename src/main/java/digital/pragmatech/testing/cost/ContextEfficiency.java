@@ -0,0 +1,24 @@
+package digital.pragmatech.testing.cost;
+
+/**
+ * Load time of a context against the tests it served. A context that takes eight seconds to load
+ * for three tests is a better target than one that takes twelve seconds for three hundred.
+ *
+ * @param loadTimeMs the time test classes waited for the first load and all reloads
+ * @param backgroundLoadTimeMs the time the context loaded in the background, pre-warmed or
+ *     prefetched, while no test class waited for it
+ * @param loads number of loads, the first one and the reloads
+ */
+public record ContextEfficiency(
+    String label,
+    long loadTimeMs,
+    long backgroundLoadTimeMs,
+    int loads,
+    int testClasses,
+    int tests) {
+
+  /** Load time per test served, the whole load time if the context served no test. */
+  public double costPerTestMs() {
+    return (double) loadTimeMs / Math.max(1, tests);
+  }
+}
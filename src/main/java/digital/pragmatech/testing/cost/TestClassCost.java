@@ -0,0 +1,21 @@
+package digital.pragmatech.testing.cost;
+
+/**
+ * What a test class cost: its measured duration, and its duration with the context loads charged
+ * fairly to all test classes that use the contexts.
+ *
+ * @param rawMs the measured duration, including the context loads the class waited for
+ * @param chargedLoadMs the context load time included in the measured duration
+ * @param contextShareMs the share of the load time of its contexts, by the tests the class runs
+ */
+public record TestClassCost(String className, long rawMs, long chargedLoadMs, long contextShareMs) {
+
+  /** The duration of the class without the loads it waited for, plus its share of the loads. */
+  public long amortizedMs() {
+    return Math.max(0, rawMs - chargedLoadMs) + contextShareMs;
+  }
+
+  public String getSimpleName() {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+}
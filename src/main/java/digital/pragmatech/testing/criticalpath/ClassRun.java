@@ -0,0 +1,42 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One execution of a test class on a thread, with the context loads it waited for.
+ *
+ * @param startMs start in ms since the epoch, comparable across test JVMs
+ * @param endMs end in ms since the epoch
+ * @param nestedMs time spent in {@code @Nested} test classes, which run within this class
+ */
+public record ClassRun(
+    String className, long startMs, long endMs, long nestedMs, List<ContextLoad> contextLoads) {
+
+  /** A context load the test class waited for. */
+  public record ContextLoad(String context, long durationMs) {}
+
+  public long durationMs() {
+    return endMs - startMs;
+  }
+
+  public long contextLoadMs() {
+    return contextLoads.stream().mapToLong(ContextLoad::durationMs).sum();
+  }
+
+  /** The duration without nested test classes. */
+  public long busyMs() {
+    return Math.max(0, durationMs() - nestedMs);
+  }
+
+  /** The duration without nested test classes and context loads. */
+  public long ownTimeMs() {
+    return Math.max(0, busyMs() - contextLoadMs());
+  }
+
+  @JsonIgnore
+  public String getSimpleName() {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+}
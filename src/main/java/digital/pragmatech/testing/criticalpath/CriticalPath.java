@@ -0,0 +1,38 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.util.List;
+
+/**
+ * The lane that determined the end of the run, and what removing work from it would save.
+ *
+ * @param runStartMs start of the earliest lane
+ * @param nextLaneEndMs end of the lane that finished second to last, the run cannot end earlier
+ *     than this by optimizing the critical lane alone
+ * @param whatIfs the work on the critical lane whose removal would save the most first
+ */
+public record CriticalPath(
+    ExecutionLane lane, int lanes, long runStartMs, long nextLaneEndMs, List<WhatIf> whatIfs) {
+
+  public long getRunDurationMs() {
+    return lane.endMs() - runStartMs;
+  }
+
+  public long getContextLoadMs() {
+    return lane.classRuns().stream().mapToLong(ClassRun::contextLoadMs).sum();
+  }
+
+  public long getTestTimeMs() {
+    return lane.classRuns().stream().mapToLong(ClassRun::ownTimeMs).sum();
+  }
+
+  /** Time the critical lane did not run a test class, e.g. while the test JVM started. */
+  public long getIdleMs() {
+    long busy = lane.classRuns().stream().mapToLong(ClassRun::busyMs).sum();
+    return Math.max(0, getRunDurationMs() - busy);
+  }
+
+  /** How much earlier the run would end if the critical lane got faster. */
+  public long getSlackMs() {
+    return lane.endMs() - Math.max(runStartMs, nextLaneEndMs);
+  }
+}
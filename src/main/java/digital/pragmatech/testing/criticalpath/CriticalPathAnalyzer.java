@@ -0,0 +1,72 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the critical path of a run. Test classes on one lane (a thread of a test JVM) run one after
+ * another, lanes run in parallel, so the lane that ends last determines when the run ends. Removing
+ * work from that lane shortens the run until another lane becomes the last one, which is why the
+ * total context load time says little about the wall-clock time of a parallel run.
+ *
+ * <p>The savings are a heuristic upper bound, not a schedule simulation: every test class is
+ * assumed to stay on its lane, and the critical lane is only compared with the end of the next
+ * lane. With test classes handed out to whichever thread is free, work removed from one lane
+ * changes what the others run, and a context load removed from one lane may have to happen on
+ * another one instead.
+ */
+public final class CriticalPathAnalyzer {
+
+  private CriticalPathAnalyzer() {}
+
+  /**
+   * The critical path of the run, or null if no test class ran.
+   *
+   * @param maxWhatIfs max number of what-if savings to compute
+   */
+  public static CriticalPath analyze(Collection<ExecutionLane> lanes, int maxWhatIfs) {
+    List<ExecutionLane> byEnd =
+        lanes.stream()
+            .filter(lane -> !lane.classRuns().isEmpty())
+            .sorted(Comparator.comparingLong(ExecutionLane::endMs).reversed())
+            .toList();
+    if (byEnd.isEmpty()) {
+      return null;
+    }
+
+    ExecutionLane critical = byEnd.get(0);
+    long runStartMs = byEnd.stream().mapToLong(ExecutionLane::startMs).min().orElse(0);
+    long nextLaneEndMs = byEnd.size() > 1 ? byEnd.get(1).endMs() : runStartMs;
+    long slackMs = critical.endMs() - Math.max(runStartMs, nextLaneEndMs);
+
+    List<WhatIf> whatIfs = new ArrayList<>();
+    for (ClassRun classRun : critical.classRuns()) {
+      for (ClassRun.ContextLoad load : classRun.contextLoads()) {
+        whatIfs.add(
+            whatIf(
+                "Load of " + load.context() + " in " + classRun.getSimpleName(),
+                critical,
+                load.durationMs(),
+                slackMs));
+      }
+      whatIfs.add(
+          whatIf("Tests of " + classRun.getSimpleName(), critical, classRun.ownTimeMs(), slackMs));
+    }
+    whatIfs.sort(
+        Comparator.comparingLong(WhatIf::savingMs)
+            .thenComparingLong(WhatIf::durationMs)
+            .reversed());
+    return new CriticalPath(
+        critical,
+        byEnd.size(),
+        runStartMs,
+        nextLaneEndMs,
+        List.copyOf(whatIfs.subList(0, Math.min(maxWhatIfs, whatIfs.size()))));
+  }
+
+  private static WhatIf whatIf(String work, ExecutionLane lane, long durationMs, long slackMs) {
+    return new WhatIf(work, lane.getName(), durationMs, Math.min(durationMs, slackMs));
+  }
+}
@@ -0,0 +1,26 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * The test classes one thread of one test JVM ran, one after another, in the order they started.
+ *
+ * @param fork the process id of the test JVM
+ */
+public record ExecutionLane(long fork, String thread, List<ClassRun> classRuns) {
+
+  public long startMs() {
+    return classRuns.stream().mapToLong(ClassRun::startMs).min().orElse(0);
+  }
+
+  public long endMs() {
+    return classRuns.stream().mapToLong(ClassRun::endMs).max().orElse(0);
+  }
+
+  @JsonIgnore
+  public String getName() {
+    return "Fork " + fork + " / " + thread;
+  }
+}
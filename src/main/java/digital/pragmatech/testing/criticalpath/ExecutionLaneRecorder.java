@@ -0,0 +1,160 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records which test classes every thread ran and the context loads they waited for. Every test JVM
+ * writes its lanes to {@code lanes-<pid>.json} in the report directory, so the test JVM that
+ * finishes last sees the lanes of all forks that ran at the same time. Lane files of test JVMs that
+ * ended before this one started are deleted when they are read, as no later test JVM can overlap
+ * with them either.
+ */
+public class ExecutionLaneRecorder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExecutionLaneRecorder.class);
+
+  private static final String FILE_PREFIX = "lanes-";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final long fork = ProcessHandle.current().pid();
+  private final long jvmStartMs = ManagementFactory.getRuntimeMXBean().getStartTime();
+  private final Map<String, OpenRun> openRuns = new ConcurrentHashMap<>();
+  // The innermost open run of every thread, a stack linked by the enclosing runs
+  private final Map<String, OpenRun> innermostRuns = new ConcurrentHashMap<>();
+  private final Map<String, Queue<ClassRun>> lanes = new ConcurrentHashMap<>();
+
+  /**
+   * A test class that started and did not finish yet.
+   *
+   * @param enclosing the run that was open on the same thread when this one started, e.g. the
+   *     enclosing class of a {@code @Nested} test class, or null
+   * @param nestedMs the duration of the runs that started and finished within this one
+   */
+  private record OpenRun(
+      String thread,
+      long startMs,
+      OpenRun enclosing,
+      AtomicLong nestedMs,
+      Queue<ClassRun.ContextLoad> contextLoads) {}
+
+  private record ForkLanes(long fork, List<ExecutionLane> lanes) {}
+
+  public void classStarted(String className) {
+    String thread = Thread.currentThread().getName();
+    OpenRun openRun =
+        new OpenRun(
+            thread,
+            System.currentTimeMillis(),
+            innermostRuns.get(thread),
+            new AtomicLong(),
+            new ConcurrentLinkedQueue<>());
+    openRuns.put(className, openRun);
+    innermostRuns.put(thread, openRun);
+  }
+
+  /** Records that the test class waited for a context to load. */
+  public void contextLoaded(String className, String context, long durationMs) {
+    OpenRun openRun = openRuns.get(className);
+    if (openRun != null) {
+      openRun.contextLoads().add(new ClassRun.ContextLoad(context, durationMs));
+    }
+  }
+
+  public void classFinished(String className) {
+    OpenRun openRun = openRuns.remove(className);
+    if (openRun == null) {
+      return;
+    }
+    long endMs = System.currentTimeMillis();
+    // Nested test classes finish before the enclosing class, on the same thread
+    if (openRun.enclosing() != null) {
+      openRun.enclosing().nestedMs().addAndGet(endMs - openRun.startMs());
+      innermostRuns.replace(openRun.thread(), openRun, openRun.enclosing());
+    } else {
+      innermostRuns.remove(openRun.thread(), openRun);
+    }
+    lanes
+        .computeIfAbsent(openRun.thread(), thread -> new ConcurrentLinkedQueue<>())
+        .add(
+            new ClassRun(
+                className,
+                openRun.startMs(),
+                endMs,
+                openRun.nestedMs().get(),
+                List.copyOf(openRun.contextLoads())));
+  }
+
+  /** The lanes of this test JVM. */
+  public List<ExecutionLane> getLanes() {
+    List<ExecutionLane> executionLanes = new ArrayList<>();
+    lanes.forEach(
+        (thread, classRuns) -> {
+          // Enclosing classes finish after their nested classes, so they come first in reverse
+          // order of finishing, which the stable sort keeps for runs within the same milliseconds
+          List<ClassRun> ordered = new ArrayList<>(classRuns);
+          Collections.reverse(ordered);
+          ordered.sort(
+              Comparator.comparingLong(ClassRun::startMs)
+                  .thenComparing(Comparator.comparingLong(ClassRun::endMs).reversed()));
+          executionLanes.add(new ExecutionLane(fork, thread, List.copyOf(ordered)));
+        });
+    return executionLanes;
+  }
+
+  /**
+   * Writes the lanes of this test JVM to the report directory and returns them together with the
+   * lanes of the other test JVMs that were still running when this one started.
+   */
+  public List<ExecutionLane> writeAndCollect(Path reportDir) {
+    List<ExecutionLane> ownLanes = getLanes();
+    long startMs = ownLanes.stream().mapToLong(ExecutionLane::startMs).min().orElse(0);
+    try {
+      objectMapper.writeValue(
+          reportDir.resolve(FILE_PREFIX + fork + ".json").toFile(), new ForkLanes(fork, ownLanes));
+    } catch (IOException e) {
+      logger.warn("Failed to write the execution lanes to {}", reportDir, e);
+      return ownLanes;
+    }
+
+    List<ExecutionLane> allLanes = new ArrayList<>(ownLanes);
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(reportDir, FILE_PREFIX + "*.json")) {
+      for (Path file : files) {
+        try {
+          ForkLanes forkLanes = objectMapper.readValue(file.toFile(), ForkLanes.class);
+          if (forkLanes.fork() == fork) {
+            continue;
+          }
+          // Lanes of previous runs ended before this test JVM started
+          if (forkLanes.lanes().stream().allMatch(lane -> lane.endMs() < jvmStartMs)) {
+            Files.deleteIfExists(file);
+          } else if (forkLanes.lanes().stream().anyMatch(lane -> lane.endMs() >= startMs)) {
+            allLanes.addAll(forkLanes.lanes());
+          }
+        } catch (IOException e) {
+          logger.debug("Skipping unreadable execution lanes {}", file, e);
+        }
+      }
+    } catch (IOException e) {
+      logger.debug("Failed to read the execution lanes of other forks in {}", reportDir, e);
+    }
+    return allLanes;
+  }
+}
@@ -0,0 +1,11 @@
+package digital.pragmatech.testing.criticalpath;
+
+/**
+ * How much earlier the run would end without one piece of work on the critical path.
+ *
+ * @param work what would be removed, e.g. a context load or the own time of a test class
+ * @param durationMs the duration of the work
+ * @param savingMs how much earlier the run would end at most, the duration of the work, less if
+ *     another lane would become critical, see {@link CriticalPathAnalyzer} for what it assumes
+ */
+public record WhatIf(String work, String lane, long durationMs, long savingMs) {}
@@ -0,0 +1,19 @@
+package digital.pragmatech.testing.customizer;
+
+/**
+ * Time spent in the {@code customizeContext} call of a context customizer, for one context or
+ * summed across contexts.
+ *
+ * @param customizer class name of the customizer
+ * @param contexts number of contexts the customizer customized
+ */
+public record ContextCustomizerTiming(String customizer, int contexts, long durationNanos) {
+
+  public String getSimpleName() {
+    return customizer.substring(customizer.lastIndexOf('.') + 1);
+  }
+
+  public double getDurationMs() {
+    return durationNanos / 1_000_000.0;
+  }
+}
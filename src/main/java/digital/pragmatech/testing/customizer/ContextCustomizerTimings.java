@@ -0,0 +1,138 @@
+package digital.pragmatech.testing.customizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.web.WebMergedContextConfiguration;
+
+/**
+ * Times the {@code customizeContext} call of every {@link ContextCustomizer} of a context
+ * (Testcontainers service connections, {@code @DynamicPropertySource}, MockMvc setup, bean
+ * overrides, ...).
+ *
+ * <p>The customizers are part of the context cache key, so they cannot be wrapped in the
+ * configuration the tests use. Instead, a context the profiler loads itself is loaded from a copy
+ * of its configuration with timed customizers, see {@link #timed}. The timings are kept under the
+ * original configuration until the profiler listener takes them.
+ */
+public final class ContextCustomizerTimings {
+
+  private static final Map<MergedContextConfiguration, List<ContextCustomizerTiming>> timings =
+      new ConcurrentHashMap<>();
+
+  private ContextCustomizerTimings() {}
+
+  /**
+   * A copy of the configuration to load the context from, whose customizers record how long they
+   * take. Returns the configuration itself if it has no customizers, a parent context or is of a
+   * type that cannot be copied.
+   */
+  public static MergedContextConfiguration timed(MergedContextConfiguration config) {
+    Set<ContextCustomizer> customizers = config.getContextCustomizers();
+    Class<?> configType = config.getClass();
+    if (customizers.isEmpty()
+        || config.getParent() != null
+        || (configType != MergedContextConfiguration.class
+            && configType != WebMergedContextConfiguration.class)) {
+      return config;
+    }
+
+    List<ContextCustomizerTiming> contextTimings = new CopyOnWriteArrayList<>();
+    timings.put(config, contextTimings);
+    Set<ContextCustomizer> timedCustomizers = new LinkedHashSet<>();
+    for (ContextCustomizer customizer : customizers) {
+      timedCustomizers.add(new TimedContextCustomizer(customizer, config, contextTimings));
+    }
+
+    MergedContextConfiguration copy =
+        new MergedContextConfiguration(
+            config.getTestClass(),
+            config.getLocations(),
+            config.getClasses(),
+            config.getContextInitializerClasses(),
+            config.getActiveProfiles(),
+            config.getPropertySourceDescriptors(),
+            config.getPropertySourceProperties(),
+            timedCustomizers,
+            config.getContextLoader(),
+            null,
+            null);
+    return config instanceof WebMergedContextConfiguration webConfig
+        ? new WebMergedContextConfiguration(copy, webConfig.getResourceBasePath())
+        : copy;
+  }
+
+  /** Removes and returns the customizer timings recorded for the context, in invocation order. */
+  public static List<ContextCustomizerTiming> take(MergedContextConfiguration config) {
+    if (timings.isEmpty()) {
+      return List.of();
+    }
+    List<ContextCustomizerTiming> contextTimings = timings.remove(config);
+    return contextTimings != null ? List.copyOf(contextTimings) : List.of();
+  }
+
+  /** Sums the timings of all contexts per customizer, slowest first. */
+  public static List<ContextCustomizerTiming> aggregate(
+      Collection<List<ContextCustomizerTiming>> timingsPerContext) {
+    Map<String, ContextCustomizerTiming> aggregated = new LinkedHashMap<>();
+    for (List<ContextCustomizerTiming> contextTimings : timingsPerContext) {
+      for (ContextCustomizerTiming timing : contextTimings) {
+        aggregated.merge(
+            timing.customizer(),
+            timing,
+            (a, b) ->
+                new ContextCustomizerTiming(
+                    a.customizer(),
+                    a.contexts() + b.contexts(),
+                    a.durationNanos() + b.durationNanos()));
+      }
+    }
+    List<ContextCustomizerTiming> sorted = new ArrayList<>(aggregated.values());
+    sorted.sort(Comparator.comparingLong(ContextCustomizerTiming::durationNanos).reversed());
+    return sorted;
+  }
+
+  /**
+   * Delegates to the customizer with the original configuration and records the time it took. Only
+   * used to load a context, never as part of a cache key.
+   */
+  private static final class TimedContextCustomizer implements ContextCustomizer {
+
+    private final ContextCustomizer delegate;
+    private final MergedContextConfiguration originalConfig;
+    private final List<ContextCustomizerTiming> contextTimings;
+
+    TimedContextCustomizer(
+        ContextCustomizer delegate,
+        MergedContextConfiguration originalConfig,
+        List<ContextCustomizerTiming> contextTimings) {
+      this.delegate = delegate;
+      this.originalConfig = originalConfig;
+      this.contextTimings = contextTimings;
+    }
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+      long start = System.nanoTime();
+      try {
+        delegate.customizeContext(context, originalConfig);
+      } finally {
+        contextTimings.add(
+            new ContextCustomizerTiming(
+                delegate.getClass().getName(), 1, System.nanoTime() - start));
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 
@@ -19,6 +20,22 @@ public class ContextDiagnosticApplicationInitializer
   public void initialize(ConfigurableApplicationContext applicationContext) {
     ContextDiagnostic contextDiagnostic = ContextDiagnostic.started();
 
+    // Time the lifecycle beans, unless the context brings its own lifecycle processor
+    applicationContext.addBeanFactoryPostProcessor(
+        beanFactory -> {
+          if (!beanFactory.containsLocalBean(
+                  AbstractApplicationContext.LIFECYCLE_PROCESSOR_BEAN_NAME)
+              && !beanFactory.containsSingleton("contextLifecycleTimings")) {
+            LifecycleTimings lifecycleTimings = new LifecycleTimings();
+            TimingLifecycleProcessor lifecycleProcessor =
+                new TimingLifecycleProcessor(lifecycleTimings);
+            lifecycleProcessor.setBeanFactory(beanFactory);
+            beanFactory.registerSingleton("contextLifecycleTimings", lifecycleTimings);
+            beanFactory.registerSingleton(
+                AbstractApplicationContext.LIFECYCLE_PROCESSOR_BEAN_NAME, lifecycleProcessor);
+          }
+        });
+
     applicationContext.addApplicationListener(
         event -> {
           if (event instanceof ContextRefreshedEvent contextEvent) {
@@ -0,0 +1,63 @@
+package digital.pragmatech.testing.diagnostic;
+
+import java.util.List;
+
+/**
+ * Time a context spends starting and stopping its {@code Lifecycle} beans (embedded web servers,
+ * schedulers, message listeners, ...). Pausing a cached context stops these beans and reusing it
+ * starts them again, so this is what every pause costs on top of a cache hit.
+ */
+public final class LifecycleTimings {
+
+  private volatile long startTimeMs = 0;
+  private volatile long stopTimeMs = -1;
+  private volatile int starts = 0;
+  private volatile int stops = 0;
+  private volatile List<String> lifecycleBeanNames = List.of();
+
+  synchronized void recordStart(long elapsedMs, List<String> lifecycleBeanNames) {
+    // The slowest start is the one a restart would repeat
+    this.startTimeMs = Math.max(this.startTimeMs, elapsedMs);
+    this.starts++;
+    this.lifecycleBeanNames = List.copyOf(lifecycleBeanNames);
+  }
+
+  synchronized void recordStop(long elapsedMs) {
+    this.stopTimeMs = Math.max(this.stopTimeMs, elapsedMs);
+    this.stops++;
+  }
+
+  /** Longest time starting the lifecycle beans took. */
+  public long getStartTimeMs() {
+    return startTimeMs;
+  }
+
+  /** Longest time stopping the lifecycle beans took, -1 if the context was never stopped. */
+  public long getStopTimeMs() {
+    return stopTimeMs;
+  }
+
+  public boolean isStopTimeKnown() {
+    return stopTimeMs >= 0;
+  }
+
+  public int getStarts() {
+    return starts;
+  }
+
+  public int getStops() {
+    return stops;
+  }
+
+  public List<String> getLifecycleBeanNames() {
+    return lifecycleBeanNames;
+  }
+
+  /**
+   * Cost of pausing and resuming the context once: stopping and starting its lifecycle beans. While
+   * the context has not been stopped yet, only the start time is known.
+   */
+  public long getPauseCostMs() {
+    return startTimeMs + Math.max(0, stopTimeMs);
+  }
+}
@@ -0,0 +1,74 @@
+package digital.pragmatech.testing.diagnostic;
+
+import java.util.ArrayList;
+
+import org.springframework.context.Lifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.support.DefaultLifecycleProcessor;
+
+/**
+ * {@link DefaultLifecycleProcessor} that measures how long starting and stopping the {@code
+ * Lifecycle} beans of its context takes, both on refresh and close and on explicit {@code start()}
+ * and {@code stop()} calls.
+ */
+public class TimingLifecycleProcessor extends DefaultLifecycleProcessor {
+
+  private final LifecycleTimings timings;
+
+  public TimingLifecycleProcessor(LifecycleTimings timings) {
+    this.timings = timings;
+  }
+
+  @Override
+  public void onRefresh() {
+    long start = System.nanoTime();
+    super.onRefresh();
+    recordStart(start);
+  }
+
+  @Override
+  public void start() {
+    long start = System.nanoTime();
+    super.start();
+    recordStart(start);
+  }
+
+  @Override
+  public void onClose() {
+    long start = System.nanoTime();
+    super.onClose();
+    timings.recordStop(elapsedMs(start));
+  }
+
+  @Override
+  public void stop() {
+    long start = System.nanoTime();
+    super.stop();
+    timings.recordStop(elapsedMs(start));
+  }
+
+  private void recordStart(long start) {
+    long elapsedMs = elapsedMs(start);
+    ArrayList<String> beanNames = new ArrayList<>();
+    getLifecycleBeans()
+        .forEach(
+            (name, bean) -> {
+              if (bean instanceof SmartLifecycle || isRunning(bean)) {
+                beanNames.add(name);
+              }
+            });
+    timings.recordStart(elapsedMs, beanNames);
+  }
+
+  private static boolean isRunning(Lifecycle bean) {
+    try {
+      return bean.isRunning();
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static long elapsedMs(long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+}
@@ -0,0 +1,54 @@
+package digital.pragmatech.testing.gate;
+
+/**
+ * A limit for one metric, either absolute ({@code 40}) or relative to the value of the baseline
+ * run, as a delta ({@code +5}, {@code -0.05}) or a percentage ({@code +10%}).
+ */
+public record Budget(Kind kind, double value) {
+
+  public enum Kind {
+    ABSOLUTE,
+    DELTA,
+    PERCENT
+  }
+
+  public static Budget parse(String expression) {
+    String trimmed = expression.trim();
+    try {
+      if (trimmed.endsWith("%")) {
+        return new Budget(
+            Kind.PERCENT, Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)));
+      }
+      if (trimmed.startsWith("+") || trimmed.startsWith("-")) {
+        return new Budget(Kind.DELTA, Double.parseDouble(trimmed));
+      }
+      return new Budget(Kind.ABSOLUTE, Double.parseDouble(trimmed));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid budget '" + expression + "'", e);
+    }
+  }
+
+  public boolean isRelative() {
+    return kind != Kind.ABSOLUTE;
+  }
+
+  /** Resolves the limit, using the baseline value for relative budgets. */
+  public double limit(double baselineValue) {
+    return switch (kind) {
+      case ABSOLUTE -> value;
+      case DELTA -> baselineValue + value;
+      case PERCENT -> baselineValue * (1 + value / 100);
+    };
+  }
+
+  @Override
+  public String toString() {
+    String number =
+        value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    return switch (kind) {
+      case ABSOLUTE -> number;
+      case DELTA -> (value >= 0 ? "+" : "") + number;
+      case PERCENT -> (value >= 0 ? "+" : "") + number + "%";
+    };
+  }
+}
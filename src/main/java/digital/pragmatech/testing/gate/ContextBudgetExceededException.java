@@ -0,0 +1,9 @@
+package digital.pragmatech.testing.gate;
+
+/** Thrown at the end of the test run when the context budget gate is breached. */
+public class ContextBudgetExceededException extends RuntimeException {
+
+  public ContextBudgetExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,235 @@
+package digital.pragmatech.testing.gate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.history.RunSummary;
+import digital.pragmatech.testing.history.RunSummary.ContextSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the summary of a run against the budgets of a {@link GateConfiguration}. On a breach, the
+ * result lists the contexts responsible: the contexts that are new compared to the baseline run, or
+ * the slowest contexts if there are none, each with the test classes that use it.
+ */
+public class ContextBudgetGate {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextBudgetGate.class);
+
+  private static final int MAX_LISTED_CONTEXTS = 10;
+  private static final int MAX_LISTED_TEST_CLASSES = 3;
+
+  private final GateConfiguration configuration;
+
+  public ContextBudgetGate(GateConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /** Outcome of the gate: the breached budgets and a report explaining them. */
+  public record GateResult(List<String> breaches, String report) {
+
+    public boolean passed() {
+      return breaches.isEmpty();
+    }
+  }
+
+  /**
+   * Maps the key of every tracked context, see {@link ContextCacheEntry#getContextKey()}, to the
+   * names of the test classes using it.
+   */
+  public static Map<String, Set<String>> testClassesByContext(
+      ContextCacheTracker contextCacheTracker) {
+    Map<String, Set<String>> testClasses = new LinkedHashMap<>();
+    for (ContextCacheEntry entry : contextCacheTracker.getAllEntries()) {
+      testClasses
+          .computeIfAbsent(entry.getContextKey(), k -> new HashSet<>())
+          .addAll(entry.getTestClasses());
+    }
+    return testClasses;
+  }
+
+  /**
+   * Evaluates the budgets.
+   *
+   * @param current the summary of this run
+   * @param testClassesByContext the test classes per context key, see {@link
+   *     #testClassesByContext(ContextCacheTracker)}
+   * @param baseline the summary of the baseline run, or null if there is none
+   */
+  public GateResult evaluate(
+      RunSummary current, Map<String, Set<String>> testClassesByContext, RunSummary baseline) {
+    List<String> breaches = new ArrayList<>();
+
+    check(
+            "distinct contexts",
+            configuration.maxContexts(),
+            current,
+            baseline,
+            RunSummary::contexts,
+            false,
+            ContextBudgetGate::formatCount)
+        .ifPresent(breaches::add);
+    check(
+            "total context load time",
+            configuration.maxTotalContextLoadTimeMs(),
+            current,
+            baseline,
+            RunSummary::totalContextLoadTimeMs,
+            false,
+            ContextBudgetGate::formatMillis)
+        .ifPresent(breaches::add);
+    check(
+            "slowest context load time",
+            configuration.maxContextLoadTimeMs(),
+            current,
+            baseline,
+            ContextBudgetGate::slowestContextLoadTime,
+            false,
+            ContextBudgetGate::formatMillis)
+        .ifPresent(breaches::add);
+    check(
+            "cache hit ratio",
+            configuration.minCacheHitRatio(),
+            current,
+            baseline,
+            RunSummary::cacheHitRatio,
+            true,
+            ContextBudgetGate::formatRatio)
+        .ifPresent(breaches::add);
+
+    if (breaches.isEmpty()) {
+      return new GateResult(breaches, "All context budgets met.");
+    }
+
+    StringBuilder report = new StringBuilder("Spring Test Profiler context budget exceeded:\n");
+    breaches.forEach(breach -> report.append("  - ").append(breach).append('\n'));
+
+    List<ContextSummary> listed = List.of();
+    if (baseline != null) {
+      Set<String> baselineKeys = new HashSet<>();
+      baseline.contextSummaries().forEach(context -> baselineKeys.add(context.key()));
+      listed =
+          current.contextSummaries().stream()
+              .filter(context -> !baselineKeys.contains(context.key()))
+              .sorted(Comparator.comparingLong(ContextSummary::loadTimeMs).reversed())
+              .toList();
+      report.append("New contexts compared to the baseline (").append(listed.size()).append(")");
+    }
+    if (listed.isEmpty()) {
+      listed =
+          current.contextSummaries().stream()
+              .sorted(Comparator.comparingLong(ContextSummary::loadTimeMs).reversed())
+              .toList();
+      if (baseline != null) {
+        report.append(": none\n");
+      }
+      report.append("Slowest contexts (").append(listed.size()).append(" in total)");
+    }
+    report.append(listed.isEmpty() ? ": none\n" : ":\n");
+
+    for (ContextSummary context : listed.subList(0, Math.min(listed.size(), MAX_LISTED_CONTEXTS))) {
+      report
+          .append("  - ")
+          .append(context.label().isEmpty() ? context.key() : context.label())
+          .append(" (")
+          .append(formatMillis(context.loadTimeMs()))
+          .append(", ")
+          .append(context.beanDefinitionCount())
+          .append(" beans) used by ")
+          .append(formatTestClasses(testClassesByContext.getOrDefault(context.key(), Set.of())))
+          .append('\n');
+    }
+    if (listed.size() > MAX_LISTED_CONTEXTS) {
+      report.append("  ... and ").append(listed.size() - MAX_LISTED_CONTEXTS).append(" more\n");
+    }
+
+    return new GateResult(breaches, report.toString());
+  }
+
+  private Optional<String> check(
+      String metric,
+      Budget budget,
+      RunSummary current,
+      RunSummary baseline,
+      ToDoubleFunction<RunSummary> value,
+      boolean minimum,
+      DoubleFunction<String> formatter) {
+    if (budget == null) {
+      return Optional.empty();
+    }
+    if (budget.isRelative() && baseline == null) {
+      logger.warn(
+          "Skipping relative budget {} for {}, there is no baseline run to compare with",
+          budget,
+          metric);
+      return Optional.empty();
+    }
+
+    double actual = value.applyAsDouble(current);
+    double baselineValue = baseline != null ? value.applyAsDouble(baseline) : 0;
+    double limit = budget.limit(baselineValue);
+    boolean breached = minimum ? actual < limit : actual > limit;
+    if (!breached) {
+      return Optional.empty();
+    }
+
+    String comparison = minimum ? " < " : " > ";
+    String budgetDescription =
+        budget.isRelative()
+            ? " (baseline " + formatter.apply(baselineValue) + " " + budget + ")"
+            : "";
+    return Optional.of(
+        metric
+            + ": "
+            + formatter.apply(actual)
+            + comparison
+            + formatter.apply(limit)
+            + budgetDescription);
+  }
+
+  private static long slowestContextLoadTime(RunSummary summary) {
+    return summary.contextSummaries().stream()
+        .mapToLong(ContextSummary::loadTimeMs)
+        .max()
+        .orElse(0);
+  }
+
+  private static String formatTestClasses(Set<String> testClasses) {
+    if (testClasses.isEmpty()) {
+      return "no test classes";
+    }
+    List<String> simpleNames =
+        testClasses.stream()
+            .sorted()
+            .limit(MAX_LISTED_TEST_CLASSES)
+            .map(testClass -> testClass.substring(testClass.lastIndexOf('.') + 1))
+            .toList();
+    String names = String.join(", ", simpleNames);
+    int more = testClasses.size() - simpleNames.size();
+    return more > 0 ? names + " (+" + more + " more)" : names;
+  }
+
+  private static String formatCount(double value) {
+    return Long.toString(Math.round(value));
+  }
+
+  private static String formatMillis(double value) {
+    return String.format(Locale.ROOT, "%,dms", Math.round(value));
+  }
+
+  private static String formatRatio(double value) {
+    return String.format(Locale.ROOT, "%.1f%%", value * 100);
+  }
+}
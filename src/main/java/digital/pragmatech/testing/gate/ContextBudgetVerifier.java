@@ -0,0 +1,133 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.history.RunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates the context budget gate for a finished session and throws a {@link
+ * ContextBudgetExceededException} on a breach. A no-op unless budgets are configured, see {@link
+ * GateConfiguration}.
+ */
+public class ContextBudgetVerifier {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextBudgetVerifier.class);
+
+  private final GateConfiguration configuration;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public ContextBudgetVerifier(GateConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  public void verify(
+      TestExecutionTracker executionTracker, ContextCacheTracker contextCacheTracker) {
+    if (!configuration.isEnabled()) {
+      return;
+    }
+    if (contextCacheTracker.getAllEntries().isEmpty()) {
+      logger.debug("No Spring test contexts tracked, skipping the context budget gate");
+      return;
+    }
+
+    RunSummary current =
+        RunSummary.of(System.currentTimeMillis(), executionTracker, contextCacheTracker);
+
+    if (configuration.updateBaseline()) {
+      writeBaseline(configuration.baseline(), current);
+      return;
+    }
+
+    ContextBudgetGate.GateResult result =
+        new ContextBudgetGate(configuration)
+            .evaluate(
+                current,
+                ContextBudgetGate.testClassesByContext(contextCacheTracker),
+                readBaseline(configuration.baseline()));
+
+    if (!result.passed()) {
+      logger.error(result.report());
+      throw new ContextBudgetExceededException(result.report());
+    }
+    logger.info("Spring Test Profiler context budgets met ({} contexts)", current.contexts());
+  }
+
+  private RunSummary readBaseline(Path baseline) {
+    if (baseline == null || !Files.exists(baseline)) {
+      if (baseline != null) {
+        logger.warn("Context budget baseline {} does not exist", baseline.toAbsolutePath());
+      }
+      return null;
+    }
+    try {
+      return objectMapper.readValue(baseline.toFile(), RunSummary.class);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Failed to read context budget baseline " + baseline.toAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Writes the summary of this run to the baseline file. Forks of the same build, see {@link
+   * RunSummary#runId()}, merge their summaries into one baseline instead of overwriting each other.
+   */
+  private void writeBaseline(Path baseline, RunSummary current) {
+    if (baseline == null) {
+      logger.warn(
+          "Cannot update the context budget baseline, {}baseline is not set",
+          GateConfiguration.PREFIX);
+      return;
+    }
+    try {
+      Path parent = baseline.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      RunSummary written = current;
+      try (FileChannel channel =
+              FileChannel.open(
+                  baseline,
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE);
+          FileLock ignored = channel.lock()) {
+        if (channel.size() > 0) {
+          ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+          while (content.hasRemaining()) {
+            if (channel.read(content) < 0) {
+              break;
+            }
+          }
+          RunSummary previous = objectMapper.readValue(content.array(), RunSummary.class);
+          if (current.runId() != null && current.runId().equals(previous.runId())) {
+            written = previous.merge(current);
+          }
+        }
+        ByteBuffer content =
+            ByteBuffer.wrap(
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(written));
+        channel.truncate(0).position(0);
+        while (content.hasRemaining()) {
+          channel.write(content);
+        }
+      }
+      logger.info(
+          "Updated context budget baseline {} ({} contexts)",
+          baseline.toAbsolutePath(),
+          written.contexts());
+    } catch (IOException e) {
+      logger.error("Failed to write context budget baseline {}", baseline.toAbsolutePath(), e);
+    }
+  }
+}
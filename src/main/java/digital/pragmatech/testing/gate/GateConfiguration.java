@@ -0,0 +1,84 @@
+package digital.pragmatech.testing.gate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Budgets of the context budget gate. They are read from {@code spring-test-profiler.properties} on
+ * the test classpath, if present, and from system properties, which take precedence. The gate is
+ * enabled as soon as one budget is configured.
+ *
+ * <ul>
+ *   <li>{@code spring.test.profiler.gate.max-contexts}: max number of distinct contexts
+ *   <li>{@code spring.test.profiler.gate.max-total-context-load-time}: max sum of all context load
+ *       times in milliseconds
+ *   <li>{@code spring.test.profiler.gate.max-context-load-time}: max load time of a single context
+ *       in milliseconds
+ *   <li>{@code spring.test.profiler.gate.min-cache-hit-ratio}: min context cache hit ratio (0..1)
+ *   <li>{@code spring.test.profiler.gate.baseline}: run summary JSON that relative budgets ({@code
+ *       +5}, {@code +10%}) refer to
+ *   <li>{@code spring.test.profiler.gate.update-baseline}: write the summary of this run to the
+ *       baseline file instead of checking the budgets
+ * </ul>
+ */
+public record GateConfiguration(
+    Budget maxContexts,
+    Budget maxTotalContextLoadTimeMs,
+    Budget maxContextLoadTimeMs,
+    Budget minCacheHitRatio,
+    Path baseline,
+    boolean updateBaseline) {
+
+  private static final Logger logger = LoggerFactory.getLogger(GateConfiguration.class);
+
+  static final String CONFIG_FILE = "spring-test-profiler.properties";
+  static final String PREFIX = "spring.test.profiler.gate.";
+
+  /** Loads the configuration from the config file and the system properties. */
+  public static GateConfiguration load() {
+    Properties properties = new Properties();
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (classLoader == null) {
+      classLoader = GateConfiguration.class.getClassLoader();
+    }
+    try (InputStream in = classLoader.getResourceAsStream(CONFIG_FILE)) {
+      if (in != null) {
+        properties.load(in);
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to read {}", CONFIG_FILE, e);
+    }
+    properties.putAll(System.getProperties());
+    return of(properties);
+  }
+
+  static GateConfiguration of(Properties properties) {
+    String baseline = properties.getProperty(PREFIX + "baseline");
+    return new GateConfiguration(
+        budget(properties, "max-contexts"),
+        budget(properties, "max-total-context-load-time"),
+        budget(properties, "max-context-load-time"),
+        budget(properties, "min-cache-hit-ratio"),
+        baseline != null && !baseline.isBlank() ? Paths.get(baseline.trim()) : null,
+        Boolean.parseBoolean(properties.getProperty(PREFIX + "update-baseline", "false")));
+  }
+
+  private static Budget budget(Properties properties, String name) {
+    String value = properties.getProperty(PREFIX + name);
+    return value != null && !value.isBlank() ? Budget.parse(value) : null;
+  }
+
+  public boolean isEnabled() {
+    return maxContexts != null
+        || maxTotalContextLoadTimeMs != null
+        || maxContextLoadTimeMs != null
+        || minCacheHitRatio != null
+        || updateBaseline;
+  }
+}
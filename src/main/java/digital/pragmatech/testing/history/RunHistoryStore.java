@@ -0,0 +1,344 @@
+package digital.pragmatech.testing.history;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of {@link RunSummary run summaries}, kept outside the build directory so it
+ * survives {@code mvn clean}. Summaries are appended as JSON lines to {@code runs.jsonl}. A
+ * fixed-width binary index ({@code runs.idx}) holds the offset of every line together with the
+ * headline numbers of the run, so trends can be read without parsing the JSON lines and a single
+ * run is read with one seek, no matter how many runs are stored.
+ *
+ * <p>Summaries of the same run, see {@link RunSummary#runId()}, are merged: a fork that appends the
+ * summary of a run that is already stored appends the merged summary, and the index moves the run
+ * to the merged line. Only the last {@value #MERGE_WINDOW} runs are searched, enough for the forks
+ * of builds that share a store at the same time. Lines already written are never changed, so the
+ * replaced lines of merged runs stay in {@code runs.jsonl} and only the index skips them.
+ *
+ * <p>All operations lock {@code runs.lock}, so parallel test JVMs (e.g. Surefire forks) can share a
+ * store. The JSON lines are the source of truth: an index that does not match them, e.g. after a
+ * JVM died mid-append, is rebuilt on the next access, with the last line of every run id. A changed
+ * index is written to a temporary file and moved over the old one, so it is never half-written.
+ */
+public class RunHistoryStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunHistoryStore.class);
+
+  static final String RUNS_FILE = "runs.jsonl";
+  static final String INDEX_FILE = "runs.idx";
+  private static final String LOCK_FILE = "runs.lock";
+
+  // offset, length, timestamp, contexts, totalContextLoadTimeMs, cacheHitRatio, suiteDurationMs
+  static final int INDEX_RECORD_BYTES = 7 * Long.BYTES;
+
+  static final int MERGE_WINDOW = 16;
+
+  private final Path directory;
+  private final Path runsFile;
+  private final Path indexFile;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public RunHistoryStore(Path directory) {
+    this.directory = directory;
+    this.runsFile = directory.resolve(RUNS_FILE);
+    this.indexFile = directory.resolve(INDEX_FILE);
+  }
+
+  /** Headline numbers of a stored run, read from the index. */
+  public record RunTrendPoint(
+      long timestamp,
+      int contexts,
+      long totalContextLoadTimeMs,
+      double cacheHitRatio,
+      long suiteDurationMs) {}
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Appends the summary of a run to the store, or the summary merged with the stored summary of the
+   * same run id. The merged summary becomes the most recent run.
+   */
+  public void append(RunSummary summary) throws IOException {
+    withLock(
+        () -> {
+          ByteBuffer newIndex;
+          try (FileChannel runs =
+                  FileChannel.open(
+                      runsFile,
+                      StandardOpenOption.CREATE,
+                      StandardOpenOption.READ,
+                      StandardOpenOption.WRITE);
+              FileChannel index =
+                  FileChannel.open(
+                      indexFile,
+                      StandardOpenOption.CREATE,
+                      StandardOpenOption.READ,
+                      StandardOpenOption.WRITE)) {
+            long stored = index.size() / INDEX_RECORD_BYTES;
+            long replaced = -1;
+            RunSummary merged = summary;
+            if (summary.runId() != null) {
+              for (long run = stored - 1; run >= Math.max(0, stored - MERGE_WINDOW); run--) {
+                RunSummary previous =
+                    objectMapper.readValue(readLine(index, runs, run), RunSummary.class);
+                if (summary.runId().equals(previous.runId())) {
+                  merged = previous.merge(summary);
+                  replaced = run;
+                  break;
+                }
+              }
+            }
+
+            byte[] line =
+                (objectMapper.writeValueAsString(merged) + "\n").getBytes(StandardCharsets.UTF_8);
+            long offset = runs.size();
+            writeFully(runs, ByteBuffer.wrap(line), offset);
+            ByteBuffer record = indexRecord(offset, line.length, merged);
+            if (replaced < 0) {
+              writeFully(index, record, index.size());
+              return null;
+            }
+
+            // Move the run from its replaced line to the merged one at the end
+            newIndex = ByteBuffer.allocate((int) index.size());
+            ByteBuffer before = newIndex.duplicate().limit((int) (replaced * INDEX_RECORD_BYTES));
+            readFully(index, before, 0);
+            ByteBuffer after =
+                newIndex
+                    .duplicate()
+                    .position(before.position())
+                    .limit((int) ((stored - 1) * INDEX_RECORD_BYTES));
+            readFully(index, after, (replaced + 1) * INDEX_RECORD_BYTES);
+            newIndex.position(after.position()).put(record).flip();
+          }
+          replaceIndex(newIndex);
+          return null;
+        });
+  }
+
+  /** Returns the number of stored runs. */
+  public int size() throws IOException {
+    return withLock(() -> (int) (Files.size(indexFile) / INDEX_RECORD_BYTES));
+  }
+
+  /** Returns the headline numbers of the most recent runs, oldest first. */
+  public List<RunTrendPoint> recentRuns(int limit) throws IOException {
+    return withLock(
+        () -> {
+          List<RunTrendPoint> points = new ArrayList<>();
+          try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long runs = index.size() / INDEX_RECORD_BYTES;
+            long first = Math.max(0, runs - limit);
+            ByteBuffer records = ByteBuffer.allocate((int) ((runs - first) * INDEX_RECORD_BYTES));
+            readFully(index, records, first * INDEX_RECORD_BYTES);
+            records.flip();
+            while (records.hasRemaining()) {
+              records.getLong(); // offset
+              records.getLong(); // length
+              points.add(
+                  new RunTrendPoint(
+                      records.getLong(),
+                      (int) records.getLong(),
+                      records.getLong(),
+                      Double.longBitsToDouble(records.getLong()),
+                      records.getLong()));
+            }
+          }
+          return points;
+        });
+  }
+
+  /** Reads the full summary of a stored run, where run 0 is the oldest one. */
+  public Optional<RunSummary> read(int run) throws IOException {
+    byte[] line =
+        withLock(
+            () -> {
+              try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+                  FileChannel runs = FileChannel.open(runsFile, StandardOpenOption.READ)) {
+                if (run < 0 || (long) run * INDEX_RECORD_BYTES >= index.size()) {
+                  return null;
+                }
+                return readLine(index, runs, run);
+              }
+            });
+    return line == null
+        ? Optional.empty()
+        : Optional.of(objectMapper.readValue(line, RunSummary.class));
+  }
+
+  private static byte[] readLine(FileChannel index, FileChannel runs, long run) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(2 * Long.BYTES);
+    readFully(index, record, run * INDEX_RECORD_BYTES);
+    record.flip();
+    long offset = record.getLong();
+    ByteBuffer content = ByteBuffer.allocate((int) record.getLong());
+    readFully(runs, content, offset);
+    return content.array();
+  }
+
+  private interface LockedOperation<T> {
+    T run() throws IOException;
+  }
+
+  private <T> T withLock(LockedOperation<T> operation) throws IOException {
+    // File locks are held per JVM, so threads of the same JVM are serialized here
+    synchronized (RunHistoryStore.class) {
+      Files.createDirectories(directory);
+      try (FileChannel lockChannel =
+              FileChannel.open(
+                  directory.resolve(LOCK_FILE),
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.WRITE);
+          FileLock ignored = lockChannel.lock()) {
+        ensureConsistentIndex();
+        return operation.run();
+      }
+    }
+  }
+
+  private void ensureConsistentIndex() throws IOException {
+    long runsSize = Files.exists(runsFile) ? Files.size(runsFile) : 0;
+    long indexSize = Files.exists(indexFile) ? Files.size(indexFile) : -1;
+
+    if (indexSize >= 0 && indexSize % INDEX_RECORD_BYTES == 0) {
+      if (indexSize == 0 && runsSize == 0) {
+        return;
+      }
+      if (indexSize > 0) {
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+          ByteBuffer last = ByteBuffer.allocate(2 * Long.BYTES);
+          readFully(index, last, indexSize - INDEX_RECORD_BYTES);
+          last.flip();
+          if (last.getLong() + last.getLong() == runsSize) {
+            return;
+          }
+        }
+      }
+    }
+
+    rebuildIndex(runsSize);
+  }
+
+  /**
+   * Rebuilds the index from the JSON lines. Lines that cannot be parsed are skipped, and an
+   * incomplete last line, left behind by an interrupted append, is cut off.
+   */
+  private void rebuildIndex(long runsSize) throws IOException {
+    logger.info("Rebuilding run history index in {}", directory);
+    // The last line of a run id replaces its earlier lines, runs without an id are all kept
+    Map<Object, ByteBuffer> records = new LinkedHashMap<>();
+    long completeLinesEnd = 0;
+    int skipped = 0;
+
+    if (runsSize > 0) {
+      try (InputStream in = new BufferedInputStream(Files.newInputStream(runsFile))) {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long lineStart = 0;
+        long position = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+          position++;
+          if (b != '\n') {
+            line.write(b);
+            continue;
+          }
+          try {
+            RunSummary summary = objectMapper.readValue(line.toByteArray(), RunSummary.class);
+            Object run = summary.runId() != null ? summary.runId() : new Object();
+            records.remove(run);
+            records.put(run, indexRecord(lineStart, position - lineStart, summary));
+          } catch (IOException e) {
+            skipped++;
+          }
+          line.reset();
+          lineStart = position;
+          completeLinesEnd = position;
+        }
+      }
+    }
+
+    if (completeLinesEnd < runsSize) {
+      try (FileChannel runs = FileChannel.open(runsFile, StandardOpenOption.WRITE)) {
+        runs.truncate(completeLinesEnd);
+      }
+    }
+    if (skipped > 0) {
+      logger.warn("Skipped {} unreadable entries of the run history in {}", skipped, directory);
+    }
+    ByteBuffer newIndex = ByteBuffer.allocate(records.size() * INDEX_RECORD_BYTES);
+    records.values().forEach(newIndex::put);
+    replaceIndex(newIndex.flip());
+  }
+
+  /** Writes a new index next to the current one and moves it over it in one step. */
+  private void replaceIndex(ByteBuffer records) throws IOException {
+    Path newIndexFile = directory.resolve(INDEX_FILE + ".tmp");
+    try (FileChannel newIndex =
+        FileChannel.open(
+            newIndexFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(newIndex, records, 0);
+      newIndex.force(false);
+    }
+    Files.move(
+        newIndexFile,
+        indexFile,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static ByteBuffer indexRecord(long offset, long length, RunSummary summary) {
+    ByteBuffer record = ByteBuffer.allocate(INDEX_RECORD_BYTES);
+    record
+        .putLong(offset)
+        .putLong(length)
+        .putLong(summary.timestamp())
+        .putLong(summary.contexts())
+        .putLong(summary.totalContextLoadTimeMs())
+        .putLong(Double.doubleToLongBits(summary.cacheHitRatio()))
+        .putLong(summary.suiteDurationMs());
+    return record.flip();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of run history file");
+      }
+      position += read;
+    }
+  }
+}
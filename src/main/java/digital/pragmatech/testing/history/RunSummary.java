@@ -0,0 +1,183 @@
+package digital.pragmatech.testing.history;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextFingerprint;
+import digital.pragmatech.testing.TestExecutionTracker;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Compact summary of one test run as kept in the {@link RunHistoryStore}. Contexts are identified
+ * by their {@link ContextFingerprint}, so the same context can be followed across runs.
+ *
+ * <p>The run id ties together the summaries of one build: every fork and every launcher session of
+ * a build writes its own summary, and summaries with the same run id are {@link #merge merged}. The
+ * id is taken from {@value #RUN_ID_PROPERTY}, which the build should pass to all forks, and falls
+ * back to the start time of the JVM.
+ */
+public record RunSummary(
+    String runId,
+    long timestamp,
+    int contexts,
+    long totalContextLoadTimeMs,
+    double cacheHitRatio,
+    long suiteDurationMs,
+    int testClasses,
+    int testMethods,
+    List<ContextSummary> contextSummaries) {
+
+  public static final String RUN_ID_PROPERTY = "spring.test.profiler.run.id";
+
+  private static final String JVM_RUN_ID_PREFIX = "jvm-";
+  private static final String RUN_ID = resolveRunId();
+
+  public RunSummary {
+    contextSummaries = List.copyOf(contextSummaries);
+  }
+
+  /**
+   * Load time and slowest beans of one context created during the run.
+   *
+   * @param key the fingerprint of the context, numbered if contexts share it, see {@link
+   *     ContextCacheEntry#getContextKey()}
+   */
+  public record ContextSummary(
+      String key, String label, long loadTimeMs, int beanDefinitionCount, List<BeanTiming> beans) {
+
+    public ContextSummary {
+      beans = List.copyOf(beans);
+    }
+  }
+
+  /** Creation time of a single bean. */
+  public record BeanTiming(String beanName, long creationTimeMs) {}
+
+  /** Summarizes the state of the trackers at the end of a run. */
+  public static RunSummary of(
+      long timestamp,
+      TestExecutionTracker executionTracker,
+      ContextCacheTracker contextCacheTracker) {
+    List<ContextSummary> contextSummaries = new ArrayList<>();
+    long totalContextLoadTimeMs = 0;
+    long hits = 0;
+    for (ContextCacheEntry entry : contextCacheTracker.getAllEntries()) {
+      hits += entry.getHitCount();
+      if (!entry.isCreated()) {
+        continue;
+      }
+      totalContextLoadTimeMs += entry.getContextLoadTimeMs();
+
+      List<BeanTiming> beans = new ArrayList<>();
+      for (Map.Entry<String, Long> bean : entry.getBeanCreationTimes().entrySet()) {
+        beans.add(new BeanTiming(bean.getKey(), bean.getValue()));
+      }
+      contextSummaries.add(
+          new ContextSummary(
+              entry.getContextKey(),
+              contextLabel(entry.getConfiguration()),
+              entry.getContextLoadTimeMs(),
+              entry.getBeanDefinitionCount(),
+              beans));
+    }
+
+    int contexts = contextSummaries.size();
+    long accesses = hits + contexts;
+    return new RunSummary(
+        RUN_ID,
+        timestamp,
+        contexts,
+        totalContextLoadTimeMs,
+        accesses > 0 ? (double) hits / accesses : 0.0,
+        executionTracker.getOverallDuration().toMillis(),
+        executionTracker.getTotalTestClasses(),
+        executionTracker.getTotalTestMethods(),
+        contextSummaries);
+  }
+
+  /**
+   * Combines the summaries of two parts of the same run, e.g. two forks of one build. Context
+   * loads, load time, test classes and test methods add up, the run took as long as its longest
+   * part and the cache hit ratio is weighted by the context accesses of each part. A context loaded
+   * by both parts is listed once, with its slower load.
+   */
+  public RunSummary merge(RunSummary other) {
+    Map<String, ContextSummary> contextsByKey = new LinkedHashMap<>();
+    Stream.concat(contextSummaries.stream(), other.contextSummaries.stream())
+        .forEach(
+            context ->
+                contextsByKey.merge(
+                    context.key(),
+                    context,
+                    (first, second) -> second.loadTimeMs() > first.loadTimeMs() ? second : first));
+
+    double accesses = contextAccesses() + other.contextAccesses();
+    double hits = cacheHitRatio * contextAccesses() + other.cacheHitRatio * other.contextAccesses();
+    return new RunSummary(
+        runId,
+        Math.max(timestamp, other.timestamp),
+        contexts + other.contexts,
+        totalContextLoadTimeMs + other.totalContextLoadTimeMs,
+        accesses > 0 ? hits / accesses : 0.0,
+        Math.max(suiteDurationMs, other.suiteDurationMs),
+        testClasses + other.testClasses,
+        testMethods + other.testMethods,
+        List.copyOf(contextsByKey.values()));
+  }
+
+  /**
+   * Merges the summaries of the most recent run, e.g. the summaries all forks of a build left in a
+   * report directory. With a configured run id, summaries of older runs are left out. Without one,
+   * every JVM has a run id of its own, so all summaries are merged.
+   */
+  public static Optional<RunSummary> mergeLatestRun(Collection<RunSummary> summaries) {
+    Optional<RunSummary> latest =
+        summaries.stream().max(Comparator.comparingLong(RunSummary::timestamp));
+    if (latest.isEmpty()) {
+      return latest;
+    }
+    String runId = latest.get().runId();
+    boolean configured = runId != null && !runId.startsWith(JVM_RUN_ID_PREFIX);
+    return summaries.stream()
+        .filter(summary -> !configured || runId.equals(summary.runId()))
+        .reduce(RunSummary::merge);
+  }
+
+  /** The id of the run this JVM belongs to, see {@link #RUN_ID_PROPERTY}. */
+  public static String currentRunId() {
+    return RUN_ID;
+  }
+
+  /** Short, human-readable label of a context: its configuration classes and active profiles. */
+  public static String contextLabel(MergedContextConfiguration config) {
+    String classes =
+        String.join(", ", Arrays.stream(config.getClasses()).map(Class::getSimpleName).toList());
+    if (config.getActiveProfiles().length == 0) {
+      return classes;
+    }
+    return classes + " " + Arrays.toString(config.getActiveProfiles());
+  }
+
+  // Every access is a hit or a context load, so hits / accesses = ratio gives the accesses
+  private double contextAccesses() {
+    return cacheHitRatio < 1 ? contexts / (1 - cacheHitRatio) : contexts;
+  }
+
+  private static String resolveRunId() {
+    String runId = System.getProperty(RUN_ID_PROPERTY);
+    if (runId != null && !runId.isBlank()) {
+      return runId.trim();
+    }
+    return JVM_RUN_ID_PREFIX + ManagementFactory.getRuntimeMXBean().getStartTime();
+  }
+}
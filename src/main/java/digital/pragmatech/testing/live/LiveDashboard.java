@@ -0,0 +1,202 @@
+package digital.pragmatech.testing.live;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.TestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Live state of the running test suite for the {@link LiveDashboardServer}: the contexts loaded so
+ * far, context cache hits and misses, finished tests and the tests currently running per thread.
+ *
+ * <p>Every change is published as a JSON event to the connected event streams. Publishing never
+ * blocks the test threads: each stream buffers a bounded number of events, and a stream that falls
+ * behind drops its buffer and receives a fresh snapshot instead. All events carry absolute
+ * counters, so a client can apply them on top of any snapshot.
+ */
+public class LiveDashboard {
+
+  private static final Logger logger = LoggerFactory.getLogger(LiveDashboard.class);
+
+  static final int STREAM_BUFFER_EVENTS = 1024;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Set<EventStream> streams = ConcurrentHashMap.newKeySet();
+
+  private final Map<String, ContextLoad> loadedContexts = new ConcurrentHashMap<>();
+  private final Map<String, ActiveTest> activeTests = new ConcurrentHashMap<>();
+  private final AtomicInteger cacheHits = new AtomicInteger();
+  private final AtomicInteger cacheMisses = new AtomicInteger();
+  private final AtomicInteger passedTests = new AtomicInteger();
+  private final AtomicInteger failedTests = new AtomicInteger();
+  private volatile boolean finished;
+
+  /** A context created during the run. */
+  public record ContextLoad(
+      String key, String label, long loadTimeMs, int beanDefinitionCount, String testClass) {}
+
+  /** A test method running on a thread. */
+  public record ActiveTest(String thread, String testClass, String testMethod, long startedAt) {}
+
+  public void contextLoaded(
+      String key, String label, long loadTimeMs, int beanDefinitionCount, String testClass) {
+    ContextLoad load = new ContextLoad(key, label, loadTimeMs, beanDefinitionCount, testClass);
+    loadedContexts.put(key, load);
+    cacheMisses.incrementAndGet();
+    finished = false;
+
+    if (!streams.isEmpty()) {
+      Map<String, Object> event = event("context-loaded");
+      event.put("context", load);
+      publish(event);
+    }
+  }
+
+  public void contextReused() {
+    cacheHits.incrementAndGet();
+    if (!streams.isEmpty()) {
+      publish(event("context-reused"));
+    }
+  }
+
+  /** Records that the current thread started running a test method. */
+  public void testStarted(String testClass, String testMethod) {
+    String thread = Thread.currentThread().getName();
+    ActiveTest test = new ActiveTest(thread, testClass, testMethod, System.currentTimeMillis());
+    activeTests.put(thread, test);
+    finished = false;
+
+    if (!streams.isEmpty()) {
+      Map<String, Object> event = event("test-started");
+      event.put("test", test);
+      publish(event);
+    }
+  }
+
+  /** Records that the test method running on the current thread finished. */
+  public void testFinished(TestStatus status) {
+    String thread = Thread.currentThread().getName();
+    activeTests.remove(thread);
+    if (status == TestStatus.FAILED) {
+      failedTests.incrementAndGet();
+    } else {
+      passedTests.incrementAndGet();
+    }
+
+    if (!streams.isEmpty()) {
+      Map<String, Object> event = event("test-finished");
+      event.put("thread", thread);
+      publish(event);
+    }
+  }
+
+  /** Marks the run as finished; the next recorded event starts a new run from scratch. */
+  public void sessionFinished() {
+    finished = true;
+    if (!streams.isEmpty()) {
+      publish(snapshotEvent());
+    }
+    loadedContexts.clear();
+    activeTests.clear();
+    cacheHits.set(0);
+    cacheMisses.set(0);
+    passedTests.set(0);
+    failedTests.set(0);
+  }
+
+  EventStream openStream() {
+    EventStream stream = new EventStream();
+    streams.add(stream);
+    return stream;
+  }
+
+  void closeStream(EventStream stream) {
+    streams.remove(stream);
+  }
+
+  int getStreamCount() {
+    return streams.size();
+  }
+
+  /** Serializes the complete state of the run. */
+  String snapshot() {
+    return toJson(snapshotEvent());
+  }
+
+  private Map<String, Object> snapshotEvent() {
+    Map<String, Object> snapshot = event("snapshot");
+    List<ContextLoad> contexts = new ArrayList<>(loadedContexts.values());
+    contexts.sort(Comparator.comparingLong(ContextLoad::loadTimeMs).reversed());
+    snapshot.put("contexts", contexts);
+    snapshot.put("activeTests", new ArrayList<>(activeTests.values()));
+    snapshot.put("finished", finished);
+    return snapshot;
+  }
+
+  private Map<String, Object> event(String type) {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("type", type);
+    event.put("cacheHits", cacheHits.get());
+    event.put("cacheMisses", cacheMisses.get());
+    event.put("passedTests", passedTests.get());
+    event.put("failedTests", failedTests.get());
+    return event;
+  }
+
+  private void publish(Map<String, Object> event) {
+    String json = toJson(event);
+    if (json != null) {
+      streams.forEach(stream -> stream.offer(json));
+    }
+  }
+
+  private String toJson(Map<String, Object> event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      logger.debug("Failed to serialize live dashboard event {}", event.get("type"), e);
+      return null;
+    }
+  }
+
+  /** Bounded buffer of the events not yet sent to one client. */
+  class EventStream {
+
+    private final BlockingQueue<String> events = new ArrayBlockingQueue<>(STREAM_BUFFER_EVENTS);
+    private volatile boolean overflowed;
+
+    void offer(String event) {
+      if (!events.offer(event)) {
+        // The client cannot keep up, drop its backlog and let it catch up with a snapshot
+        overflowed = true;
+        events.clear();
+      }
+    }
+
+    /**
+     * Returns the next event to send, a snapshot if events were dropped, or null if no event
+     * arrived within the timeout.
+     */
+    String next(long timeout, TimeUnit unit) throws InterruptedException {
+      if (overflowed) {
+        overflowed = false;
+        events.clear();
+        return snapshot();
+      }
+      return events.poll(timeout, unit);
+    }
+  }
+}
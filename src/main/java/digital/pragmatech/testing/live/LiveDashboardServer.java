@@ -0,0 +1,161 @@
+package digital.pragmatech.testing.live;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in embedded HTTP server, bound to localhost, that shows a {@link LiveDashboard} while the
+ * tests are running. {@code /} serves the dashboard page, {@code /events} streams the dashboard
+ * events as server-sent events.
+ *
+ * <ul>
+ *   <li>{@code spring.test.profiler.live.enabled}: start the server (default {@code false})
+ *   <li>{@code spring.test.profiler.live.port}: port to listen on (default {@code 0}, i.e. any free
+ *       port, as every test JVM of a build needs its own)
+ * </ul>
+ */
+public class LiveDashboardServer {
+
+  private static final Logger logger = LoggerFactory.getLogger(LiveDashboardServer.class);
+
+  private static final String DASHBOARD_PAGE = "static/live/dashboard.html";
+  private static final int MAX_STREAMS = 8;
+  private static final long KEEP_ALIVE_SECONDS = 15;
+
+  private final LiveDashboard dashboard;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  private LiveDashboardServer(LiveDashboard dashboard, int port) throws IOException {
+    this.dashboard = dashboard;
+    this.server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    this.executor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "SpringTestProfilerLiveDashboard");
+              thread.setDaemon(true);
+              return thread;
+            });
+    server.setExecutor(executor);
+    server.createContext("/", this::handlePage);
+    server.createContext("/events", this::handleEvents);
+  }
+
+  /**
+   * Starts the server for the given dashboard if enabled via system properties.
+   *
+   * @return the running server, or null if the live dashboard is disabled or could not be started
+   */
+  public static LiveDashboardServer startIfEnabled(LiveDashboard dashboard) {
+    if (!Boolean.parseBoolean(System.getProperty("spring.test.profiler.live.enabled", "false"))) {
+      return null;
+    }
+    try {
+      int port = Integer.parseInt(System.getProperty("spring.test.profiler.live.port", "0"));
+      LiveDashboardServer server = start(dashboard, port);
+      logger.info(
+          "Spring Test Profiler live dashboard available at http://localhost:{}/",
+          server.getPort());
+      return server;
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to start the Spring Test Profiler live dashboard", e);
+      return null;
+    }
+  }
+
+  static LiveDashboardServer start(LiveDashboard dashboard, int port) throws IOException {
+    LiveDashboardServer server = new LiveDashboardServer(dashboard, port);
+    // The dispatcher thread inherits the daemon flag of the starting thread, start it from a daemon
+    // thread so the server never keeps the test JVM alive
+    Thread starter = new Thread(server.server::start, "SpringTestProfilerLiveDashboardStarter");
+    starter.setDaemon(true);
+    starter.start();
+    try {
+      starter.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return server;
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handlePage(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"/".equals(exchange.getRequestURI().getPath())) {
+        exchange.sendResponseHeaders(404, -1);
+        return;
+      }
+      byte[] page;
+      try (InputStream in = getClass().getClassLoader().getResourceAsStream(DASHBOARD_PAGE)) {
+        if (in == null) {
+          exchange.sendResponseHeaders(404, -1);
+          return;
+        }
+        page = in.readAllBytes();
+      }
+      exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+      exchange.sendResponseHeaders(200, page.length);
+      exchange.getResponseBody().write(page);
+    }
+  }
+
+  private void handleEvents(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (dashboard.getStreamCount() >= MAX_STREAMS) {
+        exchange.sendResponseHeaders(503, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+      exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+      exchange.sendResponseHeaders(200, 0);
+
+      LiveDashboard.EventStream stream = dashboard.openStream();
+      try {
+        OutputStream out = exchange.getResponseBody();
+        send(out, dashboard.snapshot());
+        while (!Thread.currentThread().isInterrupted()) {
+          String event = stream.next(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+          if (event != null) {
+            send(out, event);
+          } else {
+            // Comment line, detects closed connections and keeps proxies from timing out
+            out.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (IOException e) {
+        logger.debug("Live dashboard client disconnected");
+      } finally {
+        dashboard.closeStream(stream);
+      }
+    }
+  }
+
+  private static void send(OutputStream out, String event) throws IOException {
+    out.write(("data: " + event + "\n\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+}
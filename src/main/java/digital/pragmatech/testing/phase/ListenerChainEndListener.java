@@ -0,0 +1,47 @@
+package digital.pragmatech.testing.phase;
+
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Runs last in the before callbacks and first in the after callbacks of every test method, as the
+ * counterpart of the {@code SpringTestProfilerListener}, so the {@link ListenerChainTimer} can tell
+ * listener time apart from the time of the test method itself. Register it next to the profiler
+ * listener.
+ */
+public class ListenerChainEndListener extends AbstractTestExecutionListener {
+
+  @Override
+  public int getOrder() {
+    return Ordered.LOWEST_PRECEDENCE;
+  }
+
+  @Override
+  public void prepareTestInstance(@NonNull TestContext testContext) {
+    ListenerChainTimer.close();
+  }
+
+  @Override
+  public void beforeTestMethod(@NonNull TestContext testContext) {
+    ListenerChainTimer.close();
+  }
+
+  @Override
+  public void beforeTestExecution(@NonNull TestContext testContext) {
+    ListenerChainTimer.close();
+    ListenerChainTimer.bodyStarted();
+  }
+
+  @Override
+  public void afterTestExecution(@NonNull TestContext testContext) {
+    ListenerChainTimer.bodyFinished();
+    ListenerChainTimer.open();
+  }
+
+  @Override
+  public void afterTestMethod(@NonNull TestContext testContext) {
+    ListenerChainTimer.open();
+  }
+}
@@ -0,0 +1,212 @@
+package digital.pragmatech.testing.phase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.test.context.TestContextManager;
+
+/**
+ * Times the chain of test execution listeners around every test method. The {@code
+ * SpringTestProfilerListener} runs first in all before callbacks and last in all after callbacks,
+ * the {@link ListenerChainEndListener} the other way round, so together they bracket the work of
+ * all other listeners ({@code @Sql} scripts, transactions, mock resets, dependency injection, ...).
+ *
+ * <p>A sampler thread looks at the stack of every thread inside the bracketed chain every {@code
+ * spring.test.profiler.listener-sampling.interval-ms} (default {@code 10}) to find the listener the
+ * {@link TestContextManager} is calling. Only threads inside the chain are sampled, so the sampler
+ * takes at most one stack trace per interval and test thread, and none while the test methods
+ * themselves run. The time of the chain is split among the sampled listeners; chains too short to
+ * be sampled, and all chains with {@code spring.test.profiler.listener-sampling.enabled=false}, are
+ * attributed to {@link #NOT_SAMPLED}. {@code @BeforeEach} and {@code @AfterEach} methods run
+ * outside of the chain and are not part of any phase.
+ */
+public final class ListenerChainTimer {
+
+  /** Listener name for chain time no sample was taken for. */
+  public static final String NOT_SAMPLED = "(not sampled)";
+
+  private static final boolean SAMPLING_ENABLED =
+      Boolean.parseBoolean(
+          System.getProperty("spring.test.profiler.listener-sampling.enabled", "true"));
+  private static final long SAMPLING_INTERVAL_MS =
+      Long.getLong("spring.test.profiler.listener-sampling.interval-ms", 10);
+
+  private static final String TEST_CONTEXT_MANAGER = TestContextManager.class.getName();
+
+  private static final ThreadLocal<ThreadState> threadState =
+      ThreadLocal.withInitial(ListenerChainTimer::registerThread);
+  private static final Set<ThreadState> threadStates = ConcurrentHashMap.newKeySet();
+  private static final AtomicBoolean samplerStarted = new AtomicBoolean();
+
+  private ListenerChainTimer() {}
+
+  /** Starts timing a section of the listener chain on the current thread. */
+  public static void open() {
+    threadState.get().open(System.nanoTime());
+  }
+
+  /** Stops timing the section of the listener chain started last on the current thread. */
+  public static void close() {
+    threadState.get().close(System.nanoTime());
+  }
+
+  /** Called by the {@link ListenerChainEndListener} before the test method runs. */
+  static void bodyStarted() {
+    ThreadState state = threadState.get();
+    state.chainEndSeen = true;
+    state.bodyStart = System.nanoTime();
+    startSampler();
+  }
+
+  /** Called by the {@link ListenerChainEndListener} after the test method ran. */
+  static void bodyFinished() {
+    ThreadState state = threadState.get();
+    if (state.bodyStart >= 0) {
+      state.phases.bodyFinished(System.nanoTime() - state.bodyStart);
+    }
+  }
+
+  /** Discards the phases recorded so far on the current thread, e.g. when a test class starts. */
+  public static void reset() {
+    threadState.get().reset();
+  }
+
+  /**
+   * Completes the test method on the current thread. To be called at the very end of the listener
+   * chain.
+   *
+   * @return the phases of the method, reused for the next method of the thread, or null if the
+   *     chain was not bracketed by the {@link ListenerChainEndListener}
+   */
+  public static MethodPhases finishMethod() {
+    ThreadState state = threadState.get();
+    state.close(System.nanoTime());
+    boolean bracketed = !state.finished && state.chainEndSeen && state.phases.isBodyFinished();
+    state.finished = true;
+    return bracketed ? state.phases : null;
+  }
+
+  /**
+   * The listener the {@link TestContextManager} is calling in the given stack, or null if it does
+   * not call one.
+   */
+  static String listenerOf(StackTraceElement[] stack) {
+    for (int i = 1; i < stack.length; i++) {
+      if (TEST_CONTEXT_MANAGER.equals(stack[i].getClassName())) {
+        return stack[i - 1].getClassName();
+      }
+    }
+    return null;
+  }
+
+  private static ThreadState registerThread() {
+    ThreadState state = new ThreadState(Thread.currentThread());
+    threadStates.add(state);
+    return state;
+  }
+
+  private static void startSampler() {
+    if (!SAMPLING_ENABLED
+        || SAMPLING_INTERVAL_MS <= 0
+        || !samplerStarted.compareAndSet(false, true)) {
+      return;
+    }
+    Thread sampler = new Thread(ListenerChainTimer::sample, "SpringTestProfilerListenerSampler");
+    sampler.setDaemon(true);
+    sampler.start();
+  }
+
+  private static void sample() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        Thread.sleep(SAMPLING_INTERVAL_MS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      for (ThreadState state : threadStates) {
+        if (!state.thread.isAlive()) {
+          threadStates.remove(state);
+        } else if (state.windowOpen) {
+          String listener = listenerOf(state.thread.getStackTrace());
+          if (listener != null) {
+            state.sample(listener);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Phases of the current test method of one thread. Only the samples of the open window are
+   * shared.
+   */
+  private static final class ThreadState {
+
+    final Thread thread;
+    final MethodPhases phases = new MethodPhases();
+    volatile boolean windowOpen;
+    long windowStart;
+    boolean chainEndSeen;
+    // The phases of the finished method are kept until the next method opens a window
+    boolean finished;
+    long bodyStart = -1;
+    // Guarded by this, the sampler thread adds samples of the open window
+    int windowSampleCount;
+    final Map<String, Integer> windowSamples = new HashMap<>();
+
+    ThreadState(Thread thread) {
+      this.thread = thread;
+    }
+
+    synchronized void sample(String listener) {
+      if (windowOpen) {
+        windowSamples.merge(listener, 1, Integer::sum);
+        windowSampleCount++;
+      }
+    }
+
+    void open(long now) {
+      if (finished) {
+        reset();
+      }
+      windowStart = now;
+      windowOpen = true;
+    }
+
+    void close(long now) {
+      if (!windowOpen) {
+        return;
+      }
+      windowOpen = false;
+      long elapsed = now - windowStart;
+      phases.addListenerTime(elapsed);
+
+      synchronized (this) {
+        int samples = windowSampleCount;
+        if (samples == 0) {
+          phases.addNotSampled(elapsed);
+          return;
+        }
+        windowSamples.forEach(
+            (listener, count) -> phases.addSampled(listener, elapsed * count / samples));
+        windowSamples.clear();
+        windowSampleCount = 0;
+      }
+    }
+
+    void reset() {
+      windowOpen = false;
+      chainEndSeen = false;
+      finished = false;
+      bodyStart = -1;
+      phases.clear();
+      synchronized (this) {
+        windowSamples.clear();
+        windowSampleCount = 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package digital.pragmatech.testing.phase;
+
+/** Time a test execution listener added to the test methods of the suite. */
+public record ListenerCost(String listener, long totalNanos, long methods) {
+
+  public String getSimpleName() {
+    return listener.substring(listener.lastIndexOf('.') + 1);
+  }
+
+  public long getTotalMs() {
+    return totalNanos / 1_000_000;
+  }
+
+  public double getAverageMs() {
+    return methods > 0 ? totalNanos / 1_000_000.0 / methods : 0.0;
+  }
+}
@@ -0,0 +1,91 @@
+package digital.pragmatech.testing.phase;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/** Sums the {@link MethodPhases} of all test methods of a test run. */
+public class ListenerCostTracker {
+
+  private final LongAdder methods = new LongAdder();
+  private final LongAdder setupNanos = new LongAdder();
+  private final LongAdder bodyNanos = new LongAdder();
+  private final LongAdder teardownNanos = new LongAdder();
+  private final Accumulator notSampled = new Accumulator();
+  private final Map<String, Accumulator> listeners = new ConcurrentHashMap<>();
+
+  private static final class Accumulator {
+    final LongAdder nanos = new LongAdder();
+    final LongAdder methods = new LongAdder();
+  }
+
+  public void record(MethodPhases phases) {
+    methods.increment();
+    setupNanos.add(phases.setupNanos());
+    bodyNanos.add(phases.bodyNanos());
+    teardownNanos.add(phases.teardownNanos());
+    if (phases.notSampledNanos() > 0) {
+      notSampled.nanos.add(phases.notSampledNanos());
+      notSampled.methods.increment();
+    }
+    // Without samples, recording a method must not allocate
+    if (!phases.listenerNanos().isEmpty()) {
+      phases
+          .listenerNanos()
+          .forEach(
+              (listener, nanos) -> {
+                Accumulator accumulator =
+                    listeners.computeIfAbsent(listener, key -> new Accumulator());
+                accumulator.nanos.add(nanos);
+                accumulator.methods.increment();
+              });
+    }
+  }
+
+  /** Number of test methods whose phases were measured. */
+  public long getMeasuredMethods() {
+    return methods.sum();
+  }
+
+  public long getTotalSetupMs() {
+    return setupNanos.sum() / 1_000_000;
+  }
+
+  public long getTotalBodyMs() {
+    return bodyNanos.sum() / 1_000_000;
+  }
+
+  public long getTotalTeardownMs() {
+    return teardownNanos.sum() / 1_000_000;
+  }
+
+  /** Setup and teardown time by listener, most expensive first. */
+  public List<ListenerCost> getListenerCosts() {
+    Stream<ListenerCost> notSampledCost =
+        notSampled.methods.sum() == 0
+            ? Stream.empty()
+            : Stream.of(
+                new ListenerCost(
+                    ListenerChainTimer.NOT_SAMPLED,
+                    notSampled.nanos.sum(),
+                    notSampled.methods.sum()));
+    return Stream.concat(
+            listeners.entrySet().stream()
+                .map(
+                    entry ->
+                        new ListenerCost(
+                            entry.getKey(),
+                            entry.getValue().nanos.sum(),
+                            entry.getValue().methods.sum())),
+            notSampledCost)
+        .sorted(Comparator.comparingLong(ListenerCost::totalNanos).reversed())
+        .toList();
+  }
+
+  public List<ListenerCost> getTopListenerCosts(int limit) {
+    return getListenerCosts().stream().limit(limit).toList();
+  }
+}
@@ -0,0 +1,98 @@
+package digital.pragmatech.testing.phase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Time of a single test method split into the listener chain before it, the test method itself and
+ * the listener chain after it, with the listener time attributed to the listeners that spent it.
+ *
+ * <p>The phases returned by {@link ListenerChainTimer#finishMethod()} belong to the current thread
+ * and are reused for its next test method, so that timing a method does not allocate. Read them
+ * before the thread starts the next test method.
+ */
+public final class MethodPhases {
+
+  private long setupNanos;
+  private long bodyNanos = -1;
+  private long teardownNanos;
+  private long notSampledNanos;
+  private final Map<String, Long> listenerNanos = new HashMap<>();
+
+  /**
+   * @param setupNanos time in the listener callbacks before the test method, including dependency
+   *     injection of the test instance
+   * @param bodyNanos time of the test method itself
+   * @param teardownNanos time in the listener callbacks after the test method
+   * @param notSampledNanos setup and teardown time no listener was sampled for
+   * @param listenerNanos setup and teardown time by sampled listener class
+   */
+  public MethodPhases(
+      long setupNanos,
+      long bodyNanos,
+      long teardownNanos,
+      long notSampledNanos,
+      Map<String, Long> listenerNanos) {
+    this.setupNanos = setupNanos;
+    this.bodyNanos = bodyNanos;
+    this.teardownNanos = teardownNanos;
+    this.notSampledNanos = notSampledNanos;
+    this.listenerNanos.putAll(listenerNanos);
+  }
+
+  MethodPhases() {}
+
+  public long setupNanos() {
+    return setupNanos;
+  }
+
+  public long bodyNanos() {
+    return bodyNanos;
+  }
+
+  public long teardownNanos() {
+    return teardownNanos;
+  }
+
+  /** Setup and teardown time of the listener chains no sample was taken for. */
+  public long notSampledNanos() {
+    return notSampledNanos;
+  }
+
+  /** Setup and teardown time by sampled listener class, empty if no sample was taken. */
+  public Map<String, Long> listenerNanos() {
+    return listenerNanos;
+  }
+
+  boolean isBodyFinished() {
+    return bodyNanos >= 0;
+  }
+
+  void addListenerTime(long elapsed) {
+    if (bodyNanos >= 0) {
+      teardownNanos += elapsed;
+    } else {
+      setupNanos += elapsed;
+    }
+  }
+
+  void addNotSampled(long nanos) {
+    notSampledNanos += nanos;
+  }
+
+  void addSampled(String listener, long nanos) {
+    listenerNanos.merge(listener, nanos, Long::sum);
+  }
+
+  void bodyFinished(long nanos) {
+    bodyNanos = nanos;
+  }
+
+  void clear() {
+    setupNanos = 0;
+    bodyNanos = -1;
+    teardownNanos = 0;
+    notSampledNanos = 0;
+    listenerNanos.clear();
+  }
+}
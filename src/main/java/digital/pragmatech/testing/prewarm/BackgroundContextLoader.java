@@ -0,0 +1,353 @@
+package digital.pragmatech.testing.prewarm;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import digital.pragmatech.testing.BackgroundLoadStatistics;
+import digital.pragmatech.testing.customizer.ContextCustomizerTimings;
+import digital.pragmatech.testing.history.RunSummary;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.BootstrapUtils;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.SmartContextLoader;
+import org.springframework.test.context.cache.ContextCache;
+
+/**
+ * Loads contexts into Spring's {@link ContextCache} off the test threads, for the {@link
+ * ContextPrewarmer} and the {@link ContextPrefetcher}, and keeps track of how many of these
+ * background loads the tests actually used.
+ *
+ * <p>The {@code CacheAwareContextLoaderDelegate} holds the cache monitor while it loads a context,
+ * which would serialize all loads. Background loads therefore call the context loader directly and
+ * only synchronize on the cache to put the loaded context. A context is never loaded twice: a
+ * background load claims its context first, and a test class claims its context before it loads it
+ * (see {@link #awaitBackgroundLoad}), so a background load neither starts for a context a test is
+ * loading nor does a test load a context that is still being loaded in the background.
+ *
+ * <p>What the delegate does on top of loading is left to the delegate: a background load that fails
+ * is dropped without a trace, and the test that needs the context loads it again through the
+ * delegate, which counts the failure towards the failure threshold and runs the {@code
+ * ApplicationContextFailureProcessor}s. Contexts that failed to load before are never loaded in the
+ * background, and neither are contexts of an AOT-processed test run, which the delegate loads from
+ * the generated initializers.
+ */
+public final class BackgroundContextLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(BackgroundContextLoader.class);
+
+  private static final long MAX_WAIT_SECONDS = 300;
+
+  /** Why a context was loaded in the background. */
+  public enum Origin {
+    PREWARM("Pre-warmed"),
+    PREFETCH("Prefetched");
+
+    private final String displayName;
+
+    Origin(String displayName) {
+      this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+  }
+
+  /** A background load a test waited for, and how long the test waited. */
+  public record UsedLoad(Origin origin, long loadTimeMs, long waitedMs) {
+
+    public long timeSavedMs() {
+      return Math.max(0, loadTimeMs - waitedMs);
+    }
+  }
+
+  // Completes with the load time, or -1 if the context did not end up in the cache
+  private record BackgroundLoad(Origin origin, CompletableFuture<Long> loadTimeMs) {}
+
+  private static final Map<MergedContextConfiguration, BackgroundLoad> backgroundLoads =
+      new ConcurrentHashMap<>();
+  // Number of running test classes that use a context, guarded by claimLock
+  private static final Map<MergedContextConfiguration, Integer> testClaims = new HashMap<>();
+  private static final Object claimLock = new Object();
+  private static final Map<Origin, Counters> counters = new EnumMap<>(Origin.class);
+
+  static {
+    for (Origin origin : Origin.values()) {
+      counters.put(origin, new Counters());
+    }
+  }
+
+  private static final class Counters {
+    final AtomicInteger started = new AtomicInteger();
+    final AtomicInteger used = new AtomicInteger();
+    final AtomicLong timeSavedMs = new AtomicLong();
+  }
+
+  private BackgroundContextLoader() {}
+
+  /** Creates a pool of daemon threads for background loads. */
+  static ExecutorService newLoaderPool(int threads, String name) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return Executors.newFixedThreadPool(
+        threads,
+        runnable -> {
+          Thread thread = new Thread(runnable, name);
+          thread.setContextClassLoader(classLoader);
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Resolves the context configuration of the given test classes, keeping their order. Classes that
+   * cannot be resolved are left out.
+   */
+  static Map<String, MergedContextConfiguration> resolveConfigurations(
+      Collection<String> testClasses) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Map<String, MergedContextConfiguration> configurations = new LinkedHashMap<>();
+    for (String className : testClasses) {
+      try {
+        Class<?> testClass = Class.forName(className, false, classLoader);
+        configurations.put(
+            className,
+            BootstrapUtils.resolveTestContextBootstrapper(testClass)
+                .buildMergedContextConfiguration());
+      } catch (Exception | LinkageError e) {
+        logger.debug("Cannot resolve the context configuration of {}", className, e);
+      }
+    }
+    return configurations;
+  }
+
+  /** The classes of the test plan in execution order. */
+  static Set<String> testClasses(TestPlan testPlan) {
+    Set<String> testClasses = new LinkedHashSet<>();
+    for (TestIdentifier root : testPlan.getRoots()) {
+      for (TestIdentifier descendant : testPlan.getDescendants(root)) {
+        className(descendant).ifPresent(testClasses::add);
+      }
+    }
+    return testClasses;
+  }
+
+  /** The class of a test class container, empty for all other test identifiers. */
+  static Optional<String> className(TestIdentifier testIdentifier) {
+    return testIdentifier
+        .getSource()
+        .filter(ClassSource.class::isInstance)
+        .map(source -> ((ClassSource) source).getClassName());
+  }
+
+  /** Whether the context is in the cache or being loaded in the background. */
+  static boolean isCachedOrLoading(ContextCache contextCache, MergedContextConfiguration config) {
+    synchronized (claimLock) {
+      return isClaimed(config) || contextCache.contains(config);
+    }
+  }
+
+  /** Number of background loads that did not finish yet. */
+  static int loadsInFlight() {
+    return (int)
+        backgroundLoads.values().stream().filter(load -> !load.loadTimeMs().isDone()).count();
+  }
+
+  /** Whether the used heap exceeds the given share of the max heap. */
+  static boolean exceedsHeapUsage(double maxHeapUsage) {
+    Runtime runtime = Runtime.getRuntime();
+    double heapUsage =
+        (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+    return heapUsage > maxHeapUsage;
+  }
+
+  /**
+   * Loads the context on the executor and puts it into the cache, unless it is cached already,
+   * claimed by a test class or another background load, or cannot be loaded without the delegate.
+   *
+   * @return whether a background load was started
+   */
+  static boolean load(
+      ContextCache contextCache,
+      MergedContextConfiguration config,
+      Origin origin,
+      Executor executor) {
+    if (!(config.getContextLoader() instanceof SmartContextLoader contextLoader)
+        || !isLoadableWithoutDelegate(contextCache, config)) {
+      return false;
+    }
+    BackgroundLoad load = new BackgroundLoad(origin, new CompletableFuture<>());
+    synchronized (claimLock) {
+      if (isClaimed(config) || contextCache.contains(config)) {
+        return false;
+      }
+      backgroundLoads.put(config, load);
+    }
+    counters.get(origin).started.incrementAndGet();
+
+    executor.execute(
+        () -> {
+          long loadTimeMs = -1;
+          try {
+            loadTimeMs = loadAndCache(contextCache, config, contextLoader);
+          } finally {
+            load.loadTimeMs().complete(loadTimeMs);
+          }
+        });
+    return true;
+  }
+
+  /**
+   * Loads the context of a test class on the calling thread and puts it into the cache, unless it
+   * is cached already or cannot be loaded without the delegate. Unlike the delegate, this times the
+   * context customizers, see {@link ContextCustomizerTimings}. Like the delegate, it holds the
+   * cache monitor while loading, so test classes that need the same context wait for the first one.
+   *
+   * @return the load time, or -1 if the context was not loaded
+   */
+  public static long loadNow(ContextCache contextCache, MergedContextConfiguration config) {
+    if (!(config.getContextLoader() instanceof SmartContextLoader contextLoader)
+        || !isLoadableWithoutDelegate(contextCache, config)
+        || backgroundLoads.containsKey(config)) {
+      return -1;
+    }
+    synchronized (contextCache) {
+      return contextCache.contains(config) ? -1 : loadAndCache(contextCache, config, contextLoader);
+    }
+  }
+
+  private static boolean isLoadableWithoutDelegate(
+      ContextCache contextCache, MergedContextConfiguration config) {
+    return !AotDetector.useGeneratedArtifacts()
+        && config.hasResources()
+        && config.getParent() == null
+        && contextCache.getFailureCount(config) == 0;
+  }
+
+  // Must hold claimLock
+  private static boolean isClaimed(MergedContextConfiguration config) {
+    return backgroundLoads.containsKey(config) || testClaims.containsKey(config);
+  }
+
+  private static long loadAndCache(
+      ContextCache contextCache, MergedContextConfiguration config, SmartContextLoader loader) {
+    try {
+      long start = System.nanoTime();
+      ApplicationContext context = loader.loadContext(ContextCustomizerTimings.timed(config));
+      long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      boolean added;
+      synchronized (contextCache) {
+        added = !contextCache.contains(config);
+        if (added) {
+          contextCache.put(config, context);
+        }
+      }
+      if (added) {
+        logger.debug("Loaded {} in {}ms", label(config), elapsedMs);
+        return elapsedMs;
+      }
+      // Only if a context was put into the cache without a claim, e.g. by a custom delegate
+      if (context instanceof ConfigurableApplicationContext configurableContext) {
+        configurableContext.close();
+      }
+    } catch (Throwable e) {
+      // The test loads the context again via the delegate, which handles the failure
+      logger.debug("Failed to load {}", label(config), e);
+    }
+    ContextCustomizerTimings.take(config);
+    return -1;
+  }
+
+  /**
+   * Called before a test class loads its context: claims the context for the test class until
+   * {@link #releaseContext}, so no background load of it starts in the meantime, then waits for a
+   * background load of the context, if there is one, and hands it over to the test.
+   *
+   * @return the background load the test uses, or null if there is none
+   */
+  public static UsedLoad awaitBackgroundLoad(MergedContextConfiguration config) {
+    BackgroundLoad load;
+    synchronized (claimLock) {
+      testClaims.merge(config, 1, Integer::sum);
+      load = backgroundLoads.remove(config);
+    }
+    if (load == null) {
+      return null;
+    }
+
+    long start = System.nanoTime();
+    try {
+      long loadTimeMs = load.loadTimeMs().get(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+      long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      if (loadTimeMs < 0) {
+        return null;
+      }
+      UsedLoad usedLoad = new UsedLoad(load.origin(), loadTimeMs, waitedMs);
+      Counters originCounters = counters.get(load.origin());
+      originCounters.used.incrementAndGet();
+      originCounters.timeSavedMs.addAndGet(usedLoad.timeSavedMs());
+      return usedLoad;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException | TimeoutException e) {
+      return null;
+    }
+  }
+
+  /** Called after a test class finished: releases its claim, see {@link #awaitBackgroundLoad}. */
+  public static void releaseContext(MergedContextConfiguration config) {
+    synchronized (claimLock) {
+      testClaims.computeIfPresent(config, (key, claims) -> claims > 1 ? claims - 1 : null);
+    }
+  }
+
+  /**
+   * Returns the statistics of the background loads since the last call and resets them. Origins
+   * without background loads are left out.
+   */
+  public static Map<Origin, BackgroundLoadStatistics> resetStatistics() {
+    Map<Origin, BackgroundLoadStatistics> statistics = new EnumMap<>(Origin.class);
+    counters.forEach(
+        (origin, originCounters) -> {
+          int startedLoads = originCounters.started.getAndSet(0);
+          if (startedLoads > 0) {
+            statistics.put(
+                origin,
+                new BackgroundLoadStatistics(
+                    origin.getDisplayName(),
+                    startedLoads,
+                    originCounters.used.getAndSet(0),
+                    originCounters.timeSavedMs.getAndSet(0)));
+          }
+        });
+    return statistics;
+  }
+
+  static String label(MergedContextConfiguration config) {
+    return RunSummary.contextLabel(config);
+  }
+}
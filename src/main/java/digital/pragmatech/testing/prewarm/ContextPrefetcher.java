@@ -0,0 +1,151 @@
+package digital.pragmatech.testing.prewarm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.ContextCache;
+
+/**
+ * Opt-in lookahead prefetching of Spring contexts. Whenever a test class starts, the contexts of
+ * the next test classes in the plan are loaded in the background, so they are ready (or partly
+ * loaded) once these classes start. A test class that needs a context still being prefetched waits
+ * for it instead of loading it a second time.
+ *
+ * <ul>
+ *   <li>{@code spring.test.profiler.prefetch.enabled}: enable prefetching (default {@code false})
+ *   <li>{@code spring.test.profiler.prefetch.lookahead}: number of distinct upcoming contexts to
+ *       prefetch (default {@code 2})
+ *   <li>{@code spring.test.profiler.prefetch.max-concurrent}: max number of contexts loaded in the
+ *       background at the same time (default {@code 1})
+ *   <li>{@code spring.test.profiler.prefetch.max-heap-usage}: no context is prefetched while the
+ *       used heap exceeds this share of the max heap (default {@code 0.7})
+ * </ul>
+ *
+ * <p>Contexts are only prefetched into free slots of the context cache, so prefetching never evicts
+ * a cached context. Registered via {@code META-INF/services}.
+ */
+public class ContextPrefetcher implements TestExecutionListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextPrefetcher.class);
+
+  private static final String PREFIX = "spring.test.profiler.prefetch.";
+
+  private volatile CompletableFuture<Plan> plan;
+  private volatile ExecutorService loaders;
+
+  private record Plan(List<String> testClasses, Map<String, MergedContextConfiguration> configs) {}
+
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    if (!Boolean.parseBoolean(System.getProperty(PREFIX + "enabled", "false"))) {
+      return;
+    }
+
+    List<String> testClasses = new ArrayList<>(BackgroundContextLoader.testClasses(testPlan));
+    int maxConcurrent = Math.max(1, Integer.getInteger(PREFIX + "max-concurrent", 1));
+    loaders = BackgroundContextLoader.newLoaderPool(maxConcurrent, "SpringTestProfilerPrefetcher");
+    // Resolving the configurations of all classes takes a while, the first classes do not wait
+    plan =
+        CompletableFuture.supplyAsync(
+            () -> new Plan(testClasses, BackgroundContextLoader.resolveConfigurations(testClasses)),
+            loaders);
+  }
+
+  @Override
+  public void executionStarted(TestIdentifier testIdentifier) {
+    CompletableFuture<Plan> currentPlan = plan;
+    if (currentPlan == null || !currentPlan.isDone() || currentPlan.isCompletedExceptionally()) {
+      return;
+    }
+    BackgroundContextLoader.className(testIdentifier)
+        .ifPresent(className -> prefetch(currentPlan.join(), className));
+  }
+
+  @Override
+  public void testPlanExecutionFinished(TestPlan testPlan) {
+    ExecutorService currentLoaders = loaders;
+    if (currentLoaders != null) {
+      currentLoaders.shutdownNow();
+    }
+    plan = null;
+    loaders = null;
+  }
+
+  private void prefetch(Plan currentPlan, String className) {
+    ContextCache contextCache = SpringContextCacheAccessor.getDefaultContextCache();
+    if (contextCache == null) {
+      return;
+    }
+
+    List<MergedContextConfiguration> upcoming =
+        upcomingContexts(
+            currentPlan.testClasses(),
+            currentPlan.configs(),
+            className,
+            Integer.getInteger(PREFIX + "lookahead", 2));
+    int maxConcurrent = Math.max(1, Integer.getInteger(PREFIX + "max-concurrent", 1));
+    int maxCacheSize = SpringContextCacheAccessor.getMaxCacheSize();
+    double maxHeapUsage = Double.parseDouble(System.getProperty(PREFIX + "max-heap-usage", "0.7"));
+
+    for (MergedContextConfiguration config : upcoming) {
+      if (BackgroundContextLoader.isCachedOrLoading(contextCache, config)) {
+        continue;
+      }
+      int inFlight = BackgroundContextLoader.loadsInFlight();
+      if (inFlight >= maxConcurrent || contextCache.size() + inFlight >= maxCacheSize) {
+        return;
+      }
+      if (BackgroundContextLoader.exceedsHeapUsage(maxHeapUsage)) {
+        logger.debug("Not prefetching contexts, heap usage exceeds the limit");
+        return;
+      }
+      if (BackgroundContextLoader.load(
+          contextCache, config, BackgroundContextLoader.Origin.PREFETCH, loaders)) {
+        logger.debug("Prefetching {}", BackgroundContextLoader.label(config));
+      }
+    }
+  }
+
+  /**
+   * The next distinct contexts needed after the given test class, up to {@code lookahead} of them,
+   * in the order the tests need them. The context of the given class itself is not included.
+   *
+   * @param testClasses all test classes in execution order
+   * @param configs the context configuration of the test classes
+   */
+  static List<MergedContextConfiguration> upcomingContexts(
+      List<String> testClasses,
+      Map<String, MergedContextConfiguration> configs,
+      String currentClass,
+      int lookahead) {
+    int position = testClasses.indexOf(currentClass);
+    if (position < 0 || lookahead <= 0) {
+      return List.of();
+    }
+
+    MergedContextConfiguration currentConfig = configs.get(currentClass);
+    Set<MergedContextConfiguration> upcoming = new LinkedHashSet<>();
+    for (String testClass : testClasses.subList(position + 1, testClasses.size())) {
+      MergedContextConfiguration config = configs.get(testClass);
+      if (config != null && !config.equals(currentConfig)) {
+        upcoming.add(config);
+        if (upcoming.size() == lookahead) {
+          break;
+        }
+      }
+    }
+    return List.copyOf(upcoming);
+  }
+}
@@ -0,0 +1,199 @@
+package digital.pragmatech.testing.prewarm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.ContextFingerprint;
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import digital.pragmatech.testing.history.RunSummary;
+import digital.pragmatech.testing.reporting.html.TestExecutionReporter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.ContextCache;
+
+/**
+ * Opt-in, profile-guided pre-warming of Spring's context cache. When the test plan starts, the
+ * contexts that the most test classes use are loaded on background threads in parallel and put into
+ * the default {@link ContextCache}, so the tests find them there instead of loading them one after
+ * another. Only contexts that loaded successfully in the previous run (the {@code
+ * summary-<pid>.json} files of its forks) are pre-warmed.
+ *
+ * <ul>
+ *   <li>{@code spring.test.profiler.prewarm.enabled}: enable pre-warming (default {@code false})
+ *   <li>{@code spring.test.profiler.prewarm.contexts}: max number of contexts to pre-warm (default
+ *       {@code 4}), never more than the context cache has room for
+ *   <li>{@code spring.test.profiler.prewarm.threads}: number of loader threads (default: available
+ *       processors - 1)
+ *   <li>{@code spring.test.profiler.prewarm.max-heap-usage}: no further context is loaded once the
+ *       used heap exceeds this share of the max heap (default {@code 0.7})
+ *   <li>{@code spring.test.profiler.prewarm.profile}: run summary of the previous run (default: the
+ *       merged {@code summary-<pid>.json} files in the report directory)
+ * </ul>
+ *
+ * <p>Registered via {@code META-INF/services}. Contexts with a parent context and contexts loaded
+ * by a custom {@code CacheAwareContextLoaderDelegate} are not pre-warmed.
+ */
+public class ContextPrewarmer implements TestExecutionListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContextPrewarmer.class);
+
+  private static final String PREFIX = "spring.test.profiler.prewarm.";
+
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    if (!Boolean.parseBoolean(System.getProperty(PREFIX + "enabled", "false"))) {
+      return;
+    }
+
+    Set<String> testClasses = BackgroundContextLoader.testClasses(testPlan);
+
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Thread prewarmer = new Thread(() -> prewarm(testClasses), "SpringTestProfilerPrewarmer");
+    prewarmer.setContextClassLoader(classLoader);
+    prewarmer.setDaemon(true);
+    prewarmer.start();
+  }
+
+  private void prewarm(Set<String> testClasses) {
+    Map<String, Long> previousLoadTimes = readPreviousLoadTimes();
+    if (previousLoadTimes.isEmpty()) {
+      logger.info("Skipping context pre-warming, no profile of a previous run found");
+      return;
+    }
+    ContextCache contextCache = SpringContextCacheAccessor.getDefaultContextCache();
+    if (contextCache == null) {
+      return;
+    }
+
+    int freeSlots = SpringContextCacheAccessor.getMaxCacheSize() - contextCache.size();
+    int maxContexts = Math.min(Integer.getInteger(PREFIX + "contexts", 4), freeSlots);
+    List<MergedContextConfiguration> contexts =
+        plan(
+            new ArrayList<>(BackgroundContextLoader.resolveConfigurations(testClasses).values()),
+            previousLoadTimes,
+            maxContexts);
+    if (contexts.isEmpty()) {
+      return;
+    }
+
+    int threads =
+        Math.min(
+            contexts.size(),
+            Integer.getInteger(
+                PREFIX + "threads", Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+    double maxHeapUsage = Double.parseDouble(System.getProperty(PREFIX + "max-heap-usage", "0.7"));
+    logger.info("Pre-warming {} contexts on {} threads", contexts.size(), threads);
+
+    ExecutorService loaders =
+        BackgroundContextLoader.newLoaderPool(threads, "SpringTestProfilerPrewarmLoader");
+    for (MergedContextConfiguration config : contexts) {
+      // The heap is checked once a loader thread picks up the context, after the previous loads
+      loaders.execute(
+          () -> {
+            if (BackgroundContextLoader.exceedsHeapUsage(maxHeapUsage)) {
+              logger.info(
+                  "Skipping pre-warming of {}, heap usage exceeds the limit",
+                  BackgroundContextLoader.label(config));
+            } else {
+              BackgroundContextLoader.load(
+                  contextCache, config, BackgroundContextLoader.Origin.PREWARM, Runnable::run);
+            }
+          });
+    }
+    loaders.shutdown();
+  }
+
+  /**
+   * Picks the contexts to pre-warm: of the contexts the previous run loaded, the ones used by the
+   * most test classes (slower ones first on a tie), in the order the tests need them. The context
+   * needed first is skipped, as the first test loads it right away anyway.
+   *
+   * @param configurations the context configuration of every test class, in execution order
+   * @param previousLoadTimes the load times of the previous run by context key, see {@link
+   *     ContextFingerprint#key(String, int)}
+   */
+  static List<MergedContextConfiguration> plan(
+      List<MergedContextConfiguration> configurations,
+      Map<String, Long> previousLoadTimes,
+      int maxContexts) {
+    Map<MergedContextConfiguration, Integer> usages = new LinkedHashMap<>();
+    configurations.forEach(config -> usages.merge(config, 1, Integer::sum));
+    if (maxContexts <= 0) {
+      return List.of();
+    }
+
+    List<MergedContextConfiguration> candidates = new ArrayList<>();
+    Map<MergedContextConfiguration, Long> loadTimes = new HashMap<>();
+    // The tests create the contexts in execution order, which numbers the ones that collide
+    Map<String, Integer> contextsByFingerprint = new HashMap<>();
+    for (MergedContextConfiguration config : usages.keySet()) {
+      String fingerprint = ContextFingerprint.of(config);
+      Long loadTime =
+          previousLoadTimes.get(
+              ContextFingerprint.key(
+                  fingerprint, contextsByFingerprint.merge(fingerprint, 1, Integer::sum)));
+      if (loadTime != null && config.getParent() == null) {
+        candidates.add(config);
+        loadTimes.put(config, loadTime);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+    loadTimes.remove(candidates.remove(0));
+
+    Set<MergedContextConfiguration> selected =
+        Set.copyOf(
+            loadTimes.keySet().stream()
+                .sorted(
+                    Comparator.comparing((MergedContextConfiguration config) -> usages.get(config))
+                        .thenComparing(loadTimes::get)
+                        .reversed())
+                .limit(maxContexts)
+                .toList());
+    return candidates.stream().filter(selected::contains).toList();
+  }
+
+  private static Map<String, Long> readPreviousLoadTimes() {
+    String profile = System.getProperty(PREFIX + "profile");
+    Path profileFile = profile != null && !profile.isBlank() ? Paths.get(profile) : null;
+    Path source = profileFile != null ? profileFile : TestExecutionReporter.reportDirectory();
+
+    try {
+      Optional<RunSummary> previousRun;
+      if (profileFile == null) {
+        previousRun = TestExecutionReporter.readRunSummary(source);
+      } else if (Files.isReadable(profileFile)) {
+        previousRun =
+            Optional.of(new ObjectMapper().readValue(profileFile.toFile(), RunSummary.class));
+      } else {
+        previousRun = Optional.empty();
+      }
+
+      Map<String, Long> loadTimes = new HashMap<>();
+      previousRun.ifPresent(
+          run ->
+              run.contextSummaries()
+                  .forEach(context -> loadTimes.put(context.key(), context.loadTimeMs())));
+      return loadTimes;
+    } catch (IOException e) {
+      logger.warn("Failed to read the profile of the previous run {}", source, e);
+      return Map.of();
+    }
+  }
+}
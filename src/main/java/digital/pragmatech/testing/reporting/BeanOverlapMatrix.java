@@ -0,0 +1,19 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.List;
+
+/**
+ * Share of the bean definitions the contexts with beans have in common, for the first contexts by
+ * creation order, and the pairs of contexts with the highest overlap among all of them.
+ *
+ * @param contextIds the contexts of the rows and columns
+ * @param overlaps the Jaccard index of the bean definition names of the contexts of a row and a
+ *     column
+ * @param contexts the number of contexts with beans, also those not in the matrix
+ */
+public record BeanOverlapMatrix(
+    List<String> contextIds, List<List<Double>> overlaps, int contexts, List<Pair> mostSimilar) {
+
+  /** Two contexts and the bean definitions they have in common. */
+  public record Pair(String firstId, String secondId, int sharedBeans, double overlap) {}
+}
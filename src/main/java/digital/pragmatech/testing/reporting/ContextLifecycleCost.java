@@ -0,0 +1,24 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.List;
+
+/**
+ * What stopping and restarting the lifecycle beans of a context would cost if it was paused
+ * whenever the tests switch to another context.
+ *
+ * @param stopTimeMs -1 if the context was never stopped
+ * @param contextSwitchHits cache hits after the tests used another context
+ */
+public record ContextLifecycleCost(
+    String contextId,
+    List<String> lifecycleBeanNames,
+    long startTimeMs,
+    long stopTimeMs,
+    int contextSwitchHits,
+    int hits,
+    long estimatedPauseCostMs) {
+
+  public boolean isStopTimeKnown() {
+    return stopTimeMs >= 0;
+  }
+}
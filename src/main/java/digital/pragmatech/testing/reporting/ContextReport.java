@@ -0,0 +1,52 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCost;
+import digital.pragmatech.testing.customizer.ContextCustomizerTiming;
+
+/**
+ * A context of the run as the reports show it, copied from its cache entry once.
+ *
+ * @param id the id of the context in this report, unique even if fingerprints collide
+ * @param evictions how often Spring's context cache evicted the context
+ * @param hits cache hits of the context
+ */
+public record ContextReport(
+    String id,
+    String fingerprint,
+    Configuration configuration,
+    Set<String> testClasses,
+    int testMethods,
+    int beanDefinitionCount,
+    Set<String> beanDefinitionNames,
+    Map<String, Long> beanCreationTimes,
+    long contextLoadTimeMs,
+    int reloadCount,
+    long reloadTimeMs,
+    int evictions,
+    int hits,
+    long heapMemoryUsedBytes,
+    List<ContextCustomizerTiming> contextCustomizerTimings,
+    List<AutoConfigurationCost> autoConfigurationCosts) {
+
+  public double heapMemoryUsedMB() {
+    return heapMemoryUsedBytes / (1024.0 * 1024.0);
+  }
+
+  /**
+   * The parts of the merged context configuration the JSON report lists.
+   *
+   * @param parentId the id of the parent context, or null if the context has no parent
+   * @param contextLoader class name of the context loader, or null if unknown
+   */
+  public record Configuration(
+      String parentId,
+      List<String> classes,
+      List<String> locations,
+      List<String> activeProfiles,
+      List<String> initializers,
+      String contextLoader) {}
+}
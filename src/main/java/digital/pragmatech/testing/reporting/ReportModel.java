@@ -0,0 +1,516 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.BackgroundLoadStatistics;
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.ContextDirtyingCost;
+import digital.pragmatech.testing.ContextFingerprint;
+import digital.pragmatech.testing.OptimizationStatistics;
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TimelineData;
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCost;
+import digital.pragmatech.testing.cache.ContextCacheEvents;
+import digital.pragmatech.testing.cost.AmortizedCostAnalyzer;
+import digital.pragmatech.testing.cost.AmortizedCosts;
+import digital.pragmatech.testing.criticalpath.CriticalPath;
+import digital.pragmatech.testing.customizer.ContextCustomizerTiming;
+import digital.pragmatech.testing.diagnostic.LifecycleTimings;
+import digital.pragmatech.testing.phase.ListenerCostTracker;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * Everything the HTML and JSON reports show, read from the trackers once when the run is over. The
+ * test methods are walked a single time for the status counts, every context gets its id once, and
+ * the sorted lists and aggregates are computed up front. Test classes and contexts are copied into
+ * records, so rendering only reads fields and the report time grows linearly with the suite.
+ */
+public final class ReportModel {
+
+  /** Pairs of contexts listed in the bean overlap section. */
+  public static final int MOST_SIMILAR_CONTEXTS = 10;
+
+  /** Contexts in the rows and columns of the bean overlap matrix. */
+  public static final int BEAN_OVERLAP_MATRIX_CONTEXTS = 20;
+
+  private final List<TestClassReport> testClasses;
+  private final int totalTestMethods;
+  private final long totalDurationMs;
+  private final long passedTests;
+  private final long failedTests;
+  private final long disabledTests;
+  private final long abortedTests;
+  private final ListenerCostTracker listenerCosts;
+  private final SpringContextCacheAccessor.CacheStatistics cacheStats;
+  private final long cacheHits;
+  private final long cacheMisses;
+  private final CriticalPath criticalPath;
+
+  private final boolean contextTracking;
+  private final List<ContextReport> contexts;
+  private final Map<MergedContextConfiguration, String> contextIds;
+  private final Integer availableProcessors;
+  private final List<ContextConfiguration> configurations;
+  private final String contextStatisticsJson;
+  private final ContextCacheEvents cacheEvents;
+  private final List<BackgroundLoadStatistics> backgroundLoadStatistics;
+  private final List<ContextDirtyingCost> dirtyingCosts;
+  private final long totalDirtyingReloadTimeMs;
+  private final List<ContextLifecycleCost> contextsByLifecycleCost;
+  private final long estimatedPauseCostMs;
+  private final List<ContextCustomizerTiming> contextCustomizerTimings;
+  private final List<AutoConfigurationCost> autoConfigurationCosts;
+  private final BeanOverlapMatrix beanOverlap;
+  private final OptimizationStatistics optimizationStatistics;
+  private final TimelineData timelineData;
+  private final AmortizedCosts amortizedCosts;
+
+  private ReportModel(
+      TestExecutionTracker executionTracker,
+      SpringContextCacheAccessor.CacheStatistics cacheStats,
+      ContextCacheTracker contextCacheTracker,
+      CriticalPath criticalPath) {
+    Map<String, TestExecutionTracker.TestClassMetrics> classMetrics =
+        executionTracker.getClassMetrics();
+    List<TestClassReport> testClassList = new ArrayList<>(classMetrics.size());
+    for (TestExecutionTracker.TestClassMetrics metrics : classMetrics.values()) {
+      testClassList.add(TestClassReport.of(metrics));
+    }
+    this.testClasses = List.copyOf(testClassList);
+    this.totalTestMethods = executionTracker.getTotalTestMethods();
+    this.totalDurationMs = executionTracker.getOverallDuration().toMillis();
+    this.listenerCosts = executionTracker.getListenerCosts();
+    this.cacheStats = cacheStats;
+    this.criticalPath = criticalPath;
+
+    long passed = 0;
+    long failed = 0;
+    long disabled = 0;
+    long aborted = 0;
+    for (TestClassReport testClass : testClasses) {
+      for (TestMethodReport method : testClass.methods()) {
+        if (method.status() == null) {
+          continue;
+        }
+        switch (method.status()) {
+          case PASSED -> passed++;
+          case FAILED -> failed++;
+          case DISABLED -> disabled++;
+          case ABORTED -> aborted++;
+          default -> {}
+        }
+      }
+    }
+    this.passedTests = passed;
+    this.failedTests = failed;
+    this.disabledTests = disabled;
+    this.abortedTests = aborted;
+
+    this.contextTracking = contextCacheTracker != null;
+    if (contextCacheTracker != null) {
+      this.cacheHits = contextCacheTracker.getCacheHits();
+      this.cacheMisses = contextCacheTracker.getCacheMisses();
+    } else {
+      this.cacheHits = cacheStats != null ? cacheStats.hitCount() : 0;
+      this.cacheMisses = cacheStats != null ? cacheStats.missCount() : 0;
+    }
+    if (contextCacheTracker == null) {
+      this.contexts = List.of();
+      this.contextIds = Map.of();
+      this.availableProcessors = null;
+      this.configurations = List.of();
+      this.contextStatisticsJson = "[]";
+      this.cacheEvents = null;
+      this.backgroundLoadStatistics = List.of();
+      this.dirtyingCosts = List.of();
+      this.totalDirtyingReloadTimeMs = 0;
+      this.contextsByLifecycleCost = List.of();
+      this.estimatedPauseCostMs = 0;
+      this.contextCustomizerTimings = List.of();
+      this.autoConfigurationCosts = List.of();
+      this.beanOverlap = null;
+      this.optimizationStatistics = null;
+      this.timelineData = null;
+      this.amortizedCosts = null;
+      return;
+    }
+
+    List<ContextCacheEntry> entries = List.copyOf(contextCacheTracker.getAllEntries());
+    Map<MergedContextConfiguration, String> ids = new HashMap<>();
+    Integer processors = null;
+    List<ContextConfiguration> configurationList = new ArrayList<>();
+    List<Map<String, Object>> contextStatistics = new ArrayList<>();
+    Map<String, Integer> idUsages = new HashMap<>();
+    for (ContextCacheEntry entry : entries) {
+      // Contexts that differ only in the state of a customizer share a fingerprint
+      String id = entry.getContextId();
+      int usage = idUsages.merge(id, 1, Integer::sum);
+      if (usage > 1) {
+        id = id + "-" + usage;
+      }
+      ids.put(entry.getConfiguration(), id);
+      if (processors == null && entry.getAvailableProcessors() > 0) {
+        processors = entry.getAvailableProcessors();
+      }
+      configurationList.add(
+          new ContextConfiguration(
+              id.replace("context-", "config-"),
+              Collections.unmodifiableSet(new LinkedHashSet<>(entry.getTestClasses())),
+              entry.getConfigurationSummary()));
+    }
+    this.contextIds = Collections.unmodifiableMap(ids);
+    this.cacheEvents = contextCacheTracker.getCacheEvents();
+    // Parents are only looked up once all contexts have their id
+    List<ContextReport> contextList = new ArrayList<>(entries.size());
+    for (ContextCacheEntry entry : entries) {
+      contextList.add(contextReport(entry));
+      if (entry.isCreated()) {
+        contextStatistics.add(contextStatistics(entry));
+      }
+    }
+    this.contexts = List.copyOf(contextList);
+    this.availableProcessors = processors;
+    this.configurations = List.copyOf(configurationList);
+    this.contextStatisticsJson = new TemplateHelpers.JsonHelper().toJson(contextStatistics);
+
+    this.backgroundLoadStatistics = contextCacheTracker.getBackgroundLoadStatistics();
+    this.dirtyingCosts = contextCacheTracker.getDirtyingCosts();
+    this.totalDirtyingReloadTimeMs = contextCacheTracker.getTotalDirtyingReloadTimeMs();
+    this.contextsByLifecycleCost =
+        contextCacheTracker.getContextsByLifecycleCost().stream().map(this::lifecycleCost).toList();
+    this.estimatedPauseCostMs = contextCacheTracker.getEstimatedPauseCostMs();
+    this.contextCustomizerTimings = contextCacheTracker.getContextCustomizerTimings();
+    this.autoConfigurationCosts = contextCacheTracker.getAutoConfigurationCosts();
+    this.beanOverlap = beanOverlap(contextCacheTracker);
+    this.optimizationStatistics = contextCacheTracker.calculateOptimizationStatistics();
+    this.timelineData = contextCacheTracker.getTimelineData();
+    this.amortizedCosts = AmortizedCostAnalyzer.analyze(classMetrics, entries);
+  }
+
+  /**
+   * Reads the trackers of a finished run.
+   *
+   * @param cacheStats the statistics of Spring's context cache, or null if unknown
+   * @param contextCacheTracker the contexts of the run, or null if they were not tracked
+   * @param criticalPath the critical path of the run, or null if not analyzed
+   */
+  public static ReportModel of(
+      TestExecutionTracker executionTracker,
+      SpringContextCacheAccessor.CacheStatistics cacheStats,
+      ContextCacheTracker contextCacheTracker,
+      CriticalPath criticalPath) {
+    return new ReportModel(executionTracker, cacheStats, contextCacheTracker, criticalPath);
+  }
+
+  private ContextReport contextReport(ContextCacheEntry entry) {
+    MergedContextConfiguration config = entry.getConfiguration();
+    return new ContextReport(
+        getContextId(config),
+        entry.getFingerprint(),
+        new ContextReport.Configuration(
+            config.getParent() != null ? getContextId(config.getParent()) : null,
+            Arrays.stream(config.getClasses()).map(Class::getName).toList(),
+            List.of(config.getLocations()),
+            List.of(config.getActiveProfiles()),
+            config.getContextInitializerClasses().stream().map(Class::getName).sorted().toList(),
+            config.getContextLoader() != null
+                ? config.getContextLoader().getClass().getName()
+                : null),
+        Collections.unmodifiableSet(new LinkedHashSet<>(entry.getTestClasses())),
+        entry.getTestMethods().size(),
+        entry.getBeanDefinitionCount(),
+        entry.getBeanDefinitionNames(),
+        Collections.unmodifiableMap(new LinkedHashMap<>(entry.getBeanCreationTimes())),
+        entry.getContextLoadTimeMs(),
+        entry.getReloadCount(),
+        entry.getReloadTimeMs(),
+        cacheEvents.getEvictions(config),
+        entry.getHitCount(),
+        entry.getHeapMemoryUsedBytes(),
+        List.copyOf(entry.getContextCustomizerTimings()),
+        List.copyOf(entry.getAutoConfigurationCosts()));
+  }
+
+  private ContextLifecycleCost lifecycleCost(ContextCacheEntry entry) {
+    LifecycleTimings timings = entry.getLifecycleTimings().orElseThrow();
+    return new ContextLifecycleCost(
+        getContextId(entry.getConfiguration()),
+        timings.getLifecycleBeanNames(),
+        timings.getStartTimeMs(),
+        timings.getStopTimeMs(),
+        entry.getContextSwitchHitCount(),
+        entry.getHitCount(),
+        entry.getEstimatedPauseCostMs());
+  }
+
+  /** Null if fewer than two contexts have beans. */
+  private BeanOverlapMatrix beanOverlap(ContextCacheTracker contextCacheTracker) {
+    List<ContextCacheEntry> contextsWithBeans = contextCacheTracker.getContextsWithBeans();
+    if (contextsWithBeans.size() < 2) {
+      return null;
+    }
+    List<ContextCacheEntry> matrixContexts =
+        contextsWithBeans.subList(
+            0, Math.min(contextsWithBeans.size(), BEAN_OVERLAP_MATRIX_CONTEXTS));
+    List<List<Double>> overlaps = new ArrayList<>(matrixContexts.size());
+    for (ContextCacheEntry row : matrixContexts) {
+      overlaps.add(matrixContexts.stream().map(row::getBeanOverlap).toList());
+    }
+    return new BeanOverlapMatrix(
+        matrixContexts.stream().map(entry -> getContextId(entry.getConfiguration())).toList(),
+        List.copyOf(overlaps),
+        contextsWithBeans.size(),
+        contextCacheTracker.getMostSimilarContexts(MOST_SIMILAR_CONTEXTS).stream()
+            .map(
+                pair ->
+                    new BeanOverlapMatrix.Pair(
+                        getContextId(pair.first().getConfiguration()),
+                        getContextId(pair.second().getConfiguration()),
+                        pair.sharedBeans(),
+                        pair.overlap()))
+            .toList());
+  }
+
+  private Map<String, Object> contextStatistics(ContextCacheEntry entry) {
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("contextKey", getContextId(entry.getConfiguration()));
+    statistics.put("loadDuration", entry.getContextLoadTimeMs());
+    // Unix UTC timestamps in seconds
+    statistics.put(
+        "initialLoadTime",
+        entry.getCreationTime() != null ? entry.getCreationTime().getEpochSecond() : null);
+    statistics.put(
+        "lastUsedTime",
+        entry.getLastUsedTime() != null ? entry.getLastUsedTime().getEpochSecond() : null);
+    statistics.put("numberOfBeans", entry.getBeanDefinitionCount());
+    statistics.put("testClasses", new ArrayList<>(entry.getTestClasses()));
+    statistics.put("testMethods", new ArrayList<>(entry.getTestMethods()));
+
+    Map<String, Object> config = new HashMap<>();
+    MergedContextConfiguration mergedConfig = entry.getConfiguration();
+    if (mergedConfig != null) {
+      config.put(
+          "testClass",
+          entry.getTestClasses().isEmpty() ? null : entry.getTestClasses().iterator().next());
+      config.put("locations", Arrays.asList(mergedConfig.getLocations()));
+      config.put("classes", Arrays.stream(mergedConfig.getClasses()).map(Class::getName).toList());
+      config.put(
+          "contextInitializerClasses",
+          mergedConfig.getContextInitializerClasses().stream().map(Class::getName).toList());
+      config.put("activeProfiles", Arrays.asList(mergedConfig.getActiveProfiles()));
+      config.put(
+          "propertySourceLocations",
+          mergedConfig.getPropertySourceDescriptors().stream()
+              .flatMap(descriptor -> descriptor.locations().stream())
+              .toList());
+      config.put(
+          "propertySourceProperties", Arrays.asList(mergedConfig.getPropertySourceProperties()));
+      config.put(
+          "contextCustomizers",
+          mergedConfig.getContextCustomizers().stream()
+              .map(customizer -> customizer.getClass().getName())
+              .toList());
+      config.put(
+          "contextLoader",
+          mergedConfig.getContextLoader() != null
+              ? mergedConfig.getContextLoader().getClass().getName()
+              : null);
+      config.put(
+          "parent",
+          mergedConfig.getParent() != null ? getContextId(mergedConfig.getParent()) : null);
+    }
+    statistics.put("contextConfiguration", config);
+    return statistics;
+  }
+
+  /** The test classes of the run, in the order the tracker lists them. */
+  public List<TestClassReport> getTestClasses() {
+    return testClasses;
+  }
+
+  public int getTotalTestClasses() {
+    return testClasses.size();
+  }
+
+  public int getTotalTestMethods() {
+    return totalTestMethods;
+  }
+
+  public long getTotalDurationMs() {
+    return totalDurationMs;
+  }
+
+  public long getPassedTests() {
+    return passedTests;
+  }
+
+  public long getFailedTests() {
+    return failedTests;
+  }
+
+  public long getDisabledTests() {
+    return disabledTests;
+  }
+
+  public long getAbortedTests() {
+    return abortedTests;
+  }
+
+  /** Passed test methods in percent of all test methods. */
+  public double getSuccessRate() {
+    return totalTestMethods > 0 ? (passedTests * 100.0) / totalTestMethods : 0.0;
+  }
+
+  public ListenerCostTracker getListenerCosts() {
+    return listenerCosts;
+  }
+
+  public SpringContextCacheAccessor.CacheStatistics getCacheStats() {
+    return cacheStats;
+  }
+
+  /**
+   * Context cache hits of the run, as recorded on Spring's context cache if the contexts were
+   * tracked.
+   */
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  /** Context cache misses of the run, see {@link #getCacheHits()}. */
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public double getCacheHitRatio() {
+    long total = cacheHits + cacheMisses;
+    return total > 0 ? (double) cacheHits / total : 0.0;
+  }
+
+  public CriticalPath getCriticalPath() {
+    return criticalPath;
+  }
+
+  /** Whether the contexts of the run were tracked, otherwise all context sections are empty. */
+  public boolean hasContextTracking() {
+    return contextTracking;
+  }
+
+  /** All contexts of the run. */
+  public List<ContextReport> getContexts() {
+    return contexts;
+  }
+
+  /** The id of a context of the run, or of a context outside the run such as a parent. */
+  public String getContextId(MergedContextConfiguration configuration) {
+    String id = configuration != null ? contextIds.get(configuration) : null;
+    return id != null ? id : ContextFingerprint.contextId(configuration);
+  }
+
+  /** The processors available to the test JVM, or null if no context recorded them. */
+  public Integer getAvailableProcessors() {
+    return availableProcessors;
+  }
+
+  public List<ContextConfiguration> getConfigurations() {
+    return configurations;
+  }
+
+  /** The created contexts for the context comparison of the HTML report. */
+  public String getContextStatisticsJson() {
+    return contextStatisticsJson;
+  }
+
+  /** The cache operations of the run, or null if the contexts were not tracked. */
+  public ContextCacheEvents getCacheEvents() {
+    return cacheEvents;
+  }
+
+  public List<BackgroundLoadStatistics> getBackgroundLoadStatistics() {
+    return backgroundLoadStatistics;
+  }
+
+  public List<ContextDirtyingCost> getDirtyingCosts() {
+    return dirtyingCosts;
+  }
+
+  public long getTotalDirtyingReloadTimeMs() {
+    return totalDirtyingReloadTimeMs;
+  }
+
+  /** Contexts with lifecycle beans, most expensive to pause first. */
+  public List<ContextLifecycleCost> getContextsByLifecycleCost() {
+    return contextsByLifecycleCost;
+  }
+
+  public long getEstimatedPauseCostMs() {
+    return estimatedPauseCostMs;
+  }
+
+  public List<ContextCustomizerTiming> getContextCustomizerTimings() {
+    return contextCustomizerTimings;
+  }
+
+  public List<AutoConfigurationCost> getAutoConfigurationCosts() {
+    return autoConfigurationCosts;
+  }
+
+  /**
+   * The bean overlap of the first {@value #BEAN_OVERLAP_MATRIX_CONTEXTS} contexts with beans and
+   * the {@value #MOST_SIMILAR_CONTEXTS} pairs of contexts with the highest overlap, null if fewer
+   * than two contexts have beans.
+   */
+  public BeanOverlapMatrix getBeanOverlap() {
+    return beanOverlap;
+  }
+
+  /** Null if the contexts were not tracked. */
+  public OptimizationStatistics getOptimizationStatistics() {
+    return optimizationStatistics;
+  }
+
+  /** Null if the contexts were not tracked. */
+  public TimelineData getTimelineData() {
+    return timelineData;
+  }
+
+  /** Null if the contexts were not tracked. */
+  public AmortizedCosts getAmortizedCosts() {
+    return amortizedCosts;
+  }
+
+  /** A context configuration and the test classes using it. */
+  public static final class ContextConfiguration {
+    private final String id;
+    private final Set<String> testClasses;
+    private final Map<String, Object> configuration;
+
+    ContextConfiguration(String id, Set<String> testClasses, Map<String, Object> configuration) {
+      this.id = id;
+      this.testClasses = testClasses;
+      this.configuration = configuration;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public Set<String> getTestClasses() {
+      return testClasses;
+    }
+
+    public Map<String, Object> getConfiguration() {
+      return configuration;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+import digital.pragmatech.testing.history.RunHistoryStore.RunTrendPoint;
+
+/**
+ * Line chart of one metric over the stored runs, pre-computed as SVG polyline points so the trend
+ * section of the report renders without JavaScript.
+ */
+public record RunTrendChart(
+    String title, String points, String latest, String minimum, String maximum, int runs) {
+
+  public static final int WIDTH = 480;
+  public static final int HEIGHT = 120;
+  private static final int PADDING = 6;
+
+  private static final TemplateHelpers.DurationFormatter DURATION_FORMATTER =
+      new TemplateHelpers.DurationFormatter();
+
+  /** Creates the charts shown in the trend section, or none if there are fewer than two runs. */
+  public static List<RunTrendChart> of(List<RunTrendPoint> runs) {
+    if (runs.size() < 2) {
+      return List.of();
+    }
+    return List.of(
+        chart("Contexts Created", runs, RunTrendPoint::contexts, RunTrendChart::format),
+        chart(
+            "Total Context Load Time",
+            runs,
+            RunTrendPoint::totalContextLoadTimeMs,
+            value -> DURATION_FORMATTER.format((long) value)),
+        chart(
+            "Cache Hit Ratio",
+            runs,
+            RunTrendPoint::cacheHitRatio,
+            value -> String.format(Locale.ROOT, "%.1f%%", value * 100)),
+        chart(
+            "Suite Duration",
+            runs,
+            RunTrendPoint::suiteDurationMs,
+            value -> DURATION_FORMATTER.format((long) value)));
+  }
+
+  private static RunTrendChart chart(
+      String title,
+      List<RunTrendPoint> runs,
+      ToDoubleFunction<RunTrendPoint> metric,
+      DoubleFunction<String> formatter) {
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+    for (RunTrendPoint run : runs) {
+      double value = metric.applyAsDouble(run);
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    // Flat series are drawn through the middle of the chart
+    double range = max - min;
+    double xStep = (double) (WIDTH - 2 * PADDING) / (runs.size() - 1);
+    StringBuilder points = new StringBuilder();
+    for (int i = 0; i < runs.size(); i++) {
+      double value = metric.applyAsDouble(runs.get(i));
+      double y =
+          range == 0
+              ? HEIGHT / 2.0
+              : HEIGHT - PADDING - (value - min) / range * (HEIGHT - 2 * PADDING);
+      if (i > 0) {
+        points.append(' ');
+      }
+      points.append(format(PADDING + i * xStep)).append(',').append(format(y));
+    }
+
+    return new RunTrendChart(
+        title,
+        points.toString(),
+        formatter.apply(metric.applyAsDouble(runs.get(runs.size() - 1))),
+        formatter.apply(min),
+        formatter.apply(max),
+        runs.size());
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value)
+        ? Long.toString((long) value)
+        : String.format(Locale.ROOT, "%.1f", value);
+  }
+}
@@ -1,7 +1,5 @@
 package digital.pragmatech.testing.reporting;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -12,35 +10,13 @@ import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import digital.pragmatech.testing.ContextCacheEntry;
-import digital.pragmatech.testing.ContextCacheTracker;
-import digital.pragmatech.testing.ContextIdGenerator;
 import digital.pragmatech.testing.SpringContextStatistics;
-import digital.pragmatech.testing.TestExecutionTracker;
 import digital.pragmatech.testing.TestStatus;
 import digital.pragmatech.testing.TimelineData;
 
 /** Helper classes for Thymeleaf templates to format data and provide utility methods. */
 public class TemplateHelpers {
 
-  /** Static helper method to count tests by status from the execution tracker. */
-  public static long countTestsByStatus(
-      Map<String, TestExecutionTracker.TestClassMetrics> classMetrics, String statusName) {
-    TestStatus status = TestStatus.valueOf(statusName);
-    return classMetrics.values().stream()
-        .flatMap(classMetric -> classMetric.getMethodMetrics().values().stream())
-        .filter(methodMetric -> methodMetric.getStatus() == status)
-        .count();
-  }
-
-  /** Instance helper class for counting test statuses (to be used in templates). */
-  public static class TestStatusCounter {
-    public long countTestsByStatus(
-        Map<String, TestExecutionTracker.TestClassMetrics> classMetrics, String statusName) {
-      return TemplateHelpers.countTestsByStatus(classMetrics, statusName);
-    }
-  }
-
   public static class DurationFormatter {
     public String format(long millis) {
       if (millis < 1000) {
@@ -192,42 +168,6 @@ public class TemplateHelpers {
     }
   }
 
-  public static class ConfigurationHelper {
-    private final ContextCacheTracker contextCacheTracker;
-
-    public ConfigurationHelper(ContextCacheTracker contextCacheTracker) {
-      this.contextCacheTracker = contextCacheTracker;
-    }
-
-    public Map<String, ContextConfigurationInfo> getConfigurations() {
-      Map<String, ContextConfigurationInfo> configurations = new HashMap<>();
-
-      if (contextCacheTracker != null) {
-        // Convert ContextCacheTracker entries to the format expected by the template
-        for (ContextCacheEntry entry : contextCacheTracker.getAllEntries()) {
-          String configId =
-              ContextIdGenerator.getContextId(entry.getConfiguration())
-                  .replace("context-", "config-");
-
-          ContextConfigurationInfo configInfo = new ContextConfigurationInfo();
-          configInfo.id = configId;
-          configInfo.testClasses = new HashSet<>(entry.getTestClasses());
-          configInfo.configuration = entry.getConfigurationSummary();
-
-          configurations.put(configId, configInfo);
-        }
-      }
-      return configurations;
-    }
-
-    // Helper class to match the structure expected by the template
-    public static class ContextConfigurationInfo {
-      public String id;
-      public Set<String> testClasses;
-      public Map<String, Object> configuration;
-    }
-  }
-
   public static class CacheKeyProcessor {
     public Map<String, Set<String>> aggregateCacheKeys(List<TestClassExecutionData> testClassData) {
       Map<String, Set<String>> allCacheKeys = new HashMap<>();
@@ -302,124 +242,5 @@ public class TemplateHelpers {
       }
       return toJson(timelineData.events());
     }
-
-    public String contextStatisticsToJson(ContextCacheTracker contextCacheTracker) {
-      if (contextCacheTracker == null) {
-        return "[]";
-      }
-
-      List<Map<String, Object>> contextStatistics =
-          contextCacheTracker.getAllEntries().stream()
-              .filter(ContextCacheEntry::isCreated)
-              .map(this::mapContextEntryToStatistics)
-              .toList();
-
-      return toJson(contextStatistics);
-    }
-
-    private Map<String, Object> mapContextEntryToStatistics(ContextCacheEntry entry) {
-      Map<String, Object> statistics = new HashMap<>();
-
-      // Generate unique context key using incrementing counter
-      String contextKey = ContextIdGenerator.getContextId(entry.getConfiguration());
-      statistics.put("contextKey", contextKey);
-
-      // Load duration in milliseconds
-      statistics.put("loadDuration", entry.getContextLoadTimeMs());
-
-      // Unix UTC timestamps (convert Instant to epoch seconds)
-      statistics.put(
-          "initialLoadTime",
-          entry.getCreationTime() != null ? entry.getCreationTime().getEpochSecond() : null);
-      statistics.put(
-          "lastUsedTime",
-          entry.getLastUsedTime() != null ? entry.getLastUsedTime().getEpochSecond() : null);
-
-      // Number of beans in the context
-      statistics.put("numberOfBeans", entry.getBeanDefinitionCount());
-
-      // Test classes using this context
-      statistics.put("testClasses", new ArrayList<>(entry.getTestClasses()));
-
-      // Test methods - need to enhance ContextCacheTracker to collect these
-      statistics.put("testMethods", getTestMethodsForContext(entry));
-
-      // Context configuration details
-      statistics.put("contextConfiguration", mapContextConfiguration(entry));
-
-      return statistics;
-    }
-
-    private List<String> getTestMethodsForContext(ContextCacheEntry entry) {
-      return new ArrayList<>(entry.getTestMethods());
-    }
-
-    private Map<String, Object> mapContextConfiguration(ContextCacheEntry entry) {
-      Map<String, Object> config = new HashMap<>();
-
-      if (entry.getConfiguration() != null) {
-        var mergedConfig = entry.getConfiguration();
-
-        // Test class that defines this configuration
-        config.put(
-            "testClass",
-            entry.getTestClasses().isEmpty() ? null : entry.getTestClasses().iterator().next());
-
-        // Configuration locations
-        config.put("locations", Arrays.asList(mergedConfig.getLocations()));
-
-        // Configuration classes
-        config.put(
-            "classes", Arrays.stream(mergedConfig.getClasses()).map(Class::getName).toList());
-
-        // Context initializer classes
-        config.put(
-            "contextInitializerClasses",
-            mergedConfig.getContextInitializerClasses().stream().map(Class::getName).toList());
-
-        // Active profiles
-        config.put("activeProfiles", Arrays.asList(mergedConfig.getActiveProfiles()));
-
-        // Property source locations
-        config.put(
-            "propertySourceLocations", Arrays.asList(mergedConfig.getPropertySourceLocations()));
-
-        // Property source properties
-        config.put(
-            "propertySourceProperties", Arrays.asList(mergedConfig.getPropertySourceProperties()));
-
-        // Context customizers
-        config.put(
-            "contextCustomizers",
-            mergedConfig.getContextCustomizers().stream()
-                .map(customizer -> customizer.getClass().getName())
-                .toList());
-
-        // Context loader
-        config.put(
-            "contextLoader",
-            mergedConfig.getContextLoader() != null
-                ? mergedConfig.getContextLoader().getClass().getName()
-                : null);
-
-        // Parent context key if any
-        config.put(
-            "parent",
-            mergedConfig.getParent() != null
-                ? ContextIdGenerator.getContextId(mergedConfig.getParent())
-                : null);
-      }
-
-      return config;
-    }
-  }
-
-  /** Gets the context ID for a given configuration using the ContextIdGenerator. */
-  public String getContextId(Object configuration) {
-    if (configuration instanceof org.springframework.test.context.MergedContextConfiguration) {
-      return ContextIdGenerator.getContextId(
-          (org.springframework.test.context.MergedContextConfiguration) configuration);
-    }
-    return "context-unknown";
   }
 }
@@ -0,0 +1,40 @@
+package digital.pragmatech.testing.reporting;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+
+/**
+ * A test class as the reports show it, copied from the metrics of the tracker with its methods and
+ * their status counts, so rendering only reads fields.
+ */
+public record TestClassReport(
+    String className,
+    Duration duration,
+    long passedMethods,
+    long failedMethods,
+    List<TestMethodReport> methods) {
+
+  public static TestClassReport of(TestExecutionTracker.TestClassMetrics metrics) {
+    List<TestMethodReport> methods = new ArrayList<>(metrics.getMethodMetrics().size());
+    long passed = 0;
+    long failed = 0;
+    for (TestExecutionTracker.TestMethodMetrics method : metrics.getMethodMetrics().values()) {
+      methods.add(TestMethodReport.of(method));
+      if (method.getStatus() == TestStatus.PASSED) {
+        passed++;
+      } else if (method.getStatus() == TestStatus.FAILED) {
+        failed++;
+      }
+    }
+    return new TestClassReport(
+        metrics.getClassName(), metrics.getDuration(), passed, failed, List.copyOf(methods));
+  }
+
+  public int totalMethods() {
+    return methods.size();
+  }
+}
@@ -0,0 +1,34 @@
+package digital.pragmatech.testing.reporting;
+
+import java.time.Duration;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+
+/**
+ * A test method as the reports show it.
+ *
+ * @param status null if the method did not finish
+ * @param hasPhases whether the method was split into listener setup, test body and listener
+ *     teardown
+ */
+public record TestMethodReport(
+    String methodName,
+    TestStatus status,
+    Duration duration,
+    boolean hasPhases,
+    Duration listenerSetupDuration,
+    Duration bodyDuration,
+    Duration listenerTeardownDuration) {
+
+  static TestMethodReport of(TestExecutionTracker.TestMethodMetrics metrics) {
+    return new TestMethodReport(
+        metrics.getMethodName(),
+        metrics.getStatus(),
+        metrics.getDuration(),
+        metrics.hasPhases(),
+        metrics.getListenerSetupDuration(),
+        metrics.getBodyDuration(),
+        metrics.getListenerTeardownDuration());
+  }
+}
@@ -0,0 +1,183 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.reporting.TemplateHelpers;
+import digital.pragmatech.testing.reporting.TestClassReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * Pre-renders the execution details of test classes on a low-priority background thread while the
+ * suite is still running, so the final report only renders the test classes that finished last. The
+ * listener hands over the metrics of every finished test class, see {@link
+ * TestExecutionTracker#getFinishedClassMetrics(String)}, so rendering never merges the tables of
+ * the {@link TestExecutionTracker} while the tests are running.
+ *
+ * <p>Every rendered batch is also appended to {@code partial-report-<pid>.html}, which remains in
+ * the report directory if the test JVM is killed before the final report is written. Every fork
+ * writes its own file.
+ */
+public class IncrementalReportAssembler {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncrementalReportAssembler.class);
+
+  static final String PARTIAL_REPORT_FILE =
+      "partial-report-" + ProcessHandle.current().pid() + ".html";
+  private static final long BATCH_INTERVAL_MS = 500;
+  private static final long CLOSE_TIMEOUT_MS = 5_000;
+
+  private static final String PARTIAL_REPORT_HEADER =
+      """
+      <!DOCTYPE html>
+      <html lang="en">
+      <head>
+        <meta charset="UTF-8">
+        <title>Spring Test Profiler Partial Report</title>
+        <link rel="stylesheet" href="static/css/spring-test-profiler.css">
+        <script defer src="static/js/report.js"></script>
+      </head>
+      <body>
+      <div class="container">
+        <h1>Spring Test Profiler Partial Report</h1>
+        <p>The test run did not finish (yet). This report lists the test classes completed so far.</p>
+      """;
+
+  private final TestExecutionReporter reporter;
+  private final TemplateEngine templateEngine;
+  private final BlockingQueue<TestExecutionTracker.TestClassMetrics> finishedTestClasses =
+      new LinkedBlockingQueue<>();
+  private final Map<String, RenderedTestClass> renderedTestClasses = new ConcurrentHashMap<>();
+
+  private volatile Thread worker;
+  private volatile boolean closed;
+  private Path partialReport;
+
+  /** The rendered HTML of a test class and the test class it was rendered from. */
+  private record RenderedTestClass(TestClassReport testClass, String html) {}
+
+  IncrementalReportAssembler(TestExecutionReporter reporter, TemplateEngine templateEngine) {
+    this.reporter = reporter;
+    this.templateEngine = templateEngine;
+  }
+
+  /** Schedules the execution details of a finished test class for rendering. */
+  public void testClassFinished(TestExecutionTracker.TestClassMetrics metrics) {
+    if (closed) {
+      return;
+    }
+    finishedTestClasses.add(metrics);
+    if (worker == null) {
+      startWorker();
+    }
+  }
+
+  /**
+   * Returns the pre-rendered execution details of a test class, or null if the class has not been
+   * rendered yet or its methods changed since. Used by the report template.
+   */
+  public String get(TestClassReport testClass) {
+    RenderedTestClass rendered = renderedTestClasses.get(testClass.className());
+    return rendered != null && rendered.testClass().equals(testClass) ? rendered.html() : null;
+  }
+
+  /** Stops the background rendering; the final report renders whatever is still missing. */
+  void close() {
+    closed = true;
+    Thread currentWorker = worker;
+    if (currentWorker != null) {
+      currentWorker.interrupt();
+      try {
+        currentWorker.join(CLOSE_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Removes the partial report once the final report has been written. */
+  void deletePartialReport() {
+    if (partialReport != null) {
+      try {
+        Files.deleteIfExists(partialReport);
+      } catch (IOException e) {
+        logger.debug("Failed to delete partial report {}", partialReport, e);
+      }
+    }
+  }
+
+  private synchronized void startWorker() {
+    if (worker == null && !closed) {
+      Thread thread = new Thread(this::renderFinishedTestClasses, "SpringTestProfilerAssembler");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      thread.start();
+      worker = thread;
+    }
+  }
+
+  private void renderFinishedTestClasses() {
+    try {
+      List<TestExecutionTracker.TestClassMetrics> batch = new ArrayList<>();
+      while (!closed) {
+        batch.add(finishedTestClasses.take());
+        finishedTestClasses.drainTo(batch);
+
+        StringBuilder html = new StringBuilder();
+        for (TestExecutionTracker.TestClassMetrics metrics : batch) {
+          if (closed) {
+            return;
+          }
+          html.append(render(TestClassReport.of(metrics)));
+        }
+        batch.clear();
+        appendToPartialReport(html);
+
+        Thread.sleep(BATCH_INTERVAL_MS);
+      }
+    } catch (InterruptedException e) {
+      // closed, the final report renders the remaining test classes
+    } catch (RuntimeException e) {
+      logger.debug("Background report rendering stopped, rendering at the end of the run", e);
+    }
+  }
+
+  private String render(TestClassReport testClass) {
+    Context context = new Context();
+    context.setVariable("testClass", testClass);
+    context.setVariable("durationFormatter", new TemplateHelpers.DurationFormatter());
+    context.setVariable("classNameHelper", new TemplateHelpers.ClassNameHelper());
+    context.setVariable("statusIconHelper", new TemplateHelpers.StatusIconHelper());
+
+    String html = templateEngine.process("fragments/test-execution", Set.of("test-class"), context);
+    renderedTestClasses.put(testClass.className(), new RenderedTestClass(testClass, html));
+    return html;
+  }
+
+  private void appendToPartialReport(CharSequence html) {
+    try {
+      if (partialReport == null) {
+        Path reportDir = reporter.prepareReportDirectory();
+        partialReport = reportDir.resolve(PARTIAL_REPORT_FILE);
+        Files.writeString(partialReport, PARTIAL_REPORT_HEADER, StandardCharsets.UTF_8);
+      }
+      Files.writeString(partialReport, html, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    } catch (IOException | RuntimeException e) {
+      logger.debug("Failed to update partial report", e);
+    }
+  }
+}
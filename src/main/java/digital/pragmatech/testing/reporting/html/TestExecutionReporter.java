@@ -7,13 +7,22 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import digital.pragmatech.testing.ContextCacheTracker;
-import digital.pragmatech.testing.OptimizationStatistics;
 import digital.pragmatech.testing.SpringContextCacheAccessor;
 import digital.pragmatech.testing.TestExecutionTracker;
-import digital.pragmatech.testing.TimelineData;
+import digital.pragmatech.testing.criticalpath.CriticalPath;
+import digital.pragmatech.testing.criticalpath.CriticalPathAnalyzer;
+import digital.pragmatech.testing.history.RunHistoryStore;
+import digital.pragmatech.testing.history.RunSummary;
+import digital.pragmatech.testing.reporting.ReportModel;
+import digital.pragmatech.testing.reporting.RunTrendChart;
 import digital.pragmatech.testing.reporting.TemplateHelpers;
 import digital.pragmatech.testing.reporting.json.JsonReportGenerator;
 import digital.pragmatech.testing.util.BuildToolDetection;
@@ -33,19 +42,59 @@ public class TestExecutionReporter {
       DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
   private static final String TARGET_DIRECTORY = "target";
   private static final String BUILD_DIRECTORY = "build";
+  private static final String DEFAULT_HISTORY_DIRECTORY = ".spring-test-profiler/history";
+  private static final int TREND_RUNS = 50;
+  private static final int MAX_WHAT_IFS = 10;
+
+  /**
+   * Machine-readable summary of the run next to the report, one per test JVM, picked up by the
+   * aggregator and the pre-warmer.
+   */
+  public static final String RUN_SUMMARY_FILE =
+      "summary-" + ProcessHandle.current().pid() + ".json";
+
+  // Also matches the summary.json of reports written before summaries were kept per JVM
+  private static final Pattern RUN_SUMMARY_FILE_PATTERN = Pattern.compile("summary(-\\d+)?\\.json");
 
   private final TemplateEngine templateEngine;
   private final JsonReportGenerator jsonReportGenerator;
+  private final ObjectMapper objectMapper = new ObjectMapper();
 
   public TestExecutionReporter() {
-    this.templateEngine = createTemplateEngine();
+    this.templateEngine = createTemplateEngine(false);
     this.jsonReportGenerator = new JsonReportGenerator();
   }
 
+  /**
+   * Creates an assembler that renders finished test classes in the background while the tests are
+   * running. Pass it to {@link #generateReport(TestExecutionTracker,
+   * SpringContextCacheAccessor.CacheStatistics, ContextCacheTracker, IncrementalReportAssembler)}.
+   */
+  public IncrementalReportAssembler createAssembler() {
+    return new IncrementalReportAssembler(this, createTemplateEngine(true));
+  }
+
   public void generateReport(
       TestExecutionTracker executionTracker,
       SpringContextCacheAccessor.CacheStatistics cacheStats,
       ContextCacheTracker contextCacheTracker) {
+    generateReport(executionTracker, cacheStats, contextCacheTracker, null);
+  }
+
+  /**
+   * Generates the report, reusing the test classes already rendered by the assembler, if any.
+   *
+   * @param assembler the assembler of this run, or null to render all test classes now
+   */
+  public void generateReport(
+      TestExecutionTracker executionTracker,
+      SpringContextCacheAccessor.CacheStatistics cacheStats,
+      ContextCacheTracker contextCacheTracker,
+      IncrementalReportAssembler assembler) {
+
+    if (assembler != null) {
+      assembler.close();
+    }
 
     // Beta feature flag for JSON reporting
     boolean jsonReportingEnabled =
@@ -56,9 +105,23 @@ public class TestExecutionReporter {
       Path reportDir = determineReportDirectory(buildTool);
       Files.createDirectories(reportDir);
 
+      RunSummary runSummary =
+          contextCacheTracker != null
+              ? RunSummary.of(System.currentTimeMillis(), executionTracker, contextCacheTracker)
+              : null;
+      writeRunSummary(reportDir, runSummary);
+      RunHistoryStore historyStore = recordRunHistory(runSummary);
+      // The forks that ran at the same time leave their lanes in the report directory
+      CriticalPath criticalPath =
+          CriticalPathAnalyzer.analyze(
+              executionTracker.getExecutionLanes().writeAndCollect(reportDir), MAX_WHAT_IFS);
+
+      // Read the trackers once, both reports render from this model
+      ReportModel report =
+          ReportModel.of(executionTracker, cacheStats, contextCacheTracker, criticalPath);
+
       if (jsonReportingEnabled) {
-        jsonReportGenerator.generateJsonReport(
-            reportDir, executionTracker, cacheStats, contextCacheTracker);
+        jsonReportGenerator.generateJsonReport(reportDir, report);
       } else {
         // Copy static assets before generating HTML
         copyStaticAssets(reportDir);
@@ -69,8 +132,7 @@ public class TestExecutionReporter {
         Path reportFile = reportDir.resolve(reportFileName);
 
         String htmlContent =
-            generateHtmlWithThymeleaf(
-                buildTool.name(), executionTracker, cacheStats, contextCacheTracker);
+            generateHtmlWithThymeleaf(buildTool.name(), report, historyStore, assembler);
         Files.write(reportFile, htmlContent.getBytes());
 
         logger.info(
@@ -84,16 +146,99 @@ public class TestExecutionReporter {
         Files.write(latestLink, htmlContent.getBytes());
       }
 
+      if (assembler != null) {
+        assembler.deletePartialReport();
+      }
+
     } catch (IOException e) {
       logger.error("Failed to generate Spring Test Profiler report", e);
     }
   }
 
+  private void writeRunSummary(Path reportDir, RunSummary runSummary) {
+    if (runSummary == null) {
+      return;
+    }
+    try {
+      objectMapper.writeValue(reportDir.resolve(RUN_SUMMARY_FILE).toFile(), runSummary);
+    } catch (IOException e) {
+      logger.warn("Failed to write run summary to {}", reportDir, e);
+    }
+  }
+
+  /**
+   * Appends the summary of this run to the run history store, if enabled. The store lives outside
+   * the build directory (by default in {@code .spring-test-profiler/history} of the working
+   * directory) so trends survive {@code mvn clean}.
+   *
+   * @return the store, or null if the run history is disabled or could not be written
+   */
+  private RunHistoryStore recordRunHistory(RunSummary runSummary) {
+    boolean historyEnabled =
+        Boolean.parseBoolean(System.getProperty("spring.test.profiler.history.enabled", "false"));
+    if (!historyEnabled || runSummary == null) {
+      return null;
+    }
+
+    String historyDir =
+        System.getProperty("spring.test.profiler.history.dir", DEFAULT_HISTORY_DIRECTORY);
+    RunHistoryStore historyStore = new RunHistoryStore(Paths.get(historyDir));
+    try {
+      historyStore.append(runSummary);
+      logger.info("Recorded run in history {}", historyStore.getDirectory().toAbsolutePath());
+      return historyStore;
+    } catch (IOException e) {
+      logger.warn("Failed to record run in history {}", historyDir, e);
+      return null;
+    }
+  }
+
+  /** Creates the report directory including the static assets and returns it. */
+  Path prepareReportDirectory() throws IOException {
+    Path reportDir = reportDirectory();
+    Files.createDirectories(reportDir);
+    copyStaticAssets(reportDir);
+    return reportDir;
+  }
+
+  /** The report directory of the detected build tool, see {@link #determineReportDirectory}. */
+  public static Path reportDirectory() {
+    return determineReportDirectory(BuildToolDetection.getDetectedBuildTool());
+  }
+
+  /** Whether the file is a run summary written by any test JVM, see {@link #RUN_SUMMARY_FILE}. */
+  public static boolean isRunSummaryFile(Path file) {
+    return file.getFileName() != null
+        && RUN_SUMMARY_FILE_PATTERN.matcher(file.getFileName().toString()).matches();
+  }
+
+  /**
+   * Reads the run summaries all test JVMs wrote to a report directory and merges those of the most
+   * recent run, see {@link RunSummary#mergeLatestRun}. Unreadable summaries are skipped.
+   */
+  public static Optional<RunSummary> readRunSummary(Path reportDir) throws IOException {
+    if (!Files.isDirectory(reportDir)) {
+      return Optional.empty();
+    }
+    ObjectMapper objectMapper = new ObjectMapper();
+    List<RunSummary> summaries = new ArrayList<>();
+    try (Stream<Path> files = Files.list(reportDir)) {
+      for (Path file : files.filter(TestExecutionReporter::isRunSummaryFile).toList()) {
+        try {
+          summaries.add(objectMapper.readValue(file.toFile(), RunSummary.class));
+        } catch (IOException e) {
+          logger.warn("Skipping unreadable run summary {}", file, e);
+        }
+      }
+    }
+    return RunSummary.mergeLatestRun(summaries);
+  }
+
   /**
    * Determines the report directory based on the build tool and system properties. Supports custom
    * directory via system property, or defaults to build tool conventions.
    */
-  private Path determineReportDirectory(BuildToolDetection.BuildTool buildTool) {
+  private static Path determineReportDirectory(BuildToolDetection.BuildTool buildTool) {
     String customDir = System.getProperty("pragmatech.spring.test.insight.report.dir");
 
     if (customDir != null && !customDir.trim().isEmpty()) {
@@ -120,14 +265,15 @@ public class TestExecutionReporter {
     return Paths.get(baseDir, REPORT_DIR_NAME);
   }
 
-  private TemplateEngine createTemplateEngine() {
+  private TemplateEngine createTemplateEngine(boolean cacheable) {
     TemplateEngine engine = new TemplateEngine();
 
     ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
     resolver.setTemplateMode(TemplateMode.HTML);
     resolver.setPrefix("/templates/");
     resolver.setSuffix(".html");
-    resolver.setCacheable(false); // For development; set to true in production
+    // For development; the assembler renders the same fragment for every test class
+    resolver.setCacheable(cacheable);
     resolver.setCharacterEncoding("UTF-8");
 
     engine.setTemplateResolver(resolver);
@@ -136,9 +282,9 @@ public class TestExecutionReporter {
 
   private String generateHtmlWithThymeleaf(
       String buildTool,
-      TestExecutionTracker executionTracker,
-      SpringContextCacheAccessor.CacheStatistics cacheStats,
-      ContextCacheTracker contextCacheTracker) {
+      ReportModel report,
+      RunHistoryStore historyStore,
+      IncrementalReportAssembler assembler) {
     try {
       Context context = new Context();
 
@@ -147,9 +293,7 @@ public class TestExecutionReporter {
       context.setVariable(
           "generatedAt",
           LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-      context.setVariable("executionTracker", executionTracker);
-      context.setVariable("cacheStats", cacheStats);
-      context.setVariable("contextCacheTracker", contextCacheTracker);
+      context.setVariable("report", report);
 
       // Execution environment info
       context.setVariable("executionEnvironment", "maven");
@@ -166,60 +310,21 @@ public class TestExecutionReporter {
               + extensionVersion;
       context.setVariable("utmParameters", utmParameters);
 
-      // Pre-compute test status counts to avoid complex template expressions
-      Map<String, TestExecutionTracker.TestClassMetrics> classMetrics =
-          executionTracker.getClassMetrics();
-      long passedTests = TemplateHelpers.countTestsByStatus(classMetrics, "PASSED");
-      long failedTests = TemplateHelpers.countTestsByStatus(classMetrics, "FAILED");
-      long disabledTests = TemplateHelpers.countTestsByStatus(classMetrics, "DISABLED");
-      long abortedTests = TemplateHelpers.countTestsByStatus(classMetrics, "ABORTED");
-
-      context.setVariable("passedTests", passedTests);
-      context.setVariable("failedTests", failedTests);
-      context.setVariable("disabledTests", disabledTests);
-      context.setVariable("abortedTests", abortedTests);
-
-      // Pre-compute success rate
-      int totalTestMethods = executionTracker.getTotalTestMethods();
-      double successRate = totalTestMethods > 0 ? (passedTests * 100.0) / totalTestMethods : 0.0;
-      context.setVariable("successRate", successRate);
-
-      // Extract available processors from any context entry (they're all the same)
-      Integer availableProcessors = null;
-      if (contextCacheTracker != null) {
-        availableProcessors =
-            contextCacheTracker.getAllEntries().stream()
-                .filter(entry -> entry.getAvailableProcessors() > 0)
-                .map(entry -> entry.getAvailableProcessors())
-                .findFirst()
-                .orElse(null);
+      // Add trends of the stored runs, read from the history index only
+      if (historyStore != null) {
+        List<RunTrendChart> runTrendCharts = RunTrendChart.of(historyStore.recentRuns(TREND_RUNS));
+        context.setVariable("runTrendCharts", runTrendCharts);
+        context.setVariable(
+            "runHistoryDirectory", historyStore.getDirectory().toAbsolutePath().toString());
       }
-      context.setVariable("availableProcessors", availableProcessors);
 
-      // Calculate and add optimization statistics
-      if (contextCacheTracker != null) {
-        OptimizationStatistics optimizationStats =
-            contextCacheTracker.calculateOptimizationStatistics();
-        context.setVariable("optimizationStats", optimizationStats);
-
-        // Add timeline data for visualization
-        TimelineData timelineData = contextCacheTracker.getTimelineData();
-        context.setVariable("timelineData", timelineData);
-      }
+      // Test classes rendered in the background while the tests were running
+      context.setVariable("preRenderedTestClasses", assembler);
 
       // Static assets are now copied in generateReport method
 
       // Register helper beans for templates
-      registerHelperBeans(context, contextCacheTracker);
-
-      // Add context statistics JSON for JavaScript consumption
-      if (contextCacheTracker != null) {
-        TemplateHelpers.JsonHelper jsonHelper = new TemplateHelpers.JsonHelper();
-        String contextStatisticsJson = jsonHelper.contextStatisticsToJson(contextCacheTracker);
-        context.setVariable("contextStatisticsJson", contextStatisticsJson);
-      } else {
-        context.setVariable("contextStatisticsJson", "[]");
-      }
+      registerHelperBeans(context);
 
       String result = templateEngine.process("report", context);
       logger.info("Successfully generated HTML with Thymeleaf templates");
@@ -230,7 +335,7 @@ public class TestExecutionReporter {
     }
   }
 
-  private void registerHelperBeans(Context context, ContextCacheTracker contextCacheTracker) {
+  private void registerHelperBeans(Context context) {
     // Register all helper beans that templates can use
     context.setVariable("durationFormatter", new TemplateHelpers.DurationFormatter());
     context.setVariable("classNameHelper", new TemplateHelpers.ClassNameHelper());
@@ -242,11 +347,7 @@ public class TestExecutionReporter {
     context.setVariable("classNameComparator", new TemplateHelpers.ClassNameComparator());
     context.setVariable("cacheKeyProcessor", new TemplateHelpers.CacheKeyProcessor());
     context.setVariable("summaryCalculator", new TemplateHelpers.SummaryCalculator());
-    context.setVariable(
-        "configurationHelper", new TemplateHelpers.ConfigurationHelper(contextCacheTracker));
-    context.setVariable("testStatusCounter", new TemplateHelpers.TestStatusCounter());
     context.setVariable("jsonHelper", new TemplateHelpers.JsonHelper());
-    context.setVariable("helpers", new TemplateHelpers());
   }
 
   private void copyStaticAssets(Path reportDir) {
@@ -1,47 +1,109 @@
 package digital.pragmatech.testing.reporting.json;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import digital.pragmatech.testing.ContextCacheTracker;
 import digital.pragmatech.testing.SpringContextCacheAccessor;
 import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.autoconfig.AutoConfigurationCost;
+import digital.pragmatech.testing.customizer.ContextCustomizerTiming;
+import digital.pragmatech.testing.reporting.ContextReport;
+import digital.pragmatech.testing.reporting.ReportModel;
+import digital.pragmatech.testing.reporting.TestClassReport;
+import digital.pragmatech.testing.reporting.TestMethodReport;
+import digital.pragmatech.testing.util.VersionInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Writes the JSON report, enabled with {@code spring.test.insight.json.beta}. The report is written
+ * with a streaming {@link JsonGenerator} and only reads what the trackers recorded, so its size and
+ * writing time grow linearly with the suite. With {@code spring.test.profiler.json.gzip} the file
+ * is gzip-compressed ({@code .json.gz}).
+ *
+ * <p>Schema version {@value #SCHEMA_VERSION}. Names of classes, methods, beans, profiles and
+ * locations are indexes into {@code strings}, which comes last, as it is only complete once
+ * everything else is written. Durations carry their unit in the field name.
+ *
+ * <pre>
+ * {
+ *   "schemaVersion": 1,
+ *   "generator": "spring-test-profiler 0.0.12",
+ *   "generatedAt": epoch ms,
+ *   "run": {"durationMs", "testClasses", "testMethods"},
+ *   "cache": {"size", "maxSize", "hits", "misses"},          (omitted if unknown)
+ *   "testClasses": [{
+ *     "name": string, "durationMicros",
+ *     "methods": [{"name": string, "status", "durationMicros",
+ *                  "phasesMicros": [listener setup, body, listener teardown]}]   (phases optional)
+ *   }],
+ *   "contexts": [{
+ *     "id": position of the context in this array, "parent": id (optional),
+ *     "fingerprint": ContextFingerprint, the same for the context in every fork and run,
+ *     "classes": [string], "locations": [string], "activeProfiles": [string],
+ *     "initializers": [string], "contextLoader": string,
+ *     "testClasses": [string], "testMethods": number of test methods,
+ *     "loadTimeMs", "reloads", "reloadTimeMs", "hits", "heapUsedBytes",
+ *     "beans": [string], "beanCreationTimesMs": {string index: ms},
+ *     "contextCustomizers": [{"name": string, "durationMicros"}],
+ *     "autoConfigurations": [{"name": string, "beans", "creationTimeMs" (-1 if unknown)}]
+ *   }],
+ *   "strings": [...]
+ * }
+ * </pre>
+ *
+ * <p>Readers must ignore fields they do not know. The schema version only changes for changes that
+ * break readers of the previous version.
+ */
 public class JsonReportGenerator {
 
   private static final Logger logger = LoggerFactory.getLogger(JsonReportGenerator.class);
 
-  private final ObjectMapper objectMapper;
+  public static final int SCHEMA_VERSION = 1;
 
-  public JsonReportGenerator() {
-    this.objectMapper = new ObjectMapper();
-    this.objectMapper.registerModule(new JavaTimeModule());
-    this.objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-    this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-  }
+  // The caller closes the stream, which finishes the gzip trailer
+  private final JsonFactory jsonFactory =
+      JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
 
   public void generateJsonReport(
       Path reportDir,
       TestExecutionTracker executionTracker,
       SpringContextCacheAccessor.CacheStatistics cacheStats,
       ContextCacheTracker contextCacheTracker) {
+    generateJsonReport(
+        reportDir, ReportModel.of(executionTracker, cacheStats, contextCacheTracker, null));
+  }
+
+  public void generateJsonReport(Path reportDir, ReportModel report) {
+    boolean gzip =
+        Boolean.parseBoolean(System.getProperty("spring.test.profiler.json.gzip", "false"));
     try {
       Files.createDirectories(reportDir);
 
       String uniqueId = UUID.randomUUID().toString();
-      String jsonFileName = String.format("spring-test-profiler-%s.json", uniqueId);
+      String jsonFileName =
+          String.format("spring-test-profiler-%s.json%s", uniqueId, gzip ? ".gz" : "");
       Path jsonFile = reportDir.resolve(jsonFileName);
 
-      ReportData reportData = new ReportData(executionTracker, cacheStats, contextCacheTracker);
-
-      objectMapper.writeValue(jsonFile.toFile(), reportData);
+      try (OutputStream out =
+          gzip
+              ? new GZIPOutputStream(Files.newOutputStream(jsonFile), 64 * 1024)
+              : new BufferedOutputStream(Files.newOutputStream(jsonFile), 64 * 1024)) {
+        write(out, report);
+      }
 
       logger.info("Successfully generated JSON report: {}", jsonFile.toAbsolutePath());
 
@@ -50,8 +112,131 @@ public class JsonReportGenerator {
     }
   }
 
-  private record ReportData(
-      TestExecutionTracker executionTracker,
-      SpringContextCacheAccessor.CacheStatistics cacheStats,
-      ContextCacheTracker contextCacheTracker) {}
+  /** Writes the report to the stream, leaving the stream open. */
+  void write(OutputStream out, ReportModel report) throws IOException {
+    StringTable strings = new StringTable();
+    try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+      json.writeStartObject();
+      json.writeNumberField("schemaVersion", SCHEMA_VERSION);
+      json.writeStringField("generator", "spring-test-profiler " + VersionInfo.getVersion());
+      json.writeNumberField("generatedAt", System.currentTimeMillis());
+
+      json.writeObjectFieldStart("run");
+      json.writeNumberField("durationMs", report.getTotalDurationMs());
+      json.writeNumberField("testClasses", report.getTotalTestClasses());
+      json.writeNumberField("testMethods", report.getTotalTestMethods());
+      json.writeEndObject();
+
+      SpringContextCacheAccessor.CacheStatistics cacheStats = report.getCacheStats();
+      if (cacheStats != null) {
+        json.writeObjectFieldStart("cache");
+        json.writeNumberField("size", cacheStats.size());
+        json.writeNumberField("maxSize", cacheStats.maxSize());
+        json.writeNumberField("hits", report.getCacheHits());
+        json.writeNumberField("misses", report.getCacheMisses());
+        json.writeEndObject();
+      }
+
+      json.writeArrayFieldStart("testClasses");
+      for (TestClassReport testClass : report.getTestClasses()) {
+        writeTestClass(json, strings, testClass);
+      }
+      json.writeEndArray();
+
+      json.writeArrayFieldStart("contexts");
+      writeContexts(json, strings, report.getContexts());
+      json.writeEndArray();
+
+      strings.write(json, "strings");
+      json.writeEndObject();
+    }
+  }
+
+  private static void writeTestClass(
+      JsonGenerator json, StringTable strings, TestClassReport testClass) throws IOException {
+    json.writeStartObject();
+    strings.writeIndex(json, "name", testClass.className());
+    json.writeNumberField("durationMicros", testClass.duration().toNanos() / 1_000);
+    json.writeArrayFieldStart("methods");
+    for (TestMethodReport method : testClass.methods()) {
+      json.writeStartObject();
+      strings.writeIndex(json, "name", method.methodName());
+      if (method.status() != null) {
+        json.writeStringField("status", method.status().name());
+      }
+      json.writeNumberField("durationMicros", method.duration().toNanos() / 1_000);
+      if (method.hasPhases()) {
+        json.writeArrayFieldStart("phasesMicros");
+        json.writeNumber(method.listenerSetupDuration().toNanos() / 1_000);
+        json.writeNumber(method.bodyDuration().toNanos() / 1_000);
+        json.writeNumber(method.listenerTeardownDuration().toNanos() / 1_000);
+        json.writeEndArray();
+      }
+      json.writeEndObject();
+    }
+    json.writeEndArray();
+    json.writeEndObject();
+  }
+
+  private static void writeContexts(
+      JsonGenerator json, StringTable strings, List<ContextReport> contexts) throws IOException {
+    // Parents are referenced by their position in the array
+    Map<String, Integer> ids = new HashMap<>();
+    for (ContextReport context : contexts) {
+      ids.putIfAbsent(context.id(), ids.size());
+    }
+
+    for (ContextReport context : contexts) {
+      ContextReport.Configuration config = context.configuration();
+      json.writeStartObject();
+      json.writeNumberField("id", ids.get(context.id()));
+      json.writeStringField("fingerprint", context.fingerprint());
+      Integer parentId = config.parentId() != null ? ids.get(config.parentId()) : null;
+      if (parentId != null) {
+        json.writeNumberField("parent", parentId);
+      }
+      strings.writeIndexes(json, "classes", config.classes());
+      strings.writeIndexes(json, "locations", config.locations());
+      strings.writeIndexes(json, "activeProfiles", config.activeProfiles());
+      strings.writeIndexes(json, "initializers", config.initializers());
+      if (config.contextLoader() != null) {
+        strings.writeIndex(json, "contextLoader", config.contextLoader());
+      }
+      strings.writeIndexes(json, "testClasses", context.testClasses());
+      json.writeNumberField("testMethods", context.testMethods());
+
+      json.writeNumberField("loadTimeMs", context.contextLoadTimeMs());
+      json.writeNumberField("reloads", context.reloadCount());
+      json.writeNumberField("reloadTimeMs", context.reloadTimeMs());
+      json.writeNumberField("hits", context.hits());
+      json.writeNumberField("heapUsedBytes", context.heapMemoryUsedBytes());
+
+      strings.writeIndexes(json, "beans", context.beanDefinitionNames());
+      json.writeObjectFieldStart("beanCreationTimesMs");
+      for (Map.Entry<String, Long> bean : context.beanCreationTimes().entrySet()) {
+        json.writeNumberField(String.valueOf(strings.indexOf(bean.getKey())), bean.getValue());
+      }
+      json.writeEndObject();
+
+      json.writeArrayFieldStart("contextCustomizers");
+      for (ContextCustomizerTiming timing : context.contextCustomizerTimings()) {
+        json.writeStartObject();
+        strings.writeIndex(json, "name", timing.customizer());
+        json.writeNumberField("durationMicros", timing.durationNanos() / 1_000);
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+
+      json.writeArrayFieldStart("autoConfigurations");
+      for (AutoConfigurationCost cost : context.autoConfigurationCosts()) {
+        json.writeStartObject();
+        strings.writeIndex(json, "name", cost.autoConfiguration());
+        json.writeNumberField("beans", cost.beans());
+        json.writeNumberField("creationTimeMs", cost.creationTimeMs());
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
 }
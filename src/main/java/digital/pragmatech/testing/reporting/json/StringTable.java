@@ -0,0 +1,50 @@
+package digital.pragmatech.testing.reporting.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Deduplicated strings of a JSON report. Class, method and bean names repeat across contexts and
+ * test classes, so the report refers to them by their index in this table.
+ */
+final class StringTable {
+
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+
+  /** The index of the string, adding it to the table if it is new. */
+  int indexOf(String string) {
+    return indexes.computeIfAbsent(
+        string,
+        key -> {
+          strings.add(key);
+          return strings.size() - 1;
+        });
+  }
+
+  void writeIndex(JsonGenerator json, String fieldName, String string) throws IOException {
+    json.writeNumberField(fieldName, indexOf(string));
+  }
+
+  void writeIndexes(JsonGenerator json, String fieldName, Iterable<String> values)
+      throws IOException {
+    json.writeArrayFieldStart(fieldName);
+    for (String value : values) {
+      json.writeNumber(indexOf(value));
+    }
+    json.writeEndArray();
+  }
+
+  void write(JsonGenerator json, String fieldName) throws IOException {
+    json.writeArrayFieldStart(fieldName);
+    for (String string : strings) {
+      json.writeString(string);
+    }
+    json.writeEndArray();
+  }
+}
@@ -0,0 +1,20 @@
+package digital.pragmatech.testing.trace;
+
+import java.util.Map;
+
+/**
+ * A single event of the Chrome Trace Event Format.
+ *
+ * @param phase {@code B}/{@code E} for the begin and end of a span on a thread, {@code X} for a
+ *     complete span, {@code C} for counter values
+ * @param timestampMicros microseconds since the epoch
+ * @param durationMicros duration of a complete span, 0 for all other events
+ */
+public record TraceEvent(
+    char phase,
+    String name,
+    String category,
+    long timestampMicros,
+    long durationMicros,
+    long threadId,
+    Map<String, Object> args) {}
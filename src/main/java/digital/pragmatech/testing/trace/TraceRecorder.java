@@ -0,0 +1,259 @@
+package digital.pragmatech.testing.trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import digital.pragmatech.testing.BeanCreationProfiler;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phase.MethodPhases;
+
+/**
+ * Records a test run as a trace in the Chrome Trace Event Format, which {@code ui.perfetto.dev} and
+ * {@code chrome://tracing} open offline. Every test thread gets its own track with spans for the
+ * test classes, test methods and the contexts they load, including the creation of their beans.
+ * Counter tracks show the used heap and the number of cached contexts.
+ *
+ * <ul>
+ *   <li>{@code spring.test.profiler.trace.enabled}: record the trace (default {@code false})
+ *   <li>{@code spring.test.profiler.trace.min-bean-micros}: beans created faster are left out of
+ *       the trace (default {@code 100})
+ * </ul>
+ *
+ * <p>Timestamps are microseconds since the epoch, so the traces of several test JVMs (e.g. Surefire
+ * forks) line up when they are combined. Every JVM is a process of its own in the trace. All
+ * timestamps are taken from one monotonic clock, see {@link #nowMicros()}; instants measured
+ * elsewhere, such as the creation times of beans, are converted to it by their distance from now.
+ */
+public class TraceRecorder {
+
+  private static final String PREFIX = "spring.test.profiler.trace.";
+
+  // Virtual threads ids for contexts loaded in the background, out of the range of real ids
+  private static final long BACKGROUND_TRACK_BASE = 1L << 40;
+
+  private final long processId = ProcessHandle.current().pid();
+  private final long minBeanMicros = Long.getLong(PREFIX + "min-bean-micros", 100);
+  private final Queue<TraceEvent> events = new ConcurrentLinkedQueue<>();
+  private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+  private final AtomicLong backgroundTracks = new AtomicLong();
+
+  // Monotonic clock anchored to the wall clock
+  private final long baseEpochMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+  private final long baseNanos = System.nanoTime();
+
+  /** Creates a recorder if tracing is enabled, null otherwise. */
+  public static TraceRecorder createIfEnabled() {
+    return Boolean.parseBoolean(System.getProperty(PREFIX + "enabled"))
+        ? new TraceRecorder()
+        : null;
+  }
+
+  public void testClassStarted(String className) {
+    begin(simpleName(className), "test-class", Map.of("class", className));
+  }
+
+  public void testClassFinished() {
+    end();
+  }
+
+  public void testMethodStarted(String methodName) {
+    begin(methodName, "test-method", Map.of());
+  }
+
+  /**
+   * Ends the span of the current test method.
+   *
+   * @param phases the phases of the method, or null if they were not measured
+   */
+  public void testMethodFinished(TestStatus status, MethodPhases phases) {
+    Map<String, Object> args = new LinkedHashMap<>();
+    args.put("status", status.name());
+    if (phases != null) {
+      args.put("listenerSetupMicros", phases.setupNanos() / 1_000);
+      args.put("bodyMicros", phases.bodyNanos() / 1_000);
+      args.put("listenerTeardownMicros", phases.teardownNanos() / 1_000);
+    }
+    end(args);
+  }
+
+  /**
+   * Adds the span of a context load and nested spans for the creation of its beans.
+   *
+   * @param start when the load started
+   * @param durationNanos how long the load took
+   * @param onCurrentThread whether the current thread loaded the context, otherwise it is shown on
+   *     a track of its own
+   * @param beans the beans created while loading, empty if they were not profiled
+   */
+  public void contextLoaded(
+      String label,
+      Instant start,
+      long durationNanos,
+      boolean onCurrentThread,
+      List<BeanCreationProfiler.BeanCreationMetric> beans) {
+    long threadId;
+    if (onCurrentThread) {
+      threadId = currentThreadId();
+    } else {
+      threadId = BACKGROUND_TRACK_BASE + backgroundTracks.incrementAndGet();
+      threadNames.put(threadId, "Background load: " + label);
+    }
+
+    long nowMicros = nowMicros();
+    Instant now = Instant.now();
+    events.add(
+        new TraceEvent(
+            'X',
+            "Load " + label,
+            "context-load",
+            toRecorderMicros(start, nowMicros, now),
+            durationNanos / 1_000,
+            threadId,
+            Map.of("beans", beans.size())));
+    for (BeanCreationProfiler.BeanCreationMetric bean : beans) {
+      long beanStart = toRecorderMicros(bean.getStartTime(), nowMicros, now);
+      long beanDuration = ChronoUnit.MICROS.between(bean.getStartTime(), bean.getEndTime());
+      if (beanDuration >= minBeanMicros) {
+        events.add(
+            new TraceEvent(
+                'X',
+                bean.getBeanName(),
+                "bean",
+                beanStart,
+                beanDuration,
+                threadId,
+                Map.of("class", bean.getBeanClass())));
+      }
+    }
+  }
+
+  /**
+   * Adds the current values of the counter tracks.
+   *
+   * @param cachedContexts number of contexts in the cache, or -1 if unknown
+   */
+  public void recordCounters(int cachedContexts) {
+    long now = nowMicros();
+    Runtime runtime = Runtime.getRuntime();
+    long heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+    events.add(
+        new TraceEvent('C', "Heap Used (MB)", "memory", now, 0, 0, Map.of("heap", heapUsedMb)));
+    if (cachedContexts >= 0) {
+      events.add(
+          new TraceEvent(
+              'C', "Cached Contexts", "cache", now, 0, 0, Map.of("contexts", cachedContexts)));
+    }
+  }
+
+  /** The current time in microseconds since the epoch, on the clock of the recorder. */
+  public long nowMicros() {
+    return baseEpochMicros + (System.nanoTime() - baseNanos) / 1_000;
+  }
+
+  public List<TraceEvent> getEvents() {
+    return new ArrayList<>(events);
+  }
+
+  /** Writes the trace in the JSON Object Format of the Chrome Trace Event Format. */
+  public void write(Path file) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        JsonGenerator json = new JsonFactory().createGenerator(writer)) {
+      json.writeStartObject();
+      json.writeStringField("displayTimeUnit", "ms");
+      json.writeArrayFieldStart("traceEvents");
+
+      writeMetadata(json, "process_name", 0, "Test JVM " + processId);
+      for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+        writeMetadata(json, "thread_name", thread.getKey(), thread.getValue());
+      }
+      for (TraceEvent event : events) {
+        json.writeStartObject();
+        json.writeStringField("ph", String.valueOf(event.phase()));
+        if (event.name() != null) {
+          json.writeStringField("name", event.name());
+        }
+        if (event.category() != null) {
+          json.writeStringField("cat", event.category());
+        }
+        json.writeNumberField("ts", event.timestampMicros());
+        if (event.phase() == 'X') {
+          json.writeNumberField("dur", event.durationMicros());
+        }
+        json.writeNumberField("pid", processId);
+        json.writeNumberField("tid", event.threadId());
+        if (!event.args().isEmpty()) {
+          json.writeObjectFieldStart("args");
+          for (Map.Entry<String, Object> arg : event.args().entrySet()) {
+            if (arg.getValue() instanceof Number number) {
+              json.writeNumberField(arg.getKey(), number.longValue());
+            } else {
+              json.writeStringField(arg.getKey(), String.valueOf(arg.getValue()));
+            }
+          }
+          json.writeEndObject();
+        }
+        json.writeEndObject();
+      }
+
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+
+  private void writeMetadata(JsonGenerator json, String name, long threadId, String value)
+      throws IOException {
+    json.writeStartObject();
+    json.writeStringField("ph", "M");
+    json.writeStringField("name", name);
+    json.writeNumberField("pid", processId);
+    json.writeNumberField("tid", threadId);
+    json.writeObjectFieldStart("args");
+    json.writeStringField("name", value);
+    json.writeEndObject();
+    json.writeEndObject();
+  }
+
+  private void begin(String name, String category, Map<String, Object> args) {
+    events.add(new TraceEvent('B', name, category, nowMicros(), 0, currentThreadId(), args));
+  }
+
+  private void end() {
+    end(Map.of());
+  }
+
+  private void end(Map<String, Object> args) {
+    events.add(new TraceEvent('E', null, null, nowMicros(), 0, currentThreadId(), args));
+  }
+
+  private long currentThreadId() {
+    Thread thread = Thread.currentThread();
+    long threadId = thread.getId();
+    threadNames.putIfAbsent(threadId, thread.getName());
+    return threadId;
+  }
+
+  // The wall clock is only used for the distance of the instant from now, which is short
+  private static long toRecorderMicros(Instant instant, long nowMicros, Instant now) {
+    return nowMicros - ChronoUnit.MICROS.between(instant, now);
+  }
+
+  private static String simpleName(String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+}
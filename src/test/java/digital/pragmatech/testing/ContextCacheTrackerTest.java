@@ -0,0 +1,190 @@
+package digital.pragmatech.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import digital.pragmatech.testing.gate.ContextBudgetGate;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ContextCacheTrackerTest {
+
+  private static final MergedContextConfiguration ORDERS = config(OrderConfig.class);
+  private static final MergedContextConfiguration PAYMENTS = config(PaymentConfig.class);
+
+  private final ContextCacheTracker tracker = new ContextCacheTracker();
+
+  @Test
+  void shouldAttributeReloadsToTheDirtiesContextThatClosedTheContext() {
+    tracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    tracker.recordContextCreation(ORDERS, 2_000);
+    tracker.recordTestClassForContext(PAYMENTS, "com.example.PaymentIT");
+    tracker.recordContextCreation(PAYMENTS, 500);
+
+    tracker.recordContextDirtied(ORDERS, "com.example.OrderIT", null, "AFTER_CLASS");
+    assertThat(tracker.isReloadPending(ORDERS)).isTrue();
+    tracker.recordContextReload(ORDERS, 1_800);
+    tracker.recordContextDirtied(ORDERS, "com.example.OrderIT", null, "AFTER_CLASS");
+    tracker.recordContextReload(ORDERS, 2_200);
+    tracker.recordContextDirtied(PAYMENTS, "com.example.PaymentIT", "refunds", "AFTER_METHOD");
+    tracker.recordContextReload(PAYMENTS, 600);
+    // Dirtied after the last test that needed it, nothing pays for it
+    tracker.recordContextDirtied(PAYMENTS, "com.example.PaymentIT", "refunds", "AFTER_METHOD");
+
+    assertThat(tracker.getDirtyingCosts())
+        .extracting(
+            ContextDirtyingCost::getSource,
+            ContextDirtyingCost::getMode,
+            ContextDirtyingCost::getOccurrences,
+            ContextDirtyingCost::getReloads,
+            ContextDirtyingCost::getReloadTimeMs)
+        .containsExactly(
+            tuple("OrderIT", "AFTER_CLASS", 2, 2, 4_000L),
+            tuple("PaymentIT#refunds", "AFTER_METHOD", 2, 1, 600L));
+    assertThat(tracker.getTotalDirtyingReloadTimeMs()).isEqualTo(4_600);
+    assertThat(tracker.getCacheEntry(ORDERS).orElseThrow().getReloadCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldCountHitsAfterContextSwitch() {
+    tracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    tracker.recordContextCreation(ORDERS, 2_000);
+    tracker.recordTestClassForContext(PAYMENTS, "com.example.PaymentIT");
+    tracker.recordContextCreation(PAYMENTS, 500);
+
+    tracker.recordContextCacheHit(ORDERS);
+    tracker.recordContextCacheHit(ORDERS);
+    tracker.recordContextCacheHit(PAYMENTS);
+
+    assertThat(tracker.getCacheEntry(ORDERS).orElseThrow().getContextSwitchHitCount()).isEqualTo(1);
+    assertThat(tracker.getCacheEntry(PAYMENTS).orElseThrow().getContextSwitchHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldDetectContextSwitchesPerThread() throws InterruptedException {
+    tracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    tracker.recordContextCreation(ORDERS, 2_000);
+
+    // a test class using another context on another thread does not switch this thread's context
+    Thread otherThread =
+        new Thread(
+            () -> {
+              tracker.recordTestClassForContext(PAYMENTS, "com.example.PaymentIT");
+              tracker.recordContextCreation(PAYMENTS, 500);
+            });
+    otherThread.start();
+    otherThread.join();
+    tracker.recordContextCacheHit(ORDERS);
+
+    assertThat(tracker.getCacheEntry(ORDERS).orElseThrow().getContextSwitchHitCount()).isZero();
+  }
+
+  @Test
+  void shouldCollectTheTestMethodsOfAllThreads() throws InterruptedException {
+    ContextCacheEntry entry = tracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    entry.addTestMethod("com.example.OrderIT", "shouldCreateOrder");
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      String methodName = "shouldCancelOrder" + i;
+      threads.add(new Thread(() -> entry.addTestMethod("com.example.OrderIT", methodName)));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+      thread.join();
+    }
+
+    assertThat(entry.getTestMethods())
+        .hasSize(21)
+        .contains(
+            "com.example.OrderIT#shouldCreateOrder", "com.example.OrderIT#shouldCancelOrder19");
+  }
+
+  @Test
+  void shouldComputeBeanOverlapBetweenContexts() {
+    tracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    tracker.recordContextCreation(ORDERS, 2_000);
+    tracker.recordBeanDefinitions(ORDERS, new String[] {"dataSource", "orderService", "clock"});
+    tracker.recordTestClassForContext(PAYMENTS, "com.example.PaymentIT");
+    tracker.recordContextCreation(PAYMENTS, 500);
+    tracker.recordBeanDefinitions(PAYMENTS, new String[] {"dataSource", "clock", "paymentClient"});
+
+    ContextCacheEntry orders = tracker.getCacheEntry(ORDERS).orElseThrow();
+    ContextCacheEntry payments = tracker.getCacheEntry(PAYMENTS).orElseThrow();
+    assertThat(orders.getBeanDefinitionNames())
+        .containsExactlyInAnyOrder("dataSource", "orderService", "clock");
+    assertThat(orders.getSharedBeanCount(payments)).isEqualTo(2);
+    assertThat(orders.getBeanOverlap(payments)).isEqualTo(0.5);
+    assertThat(orders.getBeanOverlap(orders)).isEqualTo(1.0);
+
+    assertThat(tracker.getMostSimilarContexts(10))
+        .singleElement()
+        .satisfies(
+            overlap -> {
+              assertThat(overlap.first()).isSameAs(orders);
+              assertThat(overlap.second()).isSameAs(payments);
+              assertThat(overlap.overlap()).isEqualTo(0.5);
+            });
+  }
+
+  @Test
+  void shouldTellApartContextsWithTheSameFingerprint() {
+    MergedContextConfiguration mockedRepository = mocking("orderRepository");
+    MergedContextConfiguration mockedClock = mocking("clock");
+    tracker.recordTestClassForContext(mockedRepository, "com.example.OrderIT");
+    tracker.recordContextCreation(mockedRepository, 1_000);
+    tracker.recordTestClassForContext(mockedClock, "com.example.OrderSchedulerIT");
+    tracker.recordContextCreation(mockedClock, 1_000);
+
+    ContextCacheEntry first = tracker.getCacheEntry(mockedRepository).orElseThrow();
+    ContextCacheEntry second = tracker.getCacheEntry(mockedClock).orElseThrow();
+    assertThat(second.getFingerprint()).isEqualTo(first.getFingerprint());
+    assertThat(first.getContextKey()).isEqualTo(first.getFingerprint());
+    assertThat(second.getContextKey()).isEqualTo(first.getFingerprint() + "-2");
+    assertThat(ContextBudgetGate.testClassesByContext(tracker))
+        .containsOnlyKeys(first.getContextKey(), second.getContextKey());
+  }
+
+  /** Configurations that differ only in the state of a customizer, like {@code @MockitoBean}. */
+  private static MergedContextConfiguration mocking(String beanName) {
+    return new MergedContextConfiguration(
+        ContextCacheTrackerTest.class,
+        new String[0],
+        new Class<?>[] {OrderConfig.class},
+        null,
+        new String[0],
+        List.of(),
+        new String[0],
+        Set.of(new MockingCustomizer(beanName)),
+        new AnnotationConfigContextLoader(),
+        null,
+        null);
+  }
+
+  private static MergedContextConfiguration config(Class<?> configClass) {
+    return new MergedContextConfiguration(
+        ContextCacheTrackerTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        new String[0],
+        new AnnotationConfigContextLoader());
+  }
+
+  static class OrderConfig {}
+
+  static class PaymentConfig {}
+
+  record MockingCustomizer(String beanName) implements ContextCustomizer {
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {}
+  }
+}
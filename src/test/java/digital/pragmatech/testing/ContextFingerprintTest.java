@@ -0,0 +1,107 @@
+package digital.pragmatech.testing;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PropertySourceDescriptor;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.test.context.web.WebMergedContextConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextFingerprintTest {
+
+  @Test
+  void shouldFingerprintEqualConfigurationsTheSame() {
+    String fingerprint = ContextFingerprint.of(config(OrderConfig.class, null, "test"));
+
+    assertThat(fingerprint)
+        .hasSize(64)
+        .matches("[0-9a-f]+")
+        .isEqualTo(ContextFingerprint.of(config(OrderConfig.class, null, "test")));
+    assertThat(ContextFingerprint.contextId(fingerprint))
+        .isEqualTo("context-" + fingerprint.substring(0, 8));
+  }
+
+  @Test
+  void shouldFingerprintEveryPartOfTheCacheKey() {
+    MergedContextConfiguration orders = config(OrderConfig.class, null, "test");
+
+    assertThat(ContextFingerprint.of(orders))
+        .isNotEqualTo(ContextFingerprint.of(config(PaymentConfig.class, null, "test")))
+        .isNotEqualTo(ContextFingerprint.of(config(OrderConfig.class, null, "prod")))
+        .isNotEqualTo(
+            ContextFingerprint.of(
+                config(OrderConfig.class, config(PaymentConfig.class, null), "test")));
+  }
+
+  @Test
+  void shouldFingerprintTheConfigurationTypeAndPropertySources() {
+    MergedContextConfiguration orders = config(OrderConfig.class, null, "test");
+    WebMergedContextConfiguration web =
+        new WebMergedContextConfiguration(orders, "src/main/webapp");
+
+    assertThat(ContextFingerprint.of(web))
+        .isNotEqualTo(ContextFingerprint.of(orders))
+        .isNotEqualTo(
+            ContextFingerprint.of(new WebMergedContextConfiguration(orders, "src/test/webapp")));
+    assertThat(ContextFingerprint.of(withPropertySource("UTF-8")))
+        .isNotEqualTo(ContextFingerprint.of(withPropertySource("ISO-8859-1")))
+        .isEqualTo(ContextFingerprint.of(withPropertySource("UTF-8")));
+  }
+
+  @Test
+  void shouldNotConfuseValuesContainingSeparators() {
+    assertThat(ContextFingerprint.of(config(OrderConfig.class, null, "a", "b")))
+        .isNotEqualTo(ContextFingerprint.of(config(OrderConfig.class, null, "a1:b")));
+    assertThat(ContextFingerprint.contextId((MergedContextConfiguration) null))
+        .isEqualTo("context-unknown");
+  }
+
+  @Test
+  void shouldComputeTheFingerprintOfAnEntryOnce() {
+    ContextCacheEntry entry = new ContextCacheEntry(config(OrderConfig.class, null));
+
+    assertThat(entry.getFingerprint()).isSameAs(entry.getFingerprint());
+    assertThat(entry.getContextId())
+        .isEqualTo(ContextFingerprint.contextId(entry.getFingerprint()));
+  }
+
+  private static MergedContextConfiguration withPropertySource(String encoding) {
+    return new MergedContextConfiguration(
+        ContextFingerprintTest.class,
+        new String[0],
+        new Class<?>[] {OrderConfig.class},
+        null,
+        new String[0],
+        List.of(
+            new PropertySourceDescriptor(
+                List.of("classpath:orders.properties"), false, null, null, encoding)),
+        new String[0],
+        null,
+        new AnnotationConfigContextLoader(),
+        null,
+        null);
+  }
+
+  private static MergedContextConfiguration config(
+      Class<?> configClass, MergedContextConfiguration parent, String... profiles) {
+    return new MergedContextConfiguration(
+        ContextFingerprintTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        null,
+        profiles,
+        List.of(),
+        new String[0],
+        null,
+        new AnnotationConfigContextLoader(),
+        null,
+        parent);
+  }
+
+  static class OrderConfig {}
+
+  static class PaymentConfig {}
+}
@@ -1,52 +0,0 @@
-package digital.pragmatech.testing;
-
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
-class ContextIdGeneratorTest {
-
-  @BeforeEach
-  void setUp() {
-    // Reset the generator before each test
-    ContextIdGenerator.reset();
-  }
-
-  @Test
-  void shouldHandleNullConfiguration() {
-    String id = ContextIdGenerator.getContextId(null);
-    assertEquals("context-unknown", id);
-  }
-
-  @Test
-  void shouldStartFromZero() {
-    assertEquals(0L, ContextIdGenerator.getCurrentCounter());
-  }
-
-  @Test
-  void shouldResetProperly() {
-    // Start with counter at 0
-    assertEquals(0L, ContextIdGenerator.getCurrentCounter());
-
-    // Simulate incrementing (this would happen when real configs are passed)
-    // Since we can't easily create MergedContextConfiguration instances without Spring context,
-    // we'll test the reset functionality indirectly by checking counter state
-
-    // Reset should work
-    ContextIdGenerator.reset();
-    assertEquals(0L, ContextIdGenerator.getCurrentCounter());
-  }
-
-  @Test
-  void shouldIncrementCounterForNullInputs() {
-    // Test that each call increments appropriately
-    long initialCounter = ContextIdGenerator.getCurrentCounter();
-
-    String id1 = ContextIdGenerator.getContextId(null);
-    assertEquals("context-unknown", id1);
-
-    // Null inputs should not increment the counter
-    assertEquals(initialCounter, ContextIdGenerator.getCurrentCounter());
-  }
-}
@@ -0,0 +1,193 @@
+package digital.pragmatech.testing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestExecutionTrackerTest {
+
+  private TestExecutionTracker tracker;
+
+  @BeforeEach
+  void setUp() {
+    tracker = new TestExecutionTracker();
+  }
+
+  @Test
+  void shouldMergeRecordedEventsIntoClassAndMethodMetrics() {
+    tracker.recordTestClassStart("com.example.FirstTest");
+    tracker.recordTestMethodStart("com.example.FirstTest", "passes");
+    tracker.recordTestMethodEnd("com.example.FirstTest", "passes", TestStatus.PASSED);
+    tracker.recordTestMethodStart("com.example.FirstTest", "fails");
+    tracker.recordTestMethodEnd("com.example.FirstTest", "fails", TestStatus.FAILED);
+    tracker.recordTestClassEnd("com.example.FirstTest");
+
+    assertThat(tracker.getTotalTestClasses()).isEqualTo(1);
+    assertThat(tracker.getTotalTestMethods()).isEqualTo(2);
+
+    TestExecutionTracker.TestClassMetrics classMetrics =
+        tracker.getClassMetrics().get("com.example.FirstTest");
+    assertThat(classMetrics.getPassedMethods()).isEqualTo(1);
+    assertThat(classMetrics.getFailedMethods()).isEqualTo(1);
+    assertThat(classMetrics.getDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void shouldCountEveryInvocationOfRepeatedMethods() {
+    tracker.recordTestClassStart("com.example.ParameterizedTest");
+    for (int i = 0; i < 3; i++) {
+      tracker.recordTestMethodStart("com.example.ParameterizedTest", "withArgument");
+      tracker.recordTestMethodEnd(
+          "com.example.ParameterizedTest", "withArgument", TestStatus.PASSED);
+    }
+    tracker.recordTestMethodStart("com.example.ParameterizedTest", "withArgument");
+    tracker.recordTestMethodEnd("com.example.ParameterizedTest", "withArgument", TestStatus.FAILED);
+
+    assertThat(tracker.getTotalTestMethods()).isEqualTo(4);
+    assertThat(tracker.getClassMetrics().get("com.example.ParameterizedTest").getFailedMethods())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldIgnoreMethodsOfUnknownClasses() {
+    tracker.recordTestMethodStart("com.example.UnknownTest", "test");
+
+    assertThat(tracker.getTotalTestClasses()).isZero();
+    assertThat(tracker.getTotalTestMethods()).isZero();
+  }
+
+  @Test
+  void shouldReflectEventsRecordedAfterPreviousRead() {
+    tracker.recordTestClassStart("com.example.FirstTest");
+    assertThat(tracker.getTotalTestClasses()).isEqualTo(1);
+
+    tracker.recordTestClassStart("com.example.SecondTest");
+    assertThat(tracker.getTotalTestClasses()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReadTheRowsOfAFinishedClassOnly() {
+    tracker.recordTestClassStart("com.example.FirstTest");
+    tracker.recordTestMethodStart("com.example.FirstTest", "passes");
+    tracker.recordTestMethodEnd("com.example.FirstTest", "passes", TestStatus.PASSED);
+    tracker.recordTestClassEnd("com.example.FirstTest");
+    // enough rows to grow the table
+    for (int i = 0; i < 300; i++) {
+      tracker.recordTestClassStart("com.example.Test" + i);
+    }
+    tracker.recordTestClassStart("com.example.SecondTest");
+    tracker.recordTestMethodStart("com.example.SecondTest", "fails");
+    tracker.recordTestMethodEnd("com.example.SecondTest", "fails", TestStatus.FAILED);
+    tracker.recordTestClassEnd("com.example.SecondTest");
+
+    TestExecutionTracker.TestClassMetrics second =
+        tracker.getFinishedClassMetrics("com.example.SecondTest");
+    assertThat(second.getMethodMetrics()).containsOnlyKeys("fails");
+    assertThat(second.getFailedMethods()).isEqualTo(1);
+    assertThat(tracker.getFinishedClassMetrics("com.example.FirstTest").getMethodMetrics())
+        .containsOnlyKeys("passes");
+  }
+
+  @Test
+  void shouldStartTrackingOnlyOnce() throws InterruptedException {
+    tracker.startTracking();
+    Thread.sleep(5);
+    tracker.startTracking();
+    tracker.stopTracking();
+
+    assertThat(tracker.getOverallDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(5));
+  }
+
+  @Test
+  void shouldNotLoseEventsRecordedConcurrently() throws Exception {
+    int threads = 16;
+    int classesPerThread = 50;
+    int methodsPerClass = 20;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < threads; t++) {
+        int threadIndex = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int c = 0; c < classesPerThread; c++) {
+                    String className = "com.example.Test" + threadIndex + "_" + c;
+                    tracker.recordTestClassStart(className);
+                    for (int m = 0; m < methodsPerClass; m++) {
+                      tracker.recordTestMethodStart(className, "method" + m);
+                      tracker.recordTestMethodEnd(className, "method" + m, TestStatus.PASSED);
+                    }
+                    tracker.recordTestClassEnd(className);
+                  }
+                  return null;
+                }));
+      }
+
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(tracker.getTotalTestClasses()).isEqualTo(threads * classesPerThread);
+    assertThat(tracker.getTotalTestMethods())
+        .isEqualTo(threads * classesPerThread * methodsPerClass);
+    assertThat(tracker.getClassMetrics().values())
+        .allSatisfy(
+            metrics -> {
+              assertThat(metrics.getTotalMethods()).isEqualTo(methodsPerClass);
+              assertThat(metrics.getPassedMethods()).isEqualTo(methodsPerClass);
+            });
+  }
+
+  @Test
+  void shouldNeverReadHalfOfAnUpdateWhileTestsAreRunning() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch started = new CountDownLatch(1);
+    try {
+      Future<?> recording =
+          executor.submit(
+              () -> {
+                tracker.recordTestClassStart("com.example.RepeatedTest");
+                started.countDown();
+                for (int i = 0; i < 200_000; i++) {
+                  tracker.recordTestMethodStart("com.example.RepeatedTest", "repeated");
+                  tracker.recordTestMethodEnd(
+                      "com.example.RepeatedTest", "repeated", TestStatus.PASSED);
+                }
+                tracker.recordTestClassEnd("com.example.RepeatedTest");
+              });
+      started.await();
+
+      while (!recording.isDone()) {
+        TestExecutionTracker.TestClassMetrics metrics =
+            tracker.getClassMetrics().get("com.example.RepeatedTest");
+        TestExecutionTracker.TestMethodMetrics method = metrics.getMethodMetrics().get("repeated");
+        // A torn read combines the start of one invocation with the end of the previous one
+        if (method != null && method.getStatus() == TestStatus.PASSED) {
+          assertThat(method.getDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+        }
+      }
+      recording.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
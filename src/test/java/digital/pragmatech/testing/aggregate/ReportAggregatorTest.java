@@ -0,0 +1,122 @@
+package digital.pragmatech.testing.aggregate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.history.RunSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportAggregatorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ReportAggregator aggregator = new ReportAggregator();
+
+  @TempDir Path root;
+
+  @Test
+  void shouldRankModulesAndFindContextsRepeatedAcrossModules() throws Exception {
+    writeSummary("services/orders", 0.5, context("shared", 2_000), context("orders", 5_000));
+    writeSummary("services/payments", 0.9, context("shared", 3_000));
+    writeSummary("web", 0.2, context("web", 1_000));
+    Files.createDirectories(root.resolve("web/src/test/resources/spring-test-profiler"));
+
+    PortfolioReport report = PortfolioReport.of(aggregator.scan(root));
+
+    assertThat(report.modules())
+        .extracting(PortfolioReport.ModuleReport::module)
+        .containsExactly("services/orders", "services/payments", "web");
+    assertThat(report.byTotalContextLoadTime())
+        .extracting(PortfolioReport.ModuleReport::module)
+        .containsExactly("services/orders", "services/payments", "web");
+    assertThat(report.byContexts().get(0).module()).isEqualTo("services/orders");
+    assertThat(report.byCacheHitRatio())
+        .extracting(PortfolioReport.ModuleReport::module)
+        .containsExactly("web", "services/orders", "services/payments");
+
+    assertThat(report.sharedContexts())
+        .singleElement()
+        .satisfies(
+            shared -> {
+              assertThat(shared.key()).isEqualTo("shared");
+              assertThat(shared.modules()).containsExactly("services/orders", "services/payments");
+              assertThat(shared.totalLoadTimeMs()).isEqualTo(5_000);
+            });
+  }
+
+  @Test
+  void shouldRenderAggregateReport() throws Exception {
+    writeSummary("orders", 0.5, context("shared", 2_000));
+    writeSummary("payments", 0.9, context("shared", 3_000));
+
+    Path reportFile =
+        aggregator.render(PortfolioReport.of(aggregator.scan(root)), root.resolve("aggregate"));
+
+    assertThat(Files.readString(reportFile))
+        .contains("Spring Test Profiler Aggregate Report")
+        .contains("context-shared")
+        .contains("orders, payments");
+    assertThat(root.resolve("aggregate/static/css/spring-test-profiler.css")).exists();
+  }
+
+  @Test
+  void shouldMergeTheSummariesOfAllForksOfAModule() throws Exception {
+    writeSummary("orders", "summary-101.json", "build-1", 1_000, 0.5, context("orders", 4_000));
+    writeSummary("orders", "summary-201.json", "build-2", 2_000, 0.5, context("orders", 2_000));
+    writeSummary("orders", "summary-202.json", "build-2", 2_100, 0.5, context("payments", 3_000));
+
+    assertThat(aggregator.scan(root))
+        .singleElement()
+        .satisfies(
+            module -> {
+              assertThat(module.module()).isEqualTo("orders");
+              assertThat(module.summary().runId()).isEqualTo("build-2");
+              assertThat(module.summary().totalContextLoadTimeMs()).isEqualTo(5_000);
+              assertThat(module.summary().testClasses()).isEqualTo(20);
+              assertThat(module.summary().contextSummaries())
+                  .extracting(RunSummary.ContextSummary::key)
+                  .containsExactlyInAnyOrder("orders", "payments");
+            });
+  }
+
+  private void writeSummary(String module, double hitRatio, RunSummary.ContextSummary... contexts)
+      throws Exception {
+    writeSummary(module, "summary-4711.json", "run", 0, hitRatio, contexts);
+  }
+
+  private void writeSummary(
+      String module,
+      String fileName,
+      String runId,
+      long timestamp,
+      double hitRatio,
+      RunSummary.ContextSummary... contexts)
+      throws Exception {
+    Path reportDir = root.resolve(module).resolve("target/spring-test-profiler");
+    Files.createDirectories(reportDir);
+    long totalLoadTime = 0;
+    for (RunSummary.ContextSummary context : contexts) {
+      totalLoadTime += context.loadTimeMs();
+    }
+    RunSummary summary =
+        new RunSummary(
+            runId,
+            timestamp,
+            contexts.length,
+            totalLoadTime,
+            hitRatio,
+            10_000,
+            10,
+            100,
+            List.of(contexts));
+    objectMapper.writeValue(reportDir.resolve(fileName).toFile(), summary);
+  }
+
+  private static RunSummary.ContextSummary context(String key, long loadTimeMs) {
+    return new RunSummary.ContextSummary(key, "context-" + key, loadTimeMs, 100, List.of());
+  }
+}
@@ -0,0 +1,80 @@
+package digital.pragmatech.testing.autoconfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AutoConfigurationCostAnalyzerTest {
+
+  private static final String DATA_SOURCE = "com.example.DataSourceAutoConfiguration";
+  private static final String JACKSON = "com.example.JacksonAutoConfiguration";
+
+  @Test
+  void shouldAttributeBeansToTheAutoConfigurationDeclaringThem() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    register(beanFactory, "dataSourceAutoConfiguration", DATA_SOURCE, null);
+    register(beanFactory, "hikari", DATA_SOURCE + "$Hikari", null);
+    register(beanFactory, "dataSource", "com.zaxxer.hikari.HikariDataSource", "hikari");
+    register(beanFactory, "jacksonAutoConfiguration", JACKSON, null);
+    register(beanFactory, "objectMapper", "com.fasterxml.ObjectMapper", "jacksonAutoConfiguration");
+    register(beanFactory, "orderService", "com.example.OrderService", null);
+
+    List<AutoConfigurationCost> costs =
+        AutoConfigurationCostAnalyzer.attribute(
+            beanFactory,
+            Set.of(DATA_SOURCE, DATA_SOURCE + "$Hikari", JACKSON),
+            Map.of("dataSource", 300L, "objectMapper", 40L, "orderService", 900L));
+
+    assertThat(costs)
+        .extracting(
+            AutoConfigurationCost::autoConfiguration,
+            AutoConfigurationCost::beans,
+            AutoConfigurationCost::creationTimeMs)
+        .containsExactly(tuple(DATA_SOURCE, 3, 300L), tuple(JACKSON, 2, 40L));
+  }
+
+  @Test
+  void shouldAggregateAcrossContexts() {
+    List<AutoConfigurationCost> aggregated =
+        AutoConfigurationCostAnalyzer.aggregate(
+            List.of(
+                List.of(
+                    new AutoConfigurationCost(DATA_SOURCE, 1, 3, 300),
+                    new AutoConfigurationCost(JACKSON, 1, 2, 40)),
+                List.of(new AutoConfigurationCost(JACKSON, 1, 2, 500))));
+
+    assertThat(aggregated)
+        .extracting(
+            AutoConfigurationCost::getSimpleName,
+            AutoConfigurationCost::contexts,
+            AutoConfigurationCost::beans,
+            AutoConfigurationCost::creationTimeMs)
+        .containsExactly(
+            tuple("JacksonAutoConfiguration", 2, 4, 540L),
+            tuple("DataSourceAutoConfiguration", 1, 3, 300L));
+  }
+
+  @Test
+  void shouldReportNothingWithoutSpringBoot() {
+    assertThat(AutoConfigurationCostAnalyzer.analyze(new DefaultListableBeanFactory(), Map.of()))
+        .isEmpty();
+  }
+
+  private static void register(
+      DefaultListableBeanFactory beanFactory,
+      String beanName,
+      String beanClassName,
+      String factoryBeanName) {
+    RootBeanDefinition definition = new RootBeanDefinition();
+    definition.setBeanClassName(beanClassName);
+    definition.setFactoryBeanName(factoryBeanName);
+    beanFactory.registerBeanDefinition(beanName, definition);
+  }
+}
@@ -0,0 +1,119 @@
+package digital.pragmatech.testing.cache;
+
+import java.util.List;
+import java.util.Set;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext.HierarchyMode;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate;
+import org.springframework.test.context.cache.DefaultContextCache;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextCacheRecorderTest {
+
+  private final DefaultContextCache contextCache = new DefaultContextCache(2);
+  private final DefaultCacheAwareContextLoaderDelegate delegate =
+      new DefaultCacheAwareContextLoaderDelegate(contextCache);
+  private final ContextCacheEvents events = new ContextCacheEvents();
+
+  @BeforeEach
+  void setUp() {
+    assertThat(ContextCacheRecorder.install(contextCache)).isTrue();
+    ContextCacheRecorder.recordInto(events);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ContextCacheRecorder.recordInto(new ContextCacheEvents());
+    contextCache.reset();
+  }
+
+  @Test
+  void shouldRecordMissLoadAndHit() {
+    MergedContextConfiguration config = config(FirstConfig.class);
+
+    delegate.loadContext(config);
+    ContextCacheRecorder.Access load = ContextCacheRecorder.takeLastAccess(config);
+    delegate.loadContext(config);
+    ContextCacheRecorder.Access hit = ContextCacheRecorder.takeLastAccess(config);
+
+    assertThat(load.loaded()).isTrue();
+    assertThat(load.loadNanos()).isPositive();
+    assertThat(hit.loaded()).isFalse();
+    assertThat(ContextCacheRecorder.takeLastAccess(config)).isNull();
+    assertThat(events.getMisses()).isEqualTo(1);
+    assertThat(events.getHits()).isEqualTo(1);
+    assertThat(events.getLoads()).isEqualTo(1);
+    // The cache itself keeps counting
+    assertThat(contextCache.getHitCount()).isEqualTo(1);
+    assertThat(contextCache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportTheRecordedLookupsAsTheHitsAndMissesOfTheTracker() {
+    ContextCacheTracker tracker = new ContextCacheTracker();
+    MergedContextConfiguration config = config(FirstConfig.class);
+    tracker.recordTestClassForContext(config, "com.example.FirstTest");
+    tracker.recordContextCreation(config, 100);
+    assertThat(tracker.getCacheMisses()).isEqualTo(1);
+
+    ContextCacheRecorder.recordInto(tracker.getCacheEvents());
+    delegate.loadContext(config);
+    delegate.loadContext(config);
+    ContextCacheRecorder.Access firstHit = ContextCacheRecorder.takeLastAccess(config);
+    delegate.loadContext(config);
+
+    // Every hit shares the same access
+    assertThat(ContextCacheRecorder.takeLastAccess(config)).isSameAs(firstHit);
+    assertThat(tracker.getCacheHits()).isEqualTo(2);
+    assertThat(tracker.getCacheMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldTellEvictionsFromRemovals() {
+    MergedContextConfiguration first = config(FirstConfig.class);
+    MergedContextConfiguration second = config(SecondConfig.class);
+    MergedContextConfiguration third = config(ThirdConfig.class);
+
+    delegate.loadContext(first);
+    delegate.loadContext(second);
+    delegate.loadContext(third);
+    delegate.closeContext(second, HierarchyMode.EXHAUSTIVE);
+
+    assertThat(events.getEvictions()).isEqualTo(1);
+    assertThat(events.getEvictions(first)).isEqualTo(1);
+    assertThat(events.getRemovals()).isEqualTo(1);
+    assertThat(contextCache.size()).isEqualTo(1);
+  }
+
+  private static MergedContextConfiguration config(Class<?> configClass) {
+    return new MergedContextConfiguration(
+        ContextCacheRecorderTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        Set.of(),
+        new String[0],
+        List.of(),
+        new String[0],
+        Set.of(),
+        new AnnotationConfigContextLoader(),
+        null,
+        null);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  static class FirstConfig {}
+
+  @Configuration(proxyBeanMethods = false)
+  static class SecondConfig {}
+
+  @Configuration(proxyBeanMethods = false)
+  static class ThirdConfig {}
+}
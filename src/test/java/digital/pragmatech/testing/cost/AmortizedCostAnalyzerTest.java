@@ -0,0 +1,118 @@
+package digital.pragmatech.testing.cost;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.ContextCacheEntry;
+import digital.pragmatech.testing.ContextCacheTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AmortizedCostAnalyzerTest {
+
+  private static final MergedContextConfiguration ORDERS = config(OrderConfig.class);
+  private static final MergedContextConfiguration REPORTS = config(ReportConfig.class);
+
+  private final ContextCacheTracker tracker = new ContextCacheTracker();
+
+  @Test
+  void shouldShareTheLoadTimeByTheTestsOfEveryClass() {
+    // OrderIT ran first and waited 3s for the context, OrderQueryIT and OrderAdminIT reused it
+    useContext(ORDERS, "com.example.OrderIT", 2).chargeLoadTime("com.example.OrderIT", 3_000);
+    useContext(ORDERS, "com.example.OrderQueryIT", 3);
+    useContext(ORDERS, "com.example.OrderAdminIT", 1);
+    tracker.recordContextCreation(ORDERS, 3_000);
+
+    Map<String, Long> durations = new LinkedHashMap<>();
+    durations.put("com.example.OrderIT", 3_200L);
+    durations.put("com.example.OrderQueryIT", 600L);
+    durations.put("com.example.OrderAdminIT", 100L);
+
+    AmortizedCosts costs =
+        AmortizedCostAnalyzer.analyzeDurations(durations, tracker.getAllEntries());
+
+    assertThat(costs.hasContextLoads()).isTrue();
+    assertThat(costs.getByRawCost(3))
+        .extracting(TestClassCost::getSimpleName)
+        .containsExactly("OrderIT", "OrderQueryIT", "OrderAdminIT");
+    assertThat(costs.getByAmortizedCost(3))
+        .extracting(TestClassCost::getSimpleName, TestClassCost::amortizedMs)
+        .containsExactly(
+            tuple("OrderQueryIT", 2_100L), tuple("OrderIT", 1_200L), tuple("OrderAdminIT", 600L));
+  }
+
+  @Test
+  void shouldRankContextsByCostPerTest() {
+    useContext(ORDERS, "com.example.OrderIT", 30).chargeLoadTime("com.example.OrderIT", 12_000);
+    tracker.recordContextCreation(ORDERS, 6_000);
+    tracker.recordContextReload(ORDERS, 6_000);
+    useContext(REPORTS, "com.example.ReportIT", 3).chargeLoadTime("com.example.ReportIT", 8_000);
+    tracker.recordContextCreation(REPORTS, 8_000);
+
+    AmortizedCosts costs =
+        AmortizedCostAnalyzer.analyzeDurations(Map.of(), tracker.getAllEntries());
+
+    assertThat(costs.getByCostPerTest(2))
+        .extracting(
+            ContextEfficiency::loadTimeMs,
+            ContextEfficiency::loads,
+            ContextEfficiency::tests,
+            ContextEfficiency::costPerTestMs)
+        .containsExactly(tuple(8_000L, 1, 3, 8_000.0 / 3), tuple(12_000L, 2, 30, 400.0));
+  }
+
+  @Test
+  void shouldShareOnlyTheLoadTimeTheClassesWaitedFor() {
+    // prefetched in 5s, OrderIT waited for the last second of it
+    useContext(ORDERS, "com.example.OrderIT", 1).chargeLoadTime("com.example.OrderIT", 1_000);
+    useContext(ORDERS, "com.example.OrderQueryIT", 1);
+    tracker.recordContextCreation(ORDERS, 5_000);
+
+    Map<String, Long> durations = new LinkedHashMap<>();
+    durations.put("com.example.OrderIT", 1_100L);
+    durations.put("com.example.OrderQueryIT", 100L);
+
+    AmortizedCosts costs =
+        AmortizedCostAnalyzer.analyzeDurations(durations, tracker.getAllEntries());
+
+    assertThat(costs.getByAmortizedCost(2))
+        .extracting(TestClassCost::getSimpleName, TestClassCost::amortizedMs)
+        .containsExactly(tuple("OrderIT", 600L), tuple("OrderQueryIT", 600L));
+    assertThat(costs.getByCostPerTest(1))
+        .extracting(ContextEfficiency::loadTimeMs, ContextEfficiency::backgroundLoadTimeMs)
+        .containsExactly(tuple(1_000L, 4_000L));
+  }
+
+  @Test
+  void shouldCountEveryClassAsOneTestWithoutRecordedMethods() {
+    assertThat(AmortizedCostAnalyzer.testsPerClass(Set.of(), Set.of("A", "B")))
+        .containsExactlyInAnyOrderEntriesOf(Map.of("A", 1, "B", 1));
+  }
+
+  private ContextCacheEntry useContext(
+      MergedContextConfiguration config, String testClass, int tests) {
+    ContextCacheEntry entry = tracker.recordTestClassForContext(config, testClass);
+    for (int i = 0; i < tests; i++) {
+      entry.addTestMethod(testClass, "test" + i);
+    }
+    return entry;
+  }
+
+  private static MergedContextConfiguration config(Class<?> configClass) {
+    return new MergedContextConfiguration(
+        AmortizedCostAnalyzerTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        new String[0],
+        new AnnotationConfigContextLoader());
+  }
+
+  static class OrderConfig {}
+
+  static class ReportConfig {}
+}
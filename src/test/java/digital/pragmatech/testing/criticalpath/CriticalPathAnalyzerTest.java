@@ -0,0 +1,117 @@
+package digital.pragmatech.testing.criticalpath;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CriticalPathAnalyzerTest {
+
+  @TempDir Path reportDir;
+
+  @Test
+  void shouldCapSavingsAtTheEndOfTheNextLane() {
+    ExecutionLane fork1 =
+        new ExecutionLane(
+            1,
+            "main",
+            List.of(
+                new ClassRun(
+                    "com.example.OrderIT",
+                    0,
+                    50_000,
+                    0,
+                    List.of(new ClassRun.ContextLoad("[OrderConfig]", 8_000))),
+                new ClassRun(
+                    "com.example.ReportIT",
+                    50_000,
+                    100_000,
+                    0,
+                    List.of(new ClassRun.ContextLoad("[ReportConfig]", 41_000)))));
+    ExecutionLane fork2 =
+        new ExecutionLane(
+            2, "main", List.of(new ClassRun("com.example.PaymentIT", 1_000, 70_000, 0, List.of())));
+
+    CriticalPath criticalPath = CriticalPathAnalyzer.analyze(List.of(fork2, fork1), 3);
+
+    assertThat(criticalPath.lane()).isEqualTo(fork1);
+    assertThat(criticalPath.getRunDurationMs()).isEqualTo(100_000);
+    assertThat(criticalPath.getContextLoadMs()).isEqualTo(49_000);
+    assertThat(criticalPath.getSlackMs()).isEqualTo(30_000);
+    assertThat(criticalPath.whatIfs())
+        .extracting(WhatIf::work, WhatIf::durationMs, WhatIf::savingMs)
+        .containsExactly(
+            tuple("Tests of OrderIT", 42_000L, 30_000L),
+            tuple("Load of [ReportConfig] in ReportIT", 41_000L, 30_000L),
+            tuple("Tests of ReportIT", 9_000L, 9_000L));
+  }
+
+  @Test
+  void shouldNotCountNestedTestClassesTwice() throws Exception {
+    ExecutionLaneRecorder recorder = new ExecutionLaneRecorder();
+    recorder.classStarted("com.example.OrderIT");
+    recorder.classStarted("com.example.OrderIT$Refunds");
+    recorder.classStarted("com.example.OrderIT$Refunds$Partial");
+    Thread.sleep(20);
+    recorder.classFinished("com.example.OrderIT$Refunds$Partial");
+    recorder.classFinished("com.example.OrderIT$Refunds");
+    recorder.classFinished("com.example.OrderIT");
+    recorder.classStarted("com.example.PaymentIT");
+    recorder.classFinished("com.example.PaymentIT");
+
+    List<ClassRun> classRuns = recorder.getLanes().get(0).classRuns();
+
+    assertThat(classRuns)
+        .extracting(ClassRun::getSimpleName)
+        .containsExactly("OrderIT", "OrderIT$Refunds", "OrderIT$Refunds$Partial", "PaymentIT");
+    assertThat(classRuns.get(0).nestedMs()).isEqualTo(classRuns.get(1).durationMs());
+    assertThat(classRuns.get(1).nestedMs()).isEqualTo(classRuns.get(2).durationMs());
+    assertThat(classRuns.get(0).busyMs()).isLessThan(20);
+    assertThat(classRuns.get(3).nestedMs()).isZero();
+  }
+
+  @Test
+  void shouldCollectTheLanesOfForksRunningAtTheSameTimeAndDeleteStaleOnes() throws Exception {
+    ExecutionLaneRecorder recorder = new ExecutionLaneRecorder();
+    recorder.classStarted("com.example.OrderIT");
+    recorder.contextLoaded("com.example.OrderIT", "[OrderConfig]", 5);
+    recorder.classFinished("com.example.OrderIT");
+    long now = System.currentTimeMillis();
+    writeForkLanes(2, now - 1_000, now + 1_000);
+    // a fork of a previous run, ended before this test JVM started
+    long jvmStartMs = ManagementFactory.getRuntimeMXBean().getStartTime();
+    writeForkLanes(3, jvmStartMs - 60_000, jvmStartMs - 30_000);
+
+    List<ExecutionLane> lanes = recorder.writeAndCollect(reportDir);
+
+    assertThat(lanes)
+        .extracting(ExecutionLane::fork)
+        .containsExactlyInAnyOrder(ProcessHandle.current().pid(), 2L);
+    assertThat(lanes.get(0).classRuns())
+        .singleElement()
+        .satisfies(
+            classRun ->
+                assertThat(classRun.contextLoads())
+                    .containsExactly(new ClassRun.ContextLoad("[OrderConfig]", 5)));
+    assertThat(reportDir.resolve("lanes-" + ProcessHandle.current().pid() + ".json")).exists();
+    assertThat(reportDir.resolve("lanes-2.json")).exists();
+    assertThat(reportDir.resolve("lanes-3.json")).doesNotExist();
+  }
+
+  private void writeForkLanes(long fork, long startMs, long endMs) throws Exception {
+    Files.writeString(
+        reportDir.resolve("lanes-" + fork + ".json"),
+        """
+        {"fork": %d, "lanes": [{"fork": %d, "thread": "main", "classRuns": [
+          {"className": "com.example.PaymentIT", "startMs": %d, "endMs": %d, "contextLoads": []}
+        ]}]}
+        """
+            .formatted(fork, fork, startMs, endMs));
+  }
+}
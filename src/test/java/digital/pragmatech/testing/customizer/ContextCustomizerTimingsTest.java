@@ -0,0 +1,95 @@
+package digital.pragmatech.testing.customizer;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextCustomizerTimingsTest {
+
+  @Test
+  void shouldTimeCustomizersOfACopyAndKeepTheOriginalAsKey() throws Exception {
+    MergedContextConfiguration config =
+        new MergedContextConfiguration(
+            ContextCustomizerTimingsTest.class,
+            new String[0],
+            new Class<?>[] {TestConfig.class},
+            Set.of(),
+            new String[0],
+            List.of(),
+            new String[0],
+            Set.of(new SlowCustomizer()),
+            new AnnotationConfigContextLoader(),
+            null,
+            null);
+
+    MergedContextConfiguration timed = ContextCustomizerTimings.timed(config);
+    ConfigurableApplicationContext context =
+        (ConfigurableApplicationContext) new AnnotationConfigContextLoader().loadContext(timed);
+    context.close();
+
+    assertThat(timed).isNotSameAs(config);
+    assertThat(SlowCustomizer.customizedWith).isSameAs(config);
+    assertThat(ContextCustomizerTimings.take(config))
+        .singleElement()
+        .satisfies(
+            timing -> {
+              assertThat(timing.getSimpleName())
+                  .isEqualTo("ContextCustomizerTimingsTest$SlowCustomizer");
+              assertThat(timing.getDurationMs()).isGreaterThanOrEqualTo(20);
+            });
+    assertThat(ContextCustomizerTimings.take(config)).isEmpty();
+  }
+
+  @Test
+  void shouldSumTimingsAcrossContexts() {
+    List<ContextCustomizerTiming> aggregated =
+        ContextCustomizerTimings.aggregate(
+            List.of(
+                List.of(
+                    new ContextCustomizerTiming("a.Fast", 1, 1_000),
+                    new ContextCustomizerTiming("a.Slow", 1, 5_000_000)),
+                List.of(new ContextCustomizerTiming("a.Fast", 1, 2_000))));
+
+    assertThat(aggregated)
+        .containsExactly(
+            new ContextCustomizerTiming("a.Slow", 1, 5_000_000),
+            new ContextCustomizerTiming("a.Fast", 2, 3_000));
+  }
+
+  static class TestConfig {}
+
+  static class SlowCustomizer implements ContextCustomizer {
+
+    static volatile MergedContextConfiguration customizedWith;
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+      customizedWith = mergedConfig;
+      assertThat(context).isInstanceOf(GenericApplicationContext.class);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof SlowCustomizer;
+    }
+
+    @Override
+    public int hashCode() {
+      return SlowCustomizer.class.hashCode();
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package digital.pragmatech.testing.diagnostic;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
 
@@ -55,6 +56,23 @@ class ContextDiagnosticApplicationInitializerTest {
     context.close();
   }
 
+  @Test
+  void shouldTimeLifecycleBeansOnRefreshAndClose() {
+    var context = new AnnotationConfigApplicationContext();
+    new ContextDiagnosticApplicationInitializer().initialize(context);
+    context.registerBean("slowServer", SlowLifecycle.class);
+
+    context.refresh();
+    LifecycleTimings timings = context.getBean(LifecycleTimings.class);
+    assertThat(timings.getLifecycleBeanNames()).containsExactly("slowServer");
+    assertThat(timings.getStartTimeMs()).isGreaterThanOrEqualTo(50);
+    assertThat(timings.isStopTimeKnown()).isFalse();
+
+    context.close();
+    assertThat(timings.getStopTimeMs()).isGreaterThanOrEqualTo(50);
+    assertThat(timings.getPauseCostMs()).isGreaterThanOrEqualTo(100);
+  }
+
   @Test
   void shouldHaveCorrectEqualsAndHashCode() {
     var initializer1 = new ContextDiagnosticApplicationInitializer();
@@ -82,4 +100,34 @@ class ContextDiagnosticApplicationInitializerTest {
       assertThat(childContext.isActive()).isTrue();
     }
   }
+
+  static class SlowLifecycle implements SmartLifecycle {
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+      sleep();
+      running = true;
+    }
+
+    @Override
+    public void stop() {
+      sleep();
+      running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+      return running;
+    }
+
+    private static void sleep() {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
 }
@@ -0,0 +1,107 @@
+package digital.pragmatech.testing.gate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import digital.pragmatech.testing.history.RunSummary;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ContextBudgetGateTest {
+
+  private static final Map<String, Set<String>> TEST_CLASSES =
+      Map.of(
+          "a", Set.of("com.example.OrderIT"),
+          "b", Set.of("com.example.PaymentIT", "com.example.RefundIT"),
+          "c", Set.of("com.example.ShippingIT"));
+
+  @Test
+  void shouldParseAbsoluteAndRelativeBudgets() {
+    assertThat(Budget.parse("40").limit(100)).isEqualTo(40);
+    assertThat(Budget.parse("+5").limit(40)).isEqualTo(45);
+    assertThat(Budget.parse("-0.05").limit(0.9)).isCloseTo(0.85, within(1e-9));
+    assertThat(Budget.parse("+10%").limit(1_000)).isEqualTo(1_100);
+    assertThatThrownBy(() -> Budget.parse("many")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldPassWithinBudgets() {
+    ContextBudgetGate gate =
+        gate(
+            "spring.test.profiler.gate.max-contexts",
+            "3",
+            "spring.test.profiler.gate.min-cache-hit-ratio",
+            "0.5");
+
+    assertThat(gate.evaluate(run("a", "b", "c"), TEST_CLASSES, null).passed()).isTrue();
+  }
+
+  @Test
+  void shouldListNewContextsWhenRelativeBudgetIsBreached() {
+    ContextBudgetGate gate = gate("spring.test.profiler.gate.max-contexts", "+0");
+
+    ContextBudgetGate.GateResult result = gate.evaluate(run("a", "b", "c"), TEST_CLASSES, run("a"));
+
+    assertThat(result.passed()).isFalse();
+    assertThat(result.breaches()).containsExactly("distinct contexts: 3 > 1 (baseline 1 +0)");
+    assertThat(result.report())
+        .contains("New contexts compared to the baseline (2)")
+        .contains("context-b (2,000ms, 200 beans) used by PaymentIT, RefundIT")
+        .contains("context-c (3,000ms, 300 beans) used by ShippingIT")
+        .doesNotContain("OrderIT");
+  }
+
+  @Test
+  void shouldCheckLoadTimesAndHitRatioAgainstAbsoluteBudgets() {
+    ContextBudgetGate gate =
+        gate(
+            "spring.test.profiler.gate.max-total-context-load-time", "5000",
+            "spring.test.profiler.gate.max-context-load-time", "2500",
+            "spring.test.profiler.gate.min-cache-hit-ratio", "0.8");
+
+    ContextBudgetGate.GateResult result = gate.evaluate(run("a", "b", "c"), TEST_CLASSES, null);
+
+    assertThat(result.breaches())
+        .containsExactly(
+            "total context load time: 6,000ms > 5,000ms",
+            "slowest context load time: 3,000ms > 2,500ms",
+            "cache hit ratio: 75.0% < 80.0%");
+    assertThat(result.report()).contains("Slowest contexts (3 in total)");
+  }
+
+  @Test
+  void shouldSkipRelativeBudgetsWithoutBaseline() {
+    ContextBudgetGate gate = gate("spring.test.profiler.gate.max-contexts", "+10%");
+
+    assertThat(gate.evaluate(run("a", "b", "c"), TEST_CLASSES, null).passed()).isTrue();
+  }
+
+  private static ContextBudgetGate gate(String... keyValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      properties.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return new ContextBudgetGate(GateConfiguration.of(properties));
+  }
+
+  /** A run with one context per key, where the n-th context loads in n seconds. */
+  private static RunSummary run(String... contextKeys) {
+    List<RunSummary.ContextSummary> contexts = new ArrayList<>();
+    long totalLoadTime = 0;
+    for (String key : contextKeys) {
+      long loadTime = (key.charAt(0) - 'a' + 1) * 1_000L;
+      totalLoadTime += loadTime;
+      contexts.add(
+          new RunSummary.ContextSummary(
+              key, "context-" + key, loadTime, (int) loadTime / 10, List.of()));
+    }
+    return new RunSummary(
+        "run", 0, contexts.size(), totalLoadTime, 0.75, 10_000, 10, 100, contexts);
+  }
+}
@@ -0,0 +1,158 @@
+package digital.pragmatech.testing.history;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RunHistoryStoreTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldReadAppendedRuns() throws IOException {
+    RunHistoryStore store = new RunHistoryStore(directory);
+    store.append(run(1_000, 40));
+    store.append(run(2_000, 42));
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.read(1)).contains(run(2_000, 42));
+    assertThat(store.read(2)).isEmpty();
+    assertThat(store.recentRuns(10))
+        .extracting(RunHistoryStore.RunTrendPoint::contexts)
+        .containsExactly(40, 42);
+  }
+
+  @Test
+  void shouldReturnMostRecentRunsOldestFirst() throws IOException {
+    RunHistoryStore store = new RunHistoryStore(directory);
+    for (int i = 0; i < 10; i++) {
+      store.append(run(i, i));
+    }
+
+    assertThat(store.recentRuns(3))
+        .extracting(RunHistoryStore.RunTrendPoint::timestamp)
+        .containsExactly(7L, 8L, 9L);
+  }
+
+  @Test
+  void shouldRecoverFromInterruptedAppend() throws IOException {
+    RunHistoryStore store = new RunHistoryStore(directory);
+    store.append(run(1_000, 40));
+    store.append(run(2_000, 42));
+
+    // A JVM that died while appending leaves an incomplete line without an index record
+    Files.writeString(
+        directory.resolve(RunHistoryStore.RUNS_FILE),
+        "{\"timestamp\":3000,\"cont",
+        StandardOpenOption.APPEND);
+
+    RunHistoryStore reopened = new RunHistoryStore(directory);
+    assertThat(reopened.size()).isEqualTo(2);
+
+    reopened.append(run(4_000, 45));
+    assertThat(reopened.read(2)).contains(run(4_000, 45));
+  }
+
+  @Test
+  void shouldRebuildMissingIndex() throws IOException {
+    RunHistoryStore store = new RunHistoryStore(directory);
+    store.append(run(1_000, 40));
+    store.append(run(2_000, 42));
+    Files.delete(directory.resolve(RunHistoryStore.INDEX_FILE));
+
+    assertThat(store.recentRuns(10))
+        .extracting(RunHistoryStore.RunTrendPoint::totalContextLoadTimeMs)
+        .containsExactly(4_000L, 4_200L);
+  }
+
+  @Test
+  void shouldMergeTheForksOfOneRun() throws IOException {
+    RunHistoryStore store = new RunHistoryStore(directory);
+    store.append(run("build-1", 1_000, 40));
+    store.append(run("build-2", 2_000, 10));
+    store.append(run("build-1", 3_000, 2));
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.recentRuns(10))
+        .extracting(RunHistoryStore.RunTrendPoint::contexts)
+        .containsExactly(10, 42);
+    RunSummary merged = store.read(1).orElseThrow();
+    assertThat(merged.runId()).isEqualTo("build-1");
+    assertThat(merged.timestamp()).isEqualTo(3_000);
+    assertThat(merged.totalContextLoadTimeMs()).isEqualTo(4_200);
+    assertThat(merged.testMethods()).isEqualTo(3_000);
+    assertThat(merged.cacheHitRatio()).isCloseTo(0.9, within(1e-9));
+    assertThat(merged.contextSummaries()).hasSize(1);
+    assertThat(store.read(0)).contains(run("build-2", 2_000, 10));
+
+    // The merged summary is appended, the lines written before stay as they are
+    List<String> lines =
+        Files.readAllLines(directory.resolve(RunHistoryStore.RUNS_FILE), StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0))
+        .isEqualTo(new ObjectMapper().writeValueAsString(run("build-1", 1_000, 40)));
+
+    // The index rebuilt from the lines points at the merged line
+    Files.delete(directory.resolve(RunHistoryStore.INDEX_FILE));
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.read(1)).contains(merged);
+    assertThat(store.read(0)).contains(run("build-2", 2_000, 10));
+  }
+
+  @Test
+  void shouldIndexThousandsOfRuns() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(
+            directory.resolve(RunHistoryStore.RUNS_FILE), StandardCharsets.UTF_8)) {
+      for (int i = 0; i < 5_000; i++) {
+        writer.write(objectMapper.writeValueAsString(run(i, 40 + i % 30)));
+        writer.write('\n');
+      }
+    }
+
+    RunHistoryStore store = new RunHistoryStore(directory);
+    assertThat(store.size()).isEqualTo(5_000);
+    assertThat(store.read(4_321)).contains(run(4_321, 40 + 4_321 % 30));
+
+    List<RunHistoryStore.RunTrendPoint> recentRuns = store.recentRuns(50);
+    assertThat(recentRuns).hasSize(50);
+    assertThat(recentRuns.get(49).timestamp()).isEqualTo(4_999L);
+    assertThat(Files.size(directory.resolve(RunHistoryStore.INDEX_FILE)))
+        .isEqualTo(5_000L * RunHistoryStore.INDEX_RECORD_BYTES);
+  }
+
+  private static RunSummary run(long timestamp, int contexts) {
+    return run("run-" + timestamp, timestamp, contexts);
+  }
+
+  private static RunSummary run(String runId, long timestamp, int contexts) {
+    return new RunSummary(
+        runId,
+        timestamp,
+        contexts,
+        contexts * 100L,
+        0.9,
+        60_000,
+        200,
+        1_500,
+        List.of(
+            new RunSummary.ContextSummary(
+                "0123456789abcdef",
+                "ApplicationConfig [test]",
+                1_200,
+                350,
+                List.of(new RunSummary.BeanTiming("entityManagerFactory", 450)))));
+  }
+}
@@ -0,0 +1,94 @@
+package digital.pragmatech.testing.live;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import digital.pragmatech.testing.TestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveDashboardServerTest {
+
+  private final LiveDashboard dashboard = new LiveDashboard();
+  private LiveDashboardServer server;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = LiveDashboardServer.start(dashboard, 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void shouldServeDashboardPage() throws Exception {
+    HttpURLConnection connection = open("/");
+
+    assertThat(connection.getResponseCode()).isEqualTo(200);
+    assertThat(new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+        .contains("Spring Test Profiler Live Dashboard")
+        .contains("new EventSource('events')");
+  }
+
+  @Test
+  void shouldStreamSnapshotAndEvents() throws Exception {
+    dashboard.contextLoaded("a1", "OrderConfig", 1_200, 150, "com.example.OrderIT");
+    HttpURLConnection connection = open("/events");
+    assertThat(connection.getContentType()).startsWith("text/event-stream");
+
+    try (BufferedReader events =
+        new BufferedReader(
+            new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+      assertThat(events.readLine())
+          .startsWith("data: {\"type\":\"snapshot\"")
+          .contains("\"cacheMisses\":1")
+          .contains("\"label\":\"OrderConfig\"");
+      events.readLine();
+
+      dashboard.contextReused();
+      dashboard.testStarted("com.example.OrderIT", "placesOrder");
+
+      assertThat(events.readLine())
+          .startsWith("data: {\"type\":\"context-reused\"")
+          .contains("\"cacheHits\":1");
+      events.readLine();
+      assertThat(events.readLine())
+          .startsWith("data: {\"type\":\"test-started\"")
+          .contains("\"testMethod\":\"placesOrder\"");
+    }
+  }
+
+  @Test
+  void shouldNotBlockPublishingWhenClientFallsBehind() throws Exception {
+    LiveDashboard.EventStream stream = dashboard.openStream();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < LiveDashboard.STREAM_BUFFER_EVENTS * 10; i++) {
+      dashboard.testStarted("com.example.OrderIT", "placesOrder");
+      dashboard.testFinished(TestStatus.PASSED);
+    }
+    assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+
+    // the dropped backlog is replaced by a snapshot with the current counters
+    assertThat(stream.next(1, TimeUnit.SECONDS))
+        .startsWith("{\"type\":\"snapshot\"")
+        .contains("\"passedTests\":" + LiveDashboard.STREAM_BUFFER_EVENTS * 10);
+    dashboard.closeStream(stream);
+  }
+
+  private HttpURLConnection open(String path) throws Exception {
+    HttpURLConnection connection =
+        (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+    connection.setReadTimeout(5_000);
+    return connection;
+  }
+}
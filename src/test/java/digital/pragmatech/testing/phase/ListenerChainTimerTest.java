@@ -0,0 +1,98 @@
+package digital.pragmatech.testing.phase;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListenerChainTimerTest {
+
+  @BeforeEach
+  void setUp() {
+    ListenerChainTimer.reset();
+  }
+
+  @Test
+  void shouldSplitMethodIntoListenerSetupBodyAndTeardown() throws Exception {
+    // SpringTestProfilerListener and ListenerChainEndListener callbacks in Spring's order
+    ListenerChainTimer.open();
+    Thread.sleep(20);
+    ListenerChainTimer.close();
+    ListenerChainTimer.open();
+    ListenerChainTimer.close();
+    ListenerChainTimer.bodyStarted();
+    Thread.sleep(10);
+    ListenerChainTimer.bodyFinished();
+    ListenerChainTimer.open();
+    ListenerChainTimer.close();
+    ListenerChainTimer.open();
+    Thread.sleep(5);
+
+    MethodPhases phases = ListenerChainTimer.finishMethod();
+
+    assertThat(phases).isNotNull();
+    assertThat(phases.setupNanos()).isGreaterThanOrEqualTo(20_000_000);
+    assertThat(phases.bodyNanos()).isBetween(10_000_000L, phases.setupNanos());
+    assertThat(phases.teardownNanos()).isGreaterThanOrEqualTo(5_000_000);
+    assertThat(
+            phases.notSampledNanos()
+                + phases.listenerNanos().values().stream().mapToLong(Long::longValue).sum())
+        .isLessThanOrEqualTo(phases.setupNanos() + phases.teardownNanos());
+    assertThat(ListenerChainTimer.finishMethod()).isNull();
+
+    // The phases are reused once the next method of the thread starts
+    ListenerChainTimer.open();
+    assertThat(phases.setupNanos()).isZero();
+    assertThat(phases.notSampledNanos()).isZero();
+  }
+
+  @Test
+  void shouldNotReportPhasesWithoutTheChainEndListener() {
+    ListenerChainTimer.open();
+    ListenerChainTimer.open();
+    ListenerChainTimer.close();
+
+    assertThat(ListenerChainTimer.finishMethod()).isNull();
+  }
+
+  @Test
+  void shouldFindTheListenerTheTestContextManagerCalls() {
+    StackTraceElement[] stack = {
+      new StackTraceElement("org.example.SqlRunner", "run", null, 10),
+      new StackTraceElement(
+          "org.springframework.test.context.jdbc.SqlScriptsTestExecutionListener",
+          "beforeTestMethod",
+          null,
+          20),
+      new StackTraceElement(
+          "org.springframework.test.context.TestContextManager", "beforeTestMethod", null, 30),
+      new StackTraceElement(
+          "org.springframework.test.context.junit.jupiter.SpringExtension", "beforeEach", null, 40)
+    };
+
+    assertThat(ListenerChainTimer.listenerOf(stack))
+        .isEqualTo("org.springframework.test.context.jdbc.SqlScriptsTestExecutionListener");
+    assertThat(ListenerChainTimer.listenerOf(new StackTraceElement[] {stack[0]})).isNull();
+  }
+
+  @Test
+  void shouldSumListenerCostsAcrossMethods() {
+    ListenerCostTracker tracker = new ListenerCostTracker();
+    tracker.record(new MethodPhases(40_000_000, 1_000_000, 0, 0, Map.of("a.Sql", 40_000_000L)));
+    tracker.record(
+        new MethodPhases(
+            45_000_000, 1_000_000, 2_000_000, 0, Map.of("a.Sql", 40_000_000L, "a.Tx", 7_000_000L)));
+    tracker.record(new MethodPhases(3_000_000, 1_000_000, 0, 3_000_000, Map.of()));
+
+    assertThat(tracker.getMeasuredMethods()).isEqualTo(3);
+    assertThat(tracker.getTotalSetupMs()).isEqualTo(88);
+    assertThat(tracker.getListenerCosts())
+        .containsExactly(
+            new ListenerCost("a.Sql", 80_000_000, 2),
+            new ListenerCost("a.Tx", 7_000_000, 1),
+            new ListenerCost(ListenerChainTimer.NOT_SAMPLED, 3_000_000, 1));
+    assertThat(tracker.getListenerCosts().get(0).getAverageMs()).isEqualTo(40.0);
+  }
+}
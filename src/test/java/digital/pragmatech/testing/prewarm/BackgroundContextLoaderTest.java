@@ -0,0 +1,64 @@
+package digital.pragmatech.testing.prewarm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.cache.ContextCache;
+import org.springframework.test.context.cache.DefaultContextCache;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackgroundContextLoaderTest {
+
+  private static final MergedContextConfiguration ORDERS =
+      new MergedContextConfiguration(
+          BackgroundContextLoaderTest.class,
+          new String[0],
+          new Class<?>[] {OrderConfig.class},
+          new String[0],
+          new AnnotationConfigContextLoader());
+
+  private final ContextCache contextCache = new DefaultContextCache();
+
+  @AfterEach
+  void tearDown() {
+    contextCache.clear();
+    BackgroundContextLoader.resetStatistics();
+  }
+
+  @Test
+  void shouldNotLoadAContextInTheBackgroundThatATestClassClaimed() {
+    assertThat(BackgroundContextLoader.awaitBackgroundLoad(ORDERS)).isNull();
+    assertThat(load()).isFalse();
+
+    BackgroundContextLoader.releaseContext(ORDERS);
+    assertThat(load()).isTrue();
+    assertThat(contextCache.contains(ORDERS)).isTrue();
+    // loaded already, the background load is not started twice
+    assertThat(load()).isFalse();
+
+    BackgroundContextLoader.UsedLoad usedLoad = BackgroundContextLoader.awaitBackgroundLoad(ORDERS);
+    assertThat(usedLoad).isNotNull();
+    assertThat(usedLoad.origin()).isEqualTo(BackgroundContextLoader.Origin.PREFETCH);
+    BackgroundContextLoader.releaseContext(ORDERS);
+  }
+
+  @Test
+  void shouldLeaveContextsThatFailedToLoadToTheDelegate() {
+    contextCache.incrementFailureCount(ORDERS);
+
+    assertThat(load()).isFalse();
+    assertThat(BackgroundContextLoader.loadNow(contextCache, ORDERS)).isEqualTo(-1);
+    assertThat(contextCache.contains(ORDERS)).isFalse();
+  }
+
+  private boolean load() {
+    return BackgroundContextLoader.load(
+        contextCache, ORDERS, BackgroundContextLoader.Origin.PREFETCH, Runnable::run);
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  static class OrderConfig {}
+}
@@ -0,0 +1,61 @@
+package digital.pragmatech.testing.prewarm;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextPrefetcherTest {
+
+  private static final MergedContextConfiguration ORDERS = config(OrderConfig.class);
+  private static final MergedContextConfiguration PAYMENTS = config(PaymentConfig.class);
+  private static final MergedContextConfiguration SHIPPING = config(ShippingConfig.class);
+
+  private static final List<String> TEST_CLASSES =
+      List.of("OrderIT", "OrderRepositoryIT", "PaymentIT", "PlainTest", "OrderApiIT", "ShippingIT");
+
+  private static final Map<String, MergedContextConfiguration> CONFIGS =
+      Map.of(
+          "OrderIT", ORDERS,
+          "OrderRepositoryIT", ORDERS,
+          "PaymentIT", PAYMENTS,
+          "OrderApiIT", ORDERS,
+          "ShippingIT", SHIPPING);
+
+  @Test
+  void shouldLookAheadForDistinctUpcomingContexts() {
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "OrderIT", 2))
+        .containsExactly(PAYMENTS, SHIPPING);
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "OrderIT", 1))
+        .containsExactly(PAYMENTS);
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "PaymentIT", 2))
+        .containsExactly(ORDERS, SHIPPING);
+  }
+
+  @Test
+  void shouldNotLookAheadPastEndOfPlan() {
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "ShippingIT", 2))
+        .isEmpty();
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "UnknownIT", 2)).isEmpty();
+    assertThat(ContextPrefetcher.upcomingContexts(TEST_CLASSES, CONFIGS, "OrderIT", 0)).isEmpty();
+  }
+
+  private static MergedContextConfiguration config(Class<?> configClass) {
+    return new MergedContextConfiguration(
+        ContextPrefetcherTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        new String[0],
+        new AnnotationConfigContextLoader());
+  }
+
+  static class OrderConfig {}
+
+  static class PaymentConfig {}
+
+  static class ShippingConfig {}
+}
@@ -0,0 +1,122 @@
+package digital.pragmatech.testing.prewarm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import digital.pragmatech.testing.ContextFingerprint;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextPrewarmerTest {
+
+  private static final MergedContextConfiguration ORDERS = config(OrderConfig.class);
+  private static final MergedContextConfiguration PAYMENTS = config(PaymentConfig.class);
+  private static final MergedContextConfiguration SHIPPING = config(ShippingConfig.class);
+  private static final MergedContextConfiguration UNKNOWN = config(UnknownConfig.class);
+
+  @Test
+  void shouldPickMostUsedKnownContextsInExecutionOrder() {
+    List<MergedContextConfiguration> configurations =
+        List.of(ORDERS, UNKNOWN, SHIPPING, PAYMENTS, PAYMENTS, SHIPPING, PAYMENTS, UNKNOWN);
+
+    List<MergedContextConfiguration> planned =
+        ContextPrewarmer.plan(configurations, loadTimes(ORDERS, PAYMENTS, SHIPPING), 4);
+
+    // ORDERS is needed first and loaded by the first test, UNKNOWN was not loaded last time
+    assertThat(planned).containsExactly(SHIPPING, PAYMENTS);
+  }
+
+  @Test
+  void shouldLimitNumberOfPrewarmedContexts() {
+    List<MergedContextConfiguration> configurations =
+        List.of(ORDERS, SHIPPING, PAYMENTS, PAYMENTS, SHIPPING, PAYMENTS);
+
+    assertThat(ContextPrewarmer.plan(configurations, loadTimes(ORDERS, PAYMENTS, SHIPPING), 1))
+        .containsExactly(PAYMENTS);
+    assertThat(ContextPrewarmer.plan(configurations, loadTimes(ORDERS, PAYMENTS, SHIPPING), 0))
+        .isEmpty();
+  }
+
+  @Test
+  void shouldPreferSlowerContextsOnEqualUsage() {
+    List<MergedContextConfiguration> configurations = List.of(ORDERS, SHIPPING, PAYMENTS);
+    Map<String, Long> loadTimes =
+        Map.of(
+            ContextFingerprint.of(ORDERS), 100L,
+            ContextFingerprint.of(PAYMENTS), 9_000L,
+            ContextFingerprint.of(SHIPPING), 1_000L);
+
+    assertThat(ContextPrewarmer.plan(configurations, loadTimes, 1)).containsExactly(PAYMENTS);
+  }
+
+  @Test
+  void shouldTellApartContextsWithTheSameFingerprintByTheirOrder() {
+    MergedContextConfiguration mockedRepository = mocking("orderRepository");
+    MergedContextConfiguration mockedClock = mocking("clock");
+    String fingerprint = ContextFingerprint.of(mockedRepository);
+    List<MergedContextConfiguration> configurations =
+        List.of(ORDERS, mockedRepository, mockedClock);
+    Map<String, Long> loadTimes =
+        Map.of(
+            ContextFingerprint.of(ORDERS), 100L,
+            ContextFingerprint.key(fingerprint, 1), 1_000L,
+            ContextFingerprint.key(fingerprint, 2), 9_000L);
+
+    assertThat(ContextPrewarmer.plan(configurations, loadTimes, 1)).containsExactly(mockedClock);
+  }
+
+  private static Map<String, Long> loadTimes(MergedContextConfiguration... configurations) {
+    Map<String, Long> loadTimes = new HashMap<>();
+    for (MergedContextConfiguration configuration : configurations) {
+      loadTimes.put(ContextFingerprint.of(configuration), 1_000L);
+    }
+    return loadTimes;
+  }
+
+  private static MergedContextConfiguration config(Class<?> configClass) {
+    return new MergedContextConfiguration(
+        ContextPrewarmerTest.class,
+        new String[0],
+        new Class<?>[] {configClass},
+        new String[0],
+        new AnnotationConfigContextLoader());
+  }
+
+  /** Configurations that differ only in the state of a customizer, like {@code @MockitoBean}. */
+  private static MergedContextConfiguration mocking(String beanName) {
+    return new MergedContextConfiguration(
+        ContextPrewarmerTest.class,
+        new String[0],
+        new Class<?>[] {OrderConfig.class},
+        null,
+        new String[0],
+        List.of(),
+        new String[0],
+        Set.of(new MockingCustomizer(beanName)),
+        new AnnotationConfigContextLoader(),
+        null,
+        null);
+  }
+
+  static class OrderConfig {}
+
+  static class PaymentConfig {}
+
+  static class ShippingConfig {}
+
+  static class UnknownConfig {}
+
+  record MockingCustomizer(String beanName) implements ContextCustomizer {
+
+    @Override
+    public void customizeContext(
+        ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {}
+  }
+}
@@ -0,0 +1,132 @@
+package digital.pragmatech.testing.reporting;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ReportModelTest {
+
+  private static final MergedContextConfiguration PARENT =
+      new MergedContextConfiguration(
+          ReportModelTest.class,
+          new String[0],
+          new Class<?>[] {ParentConfig.class},
+          new String[0],
+          new AnnotationConfigContextLoader());
+
+  private static final MergedContextConfiguration ORDERS =
+      new MergedContextConfiguration(
+          ReportModelTest.class,
+          new String[0],
+          new Class<?>[] {OrderConfig.class},
+          null,
+          new String[0],
+          List.of(),
+          new String[0],
+          null,
+          new AnnotationConfigContextLoader(),
+          null,
+          PARENT);
+
+  private final TestExecutionTracker executionTracker = new TestExecutionTracker();
+  private final ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
+
+  @Test
+  void shouldCountTheTestMethodsByStatus() {
+    recordTestMethod("com.example.OrderIT", "placesOrder", TestStatus.PASSED);
+    recordTestMethod("com.example.OrderIT", "rejectsOrder", TestStatus.FAILED);
+    recordTestMethod("com.example.InvoiceIT", "sendsInvoice", TestStatus.PASSED);
+    recordTestMethod("com.example.InvoiceIT", "archivesInvoice", TestStatus.DISABLED);
+
+    ReportModel report = ReportModel.of(executionTracker, null, null, null);
+
+    assertThat(report.getTotalTestClasses()).isEqualTo(2);
+    assertThat(report.getTotalTestMethods()).isEqualTo(4);
+    assertThat(report.getPassedTests()).isEqualTo(2);
+    assertThat(report.getFailedTests()).isEqualTo(1);
+    assertThat(report.getDisabledTests()).isEqualTo(1);
+    assertThat(report.getAbortedTests()).isZero();
+    assertThat(report.getSuccessRate()).isEqualTo(50.0);
+    assertThat(report.hasContextTracking()).isFalse();
+    assertThat(report.getContexts()).isEmpty();
+    assertThat(report.getContextStatisticsJson()).isEqualTo("[]");
+  }
+
+  @Test
+  void shouldGiveEveryContextItsIdOnce() throws Exception {
+    contextCacheTracker.recordTestClassForContext(PARENT, "com.example.BaseIT");
+    contextCacheTracker.recordContextCreation(PARENT, 800);
+    contextCacheTracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    contextCacheTracker.recordContextCreation(ORDERS, 1_200);
+    contextCacheTracker.recordBeanDefinitions(ORDERS, new String[] {"orderService"});
+
+    ReportModel report = ReportModel.of(executionTracker, null, contextCacheTracker, null);
+
+    assertThat(report.getContexts()).hasSize(2);
+    String parentId = report.getContextId(PARENT);
+    String ordersId = report.getContextId(ORDERS);
+    assertThat(parentId).startsWith("context-").isNotEqualTo(ordersId);
+    assertThat(report.getConfigurations())
+        .extracting(ReportModel.ContextConfiguration::getId)
+        .containsExactlyInAnyOrder(
+            parentId.replace("context-", "config-"), ordersId.replace("context-", "config-"));
+    assertThat(report.getContexts())
+        .extracting(ContextReport::id, context -> context.configuration().parentId())
+        .containsExactlyInAnyOrder(tuple(parentId, null), tuple(ordersId, parentId));
+    // only one context has beans, so there is nothing to compare
+    assertThat(report.getBeanOverlap()).isNull();
+
+    JsonNode statistics = new ObjectMapper().readTree(report.getContextStatisticsJson());
+    assertThat(statistics).hasSize(2);
+    JsonNode orders =
+        statistics.get(0).get("contextKey").asText().equals(ordersId)
+            ? statistics.get(0)
+            : statistics.get(1);
+    assertThat(orders.get("loadDuration").asLong()).isEqualTo(1_200);
+    assertThat(orders.get("contextConfiguration").get("parent").asText()).isEqualTo(parentId);
+    assertThat(orders.get("testClasses"))
+        .extracting(JsonNode::asText)
+        .containsExactly("com.example.OrderIT");
+  }
+
+  @Test
+  void shouldComputeTheBeanOverlapOfTheContextsUpFront() {
+    contextCacheTracker.recordTestClassForContext(PARENT, "com.example.BaseIT");
+    contextCacheTracker.recordContextCreation(PARENT, 800);
+    contextCacheTracker.recordBeanDefinitions(PARENT, new String[] {"clock", "dataSource"});
+    contextCacheTracker.recordTestClassForContext(ORDERS, "com.example.OrderIT");
+    contextCacheTracker.recordContextCreation(ORDERS, 1_200);
+    contextCacheTracker.recordBeanDefinitions(ORDERS, new String[] {"clock", "orderService"});
+
+    BeanOverlapMatrix beanOverlap =
+        ReportModel.of(executionTracker, null, contextCacheTracker, null).getBeanOverlap();
+
+    assertThat(beanOverlap.contexts()).isEqualTo(2);
+    assertThat(beanOverlap.overlaps())
+        .containsExactly(List.of(1.0, 1.0 / 3), List.of(1.0 / 3, 1.0));
+    assertThat(beanOverlap.mostSimilar())
+        .singleElement()
+        .satisfies(pair -> assertThat(pair.sharedBeans()).isEqualTo(1));
+  }
+
+  private void recordTestMethod(String className, String methodName, TestStatus status) {
+    executionTracker.recordTestClassStart(className);
+    executionTracker.recordTestMethodStart(className, methodName);
+    executionTracker.recordTestMethodEnd(className, methodName, status);
+    executionTracker.recordTestClassEnd(className);
+  }
+
+  static class ParentConfig {}
+
+  static class OrderConfig {}
+}
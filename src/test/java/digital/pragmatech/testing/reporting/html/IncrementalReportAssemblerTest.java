@@ -0,0 +1,106 @@
+package digital.pragmatech.testing.reporting.html;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.reporting.TestClassReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalReportAssemblerTest {
+
+  private static final String REPORT_DIR_PROPERTY = "pragmatech.spring.test.insight.report.dir";
+
+  @TempDir Path reportDir;
+
+  private final TestExecutionReporter reporter = new TestExecutionReporter();
+  private final TestExecutionTracker tracker = new TestExecutionTracker();
+
+  @BeforeEach
+  void setUp() {
+    System.setProperty(REPORT_DIR_PROPERTY, reportDir.toString());
+    tracker.startTracking();
+  }
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(REPORT_DIR_PROPERTY);
+  }
+
+  @Test
+  void shouldRenderFinishedTestClassesIntoPartialAndFinalReport() throws Exception {
+    IncrementalReportAssembler assembler = reporter.createAssembler();
+    runTestClass("com.example.OrderServiceIT", "placesOrder", "cancelsOrder");
+    assembler.testClassFinished(tracker.getFinishedClassMetrics("com.example.OrderServiceIT"));
+
+    assertThat(awaitRendered(assembler, "com.example.OrderServiceIT"))
+        .contains("placesOrder")
+        .contains("cancelsOrder");
+
+    Path partialReport = reportDir.resolve(IncrementalReportAssembler.PARTIAL_REPORT_FILE);
+    assertThat(partialReport).exists();
+    assertThat(Files.readString(partialReport)).contains("placesOrder");
+
+    // finishes after the assembler stopped, so it is rendered with the final report
+    runTestClass("com.example.PaymentServiceIT", "refundsPayment");
+    tracker.stopTracking();
+    reporter.generateReport(tracker, emptyCacheStatistics(), new ContextCacheTracker(), assembler);
+
+    assertThat(Files.readString(reportDir.resolve("latest.html")))
+        .containsOnlyOnce("<div class=\"test-class-name\">OrderServiceIT</div>")
+        .contains("placesOrder")
+        .contains("refundsPayment");
+    assertThat(partialReport).doesNotExist();
+  }
+
+  @Test
+  void shouldIgnorePreRenderedTestClassesWhoseMetricsChanged() throws Exception {
+    IncrementalReportAssembler assembler = reporter.createAssembler();
+    runTestClass("com.example.OrderServiceIT", "placesOrder");
+    assembler.testClassFinished(tracker.getFinishedClassMetrics("com.example.OrderServiceIT"));
+    awaitRendered(assembler, "com.example.OrderServiceIT");
+
+    runTestClass("com.example.OrderServiceIT", "cancelsOrder");
+
+    assertThat(assembler.get(testClass("com.example.OrderServiceIT"))).isNull();
+    assembler.close();
+  }
+
+  private void runTestClass(String className, String... methodNames) {
+    tracker.recordTestClassStart(className);
+    for (String methodName : methodNames) {
+      tracker.recordTestMethodStart(className, methodName);
+      tracker.recordTestMethodEnd(className, methodName, TestStatus.PASSED);
+    }
+    tracker.recordTestClassEnd(className);
+  }
+
+  private String awaitRendered(IncrementalReportAssembler assembler, String className)
+      throws InterruptedException {
+    for (int i = 0; i < 200; i++) {
+      String rendered = assembler.get(testClass(className));
+      if (rendered != null) {
+        return rendered;
+      }
+      Thread.sleep(50);
+    }
+    throw new AssertionError(className + " was not rendered in the background");
+  }
+
+  private TestClassReport testClass(String className) {
+    return TestClassReport.of(tracker.getClassMetrics().get(className));
+  }
+
+  private static SpringContextCacheAccessor.CacheStatistics emptyCacheStatistics() {
+    return new SpringContextCacheAccessor.CacheStatistics(0, 0, 0, 32, List.of());
+  }
+}
@@ -0,0 +1,116 @@
+package digital.pragmatech.testing.reporting.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.ContextCacheTracker;
+import digital.pragmatech.testing.SpringContextCacheAccessor;
+import digital.pragmatech.testing.TestExecutionTracker;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.reporting.ReportModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonReportGeneratorTest {
+
+  private static final MergedContextConfiguration ORDERS =
+      new MergedContextConfiguration(
+          JsonReportGeneratorTest.class,
+          new String[0],
+          new Class<?>[] {OrderConfig.class},
+          new String[] {"test"},
+          new AnnotationConfigContextLoader());
+
+  @TempDir Path reportDir;
+
+  private final TestExecutionTracker executionTracker = new TestExecutionTracker();
+  private final ContextCacheTracker contextCacheTracker = new ContextCacheTracker();
+  private final SpringContextCacheAccessor.CacheStatistics cacheStats =
+      new SpringContextCacheAccessor.CacheStatistics(1, 1, 1, 32, List.of());
+
+  @Test
+  void shouldWriteNamesOnceIntoTheStringTable() throws Exception {
+    recordTestClass("com.example.OrderIT");
+    recordTestClass("com.example.OrderQueryIT");
+    contextCacheTracker.recordContextCreation(ORDERS, 1_500);
+    contextCacheTracker.recordBeanDefinitions(ORDERS, new String[] {"orderService", "dataSource"});
+    contextCacheTracker.recordContextCacheHit(ORDERS);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JsonReportGenerator()
+        .write(out, ReportModel.of(executionTracker, cacheStats, contextCacheTracker, null));
+    JsonNode report = new ObjectMapper().readTree(out.toByteArray());
+
+    assertThat(report.get("schemaVersion").asInt()).isEqualTo(JsonReportGenerator.SCHEMA_VERSION);
+    assertThat(report.get("run").get("testMethods").asInt()).isEqualTo(2);
+    assertThat(report.get("cache").get("maxSize").asInt()).isEqualTo(32);
+
+    List<String> strings = new ArrayList<>();
+    report.get("strings").forEach(string -> strings.add(string.asText()));
+    assertThat(strings).doesNotHaveDuplicates();
+
+    JsonNode testClass = report.get("testClasses").get(0);
+    assertThat(strings.get(testClass.get("name").asInt())).startsWith("com.example.Order");
+    JsonNode method = testClass.get("methods").get(0);
+    assertThat(strings.get(method.get("name").asInt())).isEqualTo("placesOrder");
+    assertThat(method.get("status").asText()).isEqualTo("PASSED");
+
+    JsonNode context = report.get("contexts").get(0);
+    assertThat(context.get("loadTimeMs").asLong()).isEqualTo(1_500);
+    assertThat(context.get("hits").asInt()).isEqualTo(1);
+    assertThat(context.get("testMethods").asInt()).isEqualTo(2);
+    assertThat(strings.get(context.get("classes").get(0).asInt()))
+        .isEqualTo(OrderConfig.class.getName());
+    assertThat(strings.get(context.get("activeProfiles").get(0).asInt())).isEqualTo("test");
+    List<String> testClasses = new ArrayList<>();
+    context.get("testClasses").forEach(index -> testClasses.add(strings.get(index.asInt())));
+    assertThat(testClasses)
+        .containsExactlyInAnyOrder("com.example.OrderIT", "com.example.OrderQueryIT");
+    List<String> beans = new ArrayList<>();
+    context.get("beans").forEach(index -> beans.add(strings.get(index.asInt())));
+    assertThat(beans).containsExactlyInAnyOrder("orderService", "dataSource");
+  }
+
+  @Test
+  void shouldCompressTheReport() throws Exception {
+    recordTestClass("com.example.OrderIT");
+    System.setProperty("spring.test.profiler.json.gzip", "true");
+    try {
+      new JsonReportGenerator()
+          .generateJsonReport(reportDir, executionTracker, cacheStats, contextCacheTracker);
+    } finally {
+      System.clearProperty("spring.test.profiler.json.gzip");
+    }
+
+    try (var files = Files.list(reportDir)) {
+      Path reportFile = files.findFirst().orElseThrow();
+      assertThat(reportFile.getFileName().toString()).endsWith(".json.gz");
+      try (InputStream in = new GZIPInputStream(Files.newInputStream(reportFile))) {
+        assertThat(new ObjectMapper().readTree(in).get("testClasses")).hasSize(1);
+      }
+    }
+  }
+
+  private void recordTestClass(String className) {
+    contextCacheTracker
+        .recordTestClassForContext(ORDERS, className)
+        .addTestMethod(className, "placesOrder");
+    executionTracker.recordTestClassStart(className);
+    executionTracker.recordTestMethodStart(className, "placesOrder");
+    executionTracker.recordTestMethodEnd(className, "placesOrder", TestStatus.PASSED);
+    executionTracker.recordTestClassEnd(className);
+  }
+
+  static class OrderConfig {}
+}
@@ -0,0 +1,137 @@
+package digital.pragmatech.testing.trace;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import digital.pragmatech.testing.BeanCreationProfiler.BeanCreationMetric;
+import digital.pragmatech.testing.TestStatus;
+import digital.pragmatech.testing.phase.MethodPhases;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceRecorderTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void shouldWriteNestedSpansOfTheTestThread() throws Exception {
+    TraceRecorder recorder = new TraceRecorder();
+    Instant loadStart = Instant.now();
+
+    recorder.testClassStarted("com.example.OrderServiceTest");
+    recorder.contextLoaded(
+        "[OrderConfig]",
+        loadStart,
+        5_000_000,
+        true,
+        List.of(
+            bean("dataSource", loadStart, 2_000),
+            bean("tinyBean", loadStart.plusNanos(2_000_000), 10)));
+    recorder.testMethodStarted("shouldPlaceOrder");
+    recorder.testMethodFinished(
+        TestStatus.PASSED, new MethodPhases(1_000_000, 3_000_000, 500_000, 1_500_000, Map.of()));
+    recorder.testClassFinished();
+    recorder.recordCounters(1);
+
+    Path file = tempDir.resolve("trace.json");
+    recorder.write(file);
+    List<JsonNode> events = events(new ObjectMapper().readTree(file.toFile()));
+    long threadId = Thread.currentThread().getId();
+
+    assertThat(events)
+        .anySatisfy(
+            event -> {
+              assertThat(event.get("ph").asText()).isEqualTo("M");
+              assertThat(event.get("name").asText()).isEqualTo("thread_name");
+              assertThat(event.get("tid").asLong()).isEqualTo(threadId);
+            });
+    assertThat(events)
+        .filteredOn(event -> event.get("ph").asText().equals("B"))
+        .extracting(event -> event.get("name").asText())
+        .containsExactly("OrderServiceTest", "shouldPlaceOrder");
+    assertThat(events).filteredOn(event -> event.get("ph").asText().equals("E")).hasSize(2);
+
+    List<JsonNode> spans =
+        events.stream().filter(event -> event.get("ph").asText().equals("X")).toList();
+    assertThat(spans)
+        .extracting(event -> event.get("name").asText())
+        .containsExactly("Load [OrderConfig]", "dataSource");
+    assertThat(spans.get(0).get("dur").asLong()).isEqualTo(5_000);
+    assertThat(spans.get(0).get("tid").asLong()).isEqualTo(threadId);
+    assertThat(spans.get(1).get("ts").asLong()).isEqualTo(spans.get(0).get("ts").asLong());
+    assertThat(spans.get(1).get("dur").asLong()).isEqualTo(2_000);
+
+    JsonNode methodEnd =
+        events.stream()
+            .filter(event -> event.get("ph").asText().equals("E") && event.has("args"))
+            .findFirst()
+            .orElseThrow();
+    assertThat(methodEnd.get("args").get("status").asText()).isEqualTo("PASSED");
+    assertThat(methodEnd.get("args").get("bodyMicros").asLong()).isEqualTo(3_000);
+
+    assertThat(events)
+        .filteredOn(event -> event.get("ph").asText().equals("C"))
+        .extracting(event -> event.get("name").asText())
+        .containsExactly("Heap Used (MB)", "Cached Contexts");
+  }
+
+  @Test
+  void shouldPutBackgroundLoadsOnTracksOfTheirOwn() throws Exception {
+    TraceRecorder recorder = new TraceRecorder();
+
+    recorder.contextLoaded("[First]", Instant.now(), 1_000_000, false, List.of());
+    recorder.contextLoaded("[Second]", Instant.now(), 1_000_000, false, List.of());
+
+    Path file = tempDir.resolve("trace.json");
+    recorder.write(file);
+    List<JsonNode> events = events(new ObjectMapper().readTree(file.toFile()));
+
+    List<JsonNode> spans =
+        events.stream().filter(event -> event.get("ph").asText().equals("X")).toList();
+    assertThat(spans).hasSize(2);
+    assertThat(spans.get(0).get("tid").asLong())
+        .isNotEqualTo(spans.get(1).get("tid").asLong())
+        .isNotEqualTo(Thread.currentThread().getId());
+    assertThat(events)
+        .filteredOn(event -> event.get("name").asText().equals("thread_name"))
+        .extracting(event -> event.get("args").get("name").asText())
+        .containsExactlyInAnyOrder("Background load: [First]", "Background load: [Second]");
+  }
+
+  @Test
+  void shouldConvertInstantsToTheClockOfTheRecorder() {
+    TraceRecorder recorder = new TraceRecorder();
+    Instant twoSecondsAgo = Instant.now().minusSeconds(2);
+
+    recorder.contextLoaded(
+        "[OrderConfig]",
+        twoSecondsAgo,
+        1_000_000,
+        true,
+        List.of(bean("dataSource", twoSecondsAgo.plusMillis(1), 500)));
+    long now = recorder.nowMicros();
+
+    List<TraceEvent> spans = recorder.getEvents();
+    assertThat(spans.get(0).timestampMicros()).isBetween(now - 2_100_000, now - 1_900_000);
+    assertThat(spans.get(1).timestampMicros() - spans.get(0).timestampMicros()).isEqualTo(1_000);
+    assertThat(spans.get(1).durationMicros()).isEqualTo(500);
+  }
+
+  private static BeanCreationMetric bean(String name, Instant start, long durationMicros) {
+    return new BeanCreationMetric(
+        name, "com.example." + name, start, start.plusNanos(durationMicros * 1_000), 0, 0);
+  }
+
+  private static List<JsonNode> events(JsonNode trace) {
+    List<JsonNode> events = new ArrayList<>();
+    trace.get("traceEvents").forEach(events::add);
+    return events;
+  }
+}